@@ -0,0 +1,161 @@
+package org.silnith.game.solitaire.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.silnith.game.GameState;
+import org.silnith.game.solitaire.Board;
+import org.silnith.game.solitaire.CompactBoard;
+import org.silnith.game.solitaire.Klondike;
+import org.silnith.game.solitaire.move.SolitaireMove;
+import org.silnith.game.util.LinkedNode;
+
+/**
+ * Measures {@link Board#equals(Object)} and {@link Board#hashCode()}, which
+ * the cycle filter and the transposition table call for every board
+ * generated, along with the same operations on the {@link CompactBoard}
+ * form of the same boards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    private static final int BOARDS = 1024;
+
+    private Board[] boards;
+
+    /**
+     * An equal board for each board, that shares no lists with it.
+     */
+    private Board[] copies;
+
+    /**
+     * A different board from the same game for each board.
+     */
+    private Board[] neighbors;
+
+    private CompactBoard[] compactBoards;
+
+    private CompactBoard[] compactCopies;
+
+    private CompactBoard[] compactNeighbors;
+
+    @Setup
+    public void setUp() {
+        final Klondike klondike = new Klondike();
+        final List<LinkedNode<GameState<SolitaireMove, Board>>> nodes = Playouts.play(klondike, 16, 200);
+        boards = new Board[BOARDS];
+        copies = new Board[BOARDS];
+        neighbors = new Board[BOARDS];
+        for (int i = 0; i < BOARDS; i++ ) {
+            final LinkedNode<GameState<SolitaireMove, Board>> node = nodes.get(i % nodes.size());
+            boards[i] = node.getValue().getBoard();
+            copies[i] = replay(node);
+            if (node.getNext() == null) {
+                neighbors[i] = nodes.get((i + 1) % nodes.size()).getValue().getBoard();
+            } else {
+                neighbors[i] = node.getNext().getValue().getBoard();
+            }
+        }
+        compactBoards = new CompactBoard[BOARDS];
+        compactCopies = new CompactBoard[BOARDS];
+        compactNeighbors = new CompactBoard[BOARDS];
+        for (int i = 0; i < BOARDS; i++ ) {
+            compactBoards[i] = CompactBoard.valueOf(boards[i]);
+            compactCopies[i] = CompactBoard.valueOf(copies[i]);
+            compactNeighbors[i] = CompactBoard.valueOf(neighbors[i]);
+        }
+    }
+
+    /**
+     * Rebuilds the board of a node by replaying its moves, which gives an
+     * equal board built from new lists.
+     */
+    private static Board replay(final LinkedNode<GameState<SolitaireMove, Board>> node) {
+        final List<GameState<SolitaireMove, Board>> history = new ArrayList<>(node);
+        Collections.reverse(history);
+        Board board = new Board(Collections.emptyList(), Collections.emptyList(), 0, Collections.emptyMap());
+        for (final GameState<SolitaireMove, Board> gameState : history) {
+            board = gameState.getMove().apply(board);
+        }
+        return board;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOARDS)
+    public void hashCode(final Blackhole blackhole) {
+        for (final Board board : boards) {
+            blackhole.consume(board.hashCode());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOARDS)
+    public void equalsEqual(final Blackhole blackhole) {
+        for (int i = 0; i < BOARDS; i++ ) {
+            blackhole.consume(boards[i].equals(copies[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOARDS)
+    public void equalsDifferent(final Blackhole blackhole) {
+        for (int i = 0; i < BOARDS; i++ ) {
+            blackhole.consume(boards[i].equals(neighbors[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOARDS)
+    public void compactValueOf(final Blackhole blackhole) {
+        for (final Board board : boards) {
+            blackhole.consume(CompactBoard.valueOf(board));
+        }
+    }
+
+    /**
+     * Packs each board first, since a compact board caches its hash code.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BOARDS)
+    public void compactValueOfAndHashCode(final Blackhole blackhole) {
+        for (final Board board : boards) {
+            blackhole.consume(CompactBoard.valueOf(board).hashCode());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOARDS)
+    public void compactEqualsEqual(final Blackhole blackhole) {
+        for (int i = 0; i < BOARDS; i++ ) {
+            blackhole.consume(compactBoards[i].equals(compactCopies[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOARDS)
+    public void compactEqualsDifferent(final Blackhole blackhole) {
+        for (int i = 0; i < BOARDS; i++ ) {
+            blackhole.consume(compactBoards[i].equals(compactNeighbors[i]));
+        }
+    }
+
+}
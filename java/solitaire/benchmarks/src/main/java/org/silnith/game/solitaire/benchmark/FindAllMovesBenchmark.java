@@ -0,0 +1,100 @@
+package org.silnith.game.solitaire.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.silnith.game.GameState;
+import org.silnith.game.solitaire.Board;
+import org.silnith.game.solitaire.Klondike;
+import org.silnith.game.solitaire.move.ColumnToColumnMove;
+import org.silnith.game.solitaire.move.ColumnToFoundationMove;
+import org.silnith.game.solitaire.move.FoundationToColumnMove;
+import org.silnith.game.solitaire.move.SolitaireMove;
+import org.silnith.game.solitaire.move.StockPileAdvanceMove;
+import org.silnith.game.solitaire.move.StockPileRecycleMove;
+import org.silnith.game.solitaire.move.StockPileToColumnMove;
+import org.silnith.game.solitaire.move.StockPileToFoundationMove;
+import org.silnith.game.util.LinkedNode;
+
+/**
+ * Measures {@link Klondike#findAllMoves(Board)} across boards from many
+ * points in many games, along with filling a reused list through
+ * {@link Klondike#findAllMoves(Board, java.util.Collection)}, and the
+ * separate generators of each kind of move that it replaces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FindAllMovesBenchmark {
+
+    private static final int BOARDS = 1024;
+
+    private Klondike klondike;
+
+    private Board[] boards;
+
+    private List<SolitaireMove> moves;
+
+    @Setup
+    public void setUp() {
+        klondike = new Klondike();
+        final List<LinkedNode<GameState<SolitaireMove, Board>>> nodes = Playouts.play(klondike, 16, 200);
+        boards = new Board[BOARDS];
+        for (int i = 0; i < BOARDS; i++ ) {
+            boards[i] = nodes.get(i % nodes.size()).getValue().getBoard();
+        }
+        moves = new ArrayList<>();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOARDS)
+    public void findAllMoves(final Blackhole blackhole) {
+        for (final Board board : boards) {
+            blackhole.consume(klondike.findAllMoves(board));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOARDS)
+    public void findAllMovesIntoList(final Blackhole blackhole) {
+        for (final Board board : boards) {
+            moves.clear();
+            klondike.findAllMoves(board, moves);
+            blackhole.consume(moves.size());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOARDS)
+    public void separateGenerators(final Blackhole blackhole) {
+        final int drawAdvance = klondike.getDrawAdvance();
+        for (final Board board : boards) {
+            final List<SolitaireMove> found = new ArrayList<>();
+            found.addAll(StockPileRecycleMove.findMoves(board));
+            found.addAll(StockPileAdvanceMove.findMoves(drawAdvance, board));
+            found.addAll(FoundationToColumnMove.findMoves(board));
+            found.addAll(ColumnToColumnMove.findMoves(board));
+            found.addAll(StockPileToColumnMove.findMoves(board));
+            found.addAll(ColumnToFoundationMove.findMoves(board));
+            found.addAll(StockPileToFoundationMove.findMoves(board));
+            blackhole.consume(found);
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+package org.silnith.game.solitaire.benchmark;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.silnith.game.util.LinkedNode;
+
+/**
+ * Measures walking a {@link LinkedNode} history, the way move filters do,
+ * at typical Klondike game lengths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkedNodeBenchmark {
+
+    @Param({ "10", "50", "150" })
+    public int length;
+
+    private LinkedNode<Integer> node;
+
+    @Setup
+    public void setUp() {
+        node = new LinkedNode<>(0);
+        for (int i = 1; i < length; i++ ) {
+            node = new LinkedNode<>(i, node);
+        }
+    }
+
+    @Benchmark
+    public void iterator(final Blackhole blackhole) {
+        final Iterator<Integer> iterator = node.iterator();
+        while (iterator.hasNext()) {
+            blackhole.consume(iterator.next());
+        }
+    }
+
+    @Benchmark
+    public void getNext(final Blackhole blackhole) {
+        for (LinkedNode<Integer> current = node; current != null; current = current.getNext()) {
+            blackhole.consume(current.getValue());
+        }
+    }
+
+    @Benchmark
+    public int size() {
+        return node.size();
+    }
+
+    @Benchmark
+    public int indexOf() {
+        // Not present, so the whole history is walked.
+        return node.indexOf(-1);
+    }
+
+}
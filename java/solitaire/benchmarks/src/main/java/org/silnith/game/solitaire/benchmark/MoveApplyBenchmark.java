@@ -0,0 +1,100 @@
+package org.silnith.game.solitaire.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.silnith.game.GameState;
+import org.silnith.game.solitaire.Board;
+import org.silnith.game.solitaire.Klondike;
+import org.silnith.game.solitaire.move.DealMove;
+import org.silnith.game.solitaire.move.SolitaireMove;
+import org.silnith.game.util.LinkedNode;
+
+/**
+ * Measures {@code SolitaireMove.apply(Board)} separately for each kind of
+ * move, using moves that were legal at some point in a random game.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveApplyBenchmark {
+
+    private static final int MOVES = 256;
+
+    @Param({
+        "DealMove",
+        "ColumnToColumnMove",
+        "ColumnToFoundationMove",
+        "FoundationToColumnMove",
+        "StockPileAdvanceMove",
+        "StockPileRecycleMove",
+        "StockPileToColumnMove",
+        "StockPileToFoundationMove",
+    })
+    public String moveType;
+
+    private SolitaireMove[] moves;
+
+    private Board[] boards;
+
+    @Setup
+    public void setUp() {
+        final Klondike klondike = new Klondike();
+        final List<SolitaireMove> foundMoves = new ArrayList<>();
+        final List<Board> foundBoards = new ArrayList<>();
+        if (moveType.equals(DealMove.class.getSimpleName())) {
+            final Board emptyBoard = new Board(Collections.emptyList(), Collections.emptyList(), 0,
+                    Collections.emptyMap());
+            for (int i = 0; i < MOVES; i++ ) {
+                foundMoves.add(Playouts.deal(klondike, Playouts.SEED + i).getMove());
+                foundBoards.add(emptyBoard);
+            }
+        } else {
+            for (final LinkedNode<GameState<SolitaireMove, Board>> node : Playouts.play(klondike, 64, 200)) {
+                final Board board = node.getValue().getBoard();
+                for (final SolitaireMove move : klondike.findAllMoves(board)) {
+                    if (move.getClass().getSimpleName().equals(moveType)) {
+                        foundMoves.add(move);
+                        foundBoards.add(board);
+                    }
+                }
+            }
+        }
+        if (foundMoves.isEmpty()) {
+            throw new IllegalStateException("No moves of type " + moveType + " were found.");
+        }
+        moves = new SolitaireMove[MOVES];
+        boards = new Board[MOVES];
+        for (int i = 0; i < MOVES; i++ ) {
+            moves[i] = foundMoves.get(i % foundMoves.size());
+            boards[i] = foundBoards.get(i % foundBoards.size());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOVES)
+    public void apply(final Blackhole blackhole) {
+        for (int i = 0; i < MOVES; i++ ) {
+            blackhole.consume(moves[i].apply(boards[i]));
+        }
+    }
+
+}
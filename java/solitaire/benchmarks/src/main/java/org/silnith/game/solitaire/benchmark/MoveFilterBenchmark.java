@@ -0,0 +1,88 @@
+package org.silnith.game.solitaire.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.silnith.game.GameState;
+import org.silnith.game.move.MoveFilter;
+import org.silnith.game.solitaire.Board;
+import org.silnith.game.solitaire.Klondike;
+import org.silnith.game.solitaire.move.SolitaireMove;
+import org.silnith.game.util.LinkedNode;
+
+/**
+ * Measures {@link MoveFilter#shouldFilter(List)} separately for each filter
+ * that Klondike uses, on game state histories from random games.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveFilterBenchmark {
+
+    private static final int HISTORIES = 1024;
+
+    @Param({
+        "MoveCapFilter",
+        "KingMoveMustExposeFaceDownCardFilter",
+        "StockPileRecycleMustBeFollowedByAdvanceFilter",
+        "StockPileAdvanceMustBeFollowedBySomethingUsefulFilter",
+        "DrawFromFoundationMustBeUsefulFilter",
+        "DrawFromStockPileFilter",
+        "RunMoveMustBeFollowedBySomethingUsefulFilter",
+        "BoardCycleFilter",
+    })
+    public String filterType;
+
+    private MoveFilter<SolitaireMove, Board> filter;
+
+    private List<?>[] histories;
+
+    @Setup
+    public void setUp() {
+        final Klondike klondike = new Klondike();
+        for (final MoveFilter<SolitaireMove, Board> candidate : klondike.getFilters()) {
+            if (candidate.getClass().getSimpleName().equals(filterType)) {
+                filter = candidate;
+            }
+        }
+        if (filter == null) {
+            throw new IllegalStateException("Klondike does not use the filter " + filterType + ".");
+        }
+        final List<LinkedNode<GameState<SolitaireMove, Board>>> nodes = Playouts.play(klondike, 16, 200);
+        histories = new List<?>[HISTORIES];
+        for (int i = 0; i < HISTORIES; i++ ) {
+            // Skip the initial game states, which have no move for a filter to look at.
+            LinkedNode<GameState<SolitaireMove, Board>> node = nodes.get(i % nodes.size());
+            if (node.getNext() == null) {
+                node = nodes.get((i + 1) % nodes.size());
+            }
+            histories[i] = node;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HISTORIES)
+    @SuppressWarnings("unchecked")
+    public void shouldFilter(final Blackhole blackhole) {
+        for (final List<?> history : histories) {
+            blackhole.consume(filter.shouldFilter((List<GameState<SolitaireMove, Board>>) history));
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+package org.silnith.game.solitaire.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.silnith.game.Game;
+import org.silnith.game.GameState;
+import org.silnith.game.OrderedGame;
+import org.silnith.game.move.MoveFilter;
+import org.silnith.game.search.SearchMode;
+import org.silnith.game.search.SequentialDepthFirstSearch;
+import org.silnith.game.solitaire.Board;
+import org.silnith.game.solitaire.Klondike;
+import org.silnith.game.solitaire.KlondikeMoveOrdering;
+import org.silnith.game.solitaire.move.SolitaireMove;
+
+/**
+ * Compares the number of nodes a depth-first search examines before it
+ * finds its first win, for each {@link KlondikeMoveOrdering}.
+ *
+ * <p>A depth-first search of a full deal rarely finds a win within any
+ * reasonable number of nodes, whatever the move order.  So the positions are
+ * made by {@link Playouts#scrambled(long, int, int) scrambling} a won board
+ * backwards, which always leaves a winnable position.  Each search is given a
+ * budget of nodes, after which it gives up.  The number of nodes examined
+ * and the number of wins found are reported as secondary results alongside
+ * the time; fewer nodes for the same wins means a better ordering.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MoveOrderingBenchmark {
+
+    private static final int POSITIONS = 8;
+
+    private static final int SCRAMBLED_CARDS = 30;
+
+    private static final int RUN_MOVES = 2;
+
+    private static final int NODE_BUDGET = 100000;
+
+    @Param({ "GENERATED", "FOUNDATION_FIRST", "EXPOSE_FIRST" })
+    public KlondikeMoveOrdering ordering;
+
+    private Game<SolitaireMove, Board> game;
+
+    private List<GameState<SolitaireMove, Board>> positions;
+
+    @Setup
+    public void setUp() {
+        game = new OrderedGame<>(new Klondike(), ordering);
+        positions = new ArrayList<>(POSITIONS);
+        for (int i = 0; i < POSITIONS; i++ ) {
+            positions.add(Playouts.scrambled(Playouts.SEED + i, SCRAMBLED_CARDS, RUN_MOVES));
+        }
+    }
+
+    @Benchmark
+    public void firstWin(final Nodes nodes) {
+        for (final GameState<SolitaireMove, Board> position : positions) {
+            final SequentialDepthFirstSearch<SolitaireMove, Board> searcher =
+                    new SequentialDepthFirstSearch<>(new BudgetedGame(game, NODE_BUDGET), position, null,
+                            SearchMode.FIRST_WIN);
+            if ( !searcher.call().isEmpty()) {
+                nodes.wins++ ;
+            }
+            nodes.examined += searcher.getNumberOfGameStatesExamined();
+        }
+    }
+
+    /**
+     * The secondary results, summed over each iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Nodes {
+
+        public long examined;
+
+        public long wins;
+
+    }
+
+    /**
+     * A game that stops finding moves once it has been asked for them a
+     * given number of times, which ends the search.
+     */
+    private static class BudgetedGame implements Game<SolitaireMove, Board> {
+
+        private final Game<SolitaireMove, Board> game;
+
+        private int budget;
+
+        public BudgetedGame(final Game<SolitaireMove, Board> game, final int budget) {
+            super();
+            this.game = game;
+            this.budget = budget;
+        }
+
+        @Override
+        public boolean isWin(final List<GameState<SolitaireMove, Board>> gameStates) {
+            return game.isWin(gameStates);
+        }
+
+        @Override
+        public Collection<SolitaireMove> findAllMoves(final List<GameState<SolitaireMove, Board>> gameStates) {
+            if (budget <= 0) {
+                return Collections.emptyList();
+            }
+            budget-- ;
+            return game.findAllMoves(gameStates);
+        }
+
+        @Override
+        public Collection<? extends MoveFilter<SolitaireMove, Board>> getFilters() {
+            return game.getFilters();
+        }
+
+    }
+
+}
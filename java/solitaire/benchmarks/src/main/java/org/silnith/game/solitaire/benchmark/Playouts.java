@@ -0,0 +1,245 @@
+package org.silnith.game.solitaire.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.silnith.deck.Card;
+import org.silnith.deck.Suit;
+import org.silnith.deck.Value;
+import org.silnith.game.GameState;
+import org.silnith.game.move.MoveFilter;
+import org.silnith.game.solitaire.Board;
+import org.silnith.game.solitaire.Column;
+import org.silnith.game.solitaire.Klondike;
+import org.silnith.game.solitaire.move.DealMove;
+import org.silnith.game.solitaire.move.SolitaireMove;
+import org.silnith.game.util.LinkedNode;
+
+/**
+ * Generates realistic game tree nodes for the benchmarks to work on.
+ *
+ * <p>A playout deals a deck shuffled from a fixed seed, then makes random
+ * moves that pass every Klondike move filter until there are none left or
+ * the playout is long enough.  Every node along the way is kept.  The same
+ * seeds always produce the same nodes, so results are comparable between
+ * runs.</p>
+ */
+final class Playouts {
+
+    /**
+     * The seed of the first deal.
+     */
+    static final long SEED = 0x5EED;
+
+    private Playouts() {
+        super();
+    }
+
+    /**
+     * Returns a deck of cards shuffled with the given seed.
+     *
+     * @param seed the seed for the shuffle
+     * @return a shuffled deck
+     */
+    static List<Card> shuffledDeck(final long seed) {
+        final List<Card> deck = new ArrayList<>(52);
+        for (final Suit suit : Suit.values()) {
+            for (final Value value : Value.values()) {
+                deck.add(Card.of(value, suit));
+            }
+        }
+        Collections.shuffle(deck, new Random(seed));
+        return deck;
+    }
+
+    /**
+     * Returns the initial game state for the deal with the given seed.
+     *
+     * @param klondike the game
+     * @param seed the seed for the shuffle
+     * @return the initial game state
+     */
+    static GameState<SolitaireMove, Board> deal(final Klondike klondike, final long seed) {
+        final Board emptyBoard = new Board(Collections.emptyList(), Collections.emptyList(), 0, Collections.emptyMap());
+        final DealMove deal = new DealMove(shuffledDeck(seed), klondike.getNumberOfColumns());
+        return new GameState<>(deal, deal.apply(emptyBoard));
+    }
+
+    /**
+     * Plays the given number of random games and returns every node reached,
+     * including the initial game states.
+     *
+     * @param klondike the game
+     * @param games the number of games to play
+     * @param maximumLength the most moves to make in each game
+     * @return the nodes reached, in the order they were reached
+     */
+    static List<LinkedNode<GameState<SolitaireMove, Board>>> play(final Klondike klondike, final int games,
+            final int maximumLength) {
+        final Random random = new Random(SEED);
+        final List<LinkedNode<GameState<SolitaireMove, Board>>> nodes = new ArrayList<>();
+        for (int game = 0; game < games; game++ ) {
+            LinkedNode<GameState<SolitaireMove, Board>> node = new LinkedNode<>(deal(klondike, SEED + game));
+            nodes.add(node);
+            for (int length = 0; length < maximumLength; length++ ) {
+                final List<LinkedNode<GameState<SolitaireMove, Board>>> children = children(klondike, node);
+                if (children.isEmpty()) {
+                    break;
+                }
+                node = children.get(random.nextInt(children.size()));
+                nodes.add(node);
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Returns an initial game state that is always winnable, built by taking
+     * cards back off a complete foundation.
+     *
+     * <p>Each card taken from the foundation is put face up on an empty
+     * column, on a column whose top card it builds on, or on a column with a
+     * single face-up card, which is turned face down first.  Before each
+     * card, runs of face-up cards are moved between columns in the same
+     * way.  Every step can be undone by a legal move, so playing the steps
+     * backwards wins the game.  The stock pile is empty.</p>
+     *
+     * @param seed the seed for the random choices
+     * @param cards the number of cards to take from the foundation
+     * @param runMoves the number of runs to move before each card
+     * @return the initial game state
+     */
+    static GameState<SolitaireMove, Board> scrambled(final long seed, final int cards, final int runMoves) {
+        final Random random = new Random(seed);
+        final Suit[] suits = Suit.values();
+        final Value[] values = Value.values();
+        final int[] foundationSizes = new int[suits.length];
+        Arrays.fill(foundationSizes, values.length);
+        final List<List<Card>> faceDown = new ArrayList<>();
+        final List<List<Card>> faceUp = new ArrayList<>();
+        for (int i = 0; i < 7; i++ ) {
+            faceDown.add(new ArrayList<Card>());
+            faceUp.add(new ArrayList<Card>());
+        }
+        final List<int[]> choices = new ArrayList<>();
+        for (int n = 0; n < cards; n++ ) {
+            for (int m = 0; m < runMoves; m++ ) {
+                choices.clear();
+                for (int source = 0; source < 7; source++ ) {
+                    final List<Card> run = faceUp.get(source);
+                    for (int start = 0; start < run.size(); start++ ) {
+                        if (start == 0 && !(faceDown.get(source).isEmpty() && run.get(0).getValue() == Value.KING)) {
+                            // Moving the run back must be legal.
+                            continue;
+                        }
+                        addPlacements(choices, faceDown, faceUp, source, start, run.get(start));
+                    }
+                }
+                if (choices.isEmpty()) {
+                    break;
+                }
+                final int[] choice = choices.get(random.nextInt(choices.size()));
+                final List<Card> source = faceUp.get(choice[0]);
+                final List<Card> run = new ArrayList<>(source.subList(choice[1], source.size()));
+                source.subList(choice[1], source.size()).clear();
+                place(faceDown, faceUp, choice, run);
+            }
+
+            final List<Suit> remaining = new ArrayList<>();
+            for (final Suit suit : suits) {
+                if (foundationSizes[suit.ordinal()] > 0) {
+                    remaining.add(suit);
+                }
+            }
+            if (remaining.isEmpty()) {
+                break;
+            }
+            final Suit suit = remaining.get(random.nextInt(remaining.size()));
+            final Card card = Card.of(values[foundationSizes[suit.ordinal()] - 1], suit);
+            choices.clear();
+            addPlacements(choices, faceDown, faceUp, -1, 0, card);
+            if (choices.isEmpty()) {
+                break;
+            }
+            place(faceDown, faceUp, choices.get(random.nextInt(choices.size())), Collections.singletonList(card));
+            foundationSizes[suit.ordinal()]-- ;
+        }
+
+        final Map<Suit, List<Card>> foundation = new EnumMap<>(Suit.class);
+        for (final Suit suit : suits) {
+            final List<Card> pile = new ArrayList<>();
+            for (int i = 0; i < foundationSizes[suit.ordinal()]; i++ ) {
+                pile.add(Card.of(values[i], suit));
+            }
+            foundation.put(suit, pile);
+        }
+        final List<Column> columns = new ArrayList<>();
+        for (int i = 0; i < 7; i++ ) {
+            columns.add(new Column(faceDown.get(i), faceUp.get(i)));
+        }
+        final Board board = new Board(columns, Collections.<Card>emptyList(), 0, foundation);
+        // The move that led to the initial board is never looked at, except by filters.
+        return new GameState<SolitaireMove, Board>(new DealMove(shuffledDeck(seed), 7), board);
+    }
+
+    /**
+     * Adds every column a run starting with the given card may be put on,
+     * as {source, start, destination, flip}.
+     */
+    private static void addPlacements(final List<int[]> choices, final List<List<Card>> faceDown,
+            final List<List<Card>> faceUp, final int source, final int start, final Card first) {
+        for (int destination = 0; destination < 7; destination++ ) {
+            if (destination == source) {
+                continue;
+            }
+            final List<Card> run = faceUp.get(destination);
+            if (run.isEmpty()) {
+                if (faceDown.get(destination).isEmpty()) {
+                    choices.add(new int[] { source, start, destination, 0 });
+                }
+            } else {
+                final Card top = run.get(run.size() - 1);
+                if (top.getValue().getValue() == first.getValue().getValue() + 1 && top.getColor() != first.getColor()) {
+                    choices.add(new int[] { source, start, destination, 0 });
+                }
+                if (run.size() == 1) {
+                    choices.add(new int[] { source, start, destination, 1 });
+                }
+            }
+        }
+    }
+
+    private static void place(final List<List<Card>> faceDown, final List<List<Card>> faceUp, final int[] choice,
+            final List<Card> run) {
+        final List<Card> destination = faceUp.get(choice[2]);
+        if (choice[3] == 1) {
+            faceDown.get(choice[2]).add(destination.remove(0));
+        }
+        destination.addAll(run);
+    }
+
+    private static List<LinkedNode<GameState<SolitaireMove, Board>>> children(final Klondike klondike,
+            final LinkedNode<GameState<SolitaireMove, Board>> node) {
+        final Board board = node.getValue().getBoard();
+        final Collection<SolitaireMove> moves = klondike.findAllMoves(board);
+        final List<LinkedNode<GameState<SolitaireMove, Board>>> children = new ArrayList<>(moves.size());
+        movesLoop: for (final SolitaireMove move : moves) {
+            final LinkedNode<GameState<SolitaireMove, Board>> child =
+                    new LinkedNode<>(new GameState<>(move, move.apply(board)), node);
+            for (final MoveFilter<SolitaireMove, Board> filter : klondike.getFilters()) {
+                if (filter.shouldFilter(child)) {
+                    continue movesLoop;
+                }
+            }
+            children.add(child);
+        }
+        return children;
+    }
+
+}
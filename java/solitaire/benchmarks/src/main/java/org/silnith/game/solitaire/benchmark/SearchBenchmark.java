@@ -0,0 +1,127 @@
+package org.silnith.game.solitaire.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.silnith.game.Game;
+import org.silnith.game.GameState;
+import org.silnith.game.move.MoveFilter;
+import org.silnith.game.move.MoveSink;
+import org.silnith.game.search.MakeUnmakeDepthFirstSearch;
+import org.silnith.game.search.SequentialDepthFirstSearch;
+import org.silnith.game.solitaire.Board;
+import org.silnith.game.solitaire.Klondike;
+import org.silnith.game.solitaire.MutableKlondikeBoard;
+import org.silnith.game.solitaire.move.SolitaireMove;
+import org.silnith.game.solitaire.move.filter.MoveCapFilter;
+
+/**
+ * Measures a complete depth-first search of a fixed deal, cut off at a
+ * fixed depth so that the search always examines exactly the same game tree.
+ * This covers move generation, move application, filtering, and the search
+ * bookkeeping together.
+ *
+ * <p>The same tree is searched both by a {@link SequentialDepthFirstSearch},
+ * which builds a new board for every move, and by a
+ * {@link MakeUnmakeDepthFirstSearch}, which makes and unmakes moves on a
+ * single {@link MutableKlondikeBoard}.  The make-unmake search is given one
+ * more move of depth than the cap, so that like the sequential search it
+ * makes the moves below the cap and has the cap filter prune them.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SearchBenchmark {
+
+    @Param({ "8", "10" })
+    public int depth;
+
+    private Klondike klondike;
+
+    private Game<SolitaireMove, Board> game;
+
+    private GameState<SolitaireMove, Board> initialState;
+
+    @Setup
+    public void setUp() {
+        klondike = new Klondike();
+        game = new DepthLimitedKlondike(klondike, depth);
+        initialState = Playouts.deal(klondike, Playouts.SEED);
+    }
+
+    @Benchmark
+    public long search() {
+        final SequentialDepthFirstSearch<SolitaireMove, Board> searcher =
+                new SequentialDepthFirstSearch<>(game, initialState);
+        searcher.call();
+        return searcher.getNumberOfGameStatesExamined();
+    }
+
+    @Benchmark
+    public long makeUnmake() {
+        final MutableKlondikeBoard board = new MutableKlondikeBoard(initialState.getBoard(), klondike.getDrawAdvance());
+        try (final MakeUnmakeDepthFirstSearch<SolitaireMove, Board> searcher =
+                new MakeUnmakeDepthFirstSearch<>(game, initialState, board, depth + 1)) {
+            searcher.call();
+            return searcher.getNumberOfGameStatesExamined();
+        }
+    }
+
+    /**
+     * Klondike with an extra move cap in front of its own filters.  The deal
+     * counts as one move.
+     */
+    private static class DepthLimitedKlondike implements Game<SolitaireMove, Board> {
+
+        private final Klondike klondike;
+
+        private final List<MoveFilter<SolitaireMove, Board>> filters;
+
+        public DepthLimitedKlondike(final Klondike klondike, final int depth) {
+            super();
+            this.klondike = klondike;
+            this.filters = new ArrayList<>();
+            this.filters.add(new MoveCapFilter(depth + 1));
+            this.filters.addAll(klondike.getFilters());
+        }
+
+        @Override
+        public boolean isWin(final List<GameState<SolitaireMove, Board>> gameStates) {
+            return klondike.isWin(gameStates);
+        }
+
+        @Override
+        public Collection<SolitaireMove> findAllMoves(final List<GameState<SolitaireMove, Board>> gameStates) {
+            return klondike.findAllMoves(gameStates);
+        }
+
+        @Override
+        public boolean findAllMoves(final List<GameState<SolitaireMove, Board>> gameStates,
+                final MoveSink<? super SolitaireMove> sink) {
+            return klondike.findAllMoves(gameStates, sink);
+        }
+
+        @Override
+        public Collection<? extends MoveFilter<SolitaireMove, Board>> getFilters() {
+            return filters;
+        }
+
+    }
+
+}
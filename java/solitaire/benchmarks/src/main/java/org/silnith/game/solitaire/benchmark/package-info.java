@@ -0,0 +1,12 @@
+/**
+ * JMH benchmarks for the hot paths of the Klondike solitaire solver.
+ * 
+ * <p>Build the reactor with {@code mvn package}, then run every benchmark
+ * with {@code java -jar benchmarks/target/benchmarks.jar}, or a subset by
+ * passing a regular expression such as {@code MoveFilterBenchmark}.  All
+ * game data comes from fixed-seed deals, so results from different runs can
+ * be compared directly.</p>
+ * 
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+package org.silnith.game.solitaire.benchmark;
@@ -8,17 +8,47 @@ import org.silnith.deck.Suit.Color;
 /**
  * A playing card.
  * 
+ * <p>There are only fifty-two different cards, and {@link #of(Value, Suit)}
+ * returns the same instance every time for each of them.  Code that gets its
+ * cards that way can rely on {@link #equals(Object)} succeeding on identity
+ * without looking at the value or suit.  Each card also has an
+ * {@link #ordinal()} from {@code 0} to {@code 51}, so cards can index arrays
+ * and bit sets directly.</p>
+ * 
  * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
  */
 public class Card {
     
+    private static final int CARDS_PER_SUIT = Value.values().length;
+    
+    /**
+     * The number of different cards.
+     */
+    public static final int NUMBER_OF_CARDS = Suit.values().length * CARDS_PER_SUIT;
+    
+    private static final Card[] CARDS;
+    
+    static {
+        CARDS = new Card[NUMBER_OF_CARDS];
+        for (final Suit suit : Suit.values()) {
+            for (final Value value : Value.values()) {
+                final Card card = new Card(value, suit);
+                CARDS[card.ordinal] = card;
+            }
+        }
+    }
+    
     private final Value value;
     
     private final Suit suit;
     
+    private final int ordinal;
+    
     /**
      * Constructs a new playing card with the given value and suit.
      * 
+     * <p>Prefer {@link #of(Value, Suit)}, which does not create a new object.</p>
+     * 
      * @param value the value for the card
      * @param suit the suit for the card
      */
@@ -32,6 +62,41 @@ public class Card {
         }
         this.value = value;
         this.suit = suit;
+        this.ordinal = suit.ordinal() * CARDS_PER_SUIT + value.ordinal();
+    }
+    
+    /**
+     * Returns the canonical instance of the card with the given value and suit.
+     * 
+     * @param value the value for the card
+     * @param suit the suit for the card
+     * @return the card
+     * @throws IllegalArgumentException if either parameter is {@code null}
+     */
+    public static Card of(final Value value, final Suit suit) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null.");
+        }
+        if (suit == null) {
+            throw new IllegalArgumentException("Suit cannot be null.");
+        }
+        return CARDS[suit.ordinal() * CARDS_PER_SUIT + value.ordinal()];
+    }
+    
+    /**
+     * Returns the canonical instance of the card with the given ordinal.
+     * 
+     * @param ordinal the ordinal of the card
+     * @return the card
+     * @throws IllegalArgumentException if the ordinal is not between
+     *         {@code 0} and {@link #NUMBER_OF_CARDS} {@code - 1}
+     * @see #ordinal()
+     */
+    public static Card of(final int ordinal) {
+        if (ordinal < 0 || ordinal >= NUMBER_OF_CARDS) {
+            throw new IllegalArgumentException("Card ordinal out of range: " + ordinal);
+        }
+        return CARDS[ordinal];
     }
     
     /**
@@ -61,16 +126,32 @@ public class Card {
         return suit.getColor();
     }
     
+    /**
+     * Returns the position of the card in a deck sorted by suit and then by
+     * value, from {@code 0} for the {@link Value#ACE ace} of
+     * {@link Suit#CLUB clubs} to {@code 51} for the {@link Value#KING king}
+     * of {@link Suit#SPADE spades}.
+     * 
+     * @return the card ordinal
+     * @see #of(int)
+     */
+    public int ordinal() {
+        return ordinal;
+    }
+    
     @Override
     public int hashCode() {
-        return 0xac17b295 ^ value.hashCode() ^ suit.hashCode();
+        return ordinal;
     }
     
     @Override
     public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
         if (obj instanceof Card) {
             final Card card = (Card) obj;
-            return value.equals(card.value) && suit.equals(card.suit);
+            return ordinal == card.ordinal;
         } else {
             return false;
         }
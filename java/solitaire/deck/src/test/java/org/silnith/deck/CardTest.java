@@ -2,9 +2,13 @@ package org.silnith.deck;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import org.junit.jupiter.api.Test;
 
 public class CardTest {
@@ -115,4 +119,60 @@ public class CardTest {
         assertFalse(card.equals("Eight of Hearts"));
     }
     
+    @Test
+    public void testOfIsCanonical() {
+        assertSame(Card.of(Value.EIGHT, Suit.HEART), Card.of(Value.EIGHT, Suit.HEART));
+    }
+    
+    @Test
+    public void testOfEqualsConstructed() {
+        final Card card1 = Card.of(Value.EIGHT, Suit.HEART);
+        final Card card2 = new Card(Value.EIGHT, Suit.HEART);
+        
+        assertEquals(card1, card2);
+        assertEquals(card2, card1);
+        assertEquals(card1.hashCode(), card2.hashCode());
+    }
+    
+    @Test
+    public void testOfNullValue() {
+    	assertThrows(IllegalArgumentException.class, () -> Card.of(null, Suit.HEART));
+    }
+    
+    @Test
+    public void testOfNullSuit() {
+    	assertThrows(IllegalArgumentException.class, () -> Card.of(Value.EIGHT, null));
+    }
+    
+    @Test
+    public void testOrdinal() {
+        final Set<Integer> ordinals = new HashSet<>();
+        for (final Suit suit : Suit.values()) {
+            for (final Value value : Value.values()) {
+                final Card card = Card.of(value, suit);
+                
+                assertTrue(card.ordinal() >= 0 && card.ordinal() < Card.NUMBER_OF_CARDS);
+                assertEquals(card.ordinal(), new Card(value, suit).ordinal());
+                assertSame(card, Card.of(card.ordinal()));
+                ordinals.add(card.ordinal());
+            }
+        }
+        
+        assertEquals(52, ordinals.size());
+    }
+    
+    @Test
+    public void testOrdinalOrder() {
+        assertEquals(0, Card.of(Value.ACE, Suit.CLUB).ordinal());
+        assertEquals(12, Card.of(Value.KING, Suit.CLUB).ordinal());
+        assertEquals(13, Card.of(Value.ACE, Suit.DIAMOND).ordinal());
+        assertEquals(51, Card.of(Value.KING, Suit.SPADE).ordinal());
+    }
+    
+    @Test
+    public void testOfOrdinalOutOfRange() {
+    	assertThrows(IllegalArgumentException.class, () -> Card.of(-1));
+    	assertThrows(IllegalArgumentException.class, () -> Card.of(52));
+    }
+    
 }
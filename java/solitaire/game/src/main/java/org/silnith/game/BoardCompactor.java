@@ -0,0 +1,40 @@
+package org.silnith.game;
+
+/**
+ * Converts boards to and from a compact form that takes less memory.
+ *
+ * <p>A search that keeps many game state histories waiting to be searched
+ * spends most of its memory on boards.  A game whose boards have a much
+ * smaller encoding can provide a compactor, so that the search keeps older
+ * boards in compact form and expands them only when a filter asks for them.
+ * Expanding a compact board should be much cheaper than replaying every move
+ * from the start of the game.</p>
+ *
+ * <p>A compactor must be safe for use by several threads at once.</p>
+ *
+ * @param <B> the board type for the game
+ * @param <C> the compact board type
+ * @see Game#getBoardCompactor()
+ * @see org.silnith.game.search.HistoryMode#COMPACT_BOARDS
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public interface BoardCompactor<B, C> {
+
+    /**
+     * Returns the compact form of a board.
+     *
+     * @param board the board to compact
+     * @return the compact board
+     */
+    C compact(B board);
+
+    /**
+     * Returns the board a compact board was made from.  The result must be
+     * equal to the board passed to {@link #compact(Object)}.
+     *
+     * @param compactBoard the compact board
+     * @return the board
+     */
+    B expand(C compactBoard);
+
+}
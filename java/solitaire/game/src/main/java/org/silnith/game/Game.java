@@ -5,6 +5,7 @@ import java.util.List;
 
 import org.silnith.game.move.Move;
 import org.silnith.game.move.MoveFilter;
+import org.silnith.game.move.MoveSink;
 
 
 /**
@@ -44,6 +45,31 @@ public interface Game<M extends Move<B>, B> {
      */
     Collection<M> findAllMoves(List<GameState<M, B>> gameStates);
 
+    /**
+     * Passes the legal moves for the provided game state history to a sink,
+     * one at a time, in the same order {@link #findAllMoves(List)} returns
+     * them.  Generation stops as soon as the sink returns {@code false}.
+     * 
+     * <p>The default implementation builds the collection of moves and then
+     * passes them on.  Games that can generate moves directly into the sink
+     * should override this, so that searches neither allocate a collection
+     * for each game state nor generate moves they will never look at.</p>
+     * 
+     * @param gameStates the game state history.  The list is guaranteed to have
+     *         at least one game state in it.
+     * @param sink the sink to pass the legal moves to
+     * @return {@code true} if every move was passed to the sink, {@code false}
+     *         if the sink stopped generation early
+     */
+    default boolean findAllMoves(final List<GameState<M, B>> gameStates, final MoveSink<? super M> sink) {
+        for (final M move : findAllMoves(gameStates)) {
+            if ( !sink.accept(move)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Returns filters for pruning the game search space.
      * 
@@ -68,4 +94,19 @@ public interface Game<M extends Move<B>, B> {
      */
     Collection<? extends MoveFilter<M, B>> getFilters();
 
+    /**
+     * Returns a converter of boards to and from a compact form, which a
+     * search may use to keep older boards in less memory.
+     * 
+     * <p>The default implementation returns {@code null}, meaning the game
+     * has no compact form for its boards.</p>
+     * 
+     * @return the board compactor for this game, or {@code null} if there is
+     *         none
+     * @see org.silnith.game.search.HistoryMode#COMPACT_BOARDS
+     */
+    default BoardCompactor<B, ?> getBoardCompactor() {
+        return null;
+    }
+
 }
@@ -0,0 +1,99 @@
+package org.silnith.game;
+
+import org.silnith.game.move.Move;
+import org.silnith.game.move.MoveList;
+
+
+/**
+ * A board that moves are made on in place, and taken back in place, instead
+ * of producing a new board for every move.
+ *
+ * <p>A depth-first search only ever looks at the board at the end of the
+ * path it is exploring.  With a mutable board it can keep just one board,
+ * making a move on the way down and unmaking it on the way back up, so no
+ * board is allocated for any game state.  An immutable copy is only made with
+ * {@link #toBoard()} when something needs to keep the board.</p>
+ *
+ * <p>Moves can also be packed into {@code int}s, in whatever way suits the
+ * game, so that a search can find, make, and unmake moves without creating
+ * move objects either.  A packed move is turned into a move object with
+ * {@link #toMove(int)} only when something needs to keep the move.</p>
+ *
+ * <p>Moves must be unmade in the reverse order they were made.  A mutable
+ * board is not safe for use by more than one thread.</p>
+ *
+ * @param <M> the move type for the game
+ * @param <B> the immutable board type for the game
+ * @see org.silnith.game.search.MakeUnmakeDepthFirstSearch
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public interface MutableBoard<M extends Move<B>, B> {
+
+    /**
+     * Makes a move on this board.  The move must be legal for the board.
+     *
+     * @param move the move to make
+     */
+    void make(M move);
+
+    /**
+     * Takes back a move, restoring this board to what it was before the move
+     * was made.  The move must be the last one made that has not already been
+     * unmade.
+     *
+     * @param move the move to unmake
+     */
+    void unmake(M move);
+
+    /**
+     * Makes a packed move on this board.  The move must be legal for the
+     * board.
+     *
+     * @param move the packed move to make
+     * @see #findAllMoves(MoveList)
+     */
+    void make(int move);
+
+    /**
+     * Takes back a packed move, restoring this board to what it was before
+     * the move was made.  The move must be the last one made that has not
+     * already been unmade.
+     *
+     * @param move the packed move to unmake
+     */
+    void unmake(int move);
+
+    /**
+     * Adds every legal move for the current board to the given list, packed
+     * into {@code int}s, in the same order that
+     * {@link Game#findAllMoves(java.util.List)} would return them for the
+     * equivalent immutable board.  No move objects are created.
+     *
+     * @param moves the list to add the packed moves to
+     */
+    void findAllMoves(MoveList moves);
+
+    /**
+     * Returns the move object for a packed move that is legal for the current
+     * board.
+     *
+     * @param move the packed move
+     * @return the equivalent move object
+     */
+    M toMove(int move);
+
+    /**
+     * Returns whether the current board is a win.
+     *
+     * @return {@code true} if the board represents a win
+     */
+    boolean isWin();
+
+    /**
+     * Returns an immutable copy of the current board.
+     *
+     * @return the current board
+     */
+    B toBoard();
+
+}
@@ -0,0 +1,117 @@
+package org.silnith.game;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.silnith.game.move.Move;
+import org.silnith.game.move.MoveFilter;
+import org.silnith.game.move.MoveScorer;
+
+
+/**
+ * A game that returns the moves of another game ordered by a
+ * {@link MoveScorer}, so that searches try the most promising moves first.
+ * Everything else is passed through unchanged.
+ * 
+ * <p>The depth-first searches queue the moves for a node in the order they
+ * are returned, and then search the last one queued first.  So the moves are
+ * returned in <em>ascending</em> order of score, and the highest scoring move
+ * is searched first.  Moves with equal scores keep the order the wrapped
+ * game returned them in, so a scorer that gives every move the same score
+ * changes nothing.</p>
+ * 
+ * @param <M> the move type for the game
+ * @param <B> the board type for the game
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public class OrderedGame<M extends Move<B>, B> implements Game<M, B> {
+
+    private final Game<M, B> game;
+
+    private final MoveScorer<M, B> scorer;
+
+    /**
+     * Creates a game that orders the moves of the given game.
+     * 
+     * @param game the game to order the moves of
+     * @param scorer the scorer that decides the order
+     * @throws IllegalArgumentException if either argument is {@code null}
+     */
+    public OrderedGame(final Game<M, B> game, final MoveScorer<M, B> scorer) {
+        super();
+        if (game == null) {
+            throw new IllegalArgumentException("Game cannot be null.");
+        }
+        if (scorer == null) {
+            throw new IllegalArgumentException("Scorer cannot be null.");
+        }
+        this.game = game;
+        this.scorer = scorer;
+    }
+
+    /**
+     * Returns the game whose moves are ordered.
+     * 
+     * @return the wrapped game
+     */
+    public Game<M, B> getGame() {
+        return game;
+    }
+
+    /**
+     * Returns the scorer that decides the order of moves.
+     * 
+     * @return the move scorer
+     */
+    public MoveScorer<M, B> getScorer() {
+        return scorer;
+    }
+
+    @Override
+    public boolean isWin(final List<GameState<M, B>> gameStates) {
+        return game.isWin(gameStates);
+    }
+
+    /**
+     * Returns the moves of the wrapped game in ascending order of score.
+     * 
+     * @param gameStates {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Collection<M> findAllMoves(final List<GameState<M, B>> gameStates) {
+        final Collection<M> found = game.findAllMoves(gameStates);
+        final B board = gameStates.get(0).getBoard();
+        final List<M> moves = new ArrayList<>(found.size());
+        final int[] scores = new int[found.size()];
+        /*
+         * An insertion sort, which is stable and quick for the handful of
+         * moves a node has.
+         */
+        for (final M move : found) {
+            final int score = scorer.score(move, board);
+            int i = moves.size();
+            moves.add(move);
+            while (i > 0 && scores[i - 1] > score) {
+                scores[i] = scores[i - 1];
+                moves.set(i, moves.get(i - 1));
+                i-- ;
+            }
+            scores[i] = score;
+            moves.set(i, move);
+        }
+        return moves;
+    }
+
+    @Override
+    public Collection<? extends MoveFilter<M, B>> getFilters() {
+        return game.getFilters();
+    }
+
+    @Override
+    public BoardCompactor<B, ?> getBoardCompactor() {
+        return game.getBoardCompactor();
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.silnith.game.move;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.silnith.game.GameState;
+import org.silnith.game.util.LinkedNode;
+
+/**
+ * A filter that decides from a candidate move and the history leading up to
+ * it, without needing the board the move produces.
+ *
+ * <p>A search can run these filters before applying the move, so a move
+ * they prune never costs a new board, game state, or history node.  The
+ * other filters still run after the move is applied.</p>
+ *
+ * <p>So that every search can still use it as a plain {@link MoveFilter},
+ * {@link #shouldFilter(List)} splits the history into the most recent move
+ * and the history before it.  Game states with no history before them are
+ * the start of the game, and are never filtered.</p>
+ *
+ * @param <M> the move type for the game
+ * @param <B> the board type for the game
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public interface CandidateMoveFilter<M extends Move<B>, B> extends MoveFilter<M, B> {
+
+    /**
+     * Returns {@code true} if the candidate move should be pruned from the
+     * search tree, without the move having been applied.
+     *
+     * <p>The same advice about traversing the history applies as for
+     * {@link #shouldFilter(List)}.  Element {@code parentHistory.get(0)} is
+     * the game state the candidate move would be made from.</p>
+     *
+     * @param candidateMove a legal move for the most recent board
+     * @param parentHistory a sequence of game states, beginning with the
+     *         game state the move would be made from.  The list is
+     *         guaranteed to have at least one game state in it.
+     * @return {@code true} if the move should be pruned from the search tree
+     */
+    boolean shouldFilter(M candidateMove, List<GameState<M, B>> parentHistory);
+
+    @Override
+    default boolean shouldFilter(final List<GameState<M, B>> gameStateHistory) {
+        final List<GameState<M, B>> parentHistory;
+        if (gameStateHistory instanceof LinkedNode) {
+            parentHistory = ((LinkedNode<GameState<M, B>>) gameStateHistory).getNext();
+        } else if (gameStateHistory.size() > 1) {
+            parentHistory = gameStateHistory.subList(1, gameStateHistory.size());
+        } else {
+            parentHistory = Collections.emptyList();
+        }
+        if (parentHistory == null || parentHistory.isEmpty()) {
+            return false;
+        }
+        return shouldFilter(gameStateHistory.get(0).getMove(), parentHistory);
+    }
+
+}
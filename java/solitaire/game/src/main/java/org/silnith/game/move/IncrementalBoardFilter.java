@@ -0,0 +1,61 @@
+package org.silnith.game.move;
+
+import java.util.List;
+
+import org.silnith.game.GameState;
+import org.silnith.game.util.LinkedNode;
+
+/**
+ * A filter that checks the game state a move produces against a small
+ * summary of the history before it, instead of walking that history.
+ *
+ * <p>{@link #shouldFilter(List)} summarizes the history before the most
+ * recent game state from scratch, so the filter can still be used anywhere
+ * a plain {@link MoveFilter} is expected.  Filters that have a cheaper way
+ * to check a whole history should override it.  The initial game state is
+ * never filtered.</p>
+ *
+ * @param <M> the move type for the game
+ * @param <B> the board type for the game
+ * @param <S> the type of the summary
+ * @see SummarizingMoveFilter
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public interface IncrementalBoardFilter<M extends Move<B>, B, S> extends SummarizingMoveFilter<M, B, S> {
+
+    /**
+     * Returns {@code true} if the new game state should be pruned from the
+     * search tree, given the summary of the history it was reached from.
+     *
+     * <p>The history itself is also given, for filters whose summary can
+     * only say that a game state might need pruning, such as a set of hash
+     * codes.  Such a filter can confirm a possible match against the history.
+     * The boards of older game states in the history may be rebuilt each time
+     * they are read, so the history should only be read when the summary is
+     * not enough to decide.</p>
+     *
+     * @param gameState the new game state
+     * @param parentSummary the summary of the history before the new game
+     *         state
+     * @param parentHistory the history before the new game state, which
+     *         the summary was made from
+     * @return {@code true} if the game state should be pruned from the
+     *         search tree
+     */
+    boolean shouldFilter(GameState<M, B> gameState, S parentSummary, List<GameState<M, B>> parentHistory);
+
+    @Override
+    default boolean shouldFilter(final List<GameState<M, B>> gameStateHistory) {
+        if (gameStateHistory.size() < 2) {
+            return false;
+        }
+        final List<GameState<M, B>> parentHistory;
+        if (gameStateHistory instanceof LinkedNode) {
+            parentHistory = ((LinkedNode<GameState<M, B>>) gameStateHistory).getNext();
+        } else {
+            parentHistory = gameStateHistory.subList(1, gameStateHistory.size());
+        }
+        return shouldFilter(gameStateHistory.get(0), getSummary(parentHistory), parentHistory);
+    }
+
+}
@@ -0,0 +1,40 @@
+package org.silnith.game.move;
+
+import java.util.List;
+
+import org.silnith.game.GameState;
+
+/**
+ * A candidate move filter that decides from a small summary of the history
+ * instead of walking the history itself.
+ *
+ * <p>{@link #shouldFilter(Move, List)} summarizes the history from scratch,
+ * so the filter can still be used anywhere a plain {@link MoveFilter} is
+ * expected.</p>
+ *
+ * @param <M> the move type for the game
+ * @param <B> the board type for the game
+ * @param <S> the type of the summary
+ * @see SummarizingMoveFilter
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public interface IncrementalMoveFilter<M extends Move<B>, B, S>
+        extends CandidateMoveFilter<M, B>, SummarizingMoveFilter<M, B, S> {
+
+    /**
+     * Returns {@code true} if the candidate move should be pruned from the
+     * search tree, given the summary of the history it would be made from.
+     *
+     * @param candidateMove a legal move for the most recent board
+     * @param parentSummary the summary of the history the move would be made
+     *         from
+     * @return {@code true} if the move should be pruned from the search tree
+     */
+    boolean shouldFilter(M candidateMove, S parentSummary);
+
+    @Override
+    default boolean shouldFilter(final M candidateMove, final List<GameState<M, B>> parentHistory) {
+        return shouldFilter(candidateMove, getSummary(parentHistory));
+    }
+
+}
@@ -0,0 +1,42 @@
+package org.silnith.game.move;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes moves to and reads moves from a compact binary form.
+ *
+ * <p>A move is always read back in the context of the board it applies to,
+ * so the encoding only needs to hold what cannot be recovered from that
+ * board.  For example, a move of cards between two columns only needs to
+ * record the two columns and the number of cards, not the cards themselves.</p>
+ *
+ * @param <M> the move type for the game
+ * @param <B> the board type for the game
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public interface MoveCodec<M extends Move<B>, B> {
+
+    /**
+     * Writes a move to the provided output.
+     *
+     * @param move the move to write
+     * @param out the output to write to
+     * @throws IOException if there is a problem writing to the output
+     */
+    void writeMove(M move, DataOutput out) throws IOException;
+
+    /**
+     * Reads a move from the provided input.  This reads exactly the bytes
+     * written by {@link #writeMove(Move, DataOutput)}.
+     *
+     * @param in the input to read from
+     * @param board the board that the move will be applied to
+     * @return the move that was written
+     * @throws IOException if there is a problem reading from the input, or
+     *         the input does not contain a valid move
+     */
+    M readMove(DataInput in, B board) throws IOException;
+
+}
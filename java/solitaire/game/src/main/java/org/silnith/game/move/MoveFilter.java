@@ -49,4 +49,25 @@ public interface MoveFilter<M extends Move<B>, B> {
      */
     boolean shouldFilter(List<GameState<M, B>> gameStateHistory);
 
+    /**
+     * Returns how many of the most recent game states this filter reads the
+     * board of.  A filter that only looks at the current board returns
+     * {@code 1}, and a filter that only looks at moves returns {@code 0}.
+     * The moves of every game state in the history are always available.
+     * 
+     * <p>A search may keep boards for only the most recent game states, and
+     * rebuild older boards by replaying moves when they are asked for.
+     * Declaring a small lookback lets such a search discard more boards
+     * without ever having to rebuild one for this filter.</p>
+     * 
+     * <p>The default implementation returns {@link Integer#MAX_VALUE},
+     * meaning the filter may read any board in the history.</p>
+     * 
+     * @return the number of most recent boards read by this filter
+     * @see org.silnith.game.search.HistoryMode
+     */
+    default int getLookback() {
+        return Integer.MAX_VALUE;
+    }
+
 }
@@ -0,0 +1,113 @@
+package org.silnith.game.move;
+
+import java.util.Arrays;
+
+
+/**
+ * A growable list of moves packed into {@code int}s.
+ *
+ * <p>Games that can describe a move in a single {@code int} can generate
+ * moves into one of these instead of a collection of move objects.  A search
+ * keeps one list for each depth and {@link #clear() clears} it for every node,
+ * so once the lists have grown to the largest number of moves seen at a
+ * node, finding moves allocates nothing.  What the bits of a packed move mean
+ * is up to the game.</p>
+ *
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public final class MoveList {
+
+    private static final int DEFAULT_CAPACITY = 32;
+
+    private int[] moves;
+
+    private int size;
+
+    /**
+     * Creates an empty move list.
+     */
+    public MoveList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty move list with room for the given number of moves.
+     *
+     * @param capacity the number of moves to make room for
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public MoveList(final int capacity) {
+        super();
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative.");
+        }
+        this.moves = new int[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Adds a move to the end of the list.
+     *
+     * @param move the packed move
+     */
+    public void add(final int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, Math.max(DEFAULT_CAPACITY, 2 * size));
+        }
+        moves[size++ ] = move;
+    }
+
+    /**
+     * Returns the move at the given index.
+     *
+     * @param index the index of the move
+     * @return the packed move
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public int get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return moves[index];
+    }
+
+    /**
+     * Returns the number of moves in the list.
+     *
+     * @return the number of moves
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if the list has no moves.
+     *
+     * @return {@code true} if the list is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every move from the list, keeping the storage for reuse.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns a copy of the moves in the list.
+     *
+     * @return the packed moves, in order
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(moves, size);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+}
@@ -0,0 +1,28 @@
+package org.silnith.game.move;
+
+/**
+ * A score for how promising a move is, used to decide which moves a search
+ * tries first.
+ * 
+ * <p>A depth-first search that tries the most promising moves first can
+ * reach its first win after examining far fewer game states, without
+ * changing which game states are in the game tree.  Scores only need to be
+ * meaningful relative to the other moves for the same board.</p>
+ * 
+ * @param <M> the move type for the game
+ * @param <B> the board type for the game
+ * @see org.silnith.game.OrderedGame
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public interface MoveScorer<M extends Move<B>, B> {
+
+    /**
+     * Returns how promising a move is.  Higher scores are tried first.
+     * 
+     * @param move a legal move for the board
+     * @param board the board the move would be made from
+     * @return the score for the move
+     */
+    int score(M move, B board);
+
+}
@@ -0,0 +1,25 @@
+package org.silnith.game.move;
+
+/**
+ * Receives moves one at a time as a game generates them.
+ *
+ * <p>A search that handles each move as soon as it is generated does not
+ * need a collection of moves for every node, and can tell the game to stop
+ * generating once it has no use for any more moves, for instance because it
+ * has found the win it was looking for.</p>
+ *
+ * @param <M> the move type for the game
+ * @see org.silnith.game.Game#findAllMoves(java.util.List, MoveSink)
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public interface MoveSink<M> {
+
+    /**
+     * Handles the next move generated.
+     *
+     * @param move a legal move
+     * @return {@code true} to keep generating moves, {@code false} to stop
+     */
+    boolean accept(M move);
+
+}
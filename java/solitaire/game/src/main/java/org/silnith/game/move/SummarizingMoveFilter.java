@@ -0,0 +1,57 @@
+package org.silnith.game.move;
+
+import java.util.List;
+
+import org.silnith.game.GameState;
+
+/**
+ * A filter that decides from a small summary of the history instead of
+ * walking the history itself.
+ *
+ * <p>A search keeps the summary for each node it creates, derived from the
+ * summary of the node's parent in constant time, so the cost of the filter
+ * does not grow with the length of the game.  What goes in the summary is
+ * up to the filter; it should be immutable, and may be {@code null}.</p>
+ *
+ * <p>Histories the search did not build itself, such as the initial game
+ * state or nodes restored from a checkpoint, are summarized from scratch
+ * with {@link #getSummary(List)}.</p>
+ *
+ * <p>A filter does not implement this directly, but one of the two kinds
+ * of check made with the summary: {@link IncrementalMoveFilter} checks the
+ * candidate move before it is applied, and {@link IncrementalBoardFilter}
+ * checks the game state the move produces.</p>
+ *
+ * @param <M> the move type for the game
+ * @param <B> the board type for the game
+ * @param <S> the type of the summary
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public interface SummarizingMoveFilter<M extends Move<B>, B, S> extends MoveFilter<M, B> {
+
+    /**
+     * Returns the summary of a whole history, working it out from the game
+     * states themselves.
+     *
+     * @param gameStateHistory a sequence of game states, beginning with the
+     *         most recent.  The list is guaranteed to have at least one game
+     *         state in it.
+     * @return the summary of the history
+     */
+    S getSummary(List<GameState<M, B>> gameStateHistory);
+
+    /**
+     * Returns the summary of a history one game state longer than a history
+     * with a known summary.  This must give the same summary as
+     * {@link #getSummary(List)} would for the longer history, and should
+     * take constant time.
+     *
+     * @param parentSummary the summary of the history before the new game
+     *         state
+     * @param parentState the most recent game state of that history
+     * @param gameState the new game state
+     * @return the summary of the longer history
+     */
+    S getSummary(S parentSummary, GameState<M, B> parentState, GameState<M, B> gameState);
+
+}
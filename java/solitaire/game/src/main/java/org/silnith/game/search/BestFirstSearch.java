@@ -0,0 +1,196 @@
+package org.silnith.game.search;
+
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+import org.silnith.game.Game;
+import org.silnith.game.GameState;
+import org.silnith.game.move.Move;
+import org.silnith.game.util.LinkedNode;
+
+/**
+ * A game tree search algorithm implementation that always expands the most
+ * promising game state next, running sequentially on a single thread.
+ *
+ * <p>Each queued game state is scored as
+ * <code>depth + weight &times; estimate</code>, where the estimate comes from
+ * a {@link Heuristic}.  The game state with the lowest score is expanded
+ * first.  A weight of {@code 1} is the classic A* search, which finds the
+ * shortest win first if the heuristic is admissible.  Larger weights trust
+ * the heuristic more and the depth less, trading the guarantee of a shortest
+ * win for finding a first win much sooner.  Ties are broken in favor of the
+ * game state queued most recently, so the search is deterministic and a run
+ * of equally-scored game states is searched depth-first.</p>
+ *
+ * <p>Unlike a depth-first search, the queue of game states waiting to be
+ * searched can grow very large, since the search does not finish one
+ * sub-tree before starting another.</p>
+ *
+ * @param <M> the move type for the game
+ * @param <B> the board type for the game
+ */
+public class BestFirstSearch<M extends Move<B>, B> extends GameTreeSearcher<M, B> {
+
+    private final Heuristic<M, B> heuristic;
+
+    private final double weight;
+
+    private final Queue<QueueEntry<M, B>> queue;
+
+    private final Collection<List<GameState<M, B>>> wins;
+
+    private long sequence;
+
+    private volatile boolean cancelled;
+
+    /**
+     * Initializes an A* search, where the heuristic and the depth have equal
+     * weight.
+     *
+     * @param game the game
+     * @param initialState the initial game state
+     * @param heuristic the estimate of how far each game state is from a win
+     */
+    public BestFirstSearch(final Game<M, B> game, final GameState<M, B> initialState,
+            final Heuristic<M, B> heuristic) {
+        this(game, initialState, heuristic, 1.0, null);
+    }
+
+    /**
+     * Initializes a weighted best-first search.
+     *
+     * @param game the game
+     * @param initialState the initial game state
+     * @param heuristic the estimate of how far each game state is from a win
+     * @param weight the weight given to the heuristic estimate relative to the
+     *         depth.  {@code 1} gives an A* search.
+     * @param transpositionTable the table of boards already reached.  May be
+     *         {@code null}, in which case no transpositions are detected.
+     * @throws IllegalArgumentException if the heuristic is {@code null} or the
+     *         weight is not positive
+     */
+    public BestFirstSearch(final Game<M, B> game, final GameState<M, B> initialState,
+            final Heuristic<M, B> heuristic, final double weight,
+            final TranspositionTable<B> transpositionTable) {
+        this(game, initialState, heuristic, weight, transpositionTable, SearchMode.ALL_WINS);
+    }
+
+    /**
+     * Initializes a weighted best-first search that stops according to the
+     * given search mode.  Since the most promising game states are expanded
+     * first, {@link SearchMode#FIRST_WIN} is the natural mode for this search.
+     *
+     * @param game the game
+     * @param initialState the initial game state
+     * @param heuristic the estimate of how far each game state is from a win
+     * @param weight the weight given to the heuristic estimate relative to the
+     *         depth.  {@code 1} gives an A* search.
+     * @param transpositionTable the table of boards already reached.  May be
+     *         {@code null}, in which case no transpositions are detected.
+     * @param searchMode what the search is looking for
+     * @throws IllegalArgumentException if the heuristic is {@code null} or the
+     *         weight is not positive
+     */
+    public BestFirstSearch(final Game<M, B> game, final GameState<M, B> initialState,
+            final Heuristic<M, B> heuristic, final double weight,
+            final TranspositionTable<B> transpositionTable, final SearchMode searchMode) {
+        super(game, transpositionTable, searchMode);
+        if (initialState == null) {
+            throw new IllegalArgumentException("Initial state cannot be null.");
+        }
+        if (heuristic == null) {
+            throw new IllegalArgumentException("Heuristic cannot be null.");
+        }
+        if (!(weight > 0)) {
+            throw new IllegalArgumentException("Weight must be positive.");
+        }
+        this.heuristic = heuristic;
+        this.weight = weight;
+        this.queue = new PriorityQueue<>();
+        this.wins = new LinkedList<>();
+        this.sequence = 0;
+        this.cancelled = false;
+
+        enqueue(new LinkedNode<>(initialState));
+    }
+
+    @Override
+    public void close() {
+        cancelled = true;
+    }
+
+    @Override
+    public Collection<List<GameState<M, B>>> call() {
+        QueueEntry<M, B> entry = queue.poll();
+        while (entry != null && !cancelled && !isStopped()) {
+            examineNode(entry.node);
+
+            entry = queue.poll();
+        }
+
+        return getReportedWins(wins);
+    }
+
+    @Override
+    protected int getQueueSize() {
+        return queue.size();
+    }
+
+    @Override
+    protected int getWinCount() {
+        return wins.size();
+    }
+
+    @Override
+    protected void queueNode(final LinkedNode<GameState<M, B>> node) {
+        enqueue(node);
+    }
+
+    private void enqueue(final LinkedNode<GameState<M, B>> node) {
+        final double score = node.size() + weight * heuristic.estimate(node);
+        queue.add(new QueueEntry<>(node, score, sequence++));
+    }
+
+    @Override
+    protected void addWin(final List<GameState<M, B>> node) {
+        wins.add(node);
+    }
+
+    /**
+     * A game tree node along with its score, so the heuristic is only
+     * evaluated once per node.
+     *
+     * @param <M> the move type for the game
+     * @param <B> the board type for the game
+     */
+    private static class QueueEntry<M extends Move<B>, B> implements Comparable<QueueEntry<M, B>> {
+
+        private final LinkedNode<GameState<M, B>> node;
+
+        private final double score;
+
+        private final long sequence;
+
+        public QueueEntry(final LinkedNode<GameState<M, B>> node, final double score, final long sequence) {
+            super();
+            this.node = node;
+            this.score = score;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(final QueueEntry<M, B> o) {
+            final int byScore = Double.compare(score, o.score);
+            if (byScore != 0) {
+                return byScore;
+            }
+            // Newest first, so a plateau of equal scores is searched depth-first.
+            return Long.compare(o.sequence, sequence);
+        }
+
+    }
+
+}
@@ -0,0 +1,56 @@
+package org.silnith.game.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An unbounded in-memory frontier that may be shared by multiple threads.
+ *
+ * @param <E> the type of node in the frontier
+ */
+public class BlockingFrontier<E> implements Frontier<E> {
+
+    private final BlockingDeque<E> deque;
+
+    /**
+     * Creates an empty frontier.
+     */
+    public BlockingFrontier() {
+        super();
+        this.deque = new LinkedBlockingDeque<>();
+    }
+
+    @Override
+    public void addLast(final E e) {
+        deque.addLast(e);
+    }
+
+    @Override
+    public E pollLast() {
+        return deque.pollLast();
+    }
+
+    @Override
+    public E pollLast(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return deque.pollLast(timeout, unit);
+    }
+
+    @Override
+    public int size() {
+        return deque.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return deque.isEmpty();
+    }
+
+    @Override
+    public List<E> toList() {
+        return new ArrayList<>(deque);
+    }
+
+}
@@ -0,0 +1,52 @@
+package org.silnith.game.search;
+
+import org.silnith.game.BoardCompactor;
+import org.silnith.game.GameState;
+import org.silnith.game.move.Move;
+
+/**
+ * A game state that keeps its board in compact form, and expands it each
+ * time it is asked for.
+ *
+ * <p>Expanded boards are not cached.  The compact board is all the game
+ * state holds on to, so a history of these takes the same memory no matter
+ * how often its boards are read.</p>
+ *
+ * @param <M> the move type for the game
+ * @param <B> the board type for the game
+ * @param <C> the compact board type
+ * @see HistoryMode#COMPACT_BOARDS
+ */
+final class CompactGameState<M extends Move<B>, B, C> extends GameState<M, B> {
+
+    private final BoardCompactor<B, C> compactor;
+
+    private final C compactBoard;
+
+    /**
+     * Creates a game state that holds a compact board.
+     *
+     * @param move the move
+     * @param compactor the compactor that made the compact board
+     * @param compactBoard the board that resulted from the move, in compact
+     *         form
+     */
+    CompactGameState(final M move, final BoardCompactor<B, C> compactor, final C compactBoard) {
+        super(move, null);
+        assert compactor != null;
+        assert compactBoard != null;
+        this.compactor = compactor;
+        this.compactBoard = compactBoard;
+    }
+
+    @Override
+    public B getSecond() {
+        return getBoard();
+    }
+
+    @Override
+    public B getBoard() {
+        return compactor.expand(compactBoard);
+    }
+
+}
@@ -0,0 +1,208 @@
+package org.silnith.game.search;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.silnith.game.Game;
+import org.silnith.game.GameState;
+import org.silnith.game.move.Move;
+import org.silnith.game.util.LinkedNode;
+
+/**
+ * A game tree search algorithm implementation that performs a depth-first
+ * search running in parallel on a work-stealing {@link ForkJoinPool}.
+ *
+ * <p>Every game tree node is a separate task.  Child nodes are forked onto
+ * the local deque of the worker thread that generated them, and each worker
+ * takes its own newest task first, so every worker performs a depth-first
+ * search of its own part of the tree without touching any shared lock.
+ * A worker that runs out of work steals the oldest task from another worker.
+ * The oldest tasks are the shallowest nodes, so a single steal hands over a
+ * large sub-tree.</p>
+ *
+ * <p>Tasks are never joined, so a task that fails records the failure with
+ * the search itself.  The first failure stops the search, and is thrown from
+ * {@link #call()} once every worker is idle.</p>
+ *
+ * @param <M> the move type for the game
+ * @param <B> the board type for the game
+ */
+public class ForkJoinDepthFirstSearch<M extends Move<B>, B> extends GameTreeSearcher<M, B> {
+
+    private final ForkJoinPool pool;
+    private final LinkedNode<GameState<M, B>> initialNode;
+    private final Collection<List<GameState<M, B>>> wins;
+    private volatile boolean cancelled;
+    /**
+     * The first exception or error thrown while examining a node.
+     */
+    private final AtomicReference<Throwable> failure;
+
+    /**
+     * Initializes a work-stealing depth-first search with the specified
+     * number of worker threads.
+     *
+     * @param game the game
+     * @param initialState the initial game state from which to begin the search
+     * @param parallelism the number of worker threads to use for searching the game tree
+     */
+    public ForkJoinDepthFirstSearch(final Game<M, B> game, final GameState<M, B> initialState,
+            final int parallelism) {
+        this(game, initialState, parallelism, null);
+    }
+
+    /**
+     * Initializes a work-stealing depth-first search with the specified
+     * number of worker threads that skips boards already reached by a
+     * different sequence of moves.  All the workers share the one
+     * transposition table.
+     *
+     * @param game the game
+     * @param initialState the initial game state from which to begin the search
+     * @param parallelism the number of worker threads to use for searching the game tree
+     * @param transpositionTable the table of boards already reached.  May be
+     *         {@code null}, in which case no transpositions are detected.
+     */
+    public ForkJoinDepthFirstSearch(final Game<M, B> game, final GameState<M, B> initialState,
+            final int parallelism, final TranspositionTable<B> transpositionTable) {
+        this(game, initialState, parallelism, transpositionTable, SearchMode.ALL_WINS);
+    }
+
+    /**
+     * Initializes a work-stealing depth-first search that stops according to
+     * the given search mode.  When the search stops, every task still queued
+     * returns without examining its node.
+     *
+     * @param game the game
+     * @param initialState the initial game state from which to begin the search
+     * @param parallelism the number of worker threads to use for searching the game tree
+     * @param transpositionTable the table of boards already reached.  May be
+     *         {@code null}, in which case no transpositions are detected.
+     * @param searchMode what the search is looking for
+     */
+    public ForkJoinDepthFirstSearch(final Game<M, B> game, final GameState<M, B> initialState,
+            final int parallelism, final TranspositionTable<B> transpositionTable,
+            final SearchMode searchMode) {
+        super(game, transpositionTable, searchMode);
+        if (initialState == null) {
+            throw new IllegalArgumentException("Initial state cannot be null.");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        }
+        this.pool = new ForkJoinPool(parallelism);
+        this.initialNode = new LinkedNode<>(initialState);
+        this.wins = new ConcurrentLinkedQueue<>();
+        this.cancelled = false;
+        this.failure = new AtomicReference<>();
+    }
+
+    @Override
+    public void close() {
+        cancelled = true;
+        pool.shutdown();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws RuntimeException the first exception thrown while examining a
+     *         node, which stopped the search
+     * @throws Error the first error thrown while examining a node, which
+     *         stopped the search
+     */
+    @Override
+    public Collection<List<GameState<M, B>>> call() throws InterruptedException {
+        pool.execute(new NodeTask(initialNode));
+
+        /*
+         * Once every worker is idle and no tasks are queued anywhere,
+         * the whole tree has been searched.
+         */
+        while (!pool.awaitQuiescence(1, TimeUnit.SECONDS)) {
+            if (Thread.interrupted()) {
+                cancelled = true;
+                throw new InterruptedException();
+            }
+        }
+
+        final Throwable t = failure.get();
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        } else if (t instanceof Error) {
+            throw (Error) t;
+        } else if (t != null) {
+            throw new IllegalStateException(t);
+        }
+
+        return getReportedWins(wins);
+    }
+
+    @Override
+    protected int getQueueSize() {
+        return (int) Math.min(Integer.MAX_VALUE, pool.getQueuedTaskCount() + pool.getQueuedSubmissionCount());
+    }
+
+    @Override
+    protected int getWinCount() {
+        return wins.size();
+    }
+
+    @Override
+    protected void queueNode(final LinkedNode<GameState<M, B>> node) {
+        final NodeTask task = new NodeTask(node);
+        if (ForkJoinTask.getPool() == pool) {
+            // Pushes onto the local deque of the current worker.
+            task.fork();
+        } else {
+            pool.execute(task);
+        }
+    }
+
+    @Override
+    protected void searchStopped() {
+        cancelled = true;
+    }
+
+    @Override
+    protected void addWin(final List<GameState<M, B>> node) {
+        wins.add(node);
+    }
+
+    /**
+     * A task that examines a single game tree node.
+     */
+    private class NodeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final LinkedNode<GameState<M, B>> node;
+
+        public NodeTask(final LinkedNode<GameState<M, B>> node) {
+            super();
+            this.node = node;
+        }
+
+        @Override
+        protected void compute() {
+            if (cancelled) {
+                return;
+            }
+            try {
+                examineNode(node);
+            } catch (final Throwable t) {
+                // Nothing joins this task, so the failure would be lost.
+                failure.compareAndSet(null, t);
+                cancelled = true;
+            }
+        }
+
+    }
+
+}
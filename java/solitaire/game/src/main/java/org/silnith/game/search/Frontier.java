@@ -0,0 +1,68 @@
+package org.silnith.game.search;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The game tree nodes waiting to be searched by a depth-first search.  Nodes
+ * are taken from the same end they are added to, so the newest and deepest
+ * node is always searched next.
+ *
+ * <p>The searchers use an in-memory frontier by default, but can be given a
+ * different implementation, such as one that bounds the memory used.</p>
+ *
+ * @param <E> the type of node in the frontier
+ * @see SpillingFrontier
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public interface Frontier<E> {
+
+    /**
+     * Adds a node to the frontier.
+     *
+     * @param e the node to add
+     */
+    void addLast(E e);
+
+    /**
+     * Removes and returns the newest node in the frontier, or returns
+     * {@code null} if the frontier is empty.
+     *
+     * @return the newest node, or {@code null}
+     */
+    E pollLast();
+
+    /**
+     * Removes and returns the newest node in the frontier, waiting up to the
+     * given time for one to be added if the frontier is empty.
+     *
+     * @param timeout how long to wait
+     * @param unit the unit of the timeout
+     * @return the newest node, or {@code null} if none was added in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    E pollLast(long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Returns the number of nodes in the frontier.
+     *
+     * @return the size of the frontier
+     */
+    int size();
+
+    /**
+     * Returns whether the frontier has no nodes.
+     *
+     * @return {@code true} if the frontier is empty
+     */
+    boolean isEmpty();
+
+    /**
+     * Returns a copy of every node in the frontier, oldest first, without
+     * removing them.  This is used to take checkpoints, and need not be fast.
+     *
+     * @return the nodes in the frontier
+     */
+    List<E> toList();
+
+}
@@ -1,19 +1,29 @@
 package org.silnith.game.search;
 
 import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.Callable;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
+import org.silnith.game.BoardCompactor;
 import org.silnith.game.Game;
 import org.silnith.game.GameState;
+import org.silnith.game.move.CandidateMoveFilter;
+import org.silnith.game.move.IncrementalBoardFilter;
+import org.silnith.game.move.IncrementalMoveFilter;
 import org.silnith.game.move.Move;
 import org.silnith.game.move.MoveFilter;
+import org.silnith.game.move.SummarizingMoveFilter;
 import org.silnith.game.util.LinkedNode;
 
 /**
@@ -28,10 +38,78 @@ public abstract class GameTreeSearcher<M extends Move<B>, B> implements AutoClos
 
     private final Game<M, B> game;
     private final Collection<? extends MoveFilter<M, B>> gameFilters;
-    private final AtomicLong gameStatesExamined;
-    private final AtomicLong boardsGenerated;
-    private final AtomicLong movesPrunedTotal;
-    private final Map<Object, AtomicLong> movesPruned;
+    private final long startTime;
+    private final LongAdder gameStatesExamined;
+    private final LongAdder boardsGenerated;
+    private final LongAdder movesPrunedTotal;
+    private final Map<Object, LongAdder> movesPruned;
+    /**
+     * The filters from {@link #gameFilters} that decide from the candidate
+     * move alone, which run before the move is applied.
+     */
+    private final List<CandidateMoveFilter<M, B>> candidateFilters;
+    /**
+     * The counter for each filter in {@link #candidateFilters}, in the same
+     * order, so that the search does not look up counters by key.
+     */
+    private final LongAdder[] candidatePruned;
+    /**
+     * For each filter in {@link #candidateFilters}, the same filter if it
+     * keeps a summary on each node, or {@code null} if it does not.
+     */
+    private final List<IncrementalMoveFilter<M, B, Object>> incrementalFilters;
+    /**
+     * For each filter in {@link #candidateFilters}, the index of its summary,
+     * or {@code -1} if it does not keep one.
+     */
+    private final int[] candidateSummaries;
+    /**
+     * The filters from {@link #gameFilters} that run on the game state the
+     * move produces, but check it against a summary kept on the parent node
+     * instead of its history.  They run before the new node is created.
+     */
+    private final List<IncrementalBoardFilter<M, B, Object>> incrementalBoardFilters;
+    /**
+     * The counter for each filter in {@link #incrementalBoardFilters}, in
+     * the same order.
+     */
+    private final LongAdder[] incrementalBoardPruned;
+    /**
+     * For each filter in {@link #incrementalBoardFilters}, the index of its
+     * summary.
+     */
+    private final int[] incrementalBoardSummaries;
+    /**
+     * Every filter from {@link #gameFilters} that keeps a summary on each
+     * node.  Each node's summaries are kept in this order.
+     */
+    private final List<SummarizingMoveFilter<M, B, Object>> summarizingFilters;
+    /**
+     * The rest of the filters from {@link #gameFilters}, which run on the
+     * history of the game state the move produces.
+     */
+    private final List<MoveFilter<M, B>> boardFilters;
+    /**
+     * The counter for each filter in {@link #boardFilters}, in the same order.
+     */
+    private final LongAdder[] boardPruned;
+    private final TranspositionTable<B> transpositionTable;
+    private final LongAdder transpositionsPruned;
+    private final SearchMode searchMode;
+    private final AtomicBoolean winFound;
+    private final AtomicInteger depthBound;
+    private final LongAdder boundPruned;
+    private final HistoryMode historyMode;
+    /**
+     * The number of most recent game states in each queued history that
+     * keep their boards, or {@link Integer#MAX_VALUE} to keep them all.
+     */
+    private final int boardHistory;
+    /**
+     * The compactor for older boards in each queued history, or {@code null}
+     * if older boards are replayed instead.
+     */
+    private final BoardCompactor<B, Object> boardCompactor;
 
     /**
      * Initializes a game tree search run for the provided game.
@@ -39,21 +117,197 @@ public abstract class GameTreeSearcher<M extends Move<B>, B> implements AutoClos
      * @param game the game
      */
     protected GameTreeSearcher(final Game<M, B> game) {
+        this(game, null);
+    }
+
+    /**
+     * Initializes a game tree search run for the provided game that skips
+     * boards already reached by a different sequence of moves.
+     * 
+     * <p>Before a new game state is queued, its board is checked against the
+     * transposition table.  If the same board has already been reached at
+     * the same depth or shallower, the game state is pruned.  The table may
+     * be shared by several searchers.</p>
+     * 
+     * @param game the game
+     * @param transpositionTable the table of boards already reached.  May be
+     *         {@code null}, in which case no transpositions are detected.
+     */
+    protected GameTreeSearcher(final Game<M, B> game, final TranspositionTable<B> transpositionTable) {
+        this(game, transpositionTable, SearchMode.ALL_WINS);
+    }
+
+    /**
+     * Initializes a game tree search run for the provided game that stops
+     * according to the given search mode.
+     * 
+     * <p>In {@link SearchMode#FIRST_WIN} and {@link SearchMode#SOLVABILITY}
+     * modes, the search is stopped as soon as the first win is found.  Every game tree node
+     * examined after that is skipped, so subclasses only need to drain their
+     * queues, and should check {@link #isStopped()} to avoid waiting for
+     * work that will never come.</p>
+     * 
+     * @param game the game
+     * @param transpositionTable the table of boards already reached.  May be
+     *         {@code null}, in which case no transpositions are detected.
+     * @param searchMode what the search is looking for
+     */
+    protected GameTreeSearcher(final Game<M, B> game, final TranspositionTable<B> transpositionTable,
+            final SearchMode searchMode) {
+        this(game, transpositionTable, searchMode, null);
+    }
+
+    /**
+     * Initializes a game tree search run for the provided game that resumes
+     * from a checkpoint.  The statistics are restored from the checkpoint,
+     * and subclasses are responsible for queueing the checkpoint frontier
+     * and wins.
+     * 
+     * @param game the game
+     * @param transpositionTable the table of boards already reached.  May be
+     *         {@code null}, in which case no transpositions are detected.
+     * @param searchMode what the search is looking for
+     * @param checkpoint the checkpoint to resume from.  May be {@code null},
+     *         in which case the statistics start from zero.
+     * @see #checkpoint()
+     */
+    protected GameTreeSearcher(final Game<M, B> game, final TranspositionTable<B> transpositionTable,
+            final SearchMode searchMode, final SearchCheckpoint<M, B> checkpoint) {
+        this(game, transpositionTable, searchMode, checkpoint, HistoryMode.ALL_BOARDS);
+    }
+
+    /**
+     * Initializes a game tree search run for the provided game that keeps
+     * the boards in game state histories according to the given history
+     * mode.
+     * 
+     * @param game the game
+     * @param transpositionTable the table of boards already reached.  May be
+     *         {@code null}, in which case no transpositions are detected.
+     * @param searchMode what the search is looking for
+     * @param checkpoint the checkpoint to resume from.  May be {@code null},
+     *         in which case the statistics start from zero.
+     * @param historyMode which boards to keep in the histories of queued
+     *         game tree nodes
+     * @throws IllegalArgumentException if the history mode is
+     *         {@link HistoryMode#COMPACT_BOARDS} and the game has no
+     *         {@link Game#getBoardCompactor() board compactor}
+     */
+    @SuppressWarnings("unchecked")
+    protected GameTreeSearcher(final Game<M, B> game, final TranspositionTable<B> transpositionTable,
+            final SearchMode searchMode, final SearchCheckpoint<M, B> checkpoint, final HistoryMode historyMode) {
         super();
         if (game == null) {
             throw new IllegalArgumentException("Game cannot be null.");
         }
+        if (searchMode == null) {
+            throw new IllegalArgumentException("Search mode cannot be null.");
+        }
+        if (historyMode == null) {
+            throw new IllegalArgumentException("History mode cannot be null.");
+        }
+        if (historyMode == HistoryMode.COMPACT_BOARDS) {
+            // The compact board type does not matter to the search, only that the compactor agrees with itself.
+            this.boardCompactor = (BoardCompactor<B, Object>) game.getBoardCompactor();
+            if (boardCompactor == null) {
+                throw new IllegalArgumentException("Game has no board compactor.");
+            }
+        } else {
+            this.boardCompactor = null;
+        }
         this.game = game;
+        this.transpositionTable = transpositionTable;
+        this.transpositionsPruned = new LongAdder();
+        this.searchMode = searchMode;
+        this.winFound = new AtomicBoolean(false);
+        this.depthBound = new AtomicInteger(Integer.MAX_VALUE);
+        this.boundPruned = new LongAdder();
         this.gameFilters = this.game.getFilters();
-        this.gameStatesExamined = new AtomicLong();
-        this.boardsGenerated = new AtomicLong();
-        this.movesPrunedTotal = new AtomicLong();
-        final Map<Object, AtomicLong> tempMap = new HashMap<>();
+        this.startTime = System.nanoTime();
+        this.gameStatesExamined = new LongAdder();
+        this.boardsGenerated = new LongAdder();
+        this.movesPrunedTotal = new LongAdder();
+        final Map<Object, LongAdder> tempMap = new HashMap<>();
+        this.candidateFilters = new ArrayList<>();
+        final List<LongAdder> candidateCounters = new ArrayList<>();
+        this.incrementalBoardFilters = new ArrayList<>();
+        final List<LongAdder> incrementalBoardCounters = new ArrayList<>();
+        this.boardFilters = new ArrayList<>();
+        final List<LongAdder> boardCounters = new ArrayList<>();
         for (final MoveFilter<M, B> filter : gameFilters) {
             final Object statisticsKey = filter.getStatisticsKey();
-            tempMap.put(statisticsKey, new AtomicLong());
+            LongAdder counter = tempMap.get(statisticsKey);
+            if (counter == null) {
+                counter = new LongAdder();
+                tempMap.put(statisticsKey, counter);
+            }
+            if (filter instanceof CandidateMoveFilter) {
+                this.candidateFilters.add((CandidateMoveFilter<M, B>) filter);
+                candidateCounters.add(counter);
+            } else if (filter instanceof IncrementalBoardFilter) {
+                @SuppressWarnings("unchecked")
+                final IncrementalBoardFilter<M, B, Object> incrementalFilter =
+                        (IncrementalBoardFilter<M, B, Object>) filter;
+                this.incrementalBoardFilters.add(incrementalFilter);
+                incrementalBoardCounters.add(counter);
+            } else {
+                this.boardFilters.add(filter);
+                boardCounters.add(counter);
+            }
         }
+        this.candidatePruned = candidateCounters.toArray(new LongAdder[candidateCounters.size()]);
+        this.summarizingFilters = new ArrayList<>();
+        this.incrementalFilters = new ArrayList<>(candidateFilters.size());
+        this.candidateSummaries = new int[candidateFilters.size()];
+        for (int i = 0; i < candidateSummaries.length; i++ ) {
+            final CandidateMoveFilter<M, B> filter = candidateFilters.get(i);
+            if (filter instanceof IncrementalMoveFilter) {
+                @SuppressWarnings("unchecked")
+                final IncrementalMoveFilter<M, B, Object> incrementalFilter =
+                        (IncrementalMoveFilter<M, B, Object>) filter;
+                this.candidateSummaries[i] = summarizingFilters.size();
+                this.summarizingFilters.add(incrementalFilter);
+                this.incrementalFilters.add(incrementalFilter);
+            } else {
+                this.candidateSummaries[i] = -1;
+                this.incrementalFilters.add(null);
+            }
+        }
+        this.incrementalBoardPruned =
+                incrementalBoardCounters.toArray(new LongAdder[incrementalBoardCounters.size()]);
+        this.incrementalBoardSummaries = new int[incrementalBoardFilters.size()];
+        for (int i = 0; i < incrementalBoardSummaries.length; i++ ) {
+            this.incrementalBoardSummaries[i] = summarizingFilters.size();
+            this.summarizingFilters.add(incrementalBoardFilters.get(i));
+        }
+        this.boardPruned = boardCounters.toArray(new LongAdder[boardCounters.size()]);
         this.movesPruned = Collections.unmodifiableMap(tempMap);
+        this.historyMode = historyMode;
+        if (historyMode == HistoryMode.ALL_BOARDS) {
+            this.boardHistory = Integer.MAX_VALUE;
+        } else {
+            // The current board is always needed to find moves.
+            int lookback = 1;
+            for (final MoveFilter<M, B> filter : gameFilters) {
+                final int filterLookback = filter.getLookback();
+                if (filterLookback != Integer.MAX_VALUE) {
+                    lookback = Math.max(lookback, filterLookback);
+                }
+            }
+            this.boardHistory = lookback;
+        }
+        if (checkpoint != null) {
+            this.gameStatesExamined.add(checkpoint.getGameStatesExamined());
+            this.boardsGenerated.add(checkpoint.getBoardsGenerated());
+            this.movesPrunedTotal.add(checkpoint.getMovesPrunedTotal());
+            for (final Map.Entry<Object, LongAdder> entry : movesPruned.entrySet()) {
+                entry.getValue().add(checkpoint.getMovesPruned(entry.getKey()));
+            }
+            this.transpositionsPruned.add(checkpoint.getTranspositionsPruned());
+            this.boundPruned.add(checkpoint.getBoundPruned());
+            this.depthBound.set(checkpoint.getDepthBound());
+            this.winFound.set(checkpoint.isWinFound());
+        }
     }
 
     /**
@@ -77,26 +331,55 @@ public abstract class GameTreeSearcher<M extends Move<B>, B> implements AutoClos
      * @param out the print stream to print statistics to
      */
     public void printStatistics(final PrintStream out) {
-        out.printf(Locale.US,
-                "Nodes examined: %,d\n"
-                + "Boards generated: %,d\n"
-                + "Moves pruned: %,d\n"
-                + "Queue size: %,d\n"
-                + "Wins: %,d\n",
-                gameStatesExamined.get(),
-                boardsGenerated.get(),
-                movesPrunedTotal.get(),
-                getQueueSize(),
-                getWinCount());
-        for (final MoveFilter<M, B> filter : gameFilters) {
-            final Object statisticsKey = filter.getStatisticsKey();
+        final SearchStatistics statistics = getStatistics();
+        statistics.printTo(out);
+        if (searchMode != SearchMode.ALL_WINS) {
+            out.printf(Locale.US,
+                    "Win found: %b\n",
+                    winFound.get());
+        }
+        if (searchMode == SearchMode.SHORTEST_WIN) {
+            out.printf(Locale.US,
+                    "Depth bound: %,d\n"
+                    + "Game states pruned by depth bound: %,d\n",
+                    depthBound.get(),
+                    statistics.getBoundPruned());
+        }
+        if (transpositionTable != null) {
+            out.printf(Locale.US,
+                    "Transpositions pruned: %,d\n",
+                    statistics.getTranspositionsPruned());
+        }
+        for (final Map.Entry<Object, Long> entry : statistics.getMovesPrunedByFilter().entrySet()) {
             out.printf(Locale.US,
                     "Moves pruned by filter %s: %,d\n",
-                    statisticsKey,
-                    movesPruned.get(statisticsKey).get());
+                    entry.getKey(),
+                    entry.getValue());
         }
         out.flush();
     }
+
+    /**
+     * Takes a snapshot of the search statistics.  This may be called from
+     * any thread while the search is running.
+     * 
+     * <p>The counters are striped so that threads examining game tree nodes
+     * do not contend with each other, and are only summed here.  Call this
+     * once and read the snapshot, rather than calling the individual
+     * getters repeatedly.</p>
+     * 
+     * @return a snapshot of the search statistics
+     */
+    public SearchStatistics getStatistics() {
+        final Map<Object, Long> pruned = new LinkedHashMap<>();
+        for (final MoveFilter<M, B> filter : gameFilters) {
+            final Object statisticsKey = filter.getStatisticsKey();
+            pruned.put(statisticsKey, movesPruned.get(statisticsKey).sum());
+        }
+        return new SearchStatistics(System.nanoTime() - startTime, gameStatesExamined.sum(),
+                boardsGenerated.sum(), movesPrunedTotal.sum(), pruned, transpositionsPruned.sum(),
+                boundPruned.sum(), getQueueSize(), getWinCount());
+    }
     
     /**
      * Returns the total number of game states examined.
@@ -104,7 +387,7 @@ public abstract class GameTreeSearcher<M extends Move<B>, B> implements AutoClos
      * @return the total number of game states examined.
      */
     public long getNumberOfGameStatesExamined() {
-        return gameStatesExamined.get();
+        return gameStatesExamined.sum();
     }
     
     /**
@@ -113,7 +396,192 @@ public abstract class GameTreeSearcher<M extends Move<B>, B> implements AutoClos
      * @return the total number of boards generated
      */
     public long getBoardsGenerated() {
-        return boardsGenerated.get();
+        return boardsGenerated.sum();
+    }
+
+    /**
+     * Returns the total number of game states pruned because their board
+     * had already been reached by a different sequence of moves.
+     * 
+     * @return the total number of transpositions pruned
+     */
+    public long getTranspositionsPruned() {
+        return transpositionsPruned.sum();
+    }
+
+    /**
+     * Returns the transposition table used by this search, if any.
+     * 
+     * @return the transposition table, or {@code null} if the search does
+     *         not use one
+     */
+    public TranspositionTable<B> getTranspositionTable() {
+        return transpositionTable;
+    }
+
+    /**
+     * Returns what this search is looking for.
+     * 
+     * @return the search mode
+     */
+    public SearchMode getSearchMode() {
+        return searchMode;
+    }
+
+    /**
+     * Returns which boards this search keeps in the histories of queued game
+     * tree nodes.
+     * 
+     * @return the history mode
+     */
+    public HistoryMode getHistoryMode() {
+        return historyMode;
+    }
+
+    /**
+     * Returns the number of most recent game states that keep their boards
+     * in the history of each queued game tree node.
+     * 
+     * @return the number of boards kept, or {@link Integer#MAX_VALUE} if
+     *         every board is kept
+     */
+    public int getBoardHistory() {
+        return boardHistory;
+    }
+
+    /**
+     * Returns whether any winning game state has been found so far.  This is
+     * the only result of a search in {@link SearchMode#SOLVABILITY} mode.
+     * 
+     * @return {@code true} if a win has been found
+     */
+    public boolean isWinFound() {
+        return winFound.get();
+    }
+
+    /**
+     * Returns whether the search has found everything its search mode asks
+     * for, so that no further game tree nodes need to be examined.
+     * 
+     * @return {@code true} if the search should stop
+     */
+    protected boolean isStopped() {
+        return (searchMode == SearchMode.FIRST_WIN || searchMode == SearchMode.SOLVABILITY)
+                && winFound.get();
+    }
+
+    /**
+     * Returns the number of moves in the shortest win found so far.  In
+     * {@link SearchMode#SHORTEST_WIN} mode, game states this deep or deeper
+     * are pruned.  This is a single volatile read, so it is cheap to call
+     * from any thread.
+     * 
+     * @return the length of the shortest win found, or
+     *         {@link Integer#MAX_VALUE} if none has been found or the search
+     *         is not in {@link SearchMode#SHORTEST_WIN} mode
+     */
+    public int getDepthBound() {
+        return depthBound.get();
+    }
+
+    /**
+     * Returns the total number of game states pruned because they were at
+     * least as deep as the shortest win already found.
+     * 
+     * @return the total number of game states pruned by the depth bound
+     */
+    public long getBoundPruned() {
+        return boundPruned.sum();
+    }
+
+    /**
+     * Called once, on the thread that found the first win, when a search
+     * that is not looking for all wins is stopped.  Subclasses that wait for
+     * the search to finish can override this to wake up early.
+     */
+    protected void searchStopped() {
+    }
+
+    /**
+     * Returns the game tree nodes waiting to be searched.  This is only
+     * called while the search is not running.
+     * 
+     * <p>The default implementation throws
+     * {@link UnsupportedOperationException}.  Searchers that support
+     * checkpoints must override it along with {@link #getWins()}.</p>
+     * 
+     * @return the nodes waiting to be searched, in the order they were queued
+     * @throws UnsupportedOperationException if this search does not support
+     *         checkpoints
+     */
+    protected Collection<LinkedNode<GameState<M, B>>> getFrontier() {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support checkpoints.");
+    }
+
+    /**
+     * Returns the wins found so far.  This is only called while the search is
+     * not running.
+     * 
+     * @return the wins found so far
+     * @throws UnsupportedOperationException if this search does not support
+     *         checkpoints
+     * @see #getFrontier()
+     */
+    protected Collection<List<GameState<M, B>>> getWins() {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support checkpoints.");
+    }
+
+    /**
+     * Returns the wins a search should report, out of every win it captured
+     * with {@link #addWin(List)}.
+     * 
+     * <p>In {@link SearchMode#SHORTEST_WIN} mode, each win is captured if it
+     * is no longer than the shortest win found so far, so a win found before
+     * a shorter one is captured too.  Those are left out, and only the wins
+     * as long as the final depth bound are returned.  In the other modes,
+     * every win is returned.</p>
+     * 
+     * @param wins the wins captured by the search
+     * @return an unmodifiable collection of the wins to report
+     */
+    protected Collection<List<GameState<M, B>>> getReportedWins(final Collection<List<GameState<M, B>>> wins) {
+        if (searchMode != SearchMode.SHORTEST_WIN) {
+            return Collections.unmodifiableCollection(wins);
+        }
+        final int bound = depthBound.get();
+        final List<List<GameState<M, B>>> shortest = new ArrayList<>();
+        for (final List<GameState<M, B>> win : wins) {
+            // The initial game state is not a move, so it does not count toward the depth.
+            if (win.size() - 1 <= bound) {
+                shortest.add(win);
+            }
+        }
+        return Collections.unmodifiableList(shortest);
+    }
+
+    /**
+     * Takes a snapshot of the search that can be written to disk, and later
+     * passed to a new searcher to resume the search where it left off.
+     * 
+     * <p>The search must not be running.  To checkpoint a running search,
+     * {@link #close()} it and wait for {@link #call()} to return first.  Any
+     * game tree node that was not fully examined is left in the frontier.</p>
+     * 
+     * @return a checkpoint of the search
+     * @throws UnsupportedOperationException if this search does not support
+     *         checkpoints
+     */
+    public SearchCheckpoint<M, B> checkpoint() {
+        final List<LinkedNode<GameState<M, B>>> frontier = new ArrayList<>(getFrontier());
+        final List<List<GameState<M, B>>> wins = new ArrayList<>(getReportedWins(getWins()));
+        final Map<String, Long> pruned = new LinkedHashMap<>();
+        for (final MoveFilter<M, B> filter : gameFilters) {
+            final Object statisticsKey = filter.getStatisticsKey();
+            pruned.put(String.valueOf(statisticsKey), movesPruned.get(statisticsKey).sum());
+        }
+        return new SearchCheckpoint<>(frontier, wins, gameStatesExamined.sum(), boardsGenerated.sum(),
+                movesPrunedTotal.sum(), pruned, transpositionsPruned.sum(), boundPruned.sum(),
+                depthBound.get(), winFound.get());
     }
 
     /**
@@ -123,6 +591,24 @@ public abstract class GameTreeSearcher<M extends Move<B>, B> implements AutoClos
      */
     protected abstract void queueNode(LinkedNode<GameState<M, B>> node);
 
+    /**
+     * Returns the depth at which a node is recorded in the transposition
+     * table.  The table prunes a board already recorded at the same depth or
+     * less, so a smaller depth must mean that at least as much of the tree
+     * below the board is searched.
+     * 
+     * <p>The default is the number of game states in the node's history,
+     * which is right for searches that take every sub-tree as deep as it
+     * goes.  Searches with a depth limit that changes between passes over
+     * the tree should measure the moves left before the limit instead.</p>
+     * 
+     * @param node the game tree node to record
+     * @return the depth to record the node's board at
+     */
+    protected int getTranspositionDepth(final LinkedNode<GameState<M, B>> node) {
+        return node.size();
+    }
+
     /**
      * Captures a sequence of game states that culminates in a win.
      * 
@@ -134,40 +620,262 @@ public abstract class GameTreeSearcher<M extends Move<B>, B> implements AutoClos
      * Examines a single node in the game tree.  This enumerates all possible
      * moves, applies the move filters, and examines unfiltered moves to see if
      * they are a winning game state.  Winning game states are passed to
-     * {@link #addWin(List)}.  All other unfiltered game states are passed to
-     * {@link #queueNode(LinkedNode)}.
+     * {@link #addWin(List)}.  Game states at least as deep as the depth bound
+     * are pruned.  If a transposition table is in use, game states
+     * whose board has already been reached are pruned.  All other unfiltered
+     * game states are passed to {@link #queueNode(LinkedNode)}.
      * 
      * <p>This also captures statistics on the number of nodes examined, boards
-     * generated, and moves filtered.  These statistics can be printed using
-     * {@link #printStatistics(PrintStream)}.
+     * generated, moves filtered, and transpositions pruned.  These statistics can be printed using
+     * {@link #printStatistics(PrintStream)}, or read using {@link #getStatistics()}.
+     * 
+     * <p>Moves are taken from the game one at a time through
+     * {@link Game#findAllMoves(List, org.silnith.game.move.MoveSink)}, and the
+     * game is told to stop generating them as soon as the search stops, or a
+     * win shorter than the node's children is found.  Filters that are
+     * {@link CandidateMoveFilter}s run before a move is applied, so the
+     * moves they prune are never turned into boards.  They do not count
+     * toward the boards generated.  {@link IncrementalMoveFilter}s are given
+     * the summaries kept on the node instead of its history, and
+     * {@link IncrementalBoardFilter}s check the new game state against them
+     * before a node is created for it.</p>
+     * 
+     * <p>Once the search is stopped, this does nothing.</p>
      * 
      * @param node the node containing the game state to examine
+     * @see #isStopped()
      */
     protected void examineNode(final LinkedNode<GameState<M, B>> node) {
-        gameStatesExamined.getAndIncrement();
-        final GameState<M, B> gameState = node.getValue();
-        final B board = gameState.getBoard();
-        final Collection<M> moves = game.findAllMoves(node);
-        movesLoop: for (final M move : moves) {
-            final B newBoard = move.apply(board);
-            boardsGenerated.getAndIncrement();
-            final GameState<M, B> newGameState = new GameState<>(move, newBoard);
-            final LinkedNode<GameState<M, B>> newNode = new LinkedNode<>(newGameState, node);
-            for (final MoveFilter<M, B> filter : gameFilters) {
-                if (filter.shouldFilter(newNode)) {
-                    final Object statisticsKey = filter.getStatisticsKey();
-                    movesPrunedTotal.getAndIncrement();
-                    movesPruned.get(statisticsKey).getAndIncrement();
-                    continue movesLoop;
-                }
+        if (isStopped()) {
+            return;
+        }
+        // The bound may have tightened since this node was queued.
+        if (isBeyondDepthBound(node)) {
+            boundPruned.increment();
+            return;
+        }
+        gameStatesExamined.increment();
+        final B board = node.getValue().getBoard();
+        final Object[] summaries = getSummaries(node);
+        game.findAllMoves(node, move -> examineMove(node, board, summaries, move));
+    }
+
+    /**
+     * Returns the summary of a node for each incremental filter.  Nodes not
+     * created by the search, such as the initial node or nodes restored from
+     * a checkpoint, are summarized from scratch.
+     * 
+     * @param node the node
+     * @return the summaries, or {@code null} if there are no incremental
+     *         filters
+     */
+    private Object[] getSummaries(final LinkedNode<GameState<M, B>> node) {
+        if (summarizingFilters.isEmpty()) {
+            return null;
+        }
+        if (node instanceof SummarizedNode) {
+            final Object[] summaries = ((SummarizedNode<M, B>) node).getSummaries();
+            if (summaries != null) {
+                return summaries;
             }
-            
-            if (game.isWin(newNode)) {
-                addWin(newNode);
+        }
+        final Object[] summaries = new Object[summarizingFilters.size()];
+        for (int i = 0; i < summaries.length; i++ ) {
+            summaries[i] = summarizingFilters.get(i).getSummary(node);
+        }
+        return summaries;
+    }
+
+    /**
+     * Applies a single move found for a node, and filters, checks, and queues
+     * the resulting game state.
+     * 
+     * @param node the node the move was found for
+     * @param board the board of the node
+     * @param summaries the summaries of the node
+     * @param move the move to apply
+     * @return {@code false} if no more moves for the node need to be
+     *         generated
+     */
+    private boolean examineMove(final LinkedNode<GameState<M, B>> node, final B board, final Object[] summaries,
+            final M move) {
+        // These need nothing but the move, so a pruned move costs no board.
+        for (int i = 0; i < candidatePruned.length; i++ ) {
+            final int summary = candidateSummaries[i];
+            final boolean filtered;
+            if (summary < 0) {
+                filtered = candidateFilters.get(i).shouldFilter(move, node);
             } else {
-                queueNode(newNode);
+                filtered = incrementalFilters.get(i).shouldFilter(move, summaries[summary]);
+            }
+            if (filtered) {
+                movesPrunedTotal.increment();
+                candidatePruned[i].increment();
+                return true;
+            }
+        }
+        final B newBoard = move.apply(board);
+        boardsGenerated.increment();
+        final GameState<M, B> newGameState = new GameState<>(move, newBoard);
+        // A node and its summaries are only worth building if these pass.
+        for (int i = 0; i < incrementalBoardPruned.length; i++ ) {
+            if (incrementalBoardFilters.get(i).shouldFilter(newGameState,
+                    summaries[incrementalBoardSummaries[i]], node)) {
+                movesPrunedTotal.increment();
+                incrementalBoardPruned[i].increment();
+                return true;
+            }
+        }
+        final LinkedNode<GameState<M, B>> newNode = extendHistory(node, newGameState, summaries);
+        for (int i = 0; i < boardPruned.length; i++ ) {
+            if (boardFilters.get(i).shouldFilter(newNode)) {
+                movesPrunedTotal.increment();
+                boardPruned[i].increment();
+                return true;
+            }
+        }
+
+        if (game.isWin(newNode)) {
+            foundWin(newNode);
+        } else if (isBeyondDepthBound(newNode)) {
+            boundPruned.increment();
+        } else if (transpositionTable != null
+                && transpositionTable.isTransposition(newBoard, getTranspositionDepth(newNode))) {
+            transpositionsPruned.increment();
+        } else {
+            queueNode(newNode);
+        }
+        /*
+         * Once the search has stopped, or a win shorter than this node's
+         * children has been found, nothing more can come of this node.
+         */
+        return !isStopped() && !isBeyondDepthBound(node);
+    }
+
+    /**
+     * Returns the history of a new game state reached from the given node.
+     * In {@link HistoryMode#RECENT_BOARDS} and
+     * {@link HistoryMode#COMPACT_BOARDS} modes the new history holds full
+     * game states for only the most recent boards, followed by the replayed
+     * or compact history it shares with its siblings.  If there are incremental
+     * filters, the new history carries their summaries, derived from the
+     * parent's.
+     */
+    private LinkedNode<GameState<M, B>> extendHistory(final LinkedNode<GameState<M, B>> node,
+            final GameState<M, B> gameState, final Object[] parentSummaries) {
+        final Object[] summaries;
+        if (parentSummaries == null) {
+            summaries = null;
+        } else {
+            summaries = new Object[parentSummaries.length];
+            for (int i = 0; i < summaries.length; i++ ) {
+                summaries[i] = summarizingFilters.get(i).getSummary(parentSummaries[i], node.getValue(), gameState);
+            }
+        }
+        if (boardHistory == Integer.MAX_VALUE) {
+            if (summaries == null) {
+                return new LinkedNode<>(gameState, node);
+            }
+            return new SummarizedNode<>(gameState, node, summaries);
+        }
+        final LinkedNode<GameState<M, B>> previous = getReplayed(node);
+        final LinkedNode<GameState<M, B>> replayed =
+                new LinkedNode<>(olderGameState(gameState, previous.getValue()), previous);
+        /*
+         * The parent keeps its most recent boards the same way, so the game
+         * states copied from it all hold their boards.
+         */
+        final List<GameState<M, B>> recent = new ArrayList<>(boardHistory);
+        final Iterator<GameState<M, B>> iterator = node.iterator();
+        LinkedNode<GameState<M, B>> tail = previous;
+        for (int i = 1; i < boardHistory && tail != null; i++ ) {
+            recent.add(iterator.next());
+            tail = tail.getNext();
+        }
+        LinkedNode<GameState<M, B>> history = tail;
+        for (int i = recent.size() - 1; i >= 0; i-- ) {
+            history = new LinkedNode<>(recent.get(i), history);
+        }
+        return new RecentBoardsNode<>(gameState, history, replayed, summaries);
+    }
+
+    /**
+     * Returns the history of a node made of replayed or compact game states.  Nodes not
+     * created by {@link #extendHistory(LinkedNode, GameState, Object[])}, such as the
+     * initial node or nodes restored from a checkpoint, are converted.
+     */
+    private LinkedNode<GameState<M, B>> getReplayed(final LinkedNode<GameState<M, B>> node) {
+        if (node instanceof RecentBoardsNode) {
+            return ((RecentBoardsNode<M, B>) node).getReplayed();
+        }
+        final List<GameState<M, B>> gameStates = new ArrayList<>(node);
+        LinkedNode<GameState<M, B>> replayed = new LinkedNode<>(gameStates.get(gameStates.size() - 1));
+        for (int i = gameStates.size() - 2; i >= 0; i-- ) {
+            replayed = new LinkedNode<>(olderGameState(gameStates.get(i), replayed.getValue()), replayed);
+        }
+        return replayed;
+    }
+
+    /**
+     * Returns the form a game state takes once it is no longer among the
+     * most recent in a history: a compact game state if the search has a
+     * board compactor, otherwise a replayed game state.
+     */
+    private GameState<M, B> olderGameState(final GameState<M, B> gameState, final GameState<M, B> previous) {
+        if (boardCompactor == null) {
+            return new ReplayedGameState<>(gameState.getMove(), previous);
+        }
+        final Object compactBoard = boardCompactor.compact(gameState.getBoard());
+        return new CompactGameState<>(gameState.getMove(), boardCompactor, compactBoard);
+    }
+
+    private boolean isBeyondDepthBound(final LinkedNode<GameState<M, B>> node) {
+        // The initial game state is not a move, so it does not count toward the depth.
+        return node.size() - 1 >= depthBound.get();
+    }
+
+    private void foundWin(final LinkedNode<GameState<M, B>> node) {
+        final boolean first = winFound.compareAndSet(false, true);
+        switch (searchMode) {
+        case ALL_WINS:
+            addWin(node);
+            break;
+        case FIRST_WIN:
+            if (first) {
+                addWin(node);
+                searchStopped();
+            }
+            break;
+        case SOLVABILITY:
+            if (first) {
+                searchStopped();
+            }
+            break;
+        case SHORTEST_WIN:
+            if (tightenDepthBound(node.size() - 1)) {
+                addWin(node);
+            }
+            break;
+        default:
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Lowers the depth bound to the given length, unless it is already lower.
+     * 
+     * @param length the number of moves in a win
+     * @return {@code true} if no shorter win had already been found
+     */
+    private boolean tightenDepthBound(final int length) {
+        int bound = depthBound.get();
+        while (length < bound) {
+            if (depthBound.compareAndSet(bound, length)) {
+                return true;
             }
+            bound = depthBound.get();
         }
+        return length == bound;
     }
 
 }
@@ -0,0 +1,41 @@
+package org.silnith.game.search;
+
+import java.util.List;
+
+import org.silnith.game.GameState;
+import org.silnith.game.move.Move;
+
+/**
+ * An estimate of how far a game state is from a win, used to decide which
+ * part of the game tree to search first.
+ * 
+ * <p>Searches that use a heuristic expand the game states with the lowest
+ * estimates first.  A heuristic that never overestimates the number of moves
+ * remaining is called <dfn>admissible</dfn>, and guarantees that an A* search
+ * finds the shortest win first.  Heuristics that are not admissible may still
+ * find a first win far faster.</p>
+ * 
+ * @param <M> the move type for the game
+ * @param <B> the board type for the game
+ * @see BestFirstSearch
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public interface Heuristic<M extends Move<B>, B> {
+
+    /**
+     * Returns an estimate of the number of moves remaining before the game
+     * is won.  Lower values are more promising.
+     * 
+     * <p>The list provided as the parameter will be a singly-linked list
+     * with linear access time for elements.  Element
+     * {@code gameStateHistory.get(0)} will be the current move and
+     * resulting board.</p>
+     * 
+     * @param gameStateHistory a sequence of game states, beginning with
+     *         the most recent move and resulting board
+     * @return an estimate of the number of moves needed to win.  This must
+     *         not be negative.
+     */
+    int estimate(List<GameState<M, B>> gameStateHistory);
+
+}
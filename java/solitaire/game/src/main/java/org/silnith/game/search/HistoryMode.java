@@ -0,0 +1,44 @@
+package org.silnith.game.search;
+
+import org.silnith.game.move.MoveFilter;
+
+/**
+ * Which boards a game tree search keeps in the game state histories of the
+ * nodes waiting to be searched.
+ *
+ * @see GameTreeSearcher#getHistoryMode()
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public enum HistoryMode {
+    /**
+     * Keeps the board of every game state in every history.
+     */
+    ALL_BOARDS,
+    /**
+     * Keeps the move of every game state, but the boards of only the most
+     * recent game states, as many as the largest
+     * {@link MoveFilter#getLookback() lookback} declared by the game's
+     * filters.  Filters that do not declare a lookback are not counted.
+     * The current board is always kept.
+     *
+     * <p>Older boards are rebuilt when they are asked for, by replaying
+     * moves from the initial game state.  Rebuilt boards are only softly
+     * reachable, so the garbage collector may discard them again when memory
+     * runs short.  The game's {@link org.silnith.game.Game#findAllMoves(java.util.List)}
+     * and {@link org.silnith.game.Game#isWin(java.util.List)} should only
+     * read the current board.</p>
+     */
+    RECENT_BOARDS,
+    /**
+     * Keeps the boards of the most recent game states the same way as
+     * {@link #RECENT_BOARDS}, but keeps every older board in the compact
+     * form provided by the game's
+     * {@link org.silnith.game.Game#getBoardCompactor() board compactor}.
+     *
+     * <p>Older boards are expanded from their compact form each time they
+     * are asked for, instead of being replayed from the initial game state,
+     * so filters that walk the whole history stay cheap.  A search in this
+     * mode cannot be created for a game that has no board compactor.</p>
+     */
+    COMPACT_BOARDS
+}
@@ -0,0 +1,283 @@
+package org.silnith.game.search;
+
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+
+import org.silnith.game.Game;
+import org.silnith.game.GameState;
+import org.silnith.game.move.Move;
+import org.silnith.game.util.LinkedNode;
+
+/**
+ * A game tree search algorithm implementation that performs a series of
+ * depth-limited depth-first searches, raising the depth limit after each one,
+ * running sequentially on a single thread.
+ *
+ * <p>Each iteration is an ordinary depth-first search that does not expand
+ * any game state at or beyond the depth limit, so the memory used is
+ * proportional to the depth limit, just as for
+ * {@link SequentialDepthFirstSearch}.  The search stops after the first
+ * iteration that finds a win, so the wins returned are the shallowest wins
+ * in the game tree.  It also stops once an iteration searches the whole tree
+ * without reaching the depth limit, or once the depth limit passes the
+ * maximum.</p>
+ *
+ * <p>If a transposition table is used, it is kept from one iteration to the
+ * next.  Boards are recorded with the number of moves left before the depth
+ * limit, and a board is only pruned if it was already searched with at least
+ * as many moves left.  Raising the depth limit gives every board more moves
+ * left, so a board reached at the same depth as in the previous iteration is
+ * searched again, and the shallow part of the tree is searched again on
+ * every iteration, the children of the initial game state included.  What
+ * the table carries over is the boards that the current iteration reaches
+ * deeper than an earlier iteration searched them, by at least as many moves
+ * as the depth limit has risen since, such as a board reached early by a
+ * short sequence of moves and later by a longer one.  Within an iteration,
+ * boards reached again at the same depth or deeper are pruned as usual.  An
+ * iteration that leans on boards from earlier iterations cannot tell
+ * whether their sub-trees reached the depth limit, so before deciding that
+ * the whole tree has been searched, the last iteration is repeated
+ * with an empty table.</p>
+ *
+ * @param <M> the move type for the game
+ * @param <B> the board type for the game
+ */
+public class IterativeDeepeningSearch<M extends Move<B>, B> extends GameTreeSearcher<M, B> {
+
+    private final GameState<M, B> initialState;
+
+    private final int depthStep;
+
+    private final int maximumDepth;
+
+    private final Deque<LinkedNode<GameState<M, B>>> stack;
+
+    private final Collection<List<GameState<M, B>>> wins;
+
+    private volatile int depthLimit;
+
+    private boolean cutoff;
+
+    private volatile boolean cancelled;
+
+    /**
+     * Initializes an iterative-deepening search that starts with a depth
+     * limit of one move and raises it by one move per iteration.
+     *
+     * @param game the game
+     * @param initialState the initial game state
+     * @param maximumDepth the largest depth limit to try
+     */
+    public IterativeDeepeningSearch(final Game<M, B> game, final GameState<M, B> initialState,
+            final int maximumDepth) {
+        this(game, initialState, 1, 1, maximumDepth, null);
+    }
+
+    /**
+     * Initializes an iterative-deepening search.
+     *
+     * @param game the game
+     * @param initialState the initial game state
+     * @param initialDepth the depth limit for the first iteration
+     * @param depthStep the amount to raise the depth limit after each iteration
+     * @param maximumDepth the largest depth limit to try
+     * @param transpositionTable the table of boards already reached.  May be
+     *         {@code null}, in which case no transpositions are detected.
+     *         The table is cleared when the search starts, and may be cleared
+     *         again between iterations, so it should not be shared with
+     *         another search.
+     * @throws IllegalArgumentException if the initial depth or depth step is
+     *         not positive, or the maximum depth is less than the initial depth
+     */
+    public IterativeDeepeningSearch(final Game<M, B> game, final GameState<M, B> initialState,
+            final int initialDepth, final int depthStep, final int maximumDepth,
+            final TranspositionTable<B> transpositionTable) {
+        this(game, initialState, initialDepth, depthStep, maximumDepth, transpositionTable, SearchMode.ALL_WINS);
+    }
+
+    /**
+     * Initializes an iterative-deepening search that stops according to the
+     * given search mode.  With {@link SearchMode#FIRST_WIN}, the win returned
+     * is one of the shallowest, up to the depth step.
+     *
+     * @param game the game
+     * @param initialState the initial game state
+     * @param initialDepth the depth limit for the first iteration
+     * @param depthStep the amount to raise the depth limit after each iteration
+     * @param maximumDepth the largest depth limit to try
+     * @param transpositionTable the table of boards already reached.  May be
+     *         {@code null}, in which case no transpositions are detected.
+     *         The table is cleared when the search starts, and may be cleared
+     *         again between iterations, so it should not be shared with
+     *         another search.
+     * @param searchMode what the search is looking for
+     * @throws IllegalArgumentException if the initial depth or depth step is
+     *         not positive, or the maximum depth is less than the initial depth
+     */
+    public IterativeDeepeningSearch(final Game<M, B> game, final GameState<M, B> initialState,
+            final int initialDepth, final int depthStep, final int maximumDepth,
+            final TranspositionTable<B> transpositionTable, final SearchMode searchMode) {
+        this(game, initialState, initialDepth, depthStep, maximumDepth, transpositionTable, searchMode,
+                HistoryMode.ALL_BOARDS);
+    }
+
+    /**
+     * Initializes an iterative-deepening search that stops according to the
+     * given search mode, and keeps the boards in game state histories
+     * according to the given history mode.
+     *
+     * @param game the game
+     * @param initialState the initial game state
+     * @param initialDepth the depth limit for the first iteration
+     * @param depthStep the amount to raise the depth limit after each iteration
+     * @param maximumDepth the largest depth limit to try
+     * @param transpositionTable the table of boards already reached.  May be
+     *         {@code null}, in which case no transpositions are detected.
+     *         The table is cleared when the search starts, and may be cleared
+     *         again between iterations, so it should not be shared with
+     *         another search.
+     * @param searchMode what the search is looking for
+     * @param historyMode which boards to keep in the histories of the nodes
+     *         waiting to be searched
+     * @throws IllegalArgumentException if the initial depth or depth step is
+     *         not positive, or the maximum depth is less than the initial depth
+     * @see HistoryMode#RECENT_BOARDS
+     */
+    public IterativeDeepeningSearch(final Game<M, B> game, final GameState<M, B> initialState,
+            final int initialDepth, final int depthStep, final int maximumDepth,
+            final TranspositionTable<B> transpositionTable, final SearchMode searchMode,
+            final HistoryMode historyMode) {
+        super(game, transpositionTable, searchMode, null, historyMode);
+        if (initialState == null) {
+            throw new IllegalArgumentException("Initial state cannot be null.");
+        }
+        if (initialDepth < 1) {
+            throw new IllegalArgumentException("Initial depth must be positive.");
+        }
+        if (depthStep < 1) {
+            throw new IllegalArgumentException("Depth step must be positive.");
+        }
+        if (maximumDepth < initialDepth) {
+            throw new IllegalArgumentException("Maximum depth cannot be less than the initial depth.");
+        }
+        this.initialState = initialState;
+        this.depthStep = depthStep;
+        this.maximumDepth = maximumDepth;
+        this.stack = new ArrayDeque<>();
+        this.wins = new LinkedList<>();
+        this.depthLimit = initialDepth;
+        this.cutoff = false;
+        this.cancelled = false;
+    }
+
+    @Override
+    public void close() {
+        cancelled = true;
+    }
+
+    @Override
+    public Collection<List<GameState<M, B>>> call() {
+        final TranspositionTable<B> transpositionTable = getTranspositionTable();
+        if (transpositionTable != null) {
+            transpositionTable.clear();
+        }
+        // Whether the table held nothing from earlier iterations.
+        boolean tableFresh = true;
+        while (!cancelled) {
+            final long transpositionsBefore = getTranspositionsPruned();
+            cutoff = false;
+            stack.clear();
+            stack.addLast(new LinkedNode<>(initialState));
+
+            LinkedNode<GameState<M, B>> node = stack.pollLast();
+            while (node != null && !cancelled && !isStopped()) {
+                examineNode(node);
+
+                node = stack.pollLast();
+            }
+
+            if (isWinFound()) {
+                break;
+            }
+            if (!cutoff) {
+                if (tableFresh || getTranspositionsPruned() == transpositionsBefore) {
+                    break;
+                }
+                /*
+                 * A pruned board may stand for a sub-tree that reached the
+                 * depth limit of an earlier iteration.  Search this depth
+                 * again with nothing from earlier iterations to be sure.
+                 */
+                transpositionTable.clear();
+                tableFresh = true;
+                continue;
+            }
+            tableFresh = false;
+            if (depthLimit > maximumDepth - depthStep) {
+                break;
+            }
+            depthLimit += depthStep;
+        }
+
+        return getReportedWins(wins);
+    }
+
+    /**
+     * Returns the depth limit of the current iteration, or of the last
+     * iteration if the search is finished.  The depth is the number of moves
+     * after the initial game state.
+     *
+     * @return the current depth limit
+     */
+    public int getDepthLimit() {
+        return depthLimit;
+    }
+
+    @Override
+    public void printStatistics(final PrintStream out) {
+        out.printf(Locale.US, "Depth limit: %,d\n", depthLimit);
+        super.printStatistics(out);
+    }
+
+    @Override
+    protected int getQueueSize() {
+        return stack.size();
+    }
+
+    @Override
+    protected int getWinCount() {
+        return wins.size();
+    }
+
+    @Override
+    protected void queueNode(final LinkedNode<GameState<M, B>> node) {
+        // The initial game state is not a move, so it does not count toward the depth.
+        if (node.size() - 1 >= depthLimit) {
+            cutoff = true;
+        } else {
+            stack.addLast(node);
+        }
+    }
+
+    /**
+     * Returns the negated number of moves left before the depth limit, so
+     * that boards searched with more moves left are recorded at a smaller
+     * depth.
+     */
+    @Override
+    protected int getTranspositionDepth(final LinkedNode<GameState<M, B>> node) {
+        // The initial game state is not a move, so it does not count toward the depth.
+        return (node.size() - 1) - depthLimit;
+    }
+
+    @Override
+    protected void addWin(final List<GameState<M, B>> node) {
+        wins.add(node);
+    }
+
+}
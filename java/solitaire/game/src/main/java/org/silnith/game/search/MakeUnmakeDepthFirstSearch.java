@@ -0,0 +1,475 @@
+package org.silnith.game.search;
+
+import java.io.PrintStream;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.Callable;
+
+import org.silnith.game.Game;
+import org.silnith.game.GameState;
+import org.silnith.game.MutableBoard;
+import org.silnith.game.move.CandidateMoveFilter;
+import org.silnith.game.move.Move;
+import org.silnith.game.move.MoveFilter;
+import org.silnith.game.move.MoveList;
+import org.silnith.game.util.LinkedNode;
+
+/**
+ * A game tree search algorithm implementation that performs a depth-limited
+ * depth-first search on a single {@link MutableBoard}, running sequentially
+ * on a single thread.
+ *
+ * <p>The search recurses down the game tree, making each move on the board
+ * on the way down and unmaking it on the way back up.  Moves are handled in
+ * their packed {@code int} form throughout.  The moves on the current path
+ * are kept in an array indexed by depth, and the {@link MoveList} each
+ * depth's moves are generated into is reused by every node at that depth,
+ * so the search itself allocates neither boards nor moves for a node.  Only
+ * the current path is held in memory, so a transposition table is not
+ * supported.</p>
+ *
+ * <p>The game's filters are still run, and they are where the allocations
+ * are.  They are given a view of the path as a history of game states,
+ * newest first.  The move objects and boards in that history are only
+ * created when a filter actually asks for a game state, and each is kept
+ * until the search backtracks past it, but that is all the laziness there
+ * is:</p>
+ * <ul>
+ * <li>{@link CandidateMoveFilter}s run before a move is made, so a move they
+ * prune is never made on the board, but each of them is handed a move
+ * object, so one is created for every candidate move.</li>
+ * <li>A filter that reads the board of a game state makes the search copy
+ * the mutable board with {@link MutableBoard#toBoard()}.  Most filters read
+ * the newest board, so most nodes that get past the candidate filters cost
+ * one board.</li>
+ * <li>A filter that walks the whole history, such as a check for repeated
+ * boards, makes the search create the game state for every depth of the
+ * path.  Each is created once per path, not once per read, but the first
+ * node below a fresh branch pays for all of them.</li>
+ * </ul>
+ *
+ * <p>The search is therefore only allocation-free for a game with no
+ * filters.  It still saves every board that a filter never asks for, and
+ * never holds more than one path of them.</p>
+ *
+ * @param <M> the move type for the game
+ * @param <B> the board type for the game
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public class MakeUnmakeDepthFirstSearch<M extends Move<B>, B> implements AutoCloseable, Callable<Collection<List<GameState<M, B>>>> {
+
+    private final MutableBoard<M, B> board;
+
+    private final List<MoveFilter<M, B>> filters;
+
+    /**
+     * The indexes into {@link #filters} of the {@link CandidateMoveFilter}s,
+     * which run before a move is made.
+     */
+    private final int[] candidateFilters;
+
+    /**
+     * The indexes into {@link #filters} of the rest of the filters, which
+     * run after a move is made.
+     */
+    private final int[] boardFilters;
+
+    private final int maximumDepth;
+
+    private final SearchMode searchMode;
+
+    private final long startTime;
+
+    /**
+     * The packed move made to reach each depth of the current path.
+     * Element {@code 0} is unused, since the initial game state was not
+     * reached by a packed move.
+     */
+    private final int[] path;
+
+    /**
+     * The game state at each depth of the current path, or {@code null} if
+     * no filter has asked for it yet.
+     */
+    private final List<GameState<M, B>> states;
+
+    /**
+     * The moves found at each depth, reused by every node at that depth.
+     */
+    private final List<MoveList> moveLists;
+
+    private final List<GameState<M, B>> history;
+
+    private final Collection<List<GameState<M, B>>> wins;
+
+    /**
+     * The number of moves made on the board.  Only written by the thread
+     * running the search, so other threads may see a stale value.
+     */
+    private int depth;
+
+    private int depthBound;
+
+    private boolean winFound;
+
+    /*
+     * The counters are plain fields because only one thread updates them.
+     * Statistics read from another thread while the search is running are
+     * approximate.
+     */
+
+    private long gameStatesExamined;
+
+    private long boardsGenerated;
+
+    private long movesPrunedTotal;
+
+    private final long[] filterPruned;
+
+    private long boundPruned;
+
+    private volatile boolean cancelled;
+
+    /**
+     * Initializes a depth-limited search that finds every win.
+     *
+     * @param game the game, which provides the filters
+     * @param initialState the initial game state
+     * @param board a mutable board equal to the board of the initial game
+     *         state.  The search makes and unmakes moves on it.
+     * @param maximumDepth the largest number of moves to make after the
+     *         initial game state
+     */
+    public MakeUnmakeDepthFirstSearch(final Game<M, B> game, final GameState<M, B> initialState,
+            final MutableBoard<M, B> board, final int maximumDepth) {
+        this(game, initialState, board, maximumDepth, SearchMode.ALL_WINS);
+    }
+
+    /**
+     * Initializes a depth-limited search that stops according to the given
+     * search mode.
+     *
+     * @param game the game, which provides the filters
+     * @param initialState the initial game state
+     * @param board a mutable board equal to the board of the initial game
+     *         state.  The search makes and unmakes moves on it.
+     * @param maximumDepth the largest number of moves to make after the
+     *         initial game state
+     * @param searchMode what the search is looking for
+     * @throws IllegalArgumentException if any argument is {@code null}, or the
+     *         maximum depth is not positive
+     */
+    public MakeUnmakeDepthFirstSearch(final Game<M, B> game, final GameState<M, B> initialState,
+            final MutableBoard<M, B> board, final int maximumDepth, final SearchMode searchMode) {
+        super();
+        if (game == null) {
+            throw new IllegalArgumentException("Game cannot be null.");
+        }
+        if (initialState == null) {
+            throw new IllegalArgumentException("Initial state cannot be null.");
+        }
+        if (board == null) {
+            throw new IllegalArgumentException("Board cannot be null.");
+        }
+        if (maximumDepth < 1) {
+            throw new IllegalArgumentException("Maximum depth must be positive.");
+        }
+        if (searchMode == null) {
+            throw new IllegalArgumentException("Search mode cannot be null.");
+        }
+        this.board = board;
+        this.filters = new ArrayList<>(game.getFilters());
+        int candidates = 0;
+        for (final MoveFilter<M, B> filter : filters) {
+            if (filter instanceof CandidateMoveFilter) {
+                candidates++ ;
+            }
+        }
+        this.candidateFilters = new int[candidates];
+        this.boardFilters = new int[filters.size() - candidates];
+        for (int i = 0, c = 0, b = 0; i < filters.size(); i++ ) {
+            if (filters.get(i) instanceof CandidateMoveFilter) {
+                this.candidateFilters[c++ ] = i;
+            } else {
+                this.boardFilters[b++ ] = i;
+            }
+        }
+        this.maximumDepth = maximumDepth;
+        this.searchMode = searchMode;
+        this.startTime = System.nanoTime();
+        this.path = new int[maximumDepth + 1];
+        this.states = new ArrayList<>(Collections.<GameState<M, B>>nCopies(maximumDepth + 1, null));
+        this.moveLists = new ArrayList<>(maximumDepth);
+        for (int i = 0; i < maximumDepth; i++ ) {
+            this.moveLists.add(new MoveList());
+        }
+        this.states.set(0, initialState);
+        this.history = new History();
+        this.wins = new LinkedList<>();
+        this.depth = 0;
+        this.depthBound = Integer.MAX_VALUE;
+        this.winFound = false;
+        this.filterPruned = new long[filters.size()];
+        this.cancelled = false;
+    }
+
+    @Override
+    public void close() {
+        cancelled = true;
+    }
+
+    @Override
+    public Collection<List<GameState<M, B>>> call() {
+        search();
+        return Collections.unmodifiableCollection(wins);
+    }
+
+    /**
+     * Examines the node at the end of the current path, and recursively
+     * every unfiltered node below it.  The board is the same when this
+     * returns as when it was called.
+     */
+    private void search() {
+        if (depth >= depthBound) {
+            boundPruned++;
+            return;
+        }
+        gameStatesExamined++;
+        final MoveList moves = moveLists.get(depth);
+        moves.clear();
+        board.findAllMoves(moves);
+        for (int i = 0; i < moves.size(); i++ ) {
+            if (cancelled || isStopped()) {
+                return;
+            }
+            final int move = moves.get(i);
+            if (candidateFilters.length > 0 && isCandidateFiltered(board.toMove(move))) {
+                continue;
+            }
+            board.make(move);
+            boardsGenerated++;
+            depth++;
+            path[depth] = move;
+            states.set(depth, null);
+
+            examineChild();
+
+            states.set(depth, null);
+            depth--;
+            board.unmake(move);
+        }
+    }
+
+    /**
+     * Runs the {@link CandidateMoveFilter}s on a move that has not been made
+     * yet.  The history is still that of the node the move is made from.
+     */
+    private boolean isCandidateFiltered(final M move) {
+        for (final int index : candidateFilters) {
+            if (((CandidateMoveFilter<M, B>) filters.get(index)).shouldFilter(move, history)) {
+                movesPrunedTotal++;
+                filterPruned[index]++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Filters the node at the end of the current path, checks whether it is
+     * a win, and if not, searches below it.
+     */
+    private void examineChild() {
+        for (final int index : boardFilters) {
+            if (filters.get(index).shouldFilter(history)) {
+                movesPrunedTotal++;
+                filterPruned[index]++;
+                return;
+            }
+        }
+
+        if (board.isWin()) {
+            foundWin();
+        } else if (depth >= depthBound) {
+            boundPruned++;
+        } else if (depth < maximumDepth) {
+            search();
+        }
+    }
+
+    private void foundWin() {
+        final boolean first = !winFound;
+        winFound = true;
+        switch (searchMode) {
+        case ALL_WINS:
+            wins.add(copyHistory());
+            break;
+        case FIRST_WIN:
+            if (first) {
+                wins.add(copyHistory());
+            }
+            break;
+        case SOLVABILITY:
+            break;
+        case SHORTEST_WIN:
+            if (depth < depthBound) {
+                // Every win found so far is longer than this one.
+                wins.clear();
+                depthBound = depth;
+            }
+            if (depth == depthBound) {
+                wins.add(copyHistory());
+            }
+            break;
+        default:
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Returns whether the search has found everything its search mode asks
+     * for.
+     */
+    private boolean isStopped() {
+        return (searchMode == SearchMode.FIRST_WIN || searchMode == SearchMode.SOLVABILITY) && winFound;
+    }
+
+    /**
+     * Returns the game state at the given depth of the current path, creating
+     * the move object and copying the board if no one has asked for them
+     * before.  The board is wound back to just before the move by unmaking
+     * moves, and forward again afterwards.
+     */
+    private GameState<M, B> getState(final int index) {
+        GameState<M, B> state = states.get(index);
+        if (state == null) {
+            for (int i = depth; i >= index; i-- ) {
+                board.unmake(path[i]);
+            }
+            final M move = board.toMove(path[index]);
+            board.make(path[index]);
+            state = new GameState<>(move, board.toBoard());
+            for (int i = index + 1; i <= depth; i++ ) {
+                board.make(path[i]);
+            }
+            states.set(index, state);
+        }
+        return state;
+    }
+
+    private LinkedNode<GameState<M, B>> copyHistory() {
+        LinkedNode<GameState<M, B>> node = new LinkedNode<>(getState(0));
+        for (int i = 1; i <= depth; i++ ) {
+            node = new LinkedNode<>(getState(i), node);
+        }
+        return node;
+    }
+
+    /**
+     * The current path as a history of game states, newest first, as the
+     * filters expect it.
+     */
+    private final class History extends AbstractList<GameState<M, B>> implements RandomAccess {
+
+        @Override
+        public GameState<M, B> get(final int index) {
+            if (index < 0 || index > depth) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + (depth + 1));
+            }
+            return getState(depth - index);
+        }
+
+        @Override
+        public int size() {
+            return depth + 1;
+        }
+
+    }
+
+    /**
+     * Returns the largest number of moves the search makes after the initial
+     * game state.
+     *
+     * @return the maximum depth
+     */
+    public int getMaximumDepth() {
+        return maximumDepth;
+    }
+
+    /**
+     * Returns whether any winning game state has been found so far.
+     *
+     * @return {@code true} if a win has been found
+     */
+    public boolean isWinFound() {
+        return winFound;
+    }
+
+    /**
+     * Returns the total number of game states examined.
+     *
+     * @return the total number of game states examined
+     */
+    public long getNumberOfGameStatesExamined() {
+        return gameStatesExamined;
+    }
+
+    /**
+     * Returns the total number of moves made on the board.  This is the
+     * number of boards the other searches would have generated.
+     *
+     * @return the total number of boards generated
+     */
+    public long getBoardsGenerated() {
+        return boardsGenerated;
+    }
+
+    /**
+     * Takes a snapshot of the search statistics.  The queue size is the
+     * length of the current path.
+     *
+     * @return a snapshot of the search statistics
+     */
+    public SearchStatistics getStatistics() {
+        final Map<Object, Long> pruned = new LinkedHashMap<>();
+        for (int i = 0; i < filterPruned.length; i++ ) {
+            final Object statisticsKey = filters.get(i).getStatisticsKey();
+            final Long count = pruned.get(statisticsKey);
+            pruned.put(statisticsKey, filterPruned[i] + (count == null ? 0 : count));
+        }
+        return new SearchStatistics(System.nanoTime() - startTime, gameStatesExamined, boardsGenerated,
+                movesPrunedTotal, pruned, 0, boundPruned, depth, wins.size());
+    }
+
+    /**
+     * Prints statistics on the game tree search to the provided
+     * print stream.
+     *
+     * @param out the print stream to print statistics to
+     */
+    public void printStatistics(final PrintStream out) {
+        final SearchStatistics statistics = getStatistics();
+        statistics.printTo(out);
+        if (searchMode != SearchMode.ALL_WINS) {
+            out.printf(Locale.US,
+                    "Win found: %b\n",
+                    winFound);
+        }
+        for (final Map.Entry<Object, Long> entry : statistics.getMovesPrunedByFilter().entrySet()) {
+            out.printf(Locale.US,
+                    "Moves pruned by filter %s: %,d\n",
+                    entry.getKey(),
+                    entry.getValue());
+        }
+        out.flush();
+    }
+
+}
@@ -0,0 +1,54 @@
+package org.silnith.game.search;
+
+import org.silnith.game.GameState;
+import org.silnith.game.move.Move;
+import org.silnith.game.util.LinkedNode;
+
+/**
+ * The head of a game state history that holds the boards of only its most
+ * recent game states.  The rest of the history is shared with other nodes,
+ * and made of {@link ReplayedGameState}s that rebuild their boards on
+ * demand, or of {@link CompactGameState}s that expand their boards on
+ * demand.
+ *
+ * <p>Every node also carries its own game state history made entirely of
+ * replayed or compact game states, which its children link their older game
+ * states to.</p>
+ *
+ * @param <M> the move type for the game
+ * @param <B> the board type for the game
+ * @see HistoryMode#RECENT_BOARDS
+ * @see HistoryMode#COMPACT_BOARDS
+ */
+final class RecentBoardsNode<M extends Move<B>, B> extends SummarizedNode<M, B> {
+
+    private final LinkedNode<GameState<M, B>> replayed;
+
+    /**
+     * Creates a history node.
+     *
+     * @param gameState the current game state, which holds its board
+     * @param next the rest of the history
+     * @param replayed the same history as this, made of replayed or compact
+     *         game states, except for the initial game state
+     * @param summaries the summary of this history for each incremental
+     *         filter of the search, or {@code null} if it has none
+     */
+    RecentBoardsNode(final GameState<M, B> gameState, final LinkedNode<GameState<M, B>> next,
+            final LinkedNode<GameState<M, B>> replayed, final Object[] summaries) {
+        super(gameState, next, summaries);
+        assert replayed.size() == size();
+        this.replayed = replayed;
+    }
+
+    /**
+     * Returns the same history as this node, with every game state but the
+     * initial one replaced by a replayed or compact game state.
+     *
+     * @return the replayed history
+     */
+    LinkedNode<GameState<M, B>> getReplayed() {
+        return replayed;
+    }
+
+}
@@ -0,0 +1,90 @@
+package org.silnith.game.search;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.silnith.game.GameState;
+import org.silnith.game.move.Move;
+
+/**
+ * A game state that keeps only its move, and rebuilds its board when asked
+ * for it by replaying moves from the nearest earlier game state that has a
+ * board.
+ *
+ * <p>Each rebuilt board is kept by a soft reference, so that walking back
+ * through a history only replays each move once, while the garbage
+ * collector is still free to discard the boards when memory runs short.
+ * Rebuilding is deterministic, so if two threads rebuild the same board at
+ * once, either result may be kept.</p>
+ *
+ * @param <M> the move type for the game
+ * @param <B> the board type for the game
+ * @see HistoryMode#RECENT_BOARDS
+ */
+final class ReplayedGameState<M extends Move<B>, B> extends GameState<M, B> {
+
+    private static final SoftReference<Object> NONE = new SoftReference<>(null);
+
+    /**
+     * The game state before this one.  Following these links always ends at
+     * a game state that holds its board, normally the initial game state.
+     */
+    private final GameState<M, B> previous;
+
+    private volatile SoftReference<B> board;
+
+    /**
+     * Creates a game state that will rebuild its board from the previous
+     * game state.
+     *
+     * @param move the move
+     * @param previous the game state the move was made from
+     */
+    @SuppressWarnings("unchecked")
+    ReplayedGameState(final M move, final GameState<M, B> previous) {
+        super(move, null);
+        assert previous != null;
+        this.previous = previous;
+        this.board = (SoftReference<B>) NONE;
+    }
+
+    @Override
+    public B getSecond() {
+        return getBoard();
+    }
+
+    @Override
+    public B getBoard() {
+        final B cached = board.get();
+        if (cached != null) {
+            return cached;
+        }
+        return replay();
+    }
+
+    private B replay() {
+        final Deque<ReplayedGameState<M, B>> toReplay = new ArrayDeque<>();
+        GameState<M, B> gameState = this;
+        B current = null;
+        while (gameState instanceof ReplayedGameState) {
+            final ReplayedGameState<M, B> replayed = (ReplayedGameState<M, B>) gameState;
+            current = replayed.board.get();
+            if (current != null) {
+                break;
+            }
+            toReplay.push(replayed);
+            gameState = replayed.previous;
+        }
+        if (current == null) {
+            current = gameState.getBoard();
+        }
+        while ( !toReplay.isEmpty()) {
+            final ReplayedGameState<M, B> replayed = toReplay.pop();
+            current = replayed.getMove().apply(current);
+            replayed.board = new SoftReference<>(current);
+        }
+        return current;
+    }
+
+}
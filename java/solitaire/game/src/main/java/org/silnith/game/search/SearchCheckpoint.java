@@ -0,0 +1,370 @@
+package org.silnith.game.search;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.silnith.game.GameState;
+import org.silnith.game.move.Move;
+import org.silnith.game.move.MoveCodec;
+import org.silnith.game.util.LinkedNode;
+
+/**
+ * A snapshot of a game tree search that has been stopped part way through,
+ * from which a new search can resume.  It holds the game tree nodes still
+ * waiting to be searched, the wins found so far, and the search statistics.
+ *
+ * <p>Game states are never stored directly.  Every game tree node is written
+ * as the move that led to it from its parent node, and the nodes still
+ * waiting to be searched share most of their history, so the frontier is
+ * written as a tree of moves rooted at the initial game state.  When the
+ * checkpoint is read back, the boards are rebuilt by applying the moves to
+ * the initial game state again.</p>
+ *
+ * <p>The transposition table is not part of the checkpoint.  A resumed
+ * search starts with an empty table, and may search a few boards twice.</p>
+ *
+ * @param <M> the move type for the game
+ * @param <B> the board type for the game
+ * @see GameTreeSearcher#checkpoint()
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public class SearchCheckpoint<M extends Move<B>, B> {
+
+    private static final int MAGIC = 0x53524348;
+
+    private static final int VERSION = 1;
+
+    /**
+     * The identifier of the initial game state in the tree of moves.
+     */
+    private static final int ROOT = 0;
+
+    private final List<LinkedNode<GameState<M, B>>> frontier;
+
+    private final List<List<GameState<M, B>>> wins;
+
+    private final long gameStatesExamined;
+
+    private final long boardsGenerated;
+
+    private final long movesPrunedTotal;
+
+    private final Map<String, Long> movesPruned;
+
+    private final long transpositionsPruned;
+
+    private final long boundPruned;
+
+    private final int depthBound;
+
+    private final boolean winFound;
+
+    SearchCheckpoint(final List<LinkedNode<GameState<M, B>>> frontier,
+            final List<List<GameState<M, B>>> wins, final long gameStatesExamined,
+            final long boardsGenerated, final long movesPrunedTotal, final Map<String, Long> movesPruned,
+            final long transpositionsPruned, final long boundPruned, final int depthBound,
+            final boolean winFound) {
+        super();
+        this.frontier = Collections.unmodifiableList(frontier);
+        this.wins = Collections.unmodifiableList(wins);
+        this.gameStatesExamined = gameStatesExamined;
+        this.boardsGenerated = boardsGenerated;
+        this.movesPrunedTotal = movesPrunedTotal;
+        this.movesPruned = Collections.unmodifiableMap(movesPruned);
+        this.transpositionsPruned = transpositionsPruned;
+        this.boundPruned = boundPruned;
+        this.depthBound = depthBound;
+        this.winFound = winFound;
+    }
+
+    /**
+     * Returns the game tree nodes that were still waiting to be searched.
+     *
+     * @return the frontier of the search
+     */
+    public List<LinkedNode<GameState<M, B>>> getFrontier() {
+        return frontier;
+    }
+
+    /**
+     * Returns the wins found before the checkpoint was taken.
+     *
+     * @return the wins found so far
+     */
+    public List<List<GameState<M, B>>> getWins() {
+        return wins;
+    }
+
+    long getGameStatesExamined() {
+        return gameStatesExamined;
+    }
+
+    long getBoardsGenerated() {
+        return boardsGenerated;
+    }
+
+    long getMovesPrunedTotal() {
+        return movesPrunedTotal;
+    }
+
+    /**
+     * Returns the number of moves pruned by the filter with the given
+     * statistics key.  Keys are matched by their string form.
+     *
+     * @param statisticsKey the statistics key of a move filter
+     * @return the number of moves pruned by the filter
+     */
+    long getMovesPruned(final Object statisticsKey) {
+        final Long pruned = movesPruned.get(String.valueOf(statisticsKey));
+        if (pruned == null) {
+            return 0;
+        }
+        return pruned;
+    }
+
+    long getTranspositionsPruned() {
+        return transpositionsPruned;
+    }
+
+    long getBoundPruned() {
+        return boundPruned;
+    }
+
+    int getDepthBound() {
+        return depthBound;
+    }
+
+    boolean isWinFound() {
+        return winFound;
+    }
+
+    /**
+     * Writes this checkpoint to the provided stream.  The stream is not
+     * closed or buffered, so callers should wrap it appropriately.
+     *
+     * @param out the stream to write to
+     * @param codec the codec for writing moves
+     * @throws IOException if there is a problem writing to the stream
+     */
+    public void write(final OutputStream out, final MoveCodec<M, B> codec) throws IOException {
+        final DataOutputStream data = new DataOutputStream(out);
+
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeLong(gameStatesExamined);
+        data.writeLong(boardsGenerated);
+        data.writeLong(movesPrunedTotal);
+        data.writeLong(transpositionsPruned);
+        data.writeLong(boundPruned);
+        data.writeInt(depthBound);
+        data.writeBoolean(winFound);
+        data.writeInt(movesPruned.size());
+        for (final Map.Entry<String, Long> entry : movesPruned.entrySet()) {
+            data.writeUTF(entry.getKey());
+            data.writeLong(entry.getValue());
+        }
+
+        writeTree(frontier, data, codec);
+
+        data.writeInt(wins.size());
+        for (final List<GameState<M, B>> win : wins) {
+            writeHistory(win, data, codec);
+        }
+        data.flush();
+    }
+
+    /**
+     * Writes game tree nodes as a tree of moves rooted at the initial game
+     * state.  Every node reachable from the leaves is numbered, parents before
+     * children, so that each node is written once no matter how many leaves
+     * share it.
+     *
+     * @param <M> the move type for the game
+     * @param <B> the board type for the game
+     * @param leaves the game tree nodes to write
+     * @param out the output to write to
+     * @param codec the codec for writing moves
+     * @throws IOException if there is a problem writing to the output
+     * @see #readTree(DataInput, MoveCodec, LinkedNode)
+     */
+    static <M extends Move<B>, B> void writeTree(final List<LinkedNode<GameState<M, B>>> leaves,
+            final DataOutput out, final MoveCodec<M, B> codec) throws IOException {
+        final Map<LinkedNode<GameState<M, B>>, Integer> ids = new IdentityHashMap<>();
+        final List<LinkedNode<GameState<M, B>>> nodes = new ArrayList<>();
+        final List<LinkedNode<GameState<M, B>>> path = new ArrayList<>();
+        for (final LinkedNode<GameState<M, B>> leaf : leaves) {
+            LinkedNode<GameState<M, B>> node = leaf;
+            while (node.getNext() != null && !ids.containsKey(node)) {
+                path.add(node);
+                node = node.getNext();
+            }
+            for (int i = path.size() - 1; i >= 0; i-- ) {
+                final LinkedNode<GameState<M, B>> pathNode = path.get(i);
+                nodes.add(pathNode);
+                ids.put(pathNode, nodes.size());
+            }
+            path.clear();
+        }
+
+        out.writeInt(nodes.size());
+        for (final LinkedNode<GameState<M, B>> node : nodes) {
+            out.writeInt(getId(ids, node.getNext()));
+            codec.writeMove(node.getValue().getMove(), out);
+        }
+        out.writeInt(leaves.size());
+        for (final LinkedNode<GameState<M, B>> leaf : leaves) {
+            out.writeInt(getId(ids, leaf));
+        }
+    }
+
+    private static <M extends Move<B>, B> int getId(final Map<LinkedNode<GameState<M, B>>, Integer> ids,
+            final LinkedNode<GameState<M, B>> node) {
+        if (node.getNext() == null) {
+            return ROOT;
+        }
+        return ids.get(node);
+    }
+
+    /**
+     * Reads game tree nodes written by
+     * {@link #writeTree(List, DataOutput, MoveCodec)}, rebuilding the boards
+     * by applying the moves to the root.
+     *
+     * @param <M> the move type for the game
+     * @param <B> the board type for the game
+     * @param in the input to read from
+     * @param codec the codec for reading moves
+     * @param root the node holding the initial game state
+     * @return the game tree nodes, in the order they were written
+     * @throws IOException if there is a problem reading from the input, or
+     *         the input is corrupt
+     */
+    static <M extends Move<B>, B> List<LinkedNode<GameState<M, B>>> readTree(final DataInput in,
+            final MoveCodec<M, B> codec, final LinkedNode<GameState<M, B>> root) throws IOException {
+        final int numberOfNodes = readCount(in);
+        final List<LinkedNode<GameState<M, B>>> nodes = new ArrayList<>(numberOfNodes + 1);
+        nodes.add(root);
+        for (int i = 0; i < numberOfNodes; i++ ) {
+            final LinkedNode<GameState<M, B>> parent = nodes.get(readId(in, nodes.size()));
+            nodes.add(readChild(parent, in, codec));
+        }
+        final int numberOfLeaves = readCount(in);
+        final List<LinkedNode<GameState<M, B>>> leaves = new ArrayList<>(numberOfLeaves);
+        for (int i = 0; i < numberOfLeaves; i++ ) {
+            leaves.add(nodes.get(readId(in, nodes.size())));
+        }
+        return leaves;
+    }
+
+    private void writeHistory(final List<GameState<M, B>> history, final DataOutput out,
+            final MoveCodec<M, B> codec) throws IOException {
+        // The history begins with the most recent game state, and the initial game state is not written.
+        final List<GameState<M, B>> oldestFirst = new ArrayList<>(history);
+        Collections.reverse(oldestFirst);
+        out.writeInt(oldestFirst.size() - 1);
+        for (final GameState<M, B> gameState : oldestFirst.subList(1, oldestFirst.size())) {
+            codec.writeMove(gameState.getMove(), out);
+        }
+    }
+
+    /**
+     * Reads a checkpoint from the provided stream.  The boards are rebuilt by
+     * applying the stored moves to the initial game state, which must be the
+     * same initial game state that the checkpointed search started from.
+     *
+     * @param <M> the move type for the game
+     * @param <B> the board type for the game
+     * @param in the stream to read from
+     * @param codec the codec for reading moves
+     * @param initialState the initial game state of the checkpointed search
+     * @return the checkpoint
+     * @throws IOException if there is a problem reading from the stream, or
+     *         the stream does not contain a valid checkpoint
+     */
+    public static <M extends Move<B>, B> SearchCheckpoint<M, B> read(final InputStream in,
+            final MoveCodec<M, B> codec, final GameState<M, B> initialState) throws IOException {
+        if (initialState == null) {
+            throw new IllegalArgumentException("Initial state cannot be null.");
+        }
+        final DataInputStream data = new DataInputStream(in);
+
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a search checkpoint.");
+        }
+        final int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported search checkpoint version: " + version);
+        }
+        final long gameStatesExamined = data.readLong();
+        final long boardsGenerated = data.readLong();
+        final long movesPrunedTotal = data.readLong();
+        final long transpositionsPruned = data.readLong();
+        final long boundPruned = data.readLong();
+        final int depthBound = data.readInt();
+        final boolean winFound = data.readBoolean();
+        final int numberOfFilters = readCount(data);
+        final Map<String, Long> movesPruned = new LinkedHashMap<>();
+        for (int i = 0; i < numberOfFilters; i++ ) {
+            final String key = data.readUTF();
+            movesPruned.put(key, data.readLong());
+        }
+
+        final LinkedNode<GameState<M, B>> root = new LinkedNode<>(initialState);
+        final List<LinkedNode<GameState<M, B>>> frontier = readTree(data, codec, root);
+
+        final int numberOfWins = readCount(data);
+        final List<List<GameState<M, B>>> wins = new ArrayList<>(numberOfWins);
+        for (int i = 0; i < numberOfWins; i++ ) {
+            LinkedNode<GameState<M, B>> node = root;
+            final int length = readCount(data);
+            for (int j = 0; j < length; j++ ) {
+                node = readChild(node, data, codec);
+            }
+            wins.add(node);
+        }
+
+        return new SearchCheckpoint<>(frontier, wins, gameStatesExamined, boardsGenerated, movesPrunedTotal,
+                movesPruned, transpositionsPruned, boundPruned, depthBound, winFound);
+    }
+
+    private static int readCount(final DataInput in) throws IOException {
+        final int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Corrupt search checkpoint.");
+        }
+        return count;
+    }
+
+    private static int readId(final DataInput in, final int limit) throws IOException {
+        final int id = in.readInt();
+        if (id < 0 || id >= limit) {
+            throw new IOException("Corrupt search checkpoint.");
+        }
+        return id;
+    }
+
+    private static <M extends Move<B>, B> LinkedNode<GameState<M, B>> readChild(
+            final LinkedNode<GameState<M, B>> parent, final DataInput in, final MoveCodec<M, B> codec)
+            throws IOException {
+        final B board = parent.getValue().getBoard();
+        final M move = codec.readMove(in, board);
+        return new LinkedNode<>(new GameState<>(move, move.apply(board)), parent);
+    }
+
+    @Override
+    public String toString() {
+        return "SearchCheckpoint(frontier=" + frontier.size() + ", wins=" + wins.size() + ")";
+    }
+
+}
@@ -0,0 +1,34 @@
+package org.silnith.game.search;
+
+/**
+ * What a game tree search is looking for, which decides when it may stop.
+ *
+ * @see GameTreeSearcher#getSearchMode()
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public enum SearchMode {
+    /**
+     * Searches the entire game tree and returns every win found.
+     */
+    ALL_WINS,
+    /**
+     * Stops the search as soon as any win is found, and returns only that win.
+     */
+    FIRST_WIN,
+    /**
+     * Stops the search as soon as any win is found, but keeps no game state
+     * histories at all.  The search returns no wins, and the result is
+     * available from {@link GameTreeSearcher#isWinFound()}.
+     */
+    SOLVABILITY,
+    /**
+     * Searches for the shortest win, pruning every game state at least as
+     * deep as the shortest win found so far.  The bound tightens each time a
+     * shorter win is found, so the search can be stopped at any time with
+     * the best win found so far.  Only the wins as short as the shortest
+     * win found are returned.
+     *
+     * @see GameTreeSearcher#getDepthBound()
+     */
+    SHORTEST_WIN
+}
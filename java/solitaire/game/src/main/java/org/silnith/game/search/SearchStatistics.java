@@ -0,0 +1,234 @@
+package org.silnith.game.search;
+
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An immutable snapshot of the statistics of a game tree search.
+ *
+ * <p>The searchers count with striped counters that are only summed when a
+ * snapshot is taken, so a snapshot taken while the search is running is not
+ * an atomic view.  Each count is accurate to within a few game tree nodes
+ * of the moment the snapshot was taken.</p>
+ *
+ * <p>Rates are computed either over the whole life of the search, or
+ * between two snapshots of the same search using the methods that take an
+ * earlier snapshot.</p>
+ *
+ * @see GameTreeSearcher#getStatistics()
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public final class SearchStatistics {
+
+    private final long elapsedNanos;
+
+    private final long gameStatesExamined;
+
+    private final long boardsGenerated;
+
+    private final long movesPruned;
+
+    private final Map<Object, Long> movesPrunedByFilter;
+
+    private final long transpositionsPruned;
+
+    private final long boundPruned;
+
+    private final int queueSize;
+
+    private final int winCount;
+
+    SearchStatistics(final long elapsedNanos, final long gameStatesExamined, final long boardsGenerated,
+            final long movesPruned, final Map<Object, Long> movesPrunedByFilter, final long transpositionsPruned,
+            final long boundPruned, final int queueSize, final int winCount) {
+        super();
+        this.elapsedNanos = elapsedNanos;
+        this.gameStatesExamined = gameStatesExamined;
+        this.boardsGenerated = boardsGenerated;
+        this.movesPruned = movesPruned;
+        this.movesPrunedByFilter = Collections.unmodifiableMap(movesPrunedByFilter);
+        this.transpositionsPruned = transpositionsPruned;
+        this.boundPruned = boundPruned;
+        this.queueSize = queueSize;
+        this.winCount = winCount;
+    }
+
+    /**
+     * Returns the time between the searcher being created and this snapshot
+     * being taken.
+     *
+     * @param unit the unit to return the time in
+     * @return the time the search has been running
+     */
+    public long getElapsedTime(final TimeUnit unit) {
+        return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the total number of game states examined.
+     *
+     * @return the number of game states examined
+     */
+    public long getGameStatesExamined() {
+        return gameStatesExamined;
+    }
+
+    /**
+     * Returns the total number of boards generated.
+     *
+     * @return the number of boards generated
+     */
+    public long getBoardsGenerated() {
+        return boardsGenerated;
+    }
+
+    /**
+     * Returns the total number of moves pruned by any move filter.
+     *
+     * @return the number of moves pruned
+     */
+    public long getMovesPruned() {
+        return movesPruned;
+    }
+
+    /**
+     * Returns the number of moves pruned by each move filter, keyed by the
+     * filter statistics key, in the order the game lists its filters.
+     *
+     * @return the number of moves pruned by each filter
+     */
+    public Map<Object, Long> getMovesPrunedByFilter() {
+        return movesPrunedByFilter;
+    }
+
+    /**
+     * Returns the total number of game states pruned as transpositions.
+     *
+     * @return the number of transpositions pruned
+     */
+    public long getTranspositionsPruned() {
+        return transpositionsPruned;
+    }
+
+    /**
+     * Returns the total number of game states pruned by the depth bound.
+     *
+     * @return the number of game states pruned by the depth bound
+     */
+    public long getBoundPruned() {
+        return boundPruned;
+    }
+
+    /**
+     * Returns the number of game tree nodes that were waiting to be
+     * searched.
+     *
+     * @return the size of the queue
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Returns the number of wins that had been found.
+     *
+     * @return the number of wins
+     */
+    public int getWinCount() {
+        return winCount;
+    }
+
+    /**
+     * Returns the average number of boards generated for each game state
+     * examined, before any were pruned.
+     *
+     * @return the average branching factor, or {@code 0} if no game states
+     *         have been examined
+     */
+    public double getBranchingFactor() {
+        if (gameStatesExamined == 0) {
+            return 0;
+        }
+        return (double) boardsGenerated / gameStatesExamined;
+    }
+
+    /**
+     * Returns the average number of game states examined per second over
+     * the life of the search.
+     *
+     * @return the game states examined per second
+     */
+    public double getGameStatesPerSecond() {
+        return perSecond(gameStatesExamined, elapsedNanos);
+    }
+
+    /**
+     * Returns the number of game states examined per second between an
+     * earlier snapshot of the same search and this one.
+     *
+     * @param earlier an earlier snapshot of the same search
+     * @return the game states examined per second
+     */
+    public double getGameStatesPerSecond(final SearchStatistics earlier) {
+        return perSecond(gameStatesExamined - earlier.gameStatesExamined, elapsedNanos - earlier.elapsedNanos);
+    }
+
+    /**
+     * Returns the average number of boards generated per second over the
+     * life of the search.
+     *
+     * @return the boards generated per second
+     */
+    public double getBoardsPerSecond() {
+        return perSecond(boardsGenerated, elapsedNanos);
+    }
+
+    /**
+     * Returns the number of boards generated per second between an earlier
+     * snapshot of the same search and this one.
+     *
+     * @param earlier an earlier snapshot of the same search
+     * @return the boards generated per second
+     */
+    public double getBoardsPerSecond(final SearchStatistics earlier) {
+        return perSecond(boardsGenerated - earlier.boardsGenerated, elapsedNanos - earlier.elapsedNanos);
+    }
+
+    private static double perSecond(final long count, final long nanos) {
+        if (nanos <= 0) {
+            return 0;
+        }
+        return count * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+
+    /**
+     * Prints the counts in this snapshot to the provided print stream.
+     *
+     * @param out the print stream to print to
+     */
+    public void printTo(final PrintStream out) {
+        out.printf(Locale.US,
+                "Nodes examined: %,d\n"
+                + "Boards generated: %,d\n"
+                + "Moves pruned: %,d\n"
+                + "Queue size: %,d\n"
+                + "Wins: %,d\n",
+                gameStatesExamined,
+                boardsGenerated,
+                movesPruned,
+                queueSize,
+                winCount);
+    }
+
+    @Override
+    public String toString() {
+        return "SearchStatistics(elapsed=" + getElapsedTime(TimeUnit.MILLISECONDS) + "ms, examined="
+                + gameStatesExamined + ", generated=" + boardsGenerated + ", pruned=" + movesPruned
+                + ", transpositions=" + transpositionsPruned + ", bound=" + boundPruned + ", queue=" + queueSize
+                + ", wins=" + winCount + ")";
+    }
+
+}
@@ -1,9 +1,6 @@
 package org.silnith.game.search;
 
-import java.util.ArrayDeque;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -21,10 +18,12 @@ import org.silnith.game.util.LinkedNode;
  */
 public class SequentialDepthFirstSearch<M extends Move<B>, B> extends GameTreeSearcher<M, B> {
 
-    private final Deque<LinkedNode<GameState<M, B>>> stack;
+    private final Frontier<LinkedNode<GameState<M, B>>> stack;
 
     private final Collection<List<GameState<M, B>>> wins;
 
+    private volatile boolean cancelled;
+
 	/**
 	 * Initializes a sequential single-threaded depth-first search.
 	 * 
@@ -32,27 +31,148 @@ public class SequentialDepthFirstSearch<M extends Move<B>, B> extends GameTreeSe
 	 * @param initialState the initial game state
 	 */
 	public SequentialDepthFirstSearch(final Game<M, B> game, final GameState<M, B> initialState) {
-		super(game);
-		this.stack = new ArrayDeque<>();
+		this(game, initialState, null);
+	}
+
+	/**
+	 * Initializes a sequential single-threaded depth-first search that skips
+	 * boards already reached by a different sequence of moves.
+	 * 
+	 * @param game the game
+	 * @param initialState the initial game state
+	 * @param transpositionTable the table of boards already reached.  May be
+	 *         {@code null}, in which case no transpositions are detected.
+	 */
+	public SequentialDepthFirstSearch(final Game<M, B> game, final GameState<M, B> initialState,
+	        final TranspositionTable<B> transpositionTable) {
+		this(game, initialState, transpositionTable, SearchMode.ALL_WINS);
+	}
+
+	/**
+	 * Initializes a sequential single-threaded depth-first search that stops
+	 * according to the given search mode.
+	 * 
+	 * @param game the game
+	 * @param initialState the initial game state
+	 * @param transpositionTable the table of boards already reached.  May be
+	 *         {@code null}, in which case no transpositions are detected.
+	 * @param searchMode what the search is looking for
+	 */
+	public SequentialDepthFirstSearch(final Game<M, B> game, final GameState<M, B> initialState,
+	        final TranspositionTable<B> transpositionTable, final SearchMode searchMode) {
+		this(game, initialState, transpositionTable, searchMode, new StackFrontier<LinkedNode<GameState<M, B>>>());
+	}
+
+	/**
+	 * Initializes a sequential single-threaded depth-first search that keeps
+	 * the game tree nodes waiting to be searched in the given frontier.
+	 * 
+	 * @param game the game
+	 * @param initialState the initial game state
+	 * @param transpositionTable the table of boards already reached.  May be
+	 *         {@code null}, in which case no transpositions are detected.
+	 * @param searchMode what the search is looking for
+	 * @param frontier an empty frontier to hold the nodes waiting to be
+	 *         searched
+	 * @see SpillingFrontier
+	 */
+	public SequentialDepthFirstSearch(final Game<M, B> game, final GameState<M, B> initialState,
+	        final TranspositionTable<B> transpositionTable, final SearchMode searchMode,
+	        final Frontier<LinkedNode<GameState<M, B>>> frontier) {
+		this(game, initialState, transpositionTable, searchMode, frontier, HistoryMode.ALL_BOARDS);
+	}
+
+	/**
+	 * Initializes a sequential single-threaded depth-first search that keeps
+	 * the game tree nodes waiting to be searched in the given frontier, with
+	 * the boards in their histories kept according to the given history
+	 * mode.
+	 * 
+	 * @param game the game
+	 * @param initialState the initial game state
+	 * @param transpositionTable the table of boards already reached.  May be
+	 *         {@code null}, in which case no transpositions are detected.
+	 * @param searchMode what the search is looking for
+	 * @param frontier an empty frontier to hold the nodes waiting to be
+	 *         searched
+	 * @param historyMode which boards to keep in the histories of the nodes
+	 *         waiting to be searched
+	 * @see HistoryMode#RECENT_BOARDS
+	 */
+	public SequentialDepthFirstSearch(final Game<M, B> game, final GameState<M, B> initialState,
+	        final TranspositionTable<B> transpositionTable, final SearchMode searchMode,
+	        final Frontier<LinkedNode<GameState<M, B>>> frontier, final HistoryMode historyMode) {
+		super(game, transpositionTable, searchMode, null, historyMode);
+		if (frontier == null) {
+		    throw new IllegalArgumentException("Frontier cannot be null.");
+		}
+		this.stack = frontier;
 		this.wins = new LinkedList<>();
+		this.cancelled = false;
 		
 		this.stack.addLast(new LinkedNode<GameState<M,B>>(initialState));
 	}
 
+	/**
+	 * Initializes a sequential single-threaded depth-first search that
+	 * resumes from a checkpoint.
+	 * 
+	 * @param game the game
+	 * @param checkpoint the checkpoint to resume from
+	 * @param transpositionTable the table of boards already reached.  May be
+	 *         {@code null}, in which case no transpositions are detected.
+	 * @param searchMode what the search is looking for
+	 * @throws IllegalArgumentException if the checkpoint is {@code null}
+	 * @see #checkpoint()
+	 */
+	public SequentialDepthFirstSearch(final Game<M, B> game, final SearchCheckpoint<M, B> checkpoint,
+	        final TranspositionTable<B> transpositionTable, final SearchMode searchMode) {
+		super(game, transpositionTable, searchMode, checkpoint);
+		if (checkpoint == null) {
+			throw new IllegalArgumentException("Checkpoint cannot be null.");
+		}
+		this.stack = new StackFrontier<>();
+		this.wins = new LinkedList<>(checkpoint.getWins());
+		this.cancelled = false;
+		
+		for (final LinkedNode<GameState<M, B>> node : checkpoint.getFrontier()) {
+		    this.stack.addLast(node);
+		}
+	}
+
+	/**
+	 * Stops the search.  The game tree node being examined is finished first,
+	 * and the rest of the stack is kept so that a checkpoint can be taken.
+	 */
 	@Override
     public void close() {
+	    cancelled = true;
     }
 
     @Override
     public Collection<List<GameState<M, B>>> call() {
         LinkedNode<GameState<M, B>> node = stack.pollLast();
-        while (node != null) {
+        while (node != null && !isStopped()) {
+            if (cancelled) {
+                stack.addLast(node);
+                break;
+            }
             examineNode(node);
             
             node = stack.pollLast();
         }
         
-        return Collections.unmodifiableCollection(wins);
+        return getReportedWins(wins);
+    }
+
+    @Override
+    protected Collection<LinkedNode<GameState<M, B>>> getFrontier() {
+        return stack.toList();
+    }
+
+    @Override
+    protected Collection<List<GameState<M, B>>> getWins() {
+        return wins;
     }
 
     @Override
@@ -0,0 +1,375 @@
+package org.silnith.game.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.silnith.game.GameState;
+import org.silnith.game.move.Move;
+import org.silnith.game.move.MoveCodec;
+import org.silnith.game.util.LinkedNode;
+
+/**
+ * A frontier that keeps a bounded number of game tree nodes in memory, and
+ * spills the rest to segment files on disk.
+ *
+ * <p>Once more than the maximum number of nodes are held in memory, the
+ * oldest nodes are written out as a new segment file.  The oldest nodes are
+ * the shallowest, and are not needed again until every newer node has been
+ * searched.  Once the nodes in memory run out, the newest segment is read
+ * back in and deleted.  This keeps the exact order of an in-memory frontier
+ * used by a single thread, and the file system only sees whole segments
+ * written and read sequentially through buffered streams.</p>
+ *
+ * <p>Segments are written in the same form as a {@link SearchCheckpoint}
+ * frontier, as a tree of moves from the initial game state, so a segment of
+ * nodes that share most of their history takes only a few bytes per node.
+ * Reading a segment back replays those moves to rebuild the boards.</p>
+ *
+ * <p>The frontier may be shared by multiple threads.  A thread that triggers
+ * a spill holds the lock while the segment is written.  A thread that reads
+ * a segment back takes it from the frontier and releases the lock while the
+ * segment is read and its moves replayed, so other threads can keep adding
+ * and taking nodes.  Nodes added while a segment is read are newer than the
+ * nodes in it, so they are taken first.  Until the read finishes, the nodes
+ * in the segment count towards the size of the frontier, and threads waiting
+ * for a node wait for them.</p>
+ *
+ * @param <M> the move type for the game
+ * @param <B> the board type for the game
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public class SpillingFrontier<M extends Move<B>, B> implements Frontier<LinkedNode<GameState<M, B>>>, AutoCloseable {
+
+    private final MoveCodec<M, B> codec;
+
+    private final Path directory;
+
+    private final int maximumInMemory;
+
+    private final int segmentSize;
+
+    private final Deque<LinkedNode<GameState<M, B>>> memory;
+
+    /**
+     * The segment files, oldest first.
+     */
+    private final Deque<Segment> segments;
+
+    private LinkedNode<GameState<M, B>> root;
+
+    private int spilledNodes;
+
+    /**
+     * The number of nodes in segments that are being read back.
+     */
+    private int pagingNodes;
+
+    private long segmentsWritten;
+
+    /**
+     * Creates a frontier that spills half of its nodes to disk whenever it
+     * holds more than the given number of nodes in memory.
+     *
+     * @param codec the codec for writing and reading moves
+     * @param directory the directory to write segment files to
+     * @param maximumInMemory the largest number of nodes to hold in memory
+     * @throws IllegalArgumentException if the maximum is less than {@code 2}
+     */
+    public SpillingFrontier(final MoveCodec<M, B> codec, final Path directory, final int maximumInMemory) {
+        this(codec, directory, maximumInMemory, maximumInMemory / 2);
+    }
+
+    /**
+     * Creates a frontier that spills the given number of nodes to disk
+     * whenever it holds more than the given maximum in memory.
+     *
+     * @param codec the codec for writing and reading moves
+     * @param directory the directory to write segment files to
+     * @param maximumInMemory the largest number of nodes to hold in memory
+     * @param segmentSize the number of nodes to write to each segment file
+     * @throws IllegalArgumentException if the codec or directory is
+     *         {@code null}, the segment size is not positive, or the segment
+     *         size is larger than the maximum held in memory
+     */
+    public SpillingFrontier(final MoveCodec<M, B> codec, final Path directory, final int maximumInMemory,
+            final int segmentSize) {
+        super();
+        if (codec == null) {
+            throw new IllegalArgumentException("Codec cannot be null.");
+        }
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory cannot be null.");
+        }
+        if (segmentSize < 1) {
+            throw new IllegalArgumentException("Segment size must be positive.");
+        }
+        if (segmentSize > maximumInMemory) {
+            throw new IllegalArgumentException("Segment size cannot exceed the maximum held in memory.");
+        }
+        this.codec = codec;
+        this.directory = directory;
+        this.maximumInMemory = maximumInMemory;
+        this.segmentSize = segmentSize;
+        this.memory = new ArrayDeque<>();
+        this.segments = new ArrayDeque<>();
+        this.root = null;
+        this.spilledNodes = 0;
+        this.pagingNodes = 0;
+        this.segmentsWritten = 0;
+    }
+
+    @Override
+    public synchronized void addLast(final LinkedNode<GameState<M, B>> e) {
+        memory.addLast(e);
+        if (memory.size() > maximumInMemory) {
+            spill();
+        }
+        notifyAll();
+    }
+
+    @Override
+    public LinkedNode<GameState<M, B>> pollLast() {
+        final Segment segment;
+        synchronized (this) {
+            if ( !memory.isEmpty() || segments.isEmpty()) {
+                return memory.pollLast();
+            }
+            segment = takeNewestSegment();
+        }
+        return pageIn(segment);
+    }
+
+    @Override
+    public LinkedNode<GameState<M, B>> pollLast(final long timeout, final TimeUnit unit)
+            throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        final Segment segment;
+        synchronized (this) {
+            while (memory.isEmpty() && segments.isEmpty()) {
+                if (pagingNodes > 0) {
+                    // Another thread is reading nodes back, and notifies once they are in memory.
+                    wait();
+                } else {
+                    final long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return null;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                }
+            }
+            if ( !memory.isEmpty()) {
+                return memory.pollLast();
+            }
+            segment = takeNewestSegment();
+        }
+        return pageIn(segment);
+    }
+
+    @Override
+    public synchronized int size() {
+        return memory.size() + spilledNodes + pagingNodes;
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return memory.isEmpty() && segments.isEmpty() && pagingNodes == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Nodes in segments that are being read back by another thread are
+     * not included, so the frontier should not be in use when this is
+     * called.</p>
+     */
+    @Override
+    public synchronized List<LinkedNode<GameState<M, B>>> toList() {
+        final List<LinkedNode<GameState<M, B>>> list = new ArrayList<>(size());
+        for (final Segment segment : segments) {
+            list.addAll(read(segment));
+        }
+        list.addAll(memory);
+        return list;
+    }
+
+    /**
+     * Returns the number of nodes currently held on disk, not counting those
+     * in segments that are being read back.
+     *
+     * @return the number of spilled nodes
+     */
+    public synchronized int getSpilledNodes() {
+        return spilledNodes;
+    }
+
+    /**
+     * Returns the number of segment files currently on disk.
+     *
+     * @return the number of segments
+     */
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Returns the total number of segment files written over the life of the
+     * frontier, including those since read back and deleted.
+     *
+     * @return the number of segments written
+     */
+    public synchronized long getSegmentsWritten() {
+        return segmentsWritten;
+    }
+
+    /**
+     * Deletes every segment file and discards every node.
+     */
+    @Override
+    public synchronized void close() {
+        for (final Segment segment : segments) {
+            delete(segment);
+        }
+        segments.clear();
+        memory.clear();
+        spilledNodes = 0;
+    }
+
+    private void spill() {
+        final List<LinkedNode<GameState<M, B>>> oldest = new ArrayList<>(segmentSize);
+        for (int i = 0; i < segmentSize; i++ ) {
+            oldest.add(memory.pollFirst());
+        }
+        if (root == null) {
+            root = findRoot(oldest.get(0));
+        }
+        Path file = null;
+        try {
+            file = Files.createTempFile(directory, "frontier-", ".segment");
+            try (final DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(file)))) {
+                SearchCheckpoint.writeTree(oldest, out, codec);
+            }
+            segments.addLast(new Segment(file, oldest.size()));
+            spilledNodes += oldest.size();
+            segmentsWritten++;
+        } catch (final IOException e) {
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (final IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            // Put the nodes back so that nothing is lost.
+            for (int i = oldest.size() - 1; i >= 0; i-- ) {
+                memory.addFirst(oldest.get(i));
+            }
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Takes the newest segment out of the frontier so that it can be read
+     * back without holding the lock.  Must be called while holding the lock.
+     */
+    private Segment takeNewestSegment() {
+        final Segment segment = segments.pollLast();
+        spilledNodes -= segment.size;
+        pagingNodes += segment.size;
+        return segment;
+    }
+
+    /**
+     * Reads back and deletes a segment taken by {@link #takeNewestSegment()}
+     * without holding the lock, and returns the newest node.  If the segment
+     * cannot be read or deleted, it is put back.
+     */
+    private LinkedNode<GameState<M, B>> pageIn(final Segment segment) {
+        final List<LinkedNode<GameState<M, B>>> nodes;
+        try {
+            nodes = read(segment);
+            delete(segment);
+        } catch (final RuntimeException | Error e) {
+            // Put the segment back so that nothing is lost.
+            synchronized (this) {
+                pagingNodes -= segment.size;
+                spilledNodes += segment.size;
+                segments.addLast(segment);
+                notifyAll();
+            }
+            throw e;
+        }
+        synchronized (this) {
+            pagingNodes -= segment.size;
+            // Any nodes added meanwhile are newer.
+            for (int i = nodes.size() - 1; i >= 0; i-- ) {
+                memory.addFirst(nodes.get(i));
+            }
+            notifyAll();
+            if (memory.size() > maximumInMemory) {
+                spill();
+            }
+            return memory.pollLast();
+        }
+    }
+
+    private List<LinkedNode<GameState<M, B>>> read(final Segment segment) {
+        try (final DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(segment.file)))) {
+            return SearchCheckpoint.readTree(in, codec, root);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void delete(final Segment segment) {
+        try {
+            Files.deleteIfExists(segment.file);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <E> LinkedNode<E> findRoot(final LinkedNode<E> node) {
+        LinkedNode<E> current = node;
+        while (current.getNext() != null) {
+            current = current.getNext();
+        }
+        return current;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "SpillingFrontier(inMemory=" + memory.size() + ", spilled=" + spilledNodes + ", segments="
+                + segments.size() + ")";
+    }
+
+    /**
+     * A segment file and the number of nodes in it.
+     */
+    private static class Segment {
+
+        private final Path file;
+
+        private final int size;
+
+        public Segment(final Path file, final int size) {
+            super();
+            this.file = file;
+            this.size = size;
+        }
+
+    }
+
+}
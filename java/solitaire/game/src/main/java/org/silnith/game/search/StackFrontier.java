@@ -0,0 +1,57 @@
+package org.silnith.game.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An unbounded in-memory frontier for a single thread.  It is not safe to
+ * use from multiple threads, and never waits for a node to be added.
+ *
+ * @param <E> the type of node in the frontier
+ */
+public class StackFrontier<E> implements Frontier<E> {
+
+    private final Deque<E> stack;
+
+    /**
+     * Creates an empty frontier.
+     */
+    public StackFrontier() {
+        super();
+        this.stack = new ArrayDeque<>();
+    }
+
+    @Override
+    public void addLast(final E e) {
+        stack.addLast(e);
+    }
+
+    @Override
+    public E pollLast() {
+        return stack.pollLast();
+    }
+
+    @Override
+    public E pollLast(final long timeout, final TimeUnit unit) {
+        return stack.pollLast();
+    }
+
+    @Override
+    public int size() {
+        return stack.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return stack.isEmpty();
+    }
+
+    @Override
+    public List<E> toList() {
+        return new ArrayList<>(stack);
+    }
+
+}
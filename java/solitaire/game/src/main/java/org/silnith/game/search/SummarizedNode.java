@@ -0,0 +1,44 @@
+package org.silnith.game.search;
+
+import org.silnith.game.GameState;
+import org.silnith.game.move.SummarizingMoveFilter;
+import org.silnith.game.move.Move;
+import org.silnith.game.util.LinkedNode;
+
+/**
+ * The head of a game state history that also carries the summary each
+ * {@link SummarizingMoveFilter} keeps for it.
+ *
+ * @param <M> the move type for the game
+ * @param <B> the board type for the game
+ */
+class SummarizedNode<M extends Move<B>, B> extends LinkedNode<GameState<M, B>> {
+
+    private final Object[] summaries;
+
+    /**
+     * Creates a history node.
+     *
+     * @param gameState the current game state
+     * @param next the rest of the history
+     * @param summaries the summary of this history for each incremental
+     *         filter of the search, or {@code null} if it has none
+     */
+    SummarizedNode(final GameState<M, B> gameState, final LinkedNode<GameState<M, B>> next,
+            final Object[] summaries) {
+        super(gameState, next);
+        this.summaries = summaries;
+    }
+
+    /**
+     * Returns the summary of this history for each incremental filter of the
+     * search, in the order the search keeps them.
+     *
+     * @return the summaries, or {@code null} if the search has no
+     *         incremental filters
+     */
+    Object[] getSummaries() {
+        return summaries;
+    }
+
+}
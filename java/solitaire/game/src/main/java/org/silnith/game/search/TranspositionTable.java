@@ -0,0 +1,284 @@
+package org.silnith.game.search;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A concurrent, size-bounded table of boards that have already been reached
+ * by a game tree search.
+ *
+ * <p>The same board can frequently be reached by several different orderings
+ * of the same moves.  Without a transposition table, each of those orderings
+ * is expanded separately, so the same sub-tree gets searched over and over.
+ * The table remembers each board along with the shallowest depth at which it
+ * was reached, and reports a transposition whenever a board is reached again
+ * at the same depth or deeper.  The sub-tree below that board has already been
+ * (or is currently being) searched with at least as many moves remaining.</p>
+ *
+ * <p>That is only true if everything that can happen below a board depends on
+ * the board alone.  A {@link org.silnith.game.move.MoveFilter} that looks at
+ * the history, and not just the most recent board, can prune moves below one
+ * path to a board that it allows below another path to the same board.  If
+ * the more restricted path is recorded first, the moves only the other path
+ * allows are never searched, and wins below them are lost.  Use a table only
+ * with games whose filters decide from the most recent board, or when losing
+ * such wins is acceptable.</p>
+ *
+ * <p>The table holds a fixed number of entries.  Entries are grouped into
+ * small buckets selected by the board hash code.  When a new board maps to a
+ * bucket that is full, the {@link EvictionPolicy} decides which entry is
+ * discarded.  Discarding an entry never causes a wrong answer, it only means
+ * a transposition of that board will not be detected.</p>
+ *
+ * <p>The board type must implement {@link Object#hashCode()} and
+ * {@link Object#equals(Object)} consistently.  Boards are confirmed using
+ * {@code equals} before a transposition is reported, so hash collisions are
+ * harmless.</p>
+ *
+ * <p>Instances of this class are safe to share between threads.</p>
+ *
+ * @param <B> the board type for the game
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public class TranspositionTable<B> {
+
+    /**
+     * Strategies for choosing which entry to discard when a bucket in the
+     * table is full.
+     *
+     * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+     */
+    public enum EvictionPolicy {
+        /**
+         * Discards the entry that was stored least recently.
+         */
+        REPLACE_OLDEST,
+        /**
+         * Discards the entry with the greatest depth.  Deep boards have the
+         * smallest sub-trees beneath them, so they are the cheapest to search
+         * again if a transposition is missed.
+         */
+        REPLACE_DEEPEST,
+        /**
+         * Never discards an entry.  Once the bucket for a board is full, new
+         * boards that map to it are simply not recorded.
+         */
+        NEVER_REPLACE
+    }
+
+    /**
+     * The number of entries in each bucket.
+     */
+    private static final int BUCKET_SIZE = 4;
+
+    private final AtomicReferenceArray<Entry<B>> entries;
+
+    private final int bucketMask;
+
+    private final EvictionPolicy evictionPolicy;
+
+    /**
+     * The number of entries stored so far, used to number each new entry.
+     */
+    private final AtomicLong insertions;
+
+    /**
+     * Creates a new, empty transposition table.
+     *
+     * <p>The capacity is rounded up to a power of two, and to at least
+     * one bucket.</p>
+     *
+     * @param capacity the maximum number of boards to hold in the table
+     * @param evictionPolicy the policy for choosing which entries to discard
+     *         when the table fills up
+     * @throws IllegalArgumentException if the capacity is not positive or
+     *         the eviction policy is {@code null}
+     */
+    public TranspositionTable(final int capacity, final EvictionPolicy evictionPolicy) {
+        super();
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        if (capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity too large.");
+        }
+        if (evictionPolicy == null) {
+            throw new IllegalArgumentException("Eviction policy cannot be null.");
+        }
+        final int requestedBuckets = (capacity + BUCKET_SIZE - 1) / BUCKET_SIZE;
+        final int numberOfBuckets;
+        if (requestedBuckets == 1) {
+            numberOfBuckets = 1;
+        } else {
+            numberOfBuckets = Integer.highestOneBit(requestedBuckets - 1) << 1;
+        }
+        this.entries = new AtomicReferenceArray<>(numberOfBuckets * BUCKET_SIZE);
+        this.bucketMask = numberOfBuckets - 1;
+        this.evictionPolicy = evictionPolicy;
+        this.insertions = new AtomicLong();
+    }
+
+    /**
+     * Returns the maximum number of boards the table can hold.
+     *
+     * @return the capacity of the table
+     */
+    public int getCapacity() {
+        return entries.length();
+    }
+
+    /**
+     * Returns the policy used to discard entries when the table fills up.
+     *
+     * @return the eviction policy
+     */
+    public EvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    /**
+     * Checks whether the given board has already been reached at the same
+     * depth or shallower.  If it has not, the board is recorded at the given
+     * depth so that later transpositions of it will be detected.
+     *
+     * @param board the board to check
+     * @param depth the depth in the game tree at which the board was reached
+     * @return {@code true} if the board is a transposition of a board already
+     *         reached at the same depth or shallower, meaning it does not need
+     *         to be searched again
+     */
+    public boolean isTransposition(final B board, final int depth) {
+        final int start = bucketIndex(board.hashCode()) * BUCKET_SIZE;
+        final int end = start + BUCKET_SIZE;
+        retry: while (true) {
+            int emptyIndex = -1;
+            int victimIndex = -1;
+            Entry<B> victim = null;
+            for (int i = start; i < end; i++) {
+                final Entry<B> entry = entries.get(i);
+                if (entry == null) {
+                    if (emptyIndex < 0) {
+                        emptyIndex = i;
+                    }
+                    continue;
+                }
+                if (entry.board.equals(board)) {
+                    if (entry.depth <= depth) {
+                        return true;
+                    }
+                    /*
+                     * Reached again, but with more moves left to search.
+                     * Keep the shallower depth so deeper copies get pruned.
+                     */
+                    if (entries.compareAndSet(i, entry, new Entry<>(board, depth, entry.sequence))) {
+                        return false;
+                    }
+                    // Lost a race with another thread, look at the bucket again.
+                    continue retry;
+                }
+                if (isBetterVictim(entry, victim)) {
+                    victimIndex = i;
+                    victim = entry;
+                }
+            }
+            if (emptyIndex >= 0) {
+                if (entries.compareAndSet(emptyIndex, null, new Entry<>(board, depth, insertions.getAndIncrement()))) {
+                    return false;
+                }
+                continue;
+            }
+            if (evictionPolicy == EvictionPolicy.NEVER_REPLACE) {
+                return false;
+            }
+            if (evictionPolicy == EvictionPolicy.REPLACE_DEEPEST && victim.depth < depth) {
+                // Everything in the bucket is more valuable than the new board.
+                return false;
+            }
+            /*
+             * If the replacement fails another thread got there first,
+             * and the new board is simply not recorded.
+             */
+            entries.compareAndSet(victimIndex, victim, new Entry<>(board, depth, insertions.getAndIncrement()));
+            return false;
+        }
+    }
+
+    /**
+     * Removes all entries from the table.
+     *
+     * <p>This should not be called while a search is using the table.</p>
+     */
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, null);
+        }
+    }
+
+    /**
+     * Returns the number of boards currently held in the table.
+     * This walks the entire table, so it is not cheap.
+     *
+     * @return the number of boards in the table
+     */
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < entries.length(); i++) {
+            if (entries.get(i) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    private int bucketIndex(final int hashCode) {
+        // Spread the high bits down, since the mask only keeps the low bits.
+        final int h = hashCode ^ (hashCode >>> 16);
+        return h & bucketMask;
+    }
+
+    private boolean isBetterVictim(final Entry<B> candidate, final Entry<B> current) {
+        if (current == null) {
+            return true;
+        }
+        switch (evictionPolicy) {
+        case REPLACE_DEEPEST:
+            return candidate.depth > current.depth;
+        case REPLACE_OLDEST:
+        case NEVER_REPLACE:
+        default:
+            return candidate.sequence < current.sequence;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TranspositionTable (capacity: " + getCapacity() + ", eviction policy: " + evictionPolicy + ")";
+    }
+
+    /**
+     * An immutable entry in the table.
+     *
+     * @param <B> the board type for the game
+     */
+    private static class Entry<B> {
+
+        private final B board;
+
+        private final int depth;
+
+        /**
+         * The order in which the board was first stored, used to find the
+         * oldest entry.
+         */
+        private final long sequence;
+
+        public Entry(final B board, final int depth, final long sequence) {
+            super();
+            this.board = board;
+            this.depth = depth;
+            this.sequence = sequence;
+        }
+
+    }
+
+}
@@ -2,11 +2,9 @@ package org.silnith.game.search;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import org.silnith.game.Game;
@@ -25,9 +23,10 @@ public class WorkerThreadDepthFirstSearch<M extends Move<B>, B>
         extends GameTreeSearcher<M, B> {
 
 	private final List<Worker> workers;
-	private final BlockingDeque<LinkedNode<GameState<M, B>>> queue;
+	private final Frontier<LinkedNode<GameState<M, B>>> queue;
 	private final Collection<List<GameState<M, B>>> wins;
 	private volatile boolean cancelled;
+	private final CountDownLatch stopped;
 
 	/**
 	 * Initializes a depth-first search across the specified number of threads.
@@ -38,14 +37,74 @@ public class WorkerThreadDepthFirstSearch<M extends Move<B>, B>
 	 */
 	public WorkerThreadDepthFirstSearch(final Game<M, B> game, final GameState<M, B> initialState,
 			final int numThreads) {
-		super(game);
+		this(game, initialState, numThreads, null);
+	}
+
+	/**
+	 * Initializes a depth-first search across the specified number of threads
+	 * that skips boards already reached by a different sequence of moves.
+	 * All the threads share the one transposition table.
+	 * 
+	 * @param game the game
+	 * @param initialState the initial game state from which to begin the search
+	 * @param numThreads the number of threads to use for searching the game tree
+	 * @param transpositionTable the table of boards already reached.  May be
+	 *         {@code null}, in which case no transpositions are detected.
+	 */
+	public WorkerThreadDepthFirstSearch(final Game<M, B> game, final GameState<M, B> initialState,
+			final int numThreads, final TranspositionTable<B> transpositionTable) {
+		this(game, initialState, numThreads, transpositionTable, SearchMode.ALL_WINS);
+	}
+
+	/**
+	 * Initializes a depth-first search across the specified number of threads
+	 * that stops according to the given search mode.  When the search stops,
+	 * every thread abandons its work.
+	 * 
+	 * @param game the game
+	 * @param initialState the initial game state from which to begin the search
+	 * @param numThreads the number of threads to use for searching the game tree
+	 * @param transpositionTable the table of boards already reached.  May be
+	 *         {@code null}, in which case no transpositions are detected.
+	 * @param searchMode what the search is looking for
+	 */
+	public WorkerThreadDepthFirstSearch(final Game<M, B> game, final GameState<M, B> initialState,
+			final int numThreads, final TranspositionTable<B> transpositionTable,
+			final SearchMode searchMode) {
+		this(game, initialState, numThreads, transpositionTable, searchMode,
+		        new BlockingFrontier<LinkedNode<GameState<M, B>>>());
+	}
+
+	/**
+	 * Initializes a depth-first search across the specified number of threads
+	 * that keeps the game tree nodes waiting to be searched in the given
+	 * frontier.  The frontier must be safe to share between threads.
+	 * 
+	 * @param game the game
+	 * @param initialState the initial game state from which to begin the search
+	 * @param numThreads the number of threads to use for searching the game tree
+	 * @param transpositionTable the table of boards already reached.  May be
+	 *         {@code null}, in which case no transpositions are detected.
+	 * @param searchMode what the search is looking for
+	 * @param frontier an empty frontier to hold the nodes waiting to be
+	 *         searched
+	 * @see SpillingFrontier
+	 */
+	public WorkerThreadDepthFirstSearch(final Game<M, B> game, final GameState<M, B> initialState,
+			final int numThreads, final TranspositionTable<B> transpositionTable,
+			final SearchMode searchMode, final Frontier<LinkedNode<GameState<M, B>>> frontier) {
+		super(game, transpositionTable, searchMode);
 		if (initialState == null) {
 			throw new IllegalArgumentException("Initial state cannot be null.");
 		}
+		if (frontier == null) {
+			throw new IllegalArgumentException("Frontier cannot be null.");
+		}
 		this.workers = new ArrayList<>(numThreads);
-		this.queue = new LinkedBlockingDeque<>();
+		this.queue = frontier;
 		this.wins = new ConcurrentLinkedQueue<>();
 		this.cancelled = false;
+		this.stopped = new CountDownLatch(1);
 
 		this.queue.addLast(new LinkedNode<>(initialState));
 
@@ -54,6 +113,41 @@ public class WorkerThreadDepthFirstSearch<M extends Move<B>, B>
 		}
 	}
 
+	/**
+	 * Initializes a depth-first search across the specified number of threads
+	 * that resumes from a checkpoint.
+	 * 
+	 * @param game the game
+	 * @param checkpoint the checkpoint to resume from
+	 * @param numThreads the number of threads to use for searching the game tree
+	 * @param transpositionTable the table of boards already reached.  May be
+	 *         {@code null}, in which case no transpositions are detected.
+	 * @param searchMode what the search is looking for
+	 * @throws IllegalArgumentException if the checkpoint is {@code null}
+	 * @see #checkpoint()
+	 */
+	public WorkerThreadDepthFirstSearch(final Game<M, B> game, final SearchCheckpoint<M, B> checkpoint,
+			final int numThreads, final TranspositionTable<B> transpositionTable,
+			final SearchMode searchMode) {
+		super(game, transpositionTable, searchMode, checkpoint);
+		if (checkpoint == null) {
+			throw new IllegalArgumentException("Checkpoint cannot be null.");
+		}
+		this.workers = new ArrayList<>(numThreads);
+		this.queue = new BlockingFrontier<>();
+		this.wins = new ConcurrentLinkedQueue<>(checkpoint.getWins());
+		this.cancelled = false;
+		this.stopped = new CountDownLatch(1);
+
+		for (final LinkedNode<GameState<M, B>> node : checkpoint.getFrontier()) {
+		    this.queue.addLast(node);
+		}
+
+		for (int i = 0; i < numThreads; i++) {
+		    this.workers.add(new Worker());
+		}
+	}
+
 	@Override
     public void close() {
 	    cancelled = true;
@@ -71,9 +165,8 @@ public class WorkerThreadDepthFirstSearch<M extends Move<B>, B>
         
         boolean finished;
         do {
-            Thread.sleep(TimeUnit.SECONDS.toMillis(1));
-            
-            finished = queue.isEmpty() && !isWorking();
+            finished = stopped.await(1, TimeUnit.SECONDS)
+                    || (queue.isEmpty() && !isWorking());
         } while (!finished && !cancelled);
         
         cancelled = true;
@@ -82,7 +175,7 @@ public class WorkerThreadDepthFirstSearch<M extends Move<B>, B>
             thread.join();
         }
         
-        return Collections.unmodifiableCollection(wins);
+        return getReportedWins(wins);
     }
 
     @Override
@@ -100,6 +193,22 @@ public class WorkerThreadDepthFirstSearch<M extends Move<B>, B>
         queue.addLast(node);
     }
 
+    @Override
+    protected Collection<LinkedNode<GameState<M, B>>> getFrontier() {
+        return queue.toList();
+    }
+
+    @Override
+    protected Collection<List<GameState<M, B>>> getWins() {
+        return wins;
+    }
+
+    @Override
+    protected void searchStopped() {
+        cancelled = true;
+        stopped.countDown();
+    }
+
     @Override
     protected void addWin(final List<GameState<M, B>> node) {
         wins.add(node);
@@ -133,6 +242,10 @@ public class WorkerThreadDepthFirstSearch<M extends Move<B>, B>
 
 	                node = queue.pollLast(1, TimeUnit.SECONDS);
 	            }
+	            if (node != null) {
+	                // Cancelled before this node was examined, so keep it for a checkpoint.
+	                queue.addLast(node);
+	            }
 		    } catch (final InterruptedException e) {
                 e.printStackTrace();
             }
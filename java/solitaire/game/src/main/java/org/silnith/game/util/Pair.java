@@ -13,7 +13,8 @@ import java.util.Objects;
  * methods to be consistent and based strictly on the corresponding methods of
  * the contained elements. That means if both elements are safe to use as keys
  * in a {@link java.util.HashMap}, then a {@code Pair} of those elements is also
- * safe.</p>
+ * safe.  They use the accessor methods, so a subclass that computes an
+ * element on demand compares equal to a pair that holds it.</p>
  * 
  * @param <S> the type of the first element
  * @param <T> the type of the second element
@@ -59,6 +60,8 @@ public class Pair<S, T> {
     
     @Override
     public int hashCode() {
+        final S first = getFirst();
+        final T second = getSecond();
         final int firstHash;
         if (first == null) {
             firstHash = 0x91b3c861;
@@ -78,7 +81,7 @@ public class Pair<S, T> {
     public boolean equals(final Object obj) {
         if (obj instanceof Pair) {
             final Pair<?, ?> pair = (Pair<?, ?>) obj;
-            return Objects.equals(first, pair.first) && Objects.equals(second, pair.second);
+            return Objects.equals(getFirst(), pair.getFirst()) && Objects.equals(getSecond(), pair.getSecond());
         } else {
             return false;
         }
@@ -86,7 +89,7 @@ public class Pair<S, T> {
     
     @Override
     public String toString() {
-        return "Pair<" + first + ", " + second + ">";
+        return "Pair<" + getFirst() + ", " + getSecond() + ">";
     }
     
 }
@@ -0,0 +1,264 @@
+package org.silnith.game.util;
+
+import java.util.Arrays;
+
+/**
+ * An immutable set of {@code long}s.  Instances of this set are created by
+ * adding a new value to an existing set.  The new set shares all but a few
+ * small nodes with the set it was made from, so many sets that grew from a
+ * common ancestor, such as one set for each history in a game tree, take
+ * little more memory than the largest of them.  The values are stored
+ * unboxed.
+ *
+ * <p>The set is a hash array mapped trie indexed directly by the bits of the
+ * values, five bits per level, lowest bits first.  It is meant for values
+ * that are already well-mixed hashes, such as Zobrist keys.  Values whose low
+ * bits are all the same make the trie deep, but different values always
+ * part ways by the thirteenth level, so there are never collisions to
+ * search.</p>
+ *
+ * <p>Each level keeps the values that end there in one array and the deeper
+ * levels in another, so a value costs eight bytes in the level that holds
+ * it.  Each value ends at the first level where no other value shares its
+ * bits, so the shape of the trie depends only on the values in it, and two
+ * sets are equal exactly when their tries are.</p>
+ *
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public final class PersistentLongSet {
+
+    /**
+     * The number of bits of a value used at each level of the trie.
+     */
+    private static final int BITS = 5;
+
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final long[] NO_VALUES = new long[0];
+
+    private static final Branch[] NO_CHILDREN = new Branch[0];
+
+    private static final PersistentLongSet EMPTY =
+            new PersistentLongSet(new Branch(0, 0, NO_VALUES, NO_CHILDREN), 0);
+
+    /**
+     * Returns the empty set.
+     *
+     * @return the empty set
+     */
+    public static PersistentLongSet empty() {
+        return EMPTY;
+    }
+
+    private final Branch root;
+
+    private final int size;
+
+    private PersistentLongSet(final Branch root, final int size) {
+        super();
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns a set containing the values of this set and the given value.
+     * This set is unchanged.
+     *
+     * @param value the value to add
+     * @return a set containing the value, which is this set if it already
+     *         contains the value
+     */
+    public PersistentLongSet with(final long value) {
+        final Branch newRoot = with(root, value, 0);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentLongSet(newRoot, size + 1);
+    }
+
+    private static int bit(final long value, final int shift) {
+        return 1 << ((int) (value >>> shift) & MASK);
+    }
+
+    private static Branch with(final Branch branch, final long value, final int shift) {
+        final int bit = bit(value, shift);
+        if ((branch.valueMap & bit) != 0) {
+            final int index = Integer.bitCount(branch.valueMap & (bit - 1));
+            final long existing = branch.values[index];
+            if (existing == value) {
+                return branch;
+            }
+            // The two values share this level, so they move down to a new one.
+            final long[] newValues = new long[branch.values.length - 1];
+            System.arraycopy(branch.values, 0, newValues, 0, index);
+            System.arraycopy(branch.values, index + 1, newValues, index, newValues.length - index);
+            final int childIndex = Integer.bitCount(branch.childMap & (bit - 1));
+            final Branch[] newChildren = new Branch[branch.children.length + 1];
+            System.arraycopy(branch.children, 0, newChildren, 0, childIndex);
+            newChildren[childIndex] = pair(existing, value, shift + BITS);
+            System.arraycopy(branch.children, childIndex, newChildren, childIndex + 1,
+                    branch.children.length - childIndex);
+            return new Branch(branch.valueMap ^ bit, branch.childMap | bit, newValues, newChildren);
+        }
+        if ((branch.childMap & bit) != 0) {
+            final int childIndex = Integer.bitCount(branch.childMap & (bit - 1));
+            final Branch child = branch.children[childIndex];
+            final Branch newChild = with(child, value, shift + BITS);
+            if (newChild == child) {
+                return branch;
+            }
+            final Branch[] newChildren = branch.children.clone();
+            newChildren[childIndex] = newChild;
+            return new Branch(branch.valueMap, branch.childMap, branch.values, newChildren);
+        }
+        final int index = Integer.bitCount(branch.valueMap & (bit - 1));
+        final long[] newValues = new long[branch.values.length + 1];
+        System.arraycopy(branch.values, 0, newValues, 0, index);
+        newValues[index] = value;
+        System.arraycopy(branch.values, index, newValues, index + 1, branch.values.length - index);
+        return new Branch(branch.valueMap | bit, branch.childMap, newValues, branch.children);
+    }
+
+    /**
+     * Returns the level holding two different values that share the bits
+     * below the given shift.
+     */
+    private static Branch pair(final long first, final long second, final int shift) {
+        assert shift < Long.SIZE;
+        final int firstBit = bit(first, shift);
+        final int secondBit = bit(second, shift);
+        if (firstBit == secondBit) {
+            return new Branch(0, firstBit, NO_VALUES, new Branch[] { pair(first, second, shift + BITS) });
+        }
+        // Bit 31 is negative as an int.
+        if (Integer.compareUnsigned(firstBit, secondBit) < 0) {
+            return new Branch(firstBit | secondBit, 0, new long[] { first, second }, NO_CHILDREN);
+        } else {
+            return new Branch(firstBit | secondBit, 0, new long[] { second, first }, NO_CHILDREN);
+        }
+    }
+
+    /**
+     * Returns whether this set contains the given value.
+     *
+     * @param value the value to look for
+     * @return {@code true} if the set contains the value
+     */
+    public boolean contains(final long value) {
+        Branch branch = root;
+        int shift = 0;
+        while (true) {
+            final int bit = bit(value, shift);
+            if ((branch.valueMap & bit) != 0) {
+                return branch.values[Integer.bitCount(branch.valueMap & (bit - 1))] == value;
+            }
+            if ((branch.childMap & bit) == 0) {
+                return false;
+            }
+            branch = branch.children[Integer.bitCount(branch.childMap & (bit - 1))];
+            shift += BITS;
+        }
+    }
+
+    /**
+     * Returns the number of values in this set.
+     *
+     * @return the number of values
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether this set has no values.
+     *
+     * @return {@code true} if the set is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return root.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj instanceof PersistentLongSet) {
+            final PersistentLongSet set = (PersistentLongSet) obj;
+            return size == set.size && root.equals(set.root);
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("[");
+        root.appendTo(builder);
+        if (size > 0) {
+            builder.setLength(builder.length() - 2);
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * A level of the trie.  Bit {@code i} of the value map is set if a value
+     * whose five bits at this level are {@code i} ends here, and bit
+     * {@code i} of the child map is set if there is a deeper level for them.
+     * No bit is set in both.  The values and children are in the order of
+     * their bits.
+     */
+    private static final class Branch {
+
+        private final int valueMap;
+
+        private final int childMap;
+
+        private final long[] values;
+
+        private final Branch[] children;
+
+        private Branch(final int valueMap, final int childMap, final long[] values, final Branch[] children) {
+            super();
+            this.valueMap = valueMap;
+            this.childMap = childMap;
+            this.values = values;
+            this.children = children;
+        }
+
+        private void appendTo(final StringBuilder builder) {
+            for (final long value : values) {
+                builder.append(value).append(", ");
+            }
+            for (final Branch child : children) {
+                child.appendTo(builder);
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = valueMap;
+            hash = 31 * hash + childMap;
+            hash = 31 * hash + Arrays.hashCode(values);
+            return 31 * hash + Arrays.hashCode(children);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj instanceof Branch) {
+                final Branch branch = (Branch) obj;
+                return valueMap == branch.valueMap && childMap == branch.childMap
+                        && Arrays.equals(values, branch.values) && Arrays.equals(children, branch.children);
+            } else {
+                return false;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,64 @@
+package org.silnith.game.move;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+
+public class MoveListTest {
+
+    @Test
+    public void testEmpty() {
+        final MoveList moves = new MoveList();
+
+        assertTrue(moves.isEmpty());
+        assertEquals(0, moves.size());
+        assertArrayEquals(new int[0], moves.toArray());
+    }
+
+    @Test
+    public void testNegativeCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new MoveList(-1));
+    }
+
+    @Test
+    public void testAddGrows() {
+        final MoveList moves = new MoveList(0);
+        for (int i = 0; i < 100; i++ ) {
+            moves.add(i * 3);
+        }
+
+        assertFalse(moves.isEmpty());
+        assertEquals(100, moves.size());
+        for (int i = 0; i < 100; i++ ) {
+            assertEquals(i * 3, moves.get(i));
+        }
+    }
+
+    @Test
+    public void testGetOutOfBounds() {
+        final MoveList moves = new MoveList();
+        moves.add(7);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> moves.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> moves.get(-1));
+    }
+
+    @Test
+    public void testClear() {
+        final MoveList moves = new MoveList();
+        moves.add(1);
+        moves.add(2);
+
+        moves.clear();
+        moves.add(5);
+
+        assertEquals(1, moves.size());
+        assertArrayEquals(new int[] { 5 }, moves.toArray());
+    }
+
+}
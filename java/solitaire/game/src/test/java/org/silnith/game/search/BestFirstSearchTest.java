@@ -0,0 +1,81 @@
+package org.silnith.game.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.game.GameState;
+import org.silnith.game.search.CountingGame.AddMove;
+
+
+public class BestFirstSearchTest {
+
+    private final GameState<AddMove, Integer> initialState = new GameState<>(null, 0);
+
+    /**
+     * The fewest moves of one or three that could reach the target.  This
+     * never overestimates, so it is admissible.
+     */
+    private static Heuristic<AddMove, Integer> admissible(final int target) {
+        return gameStateHistory -> (target - gameStateHistory.get(0).getBoard() + 2) / 3;
+    }
+
+    @Test
+    public void testConstructorNullHeuristic() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BestFirstSearch<>(new CountingGame(20), initialState, null));
+    }
+
+    @Test
+    public void testConstructorWeight() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BestFirstSearch<>(new CountingGame(20), initialState, admissible(20), 0, null));
+    }
+
+    @Test
+    public void testExpansionOrder() {
+        final Heuristic<AddMove, Integer> heuristic = admissible(20);
+        final List<Integer> scores = new ArrayList<>();
+        final CountingGame game = new CountingGame(20) {
+
+            @Override
+            public Collection<AddMove> findAllMoves(final List<GameState<AddMove, Integer>> gameStates) {
+                scores.add(gameStates.size() + heuristic.estimate(gameStates));
+                return super.findAllMoves(gameStates);
+            }
+
+        };
+        final BestFirstSearch<AddMove, Integer> search = new BestFirstSearch<>(game, initialState, heuristic);
+
+        search.call();
+
+        /*
+         * The heuristic drops by at most one per move, so with a weight of
+         * one, the nodes are expanded in order of score.
+         */
+        assertTrue(scores.size() > 1);
+        for (int i = 1; i < scores.size(); i++ ) {
+            assertTrue(scores.get(i - 1) <= scores.get(i));
+        }
+    }
+
+    @Test
+    public void testFirstWinIsShortest() {
+        final BestFirstSearch<AddMove, Integer> search = new BestFirstSearch<>(new CountingGame(20), initialState,
+                admissible(20), 1.0, null, SearchMode.FIRST_WIN);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        assertEquals(1, wins.size());
+        final List<GameState<AddMove, Integer>> win = wins.iterator().next();
+        assertEquals(20, (int) win.get(0).getBoard());
+        // Six threes and two ones, after the initial state.
+        assertEquals(9, win.size());
+    }
+
+}
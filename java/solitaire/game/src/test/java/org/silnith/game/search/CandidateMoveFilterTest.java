@@ -0,0 +1,124 @@
+package org.silnith.game.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.silnith.game.search.CountingGame.asSet;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.game.GameState;
+import org.silnith.game.move.CandidateMoveFilter;
+import org.silnith.game.move.MoveFilter;
+import org.silnith.game.search.CountingGame.AddMove;
+import org.silnith.game.util.LinkedNode;
+
+
+public class CandidateMoveFilterTest {
+
+    private final GameState<AddMove, Integer> initialState = new GameState<>(null, 0);
+
+    /**
+     * Prunes a three that follows another three, looking only at the moves.
+     */
+    private static class NoTwoThreesFilter implements CandidateMoveFilter<AddMove, Integer> {
+
+        @Override
+        public Object getStatisticsKey() {
+            return "No two threes";
+        }
+
+        @Override
+        public boolean shouldFilter(final AddMove candidateMove,
+                final List<GameState<AddMove, Integer>> parentHistory) {
+            final AddMove previous = parentHistory.get(0).getMove();
+            return candidateMove.getAmount() == 3 && previous != null && previous.getAmount() == 3;
+        }
+
+    }
+
+    /**
+     * The same filter, but as a plain filter run after each move is applied.
+     */
+    private static class AppliedNoTwoThreesFilter implements MoveFilter<AddMove, Integer> {
+
+        private final NoTwoThreesFilter filter = new NoTwoThreesFilter();
+
+        @Override
+        public Object getStatisticsKey() {
+            return filter.getStatisticsKey();
+        }
+
+        @Override
+        public boolean shouldFilter(final List<GameState<AddMove, Integer>> gameStateHistory) {
+            return filter.shouldFilter(gameStateHistory);
+        }
+
+    }
+
+    @Test
+    public void testShouldFilterLinkedNode() {
+        final NoTwoThreesFilter filter = new NoTwoThreesFilter();
+        final LinkedNode<GameState<AddMove, Integer>> three =
+                new LinkedNode<>(new GameState<>(new AddMove(3), 3), new LinkedNode<>(initialState));
+
+        assertTrue(filter.shouldFilter(new LinkedNode<>(new GameState<>(new AddMove(3), 6), three)));
+        assertFalse(filter.shouldFilter(new LinkedNode<>(new GameState<>(new AddMove(1), 4), three)));
+    }
+
+    @Test
+    public void testShouldFilterList() {
+        final NoTwoThreesFilter filter = new NoTwoThreesFilter();
+
+        assertTrue(filter.shouldFilter(Arrays.asList(new GameState<>(new AddMove(3), 6),
+                new GameState<>(new AddMove(3), 3), initialState)));
+        assertFalse(filter.shouldFilter(Arrays.asList(new GameState<>(new AddMove(3), 4),
+                new GameState<>(new AddMove(1), 1), initialState)));
+    }
+
+    @Test
+    public void testShouldFilterInitialState() {
+        final NoTwoThreesFilter filter = new NoTwoThreesFilter();
+
+        assertFalse(filter.shouldFilter(new LinkedNode<>(new GameState<>(new AddMove(3), 3))));
+        assertFalse(filter.shouldFilter(Collections.singletonList(new GameState<>(new AddMove(3), 3))));
+    }
+
+    @Test
+    public void testSearchFiltersBeforeApplying() {
+        final SequentialDepthFirstSearch<AddMove, Integer> applied =
+                new SequentialDepthFirstSearch<>(new CountingGame(12, new AppliedNoTwoThreesFilter()), initialState);
+        final SequentialDepthFirstSearch<AddMove, Integer> search =
+                new SequentialDepthFirstSearch<>(new CountingGame(12, new NoTwoThreesFilter()), initialState);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        assertEquals(asSet(applied.call()), asSet(wins));
+        final long pruned = search.getStatistics().getMovesPruned();
+        assertTrue(pruned > 0);
+        assertEquals(applied.getStatistics().getMovesPruned(), pruned);
+        assertEquals(applied.getBoardsGenerated() - pruned, search.getBoardsGenerated());
+    }
+
+    @Test
+    public void testMakeUnmakeFiltersBeforeMaking() {
+        final CountingGame game = new CountingGame(12, new NoTwoThreesFilter());
+        final CountingGame.Counter counter = game.new Counter(0);
+        final MakeUnmakeDepthFirstSearch<AddMove, Integer> search =
+                new MakeUnmakeDepthFirstSearch<>(game, initialState, counter, 12);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        final SequentialDepthFirstSearch<AddMove, Integer> expected =
+                new SequentialDepthFirstSearch<>(game, initialState);
+        assertEquals(asSet(expected.call()), asSet(wins));
+        assertEquals(expected.getStatistics().getMovesPruned(), search.getStatistics().getMovesPruned());
+        assertEquals(expected.getBoardsGenerated(), search.getBoardsGenerated());
+        assertEquals(Integer.valueOf(0), counter.toBoard());
+    }
+
+}
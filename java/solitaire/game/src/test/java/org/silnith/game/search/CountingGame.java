@@ -0,0 +1,204 @@
+package org.silnith.game.search;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.silnith.game.Game;
+import org.silnith.game.GameState;
+import org.silnith.game.MutableBoard;
+import org.silnith.game.move.Move;
+import org.silnith.game.move.MoveCodec;
+import org.silnith.game.move.MoveFilter;
+import org.silnith.game.move.MoveList;
+
+
+/**
+ * A small game for testing searches, where each move adds one or three to a
+ * counter, and the counter must reach the target exactly.  The order the
+ * moves are generated in can be chosen, and filters can be added.
+ */
+class CountingGame implements Game<CountingGame.AddMove, Integer> {
+
+    /**
+     * A move that adds a fixed amount to a counter.
+     */
+    static class AddMove implements Move<Integer> {
+
+        private final int amount;
+
+        public AddMove(final int amount) {
+            super();
+            this.amount = amount;
+        }
+
+        public int getAmount() {
+            return amount;
+        }
+
+        @Override
+        public Integer apply(final Integer board) {
+            return board + amount;
+        }
+
+        @Override
+        public int hashCode() {
+            return amount;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj instanceof AddMove) {
+                final AddMove move = (AddMove) obj;
+                return amount == move.amount;
+            } else {
+                return false;
+            }
+        }
+
+    }
+
+    /**
+     * Writes each move as the single byte it adds.
+     */
+    static class AddMoveCodec implements MoveCodec<AddMove, Integer> {
+
+        @Override
+        public void writeMove(final AddMove move, final DataOutput out) throws IOException {
+            out.writeByte(move.getAmount());
+        }
+
+        @Override
+        public AddMove readMove(final DataInput in, final Integer board) throws IOException {
+            return new AddMove(in.readByte());
+        }
+
+    }
+
+    /**
+     * A counter that moves are made on in place.
+     */
+    class Counter implements MutableBoard<AddMove, Integer> {
+
+        private int count;
+
+        public Counter(final int count) {
+            super();
+            this.count = count;
+        }
+
+        @Override
+        public void make(final AddMove move) {
+            count += move.getAmount();
+        }
+
+        @Override
+        public void unmake(final AddMove move) {
+            count -= move.getAmount();
+        }
+
+        /**
+         * A move is packed as the amount it adds.
+         */
+        @Override
+        public void make(final int move) {
+            count += move;
+        }
+
+        @Override
+        public void unmake(final int move) {
+            count -= move;
+        }
+
+        @Override
+        public void findAllMoves(final MoveList found) {
+            if (count < target) {
+                for (final AddMove move : moves) {
+                    found.add(move.getAmount());
+                }
+            }
+        }
+
+        @Override
+        public AddMove toMove(final int move) {
+            return new AddMove(move);
+        }
+
+        @Override
+        public boolean isWin() {
+            return count == target;
+        }
+
+        @Override
+        public Integer toBoard() {
+            return count;
+        }
+
+    }
+
+    private final int target;
+
+    private final List<AddMove> moves;
+
+    private final List<MoveFilter<AddMove, Integer>> filters;
+
+    public CountingGame(final int target) {
+        this(target, 1, 3);
+    }
+
+    public CountingGame(final int target, final int... amounts) {
+        super();
+        this.target = target;
+        this.moves = new ArrayList<>(amounts.length);
+        for (final int amount : amounts) {
+            this.moves.add(new AddMove(amount));
+        }
+        this.filters = Collections.emptyList();
+    }
+
+    /**
+     * Creates a game where each move adds one or three, pruned by the given
+     * filters.
+     */
+    @SafeVarargs
+    public CountingGame(final int target, final MoveFilter<AddMove, Integer>... filters) {
+        super();
+        this.target = target;
+        this.moves = Arrays.asList(new AddMove(1), new AddMove(3));
+        this.filters = Arrays.asList(filters);
+    }
+
+    /**
+     * Returns the wins found by a search as a set, so that searches that find
+     * them in different orders can be compared.
+     */
+    static Set<List<GameState<AddMove, Integer>>> asSet(final Collection<List<GameState<AddMove, Integer>>> wins) {
+        return new HashSet<>(wins);
+    }
+
+    @Override
+    public boolean isWin(final List<GameState<AddMove, Integer>> gameStates) {
+        return gameStates.get(0).getBoard() == target;
+    }
+
+    @Override
+    public Collection<AddMove> findAllMoves(final List<GameState<AddMove, Integer>> gameStates) {
+        if (gameStates.get(0).getBoard() >= target) {
+            return Collections.emptyList();
+        }
+        return moves;
+    }
+
+    @Override
+    public Collection<? extends MoveFilter<AddMove, Integer>> getFilters() {
+        return filters;
+    }
+
+}
@@ -0,0 +1,71 @@
+package org.silnith.game.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.game.GameState;
+import org.silnith.game.search.CountingGame.AddMove;
+
+
+public class ForkJoinDepthFirstSearchTest {
+
+    private final GameState<AddMove, Integer> initialState = new GameState<>(null, 0);
+
+    @Test
+    public void testConstructorNullInitialState() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ForkJoinDepthFirstSearch<>(new CountingGame(20), null, 4));
+    }
+
+    @Test
+    public void testConstructorParallelism() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ForkJoinDepthFirstSearch<>(new CountingGame(20), initialState, 0));
+    }
+
+    @Test
+    public void testAllWinsMatchSequential() throws Exception {
+        final SequentialDepthFirstSearch<AddMove, Integer> sequential =
+                new SequentialDepthFirstSearch<>(new CountingGame(20), initialState);
+        final Collection<List<GameState<AddMove, Integer>>> expected = sequential.call();
+
+        try (final ForkJoinDepthFirstSearch<AddMove, Integer> search =
+                new ForkJoinDepthFirstSearch<>(new CountingGame(20), initialState, 4)) {
+            final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+            assertEquals(expected.size(), wins.size());
+            assertEquals(new HashSet<>(expected), new HashSet<>(wins));
+            assertEquals(sequential.getNumberOfGameStatesExamined(), search.getNumberOfGameStatesExamined());
+        }
+    }
+
+    @Test
+    public void testExceptionIsThrownFromCall() throws Exception {
+        final IllegalArgumentException failure = new IllegalArgumentException("Cannot count past seven.");
+        final CountingGame game = new CountingGame(20) {
+
+            @Override
+            public Collection<AddMove> findAllMoves(final List<GameState<AddMove, Integer>> gameStates) {
+                if (gameStates.get(0).getBoard() == 7) {
+                    throw failure;
+                }
+                return super.findAllMoves(gameStates);
+            }
+
+        };
+
+        try (final ForkJoinDepthFirstSearch<AddMove, Integer> search =
+                new ForkJoinDepthFirstSearch<>(game, initialState, 4)) {
+            final IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, search::call);
+
+            assertSame(failure, thrown);
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+package org.silnith.game.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.game.GameState;
+import org.silnith.game.search.CountingGame.AddMove;
+
+
+public class GameTest {
+
+    private final List<GameState<AddMove, Integer>> history =
+            Collections.singletonList(new GameState<AddMove, Integer>(null, 0));
+
+    @Test
+    public void testFindAllMovesSink() {
+        final CountingGame game = new CountingGame(20, 1, 2, 3);
+        final List<AddMove> moves = new ArrayList<>();
+
+        assertTrue(game.findAllMoves(history, moves::add));
+
+        assertEquals(new ArrayList<>(game.findAllMoves(history)), moves);
+    }
+
+    @Test
+    public void testFindAllMovesSinkStops() {
+        final CountingGame game = new CountingGame(20, 1, 2, 3);
+        final List<AddMove> moves = new ArrayList<>();
+
+        assertFalse(game.findAllMoves(history, move -> {
+            moves.add(move);
+            return move.getAmount() < 2;
+        }));
+
+        assertEquals(Arrays.asList(new AddMove(1), new AddMove(2)), moves);
+    }
+
+    @Test
+    public void testFindAllMovesSinkNoMoves() {
+        final CountingGame game = new CountingGame(0);
+        final List<AddMove> moves = new ArrayList<>();
+
+        assertTrue(game.findAllMoves(history, moves::add));
+
+        assertTrue(moves.isEmpty());
+    }
+
+}
@@ -0,0 +1,239 @@
+package org.silnith.game.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.silnith.game.search.CountingGame.asSet;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.game.BoardCompactor;
+import org.silnith.game.GameState;
+import org.silnith.game.move.MoveFilter;
+import org.silnith.game.search.CountingGame.AddMove;
+import org.silnith.game.util.LinkedNode;
+
+
+public class HistoryModeTest {
+
+    private final GameState<AddMove, Integer> initialState = new GameState<>(null, 0);
+
+    /**
+     * Prunes a three that follows another three, which needs the boards of
+     * the last three game states.
+     */
+    private static class NoTwoThreesFilter implements MoveFilter<AddMove, Integer> {
+
+        @Override
+        public Object getStatisticsKey() {
+            return "No two threes";
+        }
+
+        @Override
+        public int getLookback() {
+            return 3;
+        }
+
+        @Override
+        public boolean shouldFilter(final List<GameState<AddMove, Integer>> gameStateHistory) {
+            if (gameStateHistory.size() < 3) {
+                return false;
+            }
+            final int newest = gameStateHistory.get(0).getBoard();
+            final int previous = gameStateHistory.get(1).getBoard();
+            final int older = gameStateHistory.get(2).getBoard();
+            return newest - previous == 3 && previous - older == 3;
+        }
+
+    }
+
+    /**
+     * Prunes a history whose boards add up to too much, which needs every
+     * board, and checks that every board matches its move.
+     */
+    private static class BoardSumFilter implements MoveFilter<AddMove, Integer> {
+
+        @Override
+        public Object getStatisticsKey() {
+            return "Board sum";
+        }
+
+        @Override
+        public boolean shouldFilter(final List<GameState<AddMove, Integer>> gameStateHistory) {
+            int sum = 0;
+            Integer later = null;
+            AddMove laterMove = null;
+            for (final GameState<AddMove, Integer> gameState : gameStateHistory) {
+                final int board = gameState.getBoard();
+                if (later != null) {
+                    assertEquals(later - laterMove.getAmount(), board);
+                }
+                later = board;
+                laterMove = gameState.getMove();
+                sum += board;
+            }
+            return sum > 40;
+        }
+
+    }
+
+    /**
+     * Keeps counting boards as strings.
+     */
+    private static final BoardCompactor<Integer, String> COMPACTOR = new BoardCompactor<Integer, String>() {
+
+        @Override
+        public String compact(final Integer board) {
+            return board.toString();
+        }
+
+        @Override
+        public Integer expand(final String compactBoard) {
+            return Integer.valueOf(compactBoard);
+        }
+
+    };
+
+    @SafeVarargs
+    private static CountingGame compactingGame(final int target, final MoveFilter<AddMove, Integer>... filters) {
+        return new CountingGame(target, filters) {
+
+            @Override
+            public BoardCompactor<Integer, ?> getBoardCompactor() {
+                return COMPACTOR;
+            }
+
+        };
+    }
+
+    private static SequentialDepthFirstSearch<AddMove, Integer> search(final CountingGame game,
+            final GameState<AddMove, Integer> initialState, final HistoryMode historyMode) {
+        return new SequentialDepthFirstSearch<>(game, initialState, null, SearchMode.ALL_WINS,
+                new StackFrontier<LinkedNode<GameState<AddMove, Integer>>>(), historyMode);
+    }
+
+    @Test
+    public void testBoardHistory() {
+        final CountingGame game = new CountingGame(8, new NoTwoThreesFilter(), new BoardSumFilter());
+
+        assertEquals(Integer.MAX_VALUE, search(game, initialState, HistoryMode.ALL_BOARDS).getBoardHistory());
+        assertEquals(3, search(game, initialState, HistoryMode.RECENT_BOARDS).getBoardHistory());
+        assertEquals(1, search(new CountingGame(8), initialState, HistoryMode.RECENT_BOARDS).getBoardHistory());
+    }
+
+    @Test
+    public void testHistoryModeNull() {
+        assertThrows(IllegalArgumentException.class, () -> search(new CountingGame(8), initialState, null));
+    }
+
+    @Test
+    public void testRecentBoardsMatchesAllBoards() {
+        final CountingGame game = new CountingGame(12, new NoTwoThreesFilter(), new BoardSumFilter());
+        final SequentialDepthFirstSearch<AddMove, Integer> expected = search(game, initialState, HistoryMode.ALL_BOARDS);
+        final SequentialDepthFirstSearch<AddMove, Integer> actual = search(game, initialState, HistoryMode.RECENT_BOARDS);
+
+        final Collection<List<GameState<AddMove, Integer>>> expectedWins = expected.call();
+        final Collection<List<GameState<AddMove, Integer>>> actualWins = actual.call();
+
+        assertFalse(actualWins.isEmpty());
+        assertEquals(asSet(expectedWins), asSet(actualWins));
+        assertEquals(expected.getNumberOfGameStatesExamined(), actual.getNumberOfGameStatesExamined());
+        assertEquals(expected.getStatistics().getMovesPrunedByFilter(), actual.getStatistics().getMovesPrunedByFilter());
+    }
+
+    @Test
+    public void testOlderGameStatesAreReplayed() {
+        final CountingGame game = new CountingGame(12, new NoTwoThreesFilter());
+
+        final Collection<List<GameState<AddMove, Integer>>> wins =
+                search(game, initialState, HistoryMode.RECENT_BOARDS).call();
+
+        assertFalse(wins.isEmpty());
+        for (final List<GameState<AddMove, Integer>> win : wins) {
+            for (int i = 0; i < win.size() - 1; i++ ) {
+                assertEquals(i >= 3, win.get(i) instanceof ReplayedGameState);
+            }
+            assertTrue(win.get(win.size() - 1) == initialState);
+        }
+    }
+
+    @Test
+    public void testCompactBoardsWithoutCompactor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> search(new CountingGame(8), initialState, HistoryMode.COMPACT_BOARDS));
+    }
+
+    @Test
+    public void testCompactBoardsMatchesAllBoards() {
+        final CountingGame game = compactingGame(12, new NoTwoThreesFilter(), new BoardSumFilter());
+        final SequentialDepthFirstSearch<AddMove, Integer> expected = search(game, initialState, HistoryMode.ALL_BOARDS);
+        final SequentialDepthFirstSearch<AddMove, Integer> actual = search(game, initialState, HistoryMode.COMPACT_BOARDS);
+
+        final Collection<List<GameState<AddMove, Integer>>> expectedWins = expected.call();
+        final Collection<List<GameState<AddMove, Integer>>> actualWins = actual.call();
+
+        assertEquals(3, actual.getBoardHistory());
+        assertFalse(actualWins.isEmpty());
+        assertEquals(asSet(expectedWins), asSet(actualWins));
+        assertEquals(expected.getNumberOfGameStatesExamined(), actual.getNumberOfGameStatesExamined());
+        assertEquals(expected.getStatistics().getMovesPrunedByFilter(), actual.getStatistics().getMovesPrunedByFilter());
+    }
+
+    @Test
+    public void testOlderGameStatesAreCompact() {
+        final CountingGame game = compactingGame(12, new NoTwoThreesFilter());
+
+        final Collection<List<GameState<AddMove, Integer>>> wins =
+                search(game, initialState, HistoryMode.COMPACT_BOARDS).call();
+
+        assertFalse(wins.isEmpty());
+        for (final List<GameState<AddMove, Integer>> win : wins) {
+            for (int i = 0; i < win.size() - 1; i++ ) {
+                assertEquals(i >= 3, win.get(i) instanceof CompactGameState);
+            }
+            assertTrue(win.get(win.size() - 1) == initialState);
+        }
+    }
+
+    @Test
+    public void testCompactGameState() {
+        final GameState<AddMove, Integer> four = new CompactGameState<>(new AddMove(3), COMPACTOR, "4");
+
+        assertEquals(Integer.valueOf(4), four.getBoard());
+        assertEquals(new GameState<>(new AddMove(3), 4), four);
+        assertEquals(four, new GameState<>(new AddMove(3), 4));
+        assertEquals(new GameState<>(new AddMove(3), 4).hashCode(), four.hashCode());
+    }
+
+    @Test
+    public void testIterativeDeepening() {
+        final CountingGame game = new CountingGame(9);
+        final IterativeDeepeningSearch<AddMove, Integer> expected =
+                new IterativeDeepeningSearch<>(game, initialState, 1, 1, 9, null, SearchMode.ALL_WINS,
+                        HistoryMode.ALL_BOARDS);
+        final IterativeDeepeningSearch<AddMove, Integer> actual =
+                new IterativeDeepeningSearch<>(game, initialState, 1, 1, 9, null, SearchMode.ALL_WINS,
+                        HistoryMode.RECENT_BOARDS);
+
+        assertEquals(asSet(expected.call()), asSet(actual.call()));
+        assertEquals(expected.getNumberOfGameStatesExamined(), actual.getNumberOfGameStatesExamined());
+    }
+
+    @Test
+    public void testReplayedGameState() {
+        final GameState<AddMove, Integer> one = new ReplayedGameState<>(new AddMove(1), initialState);
+        final GameState<AddMove, Integer> four = new ReplayedGameState<>(new AddMove(3), one);
+
+        assertEquals(Integer.valueOf(4), four.getBoard());
+        assertEquals(Integer.valueOf(1), one.getBoard());
+        assertEquals(new GameState<>(new AddMove(3), 4), four);
+        assertEquals(four, new GameState<>(new AddMove(3), 4));
+        assertEquals(new GameState<>(new AddMove(3), 4).hashCode(), four.hashCode());
+        assertEquals(Collections.singletonList(new GameState<>(new AddMove(1), 1)), Collections.singletonList(one));
+    }
+
+}
@@ -0,0 +1,142 @@
+package org.silnith.game.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.silnith.game.search.CountingGame.asSet;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.game.GameState;
+import org.silnith.game.move.IncrementalBoardFilter;
+import org.silnith.game.move.MoveFilter;
+import org.silnith.game.search.CountingGame.AddMove;
+import org.silnith.game.util.PersistentLongSet;
+
+
+public class IncrementalBoardFilterTest {
+
+    private final GameState<AddMove, Integer> initialState = new GameState<>(null, 0);
+
+    /**
+     * Prunes a counter that is double an earlier counter.  The summary is the
+     * set of every counter in the history.
+     */
+    private static class NoDoublingFilter
+            implements IncrementalBoardFilter<AddMove, Integer, PersistentLongSet> {
+
+        private final AtomicInteger summarizedFromScratch = new AtomicInteger();
+
+        @Override
+        public Object getStatisticsKey() {
+            return "No doubling";
+        }
+
+        @Override
+        public PersistentLongSet getSummary(final List<GameState<AddMove, Integer>> gameStateHistory) {
+            summarizedFromScratch.incrementAndGet();
+            PersistentLongSet counters = PersistentLongSet.empty();
+            for (final GameState<AddMove, Integer> gameState : gameStateHistory) {
+                counters = counters.with(gameState.getBoard());
+            }
+            return counters;
+        }
+
+        @Override
+        public PersistentLongSet getSummary(final PersistentLongSet parentSummary,
+                final GameState<AddMove, Integer> parentState, final GameState<AddMove, Integer> gameState) {
+            return parentSummary.with(gameState.getBoard());
+        }
+
+        @Override
+        public boolean shouldFilter(final GameState<AddMove, Integer> gameState,
+                final PersistentLongSet parentSummary, final List<GameState<AddMove, Integer>> parentHistory) {
+            final int counter = gameState.getBoard();
+            return counter > 0 && counter % 2 == 0 && parentSummary.contains(counter / 2);
+        }
+
+    }
+
+    /**
+     * The same filter, but as a plain filter that walks the history.
+     */
+    private static class WalkingNoDoublingFilter implements MoveFilter<AddMove, Integer> {
+
+        @Override
+        public Object getStatisticsKey() {
+            return "No doubling";
+        }
+
+        @Override
+        public boolean shouldFilter(final List<GameState<AddMove, Integer>> gameStateHistory) {
+            final Iterator<GameState<AddMove, Integer>> iterator = gameStateHistory.iterator();
+            final int counter = iterator.next().getBoard();
+            while (iterator.hasNext()) {
+                if (counter > 0 && iterator.next().getBoard() * 2 == counter) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+    @Test
+    public void testShouldFilterHistory() {
+        final NoDoublingFilter filter = new NoDoublingFilter();
+
+        assertTrue(filter.shouldFilter(Arrays.asList(new GameState<>(new AddMove(1), 4),
+                new GameState<>(new AddMove(1), 3), new GameState<>(new AddMove(1), 2),
+                new GameState<>(new AddMove(1), 1), initialState)));
+        assertFalse(filter.shouldFilter(Arrays.asList(new GameState<>(new AddMove(3), 5),
+                new GameState<>(new AddMove(1), 2), new GameState<>(new AddMove(1), 1), initialState)));
+    }
+
+    @Test
+    public void testShouldFilterInitialState() {
+        final NoDoublingFilter filter = new NoDoublingFilter();
+
+        assertFalse(filter.shouldFilter(Collections.singletonList(initialState)));
+        assertEquals(0, filter.summarizedFromScratch.get());
+    }
+
+    @Test
+    public void testSearchKeepsSummaries() {
+        final NoDoublingFilter filter = new NoDoublingFilter();
+        final SequentialDepthFirstSearch<AddMove, Integer> walking =
+                new SequentialDepthFirstSearch<>(new CountingGame(15, new WalkingNoDoublingFilter()), initialState);
+        final SequentialDepthFirstSearch<AddMove, Integer> search =
+                new SequentialDepthFirstSearch<>(new CountingGame(15, filter), initialState);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        assertEquals(asSet(walking.call()), asSet(wins));
+        assertTrue(search.getStatistics().getMovesPruned() > 0);
+        assertEquals(walking.getStatistics().getMovesPruned(), search.getStatistics().getMovesPruned());
+        // Only the initial node is summarized from scratch.
+        assertEquals(1, filter.summarizedFromScratch.get());
+    }
+
+    @Test
+    public void testSearchKeepsSummariesRecentBoards() {
+        final NoDoublingFilter filter = new NoDoublingFilter();
+        final SequentialDepthFirstSearch<AddMove, Integer> walking =
+                new SequentialDepthFirstSearch<>(new CountingGame(15, new WalkingNoDoublingFilter()), initialState);
+        final SequentialDepthFirstSearch<AddMove, Integer> search = new SequentialDepthFirstSearch<>(
+                new CountingGame(15, filter), initialState, null, SearchMode.ALL_WINS,
+                new StackFrontier<>(), HistoryMode.RECENT_BOARDS);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        assertEquals(asSet(walking.call()), asSet(wins));
+        assertEquals(walking.getStatistics().getMovesPruned(), search.getStatistics().getMovesPruned());
+        assertEquals(1, filter.summarizedFromScratch.get());
+    }
+
+}
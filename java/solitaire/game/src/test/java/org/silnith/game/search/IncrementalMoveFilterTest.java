@@ -0,0 +1,128 @@
+package org.silnith.game.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.silnith.game.search.CountingGame.asSet;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.game.GameState;
+import org.silnith.game.move.IncrementalMoveFilter;
+import org.silnith.game.move.MoveFilter;
+import org.silnith.game.search.CountingGame.AddMove;
+
+
+public class IncrementalMoveFilterTest {
+
+    private final GameState<AddMove, Integer> initialState = new GameState<>(null, 0);
+
+    /**
+     * Prunes a third three in a row.  The summary is the number of threes at
+     * the end of the history.
+     */
+    private static class NoThreeThreesFilter implements IncrementalMoveFilter<AddMove, Integer, Integer> {
+
+        private final AtomicInteger summarizedFromScratch = new AtomicInteger();
+
+        @Override
+        public Object getStatisticsKey() {
+            return "No three threes";
+        }
+
+        @Override
+        public Integer getSummary(final List<GameState<AddMove, Integer>> gameStateHistory) {
+            summarizedFromScratch.incrementAndGet();
+            int threes = 0;
+            for (final GameState<AddMove, Integer> gameState : gameStateHistory) {
+                final AddMove move = gameState.getMove();
+                if (move == null || move.getAmount() != 3) {
+                    break;
+                }
+                threes++ ;
+            }
+            return threes;
+        }
+
+        @Override
+        public Integer getSummary(final Integer parentSummary, final GameState<AddMove, Integer> parentState,
+                final GameState<AddMove, Integer> gameState) {
+            return gameState.getMove().getAmount() == 3 ? parentSummary + 1 : 0;
+        }
+
+        @Override
+        public boolean shouldFilter(final AddMove candidateMove, final Integer parentSummary) {
+            return candidateMove.getAmount() == 3 && parentSummary >= 2;
+        }
+
+    }
+
+    /**
+     * The same filter, but as a plain filter that walks the history.
+     */
+    private static class WalkingNoThreeThreesFilter implements MoveFilter<AddMove, Integer> {
+
+        private final NoThreeThreesFilter filter = new NoThreeThreesFilter();
+
+        @Override
+        public Object getStatisticsKey() {
+            return filter.getStatisticsKey();
+        }
+
+        @Override
+        public boolean shouldFilter(final List<GameState<AddMove, Integer>> gameStateHistory) {
+            return filter.shouldFilter(gameStateHistory);
+        }
+
+    }
+
+    @Test
+    public void testShouldFilterHistory() {
+        final NoThreeThreesFilter filter = new NoThreeThreesFilter();
+
+        assertTrue(filter.shouldFilter(Arrays.asList(new GameState<>(new AddMove(3), 9),
+                new GameState<>(new AddMove(3), 6), new GameState<>(new AddMove(3), 3), initialState)));
+        assertFalse(filter.shouldFilter(Arrays.asList(new GameState<>(new AddMove(3), 7),
+                new GameState<>(new AddMove(3), 4), new GameState<>(new AddMove(1), 1), initialState)));
+        assertFalse(filter.shouldFilter(Arrays.asList(new GameState<>(new AddMove(1), 7),
+                new GameState<>(new AddMove(3), 6), new GameState<>(new AddMove(3), 3), initialState)));
+    }
+
+    @Test
+    public void testSearchKeepsSummaries() {
+        final NoThreeThreesFilter filter = new NoThreeThreesFilter();
+        final SequentialDepthFirstSearch<AddMove, Integer> walking =
+                new SequentialDepthFirstSearch<>(new CountingGame(15, new WalkingNoThreeThreesFilter()), initialState);
+        final SequentialDepthFirstSearch<AddMove, Integer> search =
+                new SequentialDepthFirstSearch<>(new CountingGame(15, filter), initialState);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        assertEquals(asSet(walking.call()), asSet(wins));
+        assertTrue(search.getStatistics().getMovesPruned() > 0);
+        assertEquals(walking.getStatistics().getMovesPruned(), search.getStatistics().getMovesPruned());
+        // Only the initial node is summarized from scratch.
+        assertEquals(1, filter.summarizedFromScratch.get());
+    }
+
+    @Test
+    public void testSearchKeepsSummariesRecentBoards() {
+        final NoThreeThreesFilter filter = new NoThreeThreesFilter();
+        final SequentialDepthFirstSearch<AddMove, Integer> walking =
+                new SequentialDepthFirstSearch<>(new CountingGame(15, new WalkingNoThreeThreesFilter()), initialState);
+        final SequentialDepthFirstSearch<AddMove, Integer> search = new SequentialDepthFirstSearch<>(
+                new CountingGame(15, filter), initialState, null, SearchMode.ALL_WINS,
+                new StackFrontier<>(), HistoryMode.RECENT_BOARDS);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        assertEquals(asSet(walking.call()), asSet(wins));
+        assertEquals(walking.getStatistics().getMovesPruned(), search.getStatistics().getMovesPruned());
+        assertEquals(1, filter.summarizedFromScratch.get());
+    }
+
+}
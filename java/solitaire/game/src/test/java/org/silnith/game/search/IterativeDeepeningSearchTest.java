@@ -0,0 +1,155 @@
+package org.silnith.game.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.game.GameState;
+import org.silnith.game.search.CountingGame.AddMove;
+import org.silnith.game.search.TranspositionTable.EvictionPolicy;
+
+
+public class IterativeDeepeningSearchTest {
+
+    private final GameState<AddMove, Integer> initialState = new GameState<>(null, 0);
+
+    @Test
+    public void testConstructorZeroInitialDepth() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new IterativeDeepeningSearch<>(new CountingGame(7), initialState, 0, 1, 10, null));
+    }
+
+    @Test
+    public void testConstructorZeroDepthStep() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new IterativeDeepeningSearch<>(new CountingGame(7), initialState, 1, 0, 10, null));
+    }
+
+    @Test
+    public void testConstructorMaximumBelowInitial() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new IterativeDeepeningSearch<>(new CountingGame(7), initialState, 5, 1, 4, null));
+    }
+
+    @Test
+    public void testFindsShallowestWins() {
+        final IterativeDeepeningSearch<AddMove, Integer> search =
+                new IterativeDeepeningSearch<>(new CountingGame(7), initialState, 10);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        /*
+         * 3+3+1, 3+1+3, 1+3+3
+         */
+        assertEquals(3, wins.size());
+        for (final List<GameState<AddMove, Integer>> win : wins) {
+            assertEquals(4, win.size());
+        }
+        assertEquals(3, search.getDepthLimit());
+    }
+
+    @Test
+    public void testDepthStepOvershoots() {
+        final IterativeDeepeningSearch<AddMove, Integer> search =
+                new IterativeDeepeningSearch<>(new CountingGame(7), initialState, 2, 2, 10, null);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        /*
+         * The first iteration at depth two finds nothing, and no sum of four
+         * moves is seven, so only the three-move wins are found.
+         */
+        assertEquals(3, wins.size());
+        assertEquals(4, search.getDepthLimit());
+    }
+
+    @Test
+    public void testStopsAtMaximumDepth() {
+        final IterativeDeepeningSearch<AddMove, Integer> search =
+                new IterativeDeepeningSearch<>(new CountingGame(7), initialState, 1, 1, 2, null);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        assertTrue(wins.isEmpty());
+        assertEquals(2, search.getDepthLimit());
+    }
+
+    @Test
+    public void testStopsWhenTreeExhausted() {
+        final IterativeDeepeningSearch<AddMove, Integer> search =
+                new IterativeDeepeningSearch<>(new CountingGame(0), initialState, 100);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        assertTrue(wins.isEmpty());
+        assertEquals(1, search.getDepthLimit());
+        assertEquals(1, search.getNumberOfGameStatesExamined());
+    }
+
+    @Test
+    public void testTranspositionTable() {
+        final IterativeDeepeningSearch<AddMove, Integer> search =
+                new IterativeDeepeningSearch<>(new CountingGame(7), initialState, 1, 1, 10,
+                        new TranspositionTable<>(64, EvictionPolicy.REPLACE_OLDEST));
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        assertEquals(3, search.getDepthLimit());
+        assertTrue(search.getTranspositionsPruned() > 0);
+        assertTrue(!wins.isEmpty() && wins.size() <= 3);
+    }
+
+    @Test
+    public void testTranspositionTableKeptAcrossIterations() {
+        // Ones are searched first, so each board is reached deepest first.
+        final IterativeDeepeningSearch<AddMove, Integer> search =
+                new IterativeDeepeningSearch<>(new CountingGame(20, 3, 1), initialState, 1, 1, 20,
+                        new TranspositionTable<>(1 << 10, EvictionPolicy.REPLACE_OLDEST));
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        // Six threes and two ones.
+        assertEquals(8, search.getDepthLimit());
+        assertTrue(!wins.isEmpty());
+        for (final List<GameState<AddMove, Integer>> win : wins) {
+            assertEquals(9, win.size());
+        }
+        /*
+         * Searching every depth limit separately, each with its own empty
+         * table, searches the deep copies of boards again.  Keeping the table
+         * prunes them against the shallow copies from the iteration before.
+         */
+        long separately = 0;
+        for (int depthLimit = 1; depthLimit <= 8; depthLimit++ ) {
+            final IterativeDeepeningSearch<AddMove, Integer> iteration =
+                    new IterativeDeepeningSearch<>(new CountingGame(20, 3, 1), initialState, depthLimit, 1, depthLimit,
+                            new TranspositionTable<>(1 << 10, EvictionPolicy.REPLACE_OLDEST));
+            iteration.call();
+            separately += iteration.getNumberOfGameStatesExamined();
+        }
+        assertTrue(search.getNumberOfGameStatesExamined() < separately);
+    }
+
+    @Test
+    public void testTranspositionTableStopsWhenTreeExhausted() {
+        // Steps of two and four never make five, and stop at six.
+        final IterativeDeepeningSearch<AddMove, Integer> search =
+                new IterativeDeepeningSearch<>(new CountingGame(5, 2, 4), initialState, 1, 1, 100,
+                        new TranspositionTable<>(64, EvictionPolicy.REPLACE_OLDEST));
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        assertTrue(wins.isEmpty());
+        /*
+         * Every board is reached within two moves, because four is reached
+         * in one.  The third iteration finds nothing cut off, and is repeated
+         * with an empty table to be sure.
+         */
+        assertEquals(3, search.getDepthLimit());
+    }
+
+}
@@ -0,0 +1,162 @@
+package org.silnith.game.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.silnith.game.search.CountingGame.asSet;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.game.GameState;
+import org.silnith.game.move.MoveFilter;
+import org.silnith.game.search.CountingGame.AddMove;
+
+
+public class MakeUnmakeDepthFirstSearchTest {
+
+    private final GameState<AddMove, Integer> initialState = new GameState<>(null, 0);
+
+    /**
+     * Prunes a three that follows another three, which needs the boards of
+     * the last two game states.
+     */
+    private static class NoTwoThreesFilter implements MoveFilter<AddMove, Integer> {
+
+        @Override
+        public Object getStatisticsKey() {
+            return "No two threes";
+        }
+
+        @Override
+        public boolean shouldFilter(final List<GameState<AddMove, Integer>> gameStateHistory) {
+            if (gameStateHistory.size() < 3) {
+                return false;
+            }
+            final int newest = gameStateHistory.get(0).getBoard();
+            final int previous = gameStateHistory.get(1).getBoard();
+            final int older = gameStateHistory.get(2).getBoard();
+            return newest - previous == 3 && previous - older == 3;
+        }
+
+    }
+
+    @Test
+    public void testConstructorZeroDepth() {
+        final CountingGame game = new CountingGame(7);
+        assertThrows(IllegalArgumentException.class,
+                () -> new MakeUnmakeDepthFirstSearch<>(game, initialState, game.new Counter(0), 0));
+    }
+
+    @Test
+    public void testConstructorNullBoard() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MakeUnmakeDepthFirstSearch<>(new CountingGame(7), initialState, null, 10));
+    }
+
+    @Test
+    public void testFindsAllWins() {
+        final CountingGame game = new CountingGame(7);
+        final CountingGame.Counter counter = game.new Counter(0);
+        final MakeUnmakeDepthFirstSearch<AddMove, Integer> search =
+                new MakeUnmakeDepthFirstSearch<>(game, initialState, counter, 10);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        final SequentialDepthFirstSearch<AddMove, Integer> expected =
+                new SequentialDepthFirstSearch<>(game, initialState);
+        assertEquals(asSet(expected.call()), asSet(wins));
+        assertEquals(expected.getNumberOfGameStatesExamined(), search.getNumberOfGameStatesExamined());
+        assertEquals(expected.getBoardsGenerated(), search.getBoardsGenerated());
+        assertEquals(Integer.valueOf(0), counter.toBoard());
+    }
+
+    @Test
+    public void testWinsStartWithInitialState() {
+        final CountingGame game = new CountingGame(4);
+        final MakeUnmakeDepthFirstSearch<AddMove, Integer> search =
+                new MakeUnmakeDepthFirstSearch<>(game, initialState, game.new Counter(0), 10);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        /*
+         * 1+1+1+1, 1+3, 3+1
+         */
+        assertEquals(3, wins.size());
+        for (final List<GameState<AddMove, Integer>> win : wins) {
+            assertEquals(initialState, win.get(win.size() - 1));
+            assertEquals(Integer.valueOf(4), win.get(0).getBoard());
+        }
+    }
+
+    @Test
+    public void testMaximumDepth() {
+        final CountingGame game = new CountingGame(7);
+        final MakeUnmakeDepthFirstSearch<AddMove, Integer> search =
+                new MakeUnmakeDepthFirstSearch<>(game, initialState, game.new Counter(0), 3);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        final IterativeDeepeningSearch<AddMove, Integer> expected =
+                new IterativeDeepeningSearch<>(game, initialState, 3, 1, 3, null);
+        assertEquals(asSet(expected.call()), asSet(wins));
+        assertEquals(3, wins.size());
+        assertEquals(expected.getNumberOfGameStatesExamined(), search.getNumberOfGameStatesExamined());
+    }
+
+    @Test
+    public void testFiltersSeeBoards() {
+        final CountingGame game = new CountingGame(9, new NoTwoThreesFilter());
+        final CountingGame.Counter counter = game.new Counter(0);
+        final MakeUnmakeDepthFirstSearch<AddMove, Integer> search =
+                new MakeUnmakeDepthFirstSearch<>(game, initialState, counter, 10);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        final SequentialDepthFirstSearch<AddMove, Integer> expected =
+                new SequentialDepthFirstSearch<>(game, initialState);
+        assertEquals(asSet(expected.call()), asSet(wins));
+        assertEquals(expected.getStatistics().getMovesPruned(), search.getStatistics().getMovesPruned());
+        assertFalse(wins.contains(Arrays.asList(
+                new GameState<>(new AddMove(3), 9),
+                new GameState<>(new AddMove(3), 6),
+                new GameState<>(new AddMove(3), 3),
+                initialState)));
+        assertEquals(Integer.valueOf(0), counter.toBoard());
+    }
+
+    @Test
+    public void testFirstWin() {
+        final CountingGame game = new CountingGame(7);
+        final MakeUnmakeDepthFirstSearch<AddMove, Integer> search =
+                new MakeUnmakeDepthFirstSearch<>(game, initialState, game.new Counter(0), 10, SearchMode.FIRST_WIN);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        assertEquals(1, wins.size());
+        assertTrue(search.isWinFound());
+    }
+
+    @Test
+    public void testShortestWin() {
+        final CountingGame game = new CountingGame(7);
+        final MakeUnmakeDepthFirstSearch<AddMove, Integer> search =
+                new MakeUnmakeDepthFirstSearch<>(game, initialState, game.new Counter(0), 10, SearchMode.SHORTEST_WIN);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        assertTrue(search.isWinFound());
+        assertTrue(search.getStatistics().getBoundPruned() > 0);
+        /*
+         * 3+3+1, 3+1+3, 1+3+3, and none of the longer wins found before them.
+         */
+        assertEquals(3, wins.size());
+        for (final List<GameState<AddMove, Integer>> win : wins) {
+            assertEquals(4, win.size());
+        }
+    }
+
+}
@@ -0,0 +1,145 @@
+package org.silnith.game.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.silnith.game.search.CountingGame.asSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.game.BoardCompactor;
+import org.silnith.game.GameState;
+import org.silnith.game.OrderedGame;
+import org.silnith.game.move.MoveScorer;
+import org.silnith.game.search.CountingGame.AddMove;
+import org.silnith.game.util.LinkedNode;
+
+
+public class OrderedGameTest {
+
+    private final GameState<AddMove, Integer> initialState = new GameState<>(null, 0);
+
+    private final List<GameState<AddMove, Integer>> history = Collections.singletonList(initialState);
+
+    private final MoveScorer<AddMove, Integer> byAmount = (move, board) -> move.getAmount();
+
+    private final MoveScorer<AddMove, Integer> byNegativeAmount = (move, board) -> -move.getAmount();
+
+    private final MoveScorer<AddMove, Integer> constant = (move, board) -> 0;
+
+    private static List<Integer> amounts(final Collection<AddMove> moves) {
+        final List<Integer> amounts = new ArrayList<>(moves.size());
+        for (final AddMove move : moves) {
+            amounts.add(move.getAmount());
+        }
+        return amounts;
+    }
+
+    @Test
+    public void testConstructorNullGame() {
+        assertThrows(IllegalArgumentException.class, () -> new OrderedGame<>(null, byAmount));
+    }
+
+    @Test
+    public void testConstructorNullScorer() {
+        assertThrows(IllegalArgumentException.class, () -> new OrderedGame<AddMove, Integer>(new CountingGame(5), null));
+    }
+
+    @Test
+    public void testGetters() {
+        final CountingGame game = new CountingGame(5);
+        final OrderedGame<AddMove, Integer> ordered = new OrderedGame<>(game, byAmount);
+
+        assertSame(game, ordered.getGame());
+        assertSame(byAmount, ordered.getScorer());
+        assertSame(game.getFilters(), ordered.getFilters());
+    }
+
+    @Test
+    public void testFindAllMovesAscending() {
+        final OrderedGame<AddMove, Integer> ordered = new OrderedGame<>(new CountingGame(20, 2, 1, 3), byAmount);
+
+        assertEquals(Arrays.asList(1, 2, 3), amounts(ordered.findAllMoves(history)));
+    }
+
+    @Test
+    public void testFindAllMovesDescending() {
+        final OrderedGame<AddMove, Integer> ordered =
+                new OrderedGame<>(new CountingGame(20, 2, 1, 3), byNegativeAmount);
+
+        assertEquals(Arrays.asList(3, 2, 1), amounts(ordered.findAllMoves(history)));
+    }
+
+    @Test
+    public void testFindAllMovesTiesKeepOrder() {
+        final OrderedGame<AddMove, Integer> ordered = new OrderedGame<>(new CountingGame(20, 2, 1, 3, 1), constant);
+
+        assertEquals(Arrays.asList(2, 1, 3, 1), amounts(ordered.findAllMoves(history)));
+    }
+
+    @Test
+    public void testFindAllMovesNoMoves() {
+        final OrderedGame<AddMove, Integer> ordered = new OrderedGame<>(new CountingGame(0), byAmount);
+
+        assertEquals(Collections.emptyList(), amounts(ordered.findAllMoves(history)));
+    }
+
+    @Test
+    public void testDepthFirstSearchTriesHighestScoreFirst() {
+        final SequentialDepthFirstSearch<AddMove, Integer> search = new SequentialDepthFirstSearch<>(
+                new OrderedGame<>(new CountingGame(20), byAmount), initialState, null, SearchMode.FIRST_WIN);
+
+        final List<GameState<AddMove, Integer>> win = search.call().iterator().next();
+
+        assertEquals(3, win.get(win.size() - 2).getMove().getAmount());
+        assertEquals(20, (int) win.get(0).getBoard());
+    }
+
+    @Test
+    public void testDepthFirstSearchTriesLowestScoreLast() {
+        final SequentialDepthFirstSearch<AddMove, Integer> search = new SequentialDepthFirstSearch<>(
+                new OrderedGame<>(new CountingGame(20), byNegativeAmount), initialState, null, SearchMode.FIRST_WIN);
+
+        final List<GameState<AddMove, Integer>> win = search.call().iterator().next();
+
+        assertEquals(1, win.get(win.size() - 2).getMove().getAmount());
+        assertEquals(20, (int) win.get(0).getBoard());
+    }
+
+    @Test
+    public void testCompactBoards() {
+        final BoardCompactor<Integer, Long> compactor = new BoardCompactor<Integer, Long>() {
+
+            @Override
+            public Long compact(final Integer board) {
+                return Long.valueOf(board);
+            }
+
+            @Override
+            public Integer expand(final Long compactBoard) {
+                return compactBoard.intValue();
+            }
+
+        };
+        final OrderedGame<AddMove, Integer> ordered = new OrderedGame<>(new CountingGame(9) {
+
+            @Override
+            public BoardCompactor<Integer, ?> getBoardCompactor() {
+                return compactor;
+            }
+
+        }, byAmount);
+        final SequentialDepthFirstSearch<AddMove, Integer> search =
+                new SequentialDepthFirstSearch<>(ordered, initialState, null, SearchMode.ALL_WINS,
+                        new StackFrontier<LinkedNode<GameState<AddMove, Integer>>>(), HistoryMode.COMPACT_BOARDS);
+
+        assertSame(compactor, ordered.getBoardCompactor());
+        assertEquals(asSet(new SequentialDepthFirstSearch<>(ordered, initialState).call()), asSet(search.call()));
+    }
+
+}
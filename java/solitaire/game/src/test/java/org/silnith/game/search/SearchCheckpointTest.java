@@ -0,0 +1,169 @@
+package org.silnith.game.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.game.GameState;
+import org.silnith.game.search.CountingGame.AddMove;
+import org.silnith.game.search.CountingGame.AddMoveCodec;
+import org.silnith.game.util.LinkedNode;
+
+
+public class SearchCheckpointTest {
+
+    /**
+     * The number of ways to sum ones and threes to twenty.
+     */
+    private static final int WINS_TO_TWENTY = 1278;
+
+    private final GameState<AddMove, Integer> initialState = new GameState<>(null, 0);
+
+    private final AddMoveCodec codec = new AddMoveCodec();
+
+    /**
+     * Runs a sequential search that closes itself after examining the given
+     * number of game tree nodes.
+     */
+    private SequentialDepthFirstSearch<AddMove, Integer> interruptedSearch(final int limit) {
+        final AtomicReference<SequentialDepthFirstSearch<AddMove, Integer>> holder = new AtomicReference<>();
+        final CountingGame game = new CountingGame(20) {
+
+            @Override
+            public Collection<AddMove> findAllMoves(final List<GameState<AddMove, Integer>> gameStates) {
+                if (holder.get().getNumberOfGameStatesExamined() >= limit) {
+                    holder.get().close();
+                }
+                return super.findAllMoves(gameStates);
+            }
+
+        };
+        final SequentialDepthFirstSearch<AddMove, Integer> search = new SequentialDepthFirstSearch<>(game, initialState);
+        holder.set(search);
+        search.call();
+        return search;
+    }
+
+    private SearchCheckpoint<AddMove, Integer> roundTrip(final SearchCheckpoint<AddMove, Integer> checkpoint)
+            throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        checkpoint.write(out, codec);
+        return SearchCheckpoint.read(new ByteArrayInputStream(out.toByteArray()), codec, initialState);
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final SequentialDepthFirstSearch<AddMove, Integer> search = interruptedSearch(500);
+        final SearchCheckpoint<AddMove, Integer> checkpoint = search.checkpoint();
+
+        final SearchCheckpoint<AddMove, Integer> restored = roundTrip(checkpoint);
+
+        assertEquals(checkpoint.getFrontier().size(), restored.getFrontier().size());
+        for (int i = 0; i < checkpoint.getFrontier().size(); i++ ) {
+            assertEquals(checkpoint.getFrontier().get(i), restored.getFrontier().get(i));
+        }
+        assertEquals(checkpoint.getWins(), restored.getWins());
+        assertEquals(checkpoint.getGameStatesExamined(), restored.getGameStatesExamined());
+        assertEquals(checkpoint.getBoardsGenerated(), restored.getBoardsGenerated());
+    }
+
+    private int countDistinctNodes(final List<LinkedNode<GameState<AddMove, Integer>>> frontier) {
+        final Set<LinkedNode<GameState<AddMove, Integer>>> nodes = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final LinkedNode<GameState<AddMove, Integer>> leaf : frontier) {
+            for (LinkedNode<GameState<AddMove, Integer>> node = leaf; node != null; node = node.getNext()) {
+                nodes.add(node);
+            }
+        }
+        return nodes.size();
+    }
+
+    @Test
+    public void testFrontierSharesHistory() throws IOException {
+        final SearchCheckpoint<AddMove, Integer> checkpoint = interruptedSearch(500).checkpoint();
+
+        final SearchCheckpoint<AddMove, Integer> restored = roundTrip(checkpoint);
+
+        /*
+         * Frontier nodes with a common history are rebuilt sharing that
+         * history, rather than as separate copies.
+         */
+        int totalLength = 0;
+        for (final LinkedNode<GameState<AddMove, Integer>> leaf : checkpoint.getFrontier()) {
+            totalLength += leaf.size();
+        }
+        final int distinctNodes = countDistinctNodes(checkpoint.getFrontier());
+        assertTrue(distinctNodes < totalLength);
+        assertEquals(distinctNodes, countDistinctNodes(restored.getFrontier()));
+    }
+
+    @Test
+    public void testResume() throws IOException {
+        final SequentialDepthFirstSearch<AddMove, Integer> uninterrupted =
+                new SequentialDepthFirstSearch<>(new CountingGame(20), initialState);
+        uninterrupted.call();
+        final SequentialDepthFirstSearch<AddMove, Integer> interrupted = interruptedSearch(500);
+        assertTrue(interrupted.getWinCount() < WINS_TO_TWENTY);
+
+        final SearchCheckpoint<AddMove, Integer> checkpoint = roundTrip(interrupted.checkpoint());
+        final SequentialDepthFirstSearch<AddMove, Integer> resumed =
+                new SequentialDepthFirstSearch<>(new CountingGame(20), checkpoint, null, SearchMode.ALL_WINS);
+        final Collection<List<GameState<AddMove, Integer>>> wins = resumed.call();
+
+        assertEquals(WINS_TO_TWENTY, wins.size());
+        assertEquals(uninterrupted.getNumberOfGameStatesExamined(), resumed.getNumberOfGameStatesExamined());
+        assertEquals(uninterrupted.getBoardsGenerated(), resumed.getBoardsGenerated());
+    }
+
+    @Test
+    public void testResumeWorkerThreads() throws Exception {
+        final SearchCheckpoint<AddMove, Integer> checkpoint = roundTrip(interruptedSearch(500).checkpoint());
+
+        try (final WorkerThreadDepthFirstSearch<AddMove, Integer> resumed =
+                new WorkerThreadDepthFirstSearch<>(new CountingGame(20), checkpoint, 2, null, SearchMode.ALL_WINS)) {
+            final Collection<List<GameState<AddMove, Integer>>> wins = resumed.call();
+
+            assertEquals(WINS_TO_TWENTY, wins.size());
+        }
+    }
+
+    @Test
+    public void testResumeNullCheckpoint() {
+        assertThrows(IllegalArgumentException.class, () -> new SequentialDepthFirstSearch<>(new CountingGame(20),
+                (SearchCheckpoint<AddMove, Integer>) null, null, SearchMode.ALL_WINS));
+    }
+
+    @Test
+    public void testResumeWorkerThreadsNullCheckpoint() {
+        assertThrows(IllegalArgumentException.class, () -> new WorkerThreadDepthFirstSearch<>(new CountingGame(20),
+                (SearchCheckpoint<AddMove, Integer>) null, 2, null, SearchMode.ALL_WINS));
+    }
+
+    @Test
+    public void testCheckpointUnsupported() {
+        final ForkJoinDepthFirstSearch<AddMove, Integer> search =
+                new ForkJoinDepthFirstSearch<>(new CountingGame(20), initialState, 1);
+
+        assertThrows(UnsupportedOperationException.class, () -> search.checkpoint());
+        search.close();
+    }
+
+    @Test
+    public void testReadNotACheckpoint() {
+        final byte[] garbage = new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 };
+
+        assertThrows(IOException.class,
+                () -> SearchCheckpoint.read(new ByteArrayInputStream(garbage), codec, initialState));
+    }
+
+}
@@ -0,0 +1,191 @@
+package org.silnith.game.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.game.GameState;
+import org.silnith.game.search.CountingGame.AddMove;
+
+
+public class SearchModeTest {
+
+    /**
+     * The number of ways to sum ones and threes to twenty.
+     */
+    private static final int WINS_TO_TWENTY = 1278;
+
+    private final GameState<AddMove, Integer> initialState = new GameState<>(null, 0);
+
+    @Test
+    public void testConstructorNullMode() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SequentialDepthFirstSearch<>(new CountingGame(20), initialState, null, null));
+    }
+
+    @Test
+    public void testAllWins() {
+        final SequentialDepthFirstSearch<AddMove, Integer> search =
+                new SequentialDepthFirstSearch<>(new CountingGame(20), initialState);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        assertEquals(SearchMode.ALL_WINS, search.getSearchMode());
+        assertEquals(WINS_TO_TWENTY, wins.size());
+        assertTrue(search.isWinFound());
+    }
+
+    @Test
+    public void testFirstWin() {
+        final SequentialDepthFirstSearch<AddMove, Integer> all =
+                new SequentialDepthFirstSearch<>(new CountingGame(20), initialState);
+        all.call();
+        final SequentialDepthFirstSearch<AddMove, Integer> search =
+                new SequentialDepthFirstSearch<>(new CountingGame(20), initialState, null, SearchMode.FIRST_WIN);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        assertEquals(1, wins.size());
+        assertEquals(20, (int) wins.iterator().next().get(0).getBoard());
+        assertTrue(search.isWinFound());
+        assertTrue(search.getNumberOfGameStatesExamined() < all.getNumberOfGameStatesExamined());
+    }
+
+    @Test
+    public void testFirstWinStopsGeneratingMoves() {
+        final SequentialDepthFirstSearch<AddMove, Integer> search =
+                new SequentialDepthFirstSearch<>(new CountingGame(1), initialState, null, SearchMode.FIRST_WIN);
+
+        search.call();
+
+        // The move adding three is never applied once adding one wins.
+        assertEquals(1, search.getBoardsGenerated());
+    }
+
+    @Test
+    public void testSolvability() {
+        final SequentialDepthFirstSearch<AddMove, Integer> search =
+                new SequentialDepthFirstSearch<>(new CountingGame(20), initialState, null, SearchMode.SOLVABILITY);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        assertTrue(wins.isEmpty());
+        assertTrue(search.isWinFound());
+    }
+
+    @Test
+    public void testSolvabilityUnsolvable() {
+        final SequentialDepthFirstSearch<AddMove, Integer> search =
+                new SequentialDepthFirstSearch<>(new CountingGame(-1), initialState, null, SearchMode.SOLVABILITY);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        assertTrue(wins.isEmpty());
+        assertFalse(search.isWinFound());
+    }
+
+    @Test
+    public void testFirstWinForkJoin() throws Exception {
+        try (final ForkJoinDepthFirstSearch<AddMove, Integer> search =
+                new ForkJoinDepthFirstSearch<>(new CountingGame(20), initialState, 4, null, SearchMode.FIRST_WIN)) {
+            final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+            assertEquals(1, wins.size());
+            assertTrue(search.isWinFound());
+        }
+    }
+
+    @Test
+    public void testFirstWinWorkerThreads() throws Exception {
+        try (final WorkerThreadDepthFirstSearch<AddMove, Integer> search =
+                new WorkerThreadDepthFirstSearch<>(new CountingGame(20), initialState, 4, null, SearchMode.FIRST_WIN)) {
+            final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+            assertEquals(1, wins.size());
+            assertTrue(search.isWinFound());
+        }
+    }
+
+    @Test
+    public void testFirstWinBestFirst() {
+        final BestFirstSearch<AddMove, Integer> search = new BestFirstSearch<>(new CountingGame(20), initialState,
+                history -> (20 - history.get(0).getBoard() + 2) / 3, 1.0, null, SearchMode.FIRST_WIN);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        assertEquals(1, wins.size());
+        /*
+         * Six threes and two ones is the shortest win.
+         */
+        assertEquals(9, wins.iterator().next().size());
+    }
+
+    @Test
+    public void testShortestWin() {
+        final SequentialDepthFirstSearch<AddMove, Integer> all =
+                new SequentialDepthFirstSearch<>(new CountingGame(20), initialState);
+        all.call();
+        final SequentialDepthFirstSearch<AddMove, Integer> search =
+                new SequentialDepthFirstSearch<>(new CountingGame(20), initialState, null, SearchMode.SHORTEST_WIN);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        /*
+         * Every arrangement of six threes and two ones.
+         */
+        assertEquals(28, wins.size());
+        for (final List<GameState<AddMove, Integer>> win : wins) {
+            assertEquals(9, win.size());
+        }
+        assertEquals(8, search.getDepthBound());
+        assertTrue(search.getBoundPruned() > 0);
+        assertTrue(search.getNumberOfGameStatesExamined() < all.getNumberOfGameStatesExamined());
+    }
+
+    @Test
+    public void testShortestWinTightens() {
+        final SequentialDepthFirstSearch<AddMove, Integer> search =
+                new SequentialDepthFirstSearch<>(new CountingGame(20, 3, 1), initialState, null,
+                        SearchMode.SHORTEST_WIN);
+
+        final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+        /*
+         * The ones are explored first, so the first win found is seventeen
+         * ones and a three, and each shorter win found after it tightens the
+         * bound further.  None of the longer wins are returned.
+         */
+        assertEquals(8, search.getDepthBound());
+        assertEquals(28, wins.size());
+        for (final List<GameState<AddMove, Integer>> win : wins) {
+            assertEquals(search.getDepthBound() + 1, win.size());
+        }
+    }
+
+    @Test
+    public void testShortestWinForkJoin() throws Exception {
+        try (final ForkJoinDepthFirstSearch<AddMove, Integer> search =
+                new ForkJoinDepthFirstSearch<>(new CountingGame(20), initialState, 4, null, SearchMode.SHORTEST_WIN)) {
+            search.call();
+
+            assertEquals(8, search.getDepthBound());
+        }
+    }
+
+    @Test
+    public void testDepthBoundUnusedInOtherModes() {
+        final SequentialDepthFirstSearch<AddMove, Integer> search =
+                new SequentialDepthFirstSearch<>(new CountingGame(20), initialState);
+
+        search.call();
+
+        assertEquals(Integer.MAX_VALUE, search.getDepthBound());
+        assertEquals(0, search.getBoundPruned());
+    }
+
+}
@@ -0,0 +1,118 @@
+package org.silnith.game.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.game.GameState;
+import org.silnith.game.move.MoveFilter;
+import org.silnith.game.search.CountingGame.AddMove;
+
+
+public class SearchStatisticsTest {
+
+    private final GameState<AddMove, Integer> initialState = new GameState<>(null, 0);
+
+    /**
+     * A filter that prunes every board that is a multiple of the divisor.
+     */
+    private static class MultipleFilter implements MoveFilter<AddMove, Integer> {
+
+        private final int divisor;
+
+        public MultipleFilter(final int divisor) {
+            super();
+            this.divisor = divisor;
+        }
+
+        @Override
+        public Object getStatisticsKey() {
+            return "Multiple of " + divisor;
+        }
+
+        @Override
+        public boolean shouldFilter(final List<GameState<AddMove, Integer>> gameStateHistory) {
+            return gameStateHistory.get(0).getBoard() % divisor == 0;
+        }
+
+    }
+
+    private CountingGame filteredGame() {
+        return new CountingGame(20, new MultipleFilter(7), new MultipleFilter(5));
+    }
+
+    @Test
+    public void testSnapshot() {
+        final SequentialDepthFirstSearch<AddMove, Integer> search =
+                new SequentialDepthFirstSearch<>(filteredGame(), initialState);
+        search.call();
+
+        final SearchStatistics statistics = search.getStatistics();
+
+        assertEquals(search.getNumberOfGameStatesExamined(), statistics.getGameStatesExamined());
+        assertEquals(search.getBoardsGenerated(), statistics.getBoardsGenerated());
+        assertEquals((double) statistics.getBoardsGenerated() / statistics.getGameStatesExamined(),
+                statistics.getBranchingFactor(), 0.0);
+        assertEquals(0, statistics.getQueueSize());
+        assertEquals(search.getWinCount(), statistics.getWinCount());
+        assertEquals(0, statistics.getTranspositionsPruned());
+        assertEquals(0, statistics.getBoundPruned());
+    }
+
+    @Test
+    public void testMovesPrunedByFilter() {
+        final SequentialDepthFirstSearch<AddMove, Integer> search =
+                new SequentialDepthFirstSearch<>(filteredGame(), initialState);
+        search.call();
+
+        final SearchStatistics statistics = search.getStatistics();
+        final Map<Object, Long> byFilter = statistics.getMovesPrunedByFilter();
+
+        assertEquals(Arrays.asList("Multiple of 7", "Multiple of 5"), Arrays.asList(byFilter.keySet().toArray()));
+        assertTrue(byFilter.get("Multiple of 7") > 0);
+        assertTrue(byFilter.get("Multiple of 5") > 0);
+        assertEquals(statistics.getMovesPruned(), byFilter.get("Multiple of 7") + byFilter.get("Multiple of 5"));
+    }
+
+    @Test
+    public void testWorkerThreadsCountEveryNode() throws InterruptedException {
+        final SequentialDepthFirstSearch<AddMove, Integer> sequential =
+                new SequentialDepthFirstSearch<>(filteredGame(), initialState);
+        sequential.call();
+        final SearchStatistics expected = sequential.getStatistics();
+
+        try (final WorkerThreadDepthFirstSearch<AddMove, Integer> parallel =
+                new WorkerThreadDepthFirstSearch<>(filteredGame(), initialState, 4)) {
+            parallel.call();
+            final SearchStatistics actual = parallel.getStatistics();
+
+            assertEquals(expected.getGameStatesExamined(), actual.getGameStatesExamined());
+            assertEquals(expected.getBoardsGenerated(), actual.getBoardsGenerated());
+            assertEquals(expected.getMovesPruned(), actual.getMovesPruned());
+            assertEquals(expected.getMovesPrunedByFilter(), actual.getMovesPrunedByFilter());
+            assertEquals(expected.getWinCount(), actual.getWinCount());
+        }
+    }
+
+    @Test
+    public void testRates() {
+        final SearchStatistics earlier = new SearchStatistics(TimeUnit.SECONDS.toNanos(2), 100, 300, 0,
+                Collections.<Object, Long>emptyMap(), 0, 0, 0, 0);
+        final SearchStatistics later = new SearchStatistics(TimeUnit.SECONDS.toNanos(4), 500, 1300, 0,
+                Collections.<Object, Long>emptyMap(), 0, 0, 0, 0);
+
+        assertEquals(125.0, later.getGameStatesPerSecond(), 1e-9);
+        assertEquals(325.0, later.getBoardsPerSecond(), 1e-9);
+        assertEquals(200.0, later.getGameStatesPerSecond(earlier), 1e-9);
+        assertEquals(500.0, later.getBoardsPerSecond(earlier), 1e-9);
+        assertEquals(0.0, later.getGameStatesPerSecond(later), 0.0);
+        assertEquals(4, later.getElapsedTime(TimeUnit.SECONDS));
+    }
+
+}
@@ -0,0 +1,148 @@
+package org.silnith.game.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.silnith.game.GameState;
+import org.silnith.game.search.CountingGame.AddMove;
+import org.silnith.game.search.CountingGame.AddMoveCodec;
+import org.silnith.game.util.LinkedNode;
+
+
+public class SpillingFrontierTest {
+
+    /**
+     * The number of ways to sum ones and threes to twenty.
+     */
+    private static final int WINS_TO_TWENTY = 1278;
+
+    private final GameState<AddMove, Integer> initialState = new GameState<>(null, 0);
+
+    private final AddMoveCodec codec = new AddMoveCodec();
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Returns a node reached by applying the given moves, in order, to the
+     * initial state.
+     */
+    private LinkedNode<GameState<AddMove, Integer>> node(final int... amounts) {
+        LinkedNode<GameState<AddMove, Integer>> node = new LinkedNode<>(initialState);
+        for (final int amount : amounts) {
+            final AddMove move = new AddMove(amount);
+            node = new LinkedNode<>(new GameState<>(move, move.apply(node.getValue().getBoard())), node);
+        }
+        return node;
+    }
+
+    private long countFiles() throws IOException {
+        try (final Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    public void testSegmentLargerThanMaximum() {
+        assertThrows(IllegalArgumentException.class, () -> new SpillingFrontier<>(codec, directory, 4, 5));
+    }
+
+    @Test
+    public void testOrderPreservedAcrossSpills() throws IOException {
+        final List<LinkedNode<GameState<AddMove, Integer>>> nodes = new ArrayList<>();
+        try (final SpillingFrontier<AddMove, Integer> frontier = new SpillingFrontier<>(codec, directory, 4, 2)) {
+            for (int i = 1; i <= 20; i++ ) {
+                final LinkedNode<GameState<AddMove, Integer>> node = node(1, i, 3);
+                nodes.add(node);
+                frontier.addLast(node);
+            }
+
+            assertEquals(20, frontier.size());
+            assertEquals(16, frontier.getSpilledNodes());
+            assertEquals(8, frontier.getSegmentCount());
+            assertEquals(8, countFiles());
+
+            for (int i = nodes.size() - 1; i >= 0; i-- ) {
+                assertEquals(nodes.get(i), frontier.pollLast());
+            }
+            assertNull(frontier.pollLast());
+            assertTrue(frontier.isEmpty());
+            assertEquals(0, countFiles());
+        }
+    }
+
+    @Test
+    public void testPagedInNodesShareHistory() {
+        try (final SpillingFrontier<AddMove, Integer> frontier = new SpillingFrontier<>(codec, directory, 2, 2)) {
+            final LinkedNode<GameState<AddMove, Integer>> parent = node(1, 1);
+            frontier.addLast(new LinkedNode<>(new GameState<>(new AddMove(1), 3), parent));
+            frontier.addLast(new LinkedNode<>(new GameState<>(new AddMove(3), 5), parent));
+            frontier.addLast(node(3));
+
+            final LinkedNode<GameState<AddMove, Integer>> last = frontier.pollLast();
+            final LinkedNode<GameState<AddMove, Integer>> second = frontier.pollLast();
+            final LinkedNode<GameState<AddMove, Integer>> first = frontier.pollLast();
+
+            assertEquals(node(3), last);
+            assertEquals(node(1, 1, 3), second);
+            assertEquals(node(1, 1, 1), first);
+            assertTrue(first.getNext() == second.getNext());
+            assertTrue(first.getNext() != parent);
+        }
+    }
+
+    @Test
+    public void testToList() throws IOException {
+        final List<LinkedNode<GameState<AddMove, Integer>>> nodes = new ArrayList<>();
+        try (final SpillingFrontier<AddMove, Integer> frontier = new SpillingFrontier<>(codec, directory, 3, 2)) {
+            for (int i = 1; i <= 7; i++ ) {
+                final LinkedNode<GameState<AddMove, Integer>> node = node(i);
+                nodes.add(node);
+                frontier.addLast(node);
+            }
+
+            assertEquals(nodes, frontier.toList());
+            assertEquals(7, frontier.size());
+            assertTrue(countFiles() > 0);
+        }
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    public void testSequentialSearch() throws IOException {
+        try (final SpillingFrontier<AddMove, Integer> frontier = new SpillingFrontier<>(codec, directory, 4, 2)) {
+            final SequentialDepthFirstSearch<AddMove, Integer> search = new SequentialDepthFirstSearch<>(
+                    new CountingGame(20), initialState, null, SearchMode.ALL_WINS, frontier);
+            final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+            assertEquals(WINS_TO_TWENTY, wins.size());
+            assertTrue(frontier.getSegmentsWritten() > 0);
+            assertEquals(0, countFiles());
+        }
+    }
+
+    @Test
+    public void testWorkerThreadSearch() throws Exception {
+        try (final SpillingFrontier<AddMove, Integer> frontier = new SpillingFrontier<>(codec, directory, 4, 2);
+                final WorkerThreadDepthFirstSearch<AddMove, Integer> search = new WorkerThreadDepthFirstSearch<>(
+                        new CountingGame(20), initialState, 4, null, SearchMode.ALL_WINS, frontier)) {
+            final Collection<List<GameState<AddMove, Integer>>> wins = search.call();
+
+            assertEquals(WINS_TO_TWENTY, wins.size());
+            assertTrue(frontier.getSegmentsWritten() > 0);
+        }
+    }
+
+}
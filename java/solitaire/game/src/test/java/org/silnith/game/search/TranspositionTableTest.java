@@ -0,0 +1,200 @@
+package org.silnith.game.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.game.search.TranspositionTable.EvictionPolicy;
+
+
+public class TranspositionTableTest {
+
+    /**
+     * A board whose hash code can be chosen, to force collisions.
+     */
+    private static class CollidingBoard {
+
+        private final String name;
+
+        public CollidingBoard(final String name) {
+            super();
+            this.name = name;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj instanceof CollidingBoard) {
+                final CollidingBoard board = (CollidingBoard) obj;
+                return name.equals(board.name);
+            } else {
+                return false;
+            }
+        }
+
+    }
+
+    @Test
+    public void testConstructorZeroCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable<String>(0, EvictionPolicy.REPLACE_OLDEST));
+    }
+
+    @Test
+    public void testConstructorNullPolicy() {
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable<String>(16, null));
+    }
+
+    @Test
+    public void testCapacityRoundedUp() {
+        final TranspositionTable<String> table = new TranspositionTable<>(100, EvictionPolicy.REPLACE_OLDEST);
+
+        assertEquals(128, table.getCapacity());
+    }
+
+    @Test
+    public void testFirstVisit() {
+        final TranspositionTable<String> table = new TranspositionTable<>(16, EvictionPolicy.REPLACE_OLDEST);
+
+        assertFalse(table.isTransposition("foo", 5));
+    }
+
+    @Test
+    public void testSecondVisitSameDepth() {
+        final TranspositionTable<String> table = new TranspositionTable<>(16, EvictionPolicy.REPLACE_OLDEST);
+        table.isTransposition("foo", 5);
+
+        assertTrue(table.isTransposition("foo", 5));
+    }
+
+    @Test
+    public void testSecondVisitDeeper() {
+        final TranspositionTable<String> table = new TranspositionTable<>(16, EvictionPolicy.REPLACE_OLDEST);
+        table.isTransposition("foo", 5);
+
+        assertTrue(table.isTransposition("foo", 8));
+    }
+
+    @Test
+    public void testSecondVisitShallower() {
+        final TranspositionTable<String> table = new TranspositionTable<>(16, EvictionPolicy.REPLACE_OLDEST);
+        table.isTransposition("foo", 5);
+
+        assertFalse(table.isTransposition("foo", 3));
+    }
+
+    @Test
+    public void testShallowerVisitIsRemembered() {
+        final TranspositionTable<String> table = new TranspositionTable<>(16, EvictionPolicy.REPLACE_OLDEST);
+        table.isTransposition("foo", 5);
+        table.isTransposition("foo", 3);
+
+        assertTrue(table.isTransposition("foo", 4));
+    }
+
+    @Test
+    public void testDifferentBoards() {
+        final TranspositionTable<String> table = new TranspositionTable<>(16, EvictionPolicy.REPLACE_OLDEST);
+        table.isTransposition("foo", 5);
+
+        assertFalse(table.isTransposition("bar", 5));
+    }
+
+    @Test
+    public void testHashCollisionIsNotTransposition() {
+        final TranspositionTable<CollidingBoard> table = new TranspositionTable<>(16, EvictionPolicy.REPLACE_OLDEST);
+        table.isTransposition(new CollidingBoard("foo"), 5);
+
+        assertFalse(table.isTransposition(new CollidingBoard("bar"), 5));
+    }
+
+    @Test
+    public void testClear() {
+        final TranspositionTable<String> table = new TranspositionTable<>(16, EvictionPolicy.REPLACE_OLDEST);
+        table.isTransposition("foo", 5);
+        table.clear();
+
+        assertEquals(0, table.size());
+        assertFalse(table.isTransposition("foo", 5));
+    }
+
+    @Test
+    public void testReplaceOldest() {
+        final TranspositionTable<CollidingBoard> table = new TranspositionTable<>(4, EvictionPolicy.REPLACE_OLDEST);
+        table.isTransposition(new CollidingBoard("a"), 1);
+        table.isTransposition(new CollidingBoard("b"), 2);
+        table.isTransposition(new CollidingBoard("c"), 3);
+        table.isTransposition(new CollidingBoard("d"), 4);
+        table.isTransposition(new CollidingBoard("e"), 5);
+
+        assertEquals(4, table.size());
+        assertTrue(table.isTransposition(new CollidingBoard("e"), 5));
+        assertTrue(table.isTransposition(new CollidingBoard("d"), 4));
+        assertFalse(table.isTransposition(new CollidingBoard("a"), 1));
+    }
+
+    /**
+     * Reaching a board again at a shallower depth updates its entry, but the
+     * entry keeps its place in the insertion order.
+     */
+    @Test
+    public void testReplaceOldestAfterShallowerVisit() {
+        final TranspositionTable<CollidingBoard> table = new TranspositionTable<>(4, EvictionPolicy.REPLACE_OLDEST);
+        table.isTransposition(new CollidingBoard("a"), 5);
+        table.isTransposition(new CollidingBoard("b"), 2);
+        table.isTransposition(new CollidingBoard("c"), 3);
+        table.isTransposition(new CollidingBoard("d"), 4);
+        table.isTransposition(new CollidingBoard("a"), 1);
+        table.isTransposition(new CollidingBoard("e"), 5);
+
+        assertEquals(4, table.size());
+        assertTrue(table.isTransposition(new CollidingBoard("b"), 2));
+        assertFalse(table.isTransposition(new CollidingBoard("a"), 1));
+    }
+
+    @Test
+    public void testReplaceDeepest() {
+        final TranspositionTable<CollidingBoard> table = new TranspositionTable<>(4, EvictionPolicy.REPLACE_DEEPEST);
+        table.isTransposition(new CollidingBoard("a"), 1);
+        table.isTransposition(new CollidingBoard("b"), 9);
+        table.isTransposition(new CollidingBoard("c"), 3);
+        table.isTransposition(new CollidingBoard("d"), 4);
+        table.isTransposition(new CollidingBoard("e"), 5);
+
+        assertTrue(table.isTransposition(new CollidingBoard("a"), 1));
+        assertTrue(table.isTransposition(new CollidingBoard("e"), 5));
+        assertFalse(table.isTransposition(new CollidingBoard("b"), 9));
+    }
+
+    @Test
+    public void testReplaceDeepestKeepsShallowerEntries() {
+        final TranspositionTable<CollidingBoard> table = new TranspositionTable<>(4, EvictionPolicy.REPLACE_DEEPEST);
+        table.isTransposition(new CollidingBoard("a"), 1);
+        table.isTransposition(new CollidingBoard("b"), 2);
+        table.isTransposition(new CollidingBoard("c"), 3);
+        table.isTransposition(new CollidingBoard("d"), 4);
+        table.isTransposition(new CollidingBoard("e"), 10);
+
+        assertTrue(table.isTransposition(new CollidingBoard("d"), 4));
+        assertFalse(table.isTransposition(new CollidingBoard("e"), 10));
+    }
+
+    @Test
+    public void testNeverReplace() {
+        final TranspositionTable<CollidingBoard> table = new TranspositionTable<>(4, EvictionPolicy.NEVER_REPLACE);
+        table.isTransposition(new CollidingBoard("a"), 1);
+        table.isTransposition(new CollidingBoard("b"), 2);
+        table.isTransposition(new CollidingBoard("c"), 3);
+        table.isTransposition(new CollidingBoard("d"), 4);
+        table.isTransposition(new CollidingBoard("e"), 5);
+
+        assertTrue(table.isTransposition(new CollidingBoard("a"), 1));
+        assertFalse(table.isTransposition(new CollidingBoard("e"), 5));
+    }
+
+}
@@ -0,0 +1,118 @@
+package org.silnith.game.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class PersistentLongSetTest {
+    
+    @Test
+    public void testEmpty() {
+        final PersistentLongSet set = PersistentLongSet.empty();
+        
+        assertEquals(0, set.size());
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(0));
+    }
+    
+    @Test
+    public void testWith() {
+        final PersistentLongSet set = PersistentLongSet.empty().with(7).with(-7);
+        
+        assertEquals(2, set.size());
+        assertTrue(set.contains(7));
+        assertTrue(set.contains(-7));
+        assertFalse(set.contains(0));
+    }
+    
+    @Test
+    public void testWithLeavesOriginalUnchanged() {
+        final PersistentLongSet set = PersistentLongSet.empty().with(7);
+        final PersistentLongSet larger = set.with(8);
+        
+        assertEquals(1, set.size());
+        assertFalse(set.contains(8));
+        assertEquals(2, larger.size());
+    }
+    
+    @Test
+    public void testWithExisting() {
+        final PersistentLongSet set = PersistentLongSet.empty().with(7).with(8);
+        
+        assertSame(set, set.with(7));
+        assertSame(set, set.with(8));
+    }
+    
+    @Test
+    public void testSharedLowBits() {
+        // These share all but the highest bits, so they part at the last level.
+        final long low = 0x0000000000000005L;
+        final long high = 0x4000000000000005L;
+        final long highest = 0x8000000000000005L;
+        final PersistentLongSet set = PersistentLongSet.empty().with(low).with(high).with(highest);
+        
+        assertEquals(3, set.size());
+        assertTrue(set.contains(low));
+        assertTrue(set.contains(high));
+        assertTrue(set.contains(highest));
+        assertFalse(set.contains(0xC000000000000005L));
+        assertFalse(set.contains(0x0000000100000005L));
+    }
+    
+    @Test
+    public void testHighestBitAtEachLevel() {
+        // Bit 31 of a level's bitmap is negative as an int.
+        PersistentLongSet set = PersistentLongSet.empty();
+        for (int shift = 0; shift < Long.SIZE; shift += 5) {
+            set = set.with(31L << shift).with(30L << shift);
+        }
+        
+        assertEquals(26, set.size());
+        for (int shift = 0; shift < Long.SIZE; shift += 5) {
+            assertTrue(set.contains(31L << shift));
+            assertTrue(set.contains(30L << shift));
+            assertFalse(set.contains(29L << shift));
+        }
+    }
+    
+    @Test
+    public void testEqualsIgnoresOrder() {
+        final PersistentLongSet forward = PersistentLongSet.empty().with(5).with(0x4000000000000005L).with(37);
+        final PersistentLongSet backward = PersistentLongSet.empty().with(37).with(0x4000000000000005L).with(5);
+        
+        assertEquals(forward, backward);
+        assertEquals(forward.hashCode(), backward.hashCode());
+        assertNotEquals(forward, forward.with(6));
+        assertNotEquals(forward, PersistentLongSet.empty().with(5).with(37));
+    }
+    
+    @Test
+    public void testMatchesHashSet() {
+        final Random random = new Random(0);
+        final Set<Long> expected = new HashSet<>();
+        PersistentLongSet set = PersistentLongSet.empty();
+        for (int i = 0; i < 5000; i++ ) {
+            // Few enough low bits that many values share levels.
+            final long value = random.nextLong() & 0xF00000000000FFFFL;
+            expected.add(value);
+            set = set.with(value);
+            
+            assertEquals(expected.size(), set.size());
+            assertTrue(set.contains(value));
+        }
+        for (int i = 0; i < 5000; i++ ) {
+            final long value = random.nextLong() & 0xF00000000000FFFFL;
+            
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+    }
+    
+}
@@ -26,7 +26,12 @@ public class Board {
     
     private final int stockPileIndex;
     
-    private final Map<Suit, List<Card>> foundation;
+    /**
+     * The foundation, packed by {@link PackedFoundation}.
+     */
+    private final int foundation;
+    
+    private final long zobristKey;
     
     /**
      * Creates a new board.
@@ -38,10 +43,48 @@ public class Board {
      * @param stockPileIndex the index into the stock pile of the current draw card.
      *         {@code 0} means no card is available to be drawn, {@code stockPile.size()}
      *         means all cards have been advanced and the last card is available to be drawn.
-     * @param foundation the foundation
+     * @param foundation the foundation.  Missing suits are taken to be empty.
+     * @throws IllegalArgumentException if a foundation pile does not hold
+     *         the ace up to some value of its suit
      */
     public Board(final List<Column> columns, final List<Card> stockPile, final int stockPileIndex,
             final Map<Suit, List<Card>> foundation) {
+        this(columns, stockPile, stockPileIndex, PackedFoundation.pack(foundation));
+    }
+    
+    /**
+     * Creates a new board with a packed foundation.
+     * 
+     * @param columns the columns for the new board
+     * @param stockPile the stock pile
+     * @param stockPileIndex the index into the stock pile of the current draw card
+     * @param foundation the foundation, packed by {@link PackedFoundation}
+     * @see #Board(List, List, int, Map)
+     */
+    public Board(final List<Column> columns, final List<Card> stockPile, final int stockPileIndex,
+            final int foundation) {
+        this(columns, stockPile, stockPileIndex, foundation,
+                ZobristKeys.board(columns, stockPile, stockPileIndex, foundation));
+    }
+    
+    /**
+     * Creates a new board with a Zobrist key that the caller has already
+     * computed, usually by updating the key of the previous board with
+     * the keys from {@link ZobristKeys} for the cards that moved.
+     * 
+     * <p>Parameters should be immutable.  This is not enforced in code.
+     * The key must be the one {@link ZobristKeys#board(List, List, int, int)}
+     * would compute, which is only checked when assertions are enabled.</p>
+     * 
+     * @param columns the columns for the new board
+     * @param stockPile the stock pile
+     * @param stockPileIndex the index into the stock pile of the current draw card
+     * @param foundation the foundation, packed by {@link PackedFoundation}
+     * @param zobristKey the Zobrist key of the new board
+     * @see #Board(List, List, int, Map)
+     */
+    public Board(final List<Column> columns, final List<Card> stockPile, final int stockPileIndex,
+            final int foundation, final long zobristKey) {
         super();
         if (stockPileIndex < 0) {
         	throw new IllegalArgumentException("Stock pile index must be non-negative.");
@@ -50,9 +93,16 @@ public class Board {
             throw new IllegalArgumentException("Stock pile index outside of stock pile.");
         }
         this.columns = columns;
-        this.stockPile = stockPile;
+        final StockPile sharedStockPile = StockPile.copyOf(stockPile);
+        if (sharedStockPile == null) {
+            this.stockPile = stockPile;
+        } else {
+            this.stockPile = sharedStockPile;
+        }
         this.stockPileIndex = stockPileIndex;
         this.foundation = foundation;
+        this.zobristKey = zobristKey;
+        assert zobristKey == ZobristKeys.board(columns, stockPile, stockPileIndex, foundation);
     }
     
     /**
@@ -78,6 +128,10 @@ public class Board {
     /**
      * Returns the stock pile.
      * 
+     * <p>Every board reached from the same deal shares the storage of the
+     * dealt stock pile, recording only which cards have been drawn, so
+     * drawing a card does not copy the rest of them.</p>
+     * 
      * @return the stock pile
      */
     public List<Card> getStockPile() {
@@ -103,12 +157,59 @@ public class Board {
      * Returns the foundation.  The game is won when all
      * cards have been moved to the foundation.
      * 
-     * @return the foundation
+     * <p>The map is built on every call.  Prefer {@link #getFoundationSize(Suit)}
+     * or {@link #getPackedFoundation()} in code that runs often.</p>
+     * 
+     * @return an unmodifiable copy of the foundation
      */
     public Map<Suit, List<Card>> getFoundation() {
+        return PackedFoundation.unpack(foundation);
+    }
+    
+    /**
+     * Returns the foundation packed into an {@code int}.
+     * 
+     * @return the packed foundation
+     * @see PackedFoundation
+     */
+    public int getPackedFoundation() {
         return foundation;
     }
     
+    /**
+     * Returns the number of cards on the foundation for the given suit.
+     * 
+     * @param suit the suit
+     * @return the number of cards of the suit on the foundation
+     */
+    public int getFoundationSize(final Suit suit) {
+        return PackedFoundation.size(foundation, suit);
+    }
+    
+    /**
+     * Returns {@code true} if every card is on the foundation.
+     * 
+     * @return {@code true} if the foundation is complete
+     */
+    public boolean isFoundationComplete() {
+        return foundation == PackedFoundation.COMPLETE;
+    }
+    
+    /**
+     * Returns the 64-bit Zobrist key of the board.
+     * 
+     * <p>Equal boards always have equal keys, and unequal boards almost never
+     * do, so the key is a cheap first check for transposition tables and
+     * cycle detection.  Moves maintain it incrementally, so getting it
+     * costs nothing.</p>
+     * 
+     * @return the Zobrist key
+     * @see ZobristKeys
+     */
+    public long getZobristKey() {
+        return zobristKey;
+    }
+    
     /**
      * Returns {@code true} if the stock pile can be advanced.
      * If the stock pile is empty, or if the stock pile index
@@ -159,8 +260,7 @@ public class Board {
      * @throws IndexOutOfBoundsException if the foundation has no cards for the given suit
      */
     public Card getTopOfFoundation(final Suit suit) {
-        final List<Card> foundationForSuit = foundation.get(suit);
-        return foundationForSuit.get(foundationForSuit.size() - 1);
+        return PackedFoundation.getTop(foundation, suit);
     }
     
     /**
@@ -172,11 +272,9 @@ public class Board {
      * @return a copy of the foundation with one card added
      */
     public Map<Suit, List<Card>> getFoundationPlusCard(final Card card) {
-        final Map<Suit, List<Card>> newFoundation = new EnumMap<>(foundation);
+        final Map<Suit, List<Card>> newFoundation = new EnumMap<>(getFoundation());
         final Suit suit = card.getSuit();
-        final List<Card> stackForSuit = newFoundation.get(suit);
-        final List<Card> newStackForSuit = new ArrayList<>(13);
-        newStackForSuit.addAll(stackForSuit);
+        final List<Card> newStackForSuit = new ArrayList<>(newFoundation.get(suit));
         newStackForSuit.add(card);
         newFoundation.put(suit, newStackForSuit);
         
@@ -191,13 +289,9 @@ public class Board {
      * @return a pair of the card and the remaining foundation
      */
     public Pair<Card, Map<Suit, List<Card>>> extractCardFromFoundation(final Suit suit) {
-    	final List<Card> foundationForSuit = foundation.get(suit);
-		final int suitCountMinusOne = foundationForSuit.size() - 1;
-		final Card card = foundationForSuit.get(suitCountMinusOne);
-		final Map<Suit, List<Card>> newFoundation = new EnumMap<>(foundation);
-		final List<Card> newStackForSuit = new ArrayList<>(foundationForSuit.subList(0, suitCountMinusOne));
-		newFoundation.put(suit, newStackForSuit);
-		return new Pair<>(card, newFoundation);
+		final Card card = getTopOfFoundation(suit);
+		final int newFoundation = PackedFoundation.minus(foundation, suit);
+		return new Pair<>(card, PackedFoundation.unpack(newFoundation));
     }
     
     /**
@@ -216,6 +310,9 @@ public class Board {
 		 * 
 		 * Result: [a, c]
 		 */
+		if (stockPile instanceof StockPile) {
+			return new Pair<Card, List<Card>>(card, ((StockPile) stockPile).without(stockPileIndex - 1));
+		}
 		final int size = stockPile.size();
 		final List<Card> newStockPile = new ArrayList<>(size - 1);
 		newStockPile.addAll(stockPile.subList(0, stockPileIndex - 1));
@@ -230,7 +327,7 @@ public class Board {
      * @return {@code true} if it is legal to add the card to the foundation
      */
     public boolean canAddToFoundation(final Card card) {
-    	return card.getValue().getValue() == 1 + foundation.get(card.getSuit()).size();
+    	return PackedFoundation.canAdd(foundation, card);
     }
     
     private void printCardTo(final PrintStream out, final Card card) {
@@ -243,13 +340,12 @@ public class Board {
      * @param out the output stream
      */
     public void printTo(final PrintStream out) {
-    	for (final Map.Entry<Suit, List<Card>> entry : foundation.entrySet()) {
+    	for (final Suit suit : Suit.values()) {
     		out.format(Locale.US, "%2s", "");
-    		final List<Card> cards = entry.getValue();
-    		if (cards.isEmpty()) {
+    		if (getFoundationSize(suit) == 0) {
     			out.format(Locale.US, "%3s", "--");
     		} else {
-    			printCardTo(out, cards.get(cards.size() - 1));
+    			printCardTo(out, getTopOfFoundation(suit));
     		}
     	}
     	out.format(Locale.US, "%3s", "");
@@ -287,14 +383,17 @@ public class Board {
     
     @Override
     public int hashCode() {
-        return 0xc284f7a1 ^ columns.hashCode() ^ Integer.rotateLeft(stockPile.hashCode(), 8)
-                ^ Integer.rotateLeft(stockPileIndex, 16) ^ Integer.rotateLeft(foundation.hashCode(), 24);
+        return Long.hashCode(zobristKey);
     }
     
     @Override
     public boolean equals(final Object obj) {
         if (obj instanceof Board) {
             final Board board = (Board) obj;
+            // Equal boards always have equal keys.
+            if (zobristKey != board.zobristKey) {
+                return false;
+            }
             // Put stockPileIndex first since it changes a lot.
             if (stockPileIndex != board.stockPileIndex) {
             	return false;
@@ -302,13 +401,10 @@ public class Board {
             if (stockPile.size() != board.stockPile.size()) {
                 return false;
             }
-            for (final Suit suit : Suit.values()) {
-                if (foundation.get(suit).size() != board.foundation.get(suit).size()) {
-                    return false;
-                }
+            if (foundation != board.foundation) {
+                return false;
             }
             return columns.equals(board.columns)
-            		&& foundation.equals(board.foundation)
                     && stockPile.equals(board.stockPile);
         } else {
             return false;
@@ -317,7 +413,7 @@ public class Board {
     
     @Override
     public String toString() {
-        return "Board {columns: " + columns + ", stockPile: " + stockPile + ", stockPileIndex: " + stockPileIndex + ", foundation: " + foundation
+        return "Board {columns: " + columns + ", stockPile: " + stockPile + ", stockPileIndex: " + stockPileIndex + ", foundation: " + getFoundation()
                 + "}";
     }
     
@@ -0,0 +1,249 @@
+package org.silnith.game.solitaire;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.silnith.deck.Card;
+
+
+/**
+ * An immutable list of cards that shares its storage with the lists it was
+ * made from.
+ *
+ * <p>A stack is a view of a range of slots in a buffer that may be shared
+ * by many stacks.  Taking cards off the top just makes a shorter view of the
+ * same buffer.  Putting cards on top writes them into the unused slots of
+ * the buffer just past the end of the view, if no other stack has claimed
+ * those slots yet, so a column and the columns made from it by moves all
+ * share one array.  Slots are written exactly once, so no stack ever sees
+ * its cards change.  Only when the slots were already claimed for different
+ * cards, or the buffer is full, are the cards copied into a new buffer.</p>
+ *
+ * <p>Stacks are safe to share between threads.  Claiming slots is guarded
+ * by the buffer's lock, which also makes the cards written into them visible
+ * to any thread that later shares those slots.</p>
+ */
+final class CardStack extends AbstractList<Card> implements RandomAccess {
+
+    /**
+     * The number of free slots given to a new buffer past the cards copied
+     * into it.  This is enough room for any run of face-up cards.
+     */
+    private static final int HEADROOM = 13;
+
+    /**
+     * The empty stack.
+     */
+    static final CardStack EMPTY = new CardStack(new Buffer(0), 0, 0);
+
+    /**
+     * Storage shared by many stacks.
+     */
+    private static final class Buffer {
+
+        private final Card[] cards;
+
+        /**
+         * The number of slots that hold cards.  Guarded by this.
+         */
+        private int used;
+
+        private Buffer(final int capacity) {
+            super();
+            this.cards = new Card[capacity];
+        }
+
+    }
+
+    private final Buffer buffer;
+
+    private final int start;
+
+    private final int end;
+
+    private CardStack(final Buffer buffer, final int start, final int end) {
+        super();
+        this.buffer = buffer;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Returns a stack holding the given cards.  A stack is returned as-is,
+     * anything else is copied.
+     *
+     * @param cards the cards, or {@code null} for none
+     * @return a stack of the cards
+     */
+    static CardStack copyOf(final List<Card> cards) {
+        if (cards instanceof CardStack) {
+            return (CardStack) cards;
+        }
+        if (cards == null || cards.isEmpty()) {
+            return EMPTY;
+        }
+        final int size = cards.size();
+        final Buffer buffer = new Buffer(size + HEADROOM);
+        cards.toArray(buffer.cards);
+        buffer.used = size;
+        return new CardStack(buffer, 0, size);
+    }
+
+    @Override
+    public Card get(final int index) {
+        if (index < 0 || index >= end - start) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + (end - start));
+        }
+        return buffer.cards[start + index];
+    }
+
+    @Override
+    public int size() {
+        return end - start;
+    }
+
+    /**
+     * Returns this stack without its top cards.
+     *
+     * @param numberOfCards the number of cards to remove
+     * @return a stack sharing this one's storage
+     */
+    CardStack pop(final int numberOfCards) {
+        assert numberOfCards >= 0 && numberOfCards <= size();
+        if (numberOfCards == size()) {
+            return EMPTY;
+        }
+        return new CardStack(buffer, start, end - numberOfCards);
+    }
+
+    /**
+     * Returns just the top cards of this stack.
+     *
+     * @param numberOfCards the number of cards to keep
+     * @return a stack sharing this one's storage
+     */
+    CardStack top(final int numberOfCards) {
+        assert numberOfCards >= 0 && numberOfCards <= size();
+        if (numberOfCards == 0) {
+            return EMPTY;
+        }
+        return new CardStack(buffer, end - numberOfCards, end);
+    }
+
+    @Override
+    public CardStack subList(final int fromIndex, final int toIndex) {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex + ", Size: " + size());
+        }
+        if (fromIndex == toIndex) {
+            return EMPTY;
+        }
+        return new CardStack(buffer, start + fromIndex, start + toIndex);
+    }
+
+    /**
+     * Returns this stack with the given card on top.
+     *
+     * @param card the card to add
+     * @return a stack with the card added
+     */
+    CardStack push(final Card card) {
+        final Card[] cards = buffer.cards;
+        if (end < cards.length) {
+            synchronized (buffer) {
+                if (buffer.used == end) {
+                    cards[end] = card;
+                    buffer.used = end + 1;
+                    return new CardStack(buffer, start, end + 1);
+                }
+                if (cards[end] == card) {
+                    return new CardStack(buffer, start, end + 1);
+                }
+            }
+        }
+        final Buffer newBuffer = new Buffer(size() + 1 + HEADROOM);
+        System.arraycopy(cards, start, newBuffer.cards, 0, size());
+        newBuffer.cards[size()] = card;
+        newBuffer.used = size() + 1;
+        return new CardStack(newBuffer, 0, size() + 1);
+    }
+
+    /**
+     * Returns this stack with the given cards on top, in order.
+     *
+     * @param newCards the cards to add
+     * @return a stack with the cards added
+     */
+    CardStack push(final List<Card> newCards) {
+        final int count = newCards.size();
+        final int newEnd = end + count;
+        final Card[] cards = buffer.cards;
+        if (newEnd <= cards.length) {
+            synchronized (buffer) {
+                if (buffer.used == end) {
+                    for (int i = 0; i < count; i++ ) {
+                        cards[end + i] = newCards.get(i);
+                    }
+                    buffer.used = newEnd;
+                    return new CardStack(buffer, start, newEnd);
+                }
+                if (buffer.used >= newEnd && matches(cards, end, newCards)) {
+                    return new CardStack(buffer, start, newEnd);
+                }
+            }
+        }
+        final Buffer newBuffer = new Buffer(size() + count + HEADROOM);
+        System.arraycopy(cards, start, newBuffer.cards, 0, size());
+        for (int i = 0; i < count; i++ ) {
+            newBuffer.cards[size() + i] = newCards.get(i);
+        }
+        newBuffer.used = size() + count;
+        return new CardStack(newBuffer, 0, size() + count);
+    }
+
+    private static boolean matches(final Card[] cards, final int offset, final List<Card> newCards) {
+        for (int i = 0; i < newCards.size(); i++ ) {
+            if (cards[offset + i] != newCards.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        final Card[] cards = buffer.cards;
+        int hashCode = 1;
+        for (int i = start; i < end; i++ ) {
+            hashCode = 31 * hashCode + cards[i].hashCode();
+        }
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj instanceof CardStack) {
+            final CardStack stack = (CardStack) obj;
+            if (size() != stack.size()) {
+                return false;
+            }
+            if (buffer == stack.buffer && start == stack.start) {
+                return true;
+            }
+            final Card[] cards = buffer.cards;
+            final Card[] otherCards = stack.buffer.cards;
+            for (int i = 0; i < size(); i++ ) {
+                final Card card = cards[start + i];
+                final Card otherCard = otherCards[stack.start + i];
+                if (card != otherCard && !card.equals(otherCard)) {
+                    return false;
+                }
+            }
+            return true;
+        } else {
+            return super.equals(obj);
+        }
+    }
+
+}
@@ -1,7 +1,5 @@
 package org.silnith.game.solitaire;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import org.silnith.deck.Card;
@@ -27,9 +25,9 @@ import org.silnith.game.util.Pair;
  */
 public class Column {
     
-    private final List<Card> faceDown;
+    private final CardStack faceDown;
     
-    private final List<Card> faceUp;
+    private final CardStack faceUp;
     
     /**
      * Constructs a new column with the provided face-down and face-up cards.
@@ -38,35 +36,32 @@ public class Column {
      * @param faceUpCards the face-up run of cards
      */
     public Column(final List<Card> faceDownCards, final List<Card> faceUpCards) {
+        this(CardStack.copyOf(faceDownCards), CardStack.copyOf(faceUpCards));
+    }
+    
+    /**
+     * Constructs a new column that shares the storage of the given stacks.
+     * Columns made by moves share everything but the cards that moved with
+     * the column they were made from.
+     * 
+     * @param faceDown the face-down cards
+     * @param faceUp the face-up run of cards
+     */
+    private Column(final CardStack faceDown, final CardStack faceUp) {
         super();
-        if (faceDownCards != null && !faceDownCards.isEmpty()
-        		&& (faceUpCards == null || faceUpCards.isEmpty())) {
+        if (!faceDown.isEmpty() && faceUp.isEmpty()) {
             /*
              * This is the special case where there are face-down cards,
              * but no face-up cards.  This flips the top face-down card
-             * to make it face-up.
+             * to make it face-up.  The flipped card stays where it is in
+             * storage, so cards added later go right after it.
              */
-        	assert faceDownCards.size() >= 1;
-            final int faceDownIndexToFlip = faceDownCards.size() - 1;
-            final Card newTopCard = faceDownCards.get(faceDownIndexToFlip);
-            this.faceDown = new ArrayList<>(faceDownCards.subList(0, faceDownIndexToFlip));
-            this.faceUp = Collections.singletonList(newTopCard);
+            this.faceDown = faceDown.pop(1);
+            this.faceUp = faceDown.top(1);
         } else {
-            if (faceDownCards == null) {
-                this.faceDown = Collections.emptyList();
-            } else {
-            	this.faceDown = new ArrayList<>(faceDownCards);
-            }
-            if (faceUpCards == null) {
-                this.faceUp = Collections.emptyList();
-            } else {
-            	this.faceUp = new ArrayList<>(faceUpCards);
-            }
+            this.faceDown = faceDown;
+            this.faceUp = faceUp;
         }
-        /*
-         * It actually performs significantly better to copy the lists than to
-         * use the provided lists.
-         */
     }
     
     /**
@@ -105,9 +100,18 @@ public class Column {
         return faceUp.size();
     }
     
+    /**
+     * Returns the face-down cards, bottom card first.
+     *
+     * @return the face-down cards
+     */
+    List<Card> getFaceDownCards() {
+        return faceDown;
+    }
+
     /**
      * Returns the face-up cards.
-     * 
+     *
      * <p>If there are more than one, they must obey the rules of a run.</p>
      * 
      * @return the face-up run of cards
@@ -147,9 +151,7 @@ public class Column {
     		throw new IllegalArgumentException("Not enough cards available in the column.");
     	}
     	
-    	final int start = end - numberOfCards;
-    	assert start >= 0;
-    	return faceUp.subList(start, end);
+    	return faceUp.top(numberOfCards);
     }
     
     /**
@@ -163,12 +165,8 @@ public class Column {
     	if (faceUp.isEmpty()) {
     		throw new IllegalArgumentException("No card available in the column.");
     	}
-    	final int end = faceUp.size();
-    	
-    	final int index = end - 1;
-    	assert index >= 0;
-    	final Card card = faceUp.get(index);
-    	final Column newColumn = new Column(faceDown, faceUp.subList(0, index));
+    	final Card card = faceUp.get(faceUp.size() - 1);
+    	final Column newColumn = new Column(faceDown, faceUp.pop(1));
     	return new Pair<>(card, newColumn);
     }
     
@@ -190,10 +188,8 @@ public class Column {
     		throw new IllegalArgumentException("Not enough cards available in the column.");
     	}
     	
-    	final int start = end - numberOfCards;
-    	assert start >= 0;
-    	final List<Card> run = faceUp.subList(start, end);
-    	final Column newColumn = new Column(faceDown, faceUp.subList(0, start));
+    	final List<Card> run = faceUp.top(numberOfCards);
+    	final Column newColumn = new Column(faceDown, faceUp.pop(numberOfCards));
     	return new Pair<>(run, newColumn);
     }
     
@@ -208,9 +204,7 @@ public class Column {
         if (newCards == null || newCards.isEmpty()) {
             throw new IllegalArgumentException();
         }
-        final List<Card> newFaceUp = new ArrayList<>(faceUp);
-        newFaceUp.addAll(newCards);
-        return new Column(faceDown, newFaceUp);
+        return new Column(faceDown, faceUp.push(newCards));
     }
     
     /**
@@ -224,9 +218,7 @@ public class Column {
         if (newCard == null) {
             throw new IllegalArgumentException();
         }
-        final List<Card> newFaceUp = new ArrayList<>(faceUp);
-        newFaceUp.add(newCard);
-        return new Column(faceDown, newFaceUp);
+        return new Column(faceDown, faceUp.push(newCard));
     }
     
     /**
@@ -267,6 +259,9 @@ public class Column {
     
     @Override
     public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
         if (obj instanceof Column) {
             final Column column = (Column) obj;
             if (faceDown.size() != column.faceDown.size()) {
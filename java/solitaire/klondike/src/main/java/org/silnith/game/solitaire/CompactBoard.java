@@ -0,0 +1,672 @@
+package org.silnith.game.solitaire;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.silnith.deck.Card;
+import org.silnith.deck.Suit;
+import org.silnith.deck.Value;
+
+
+/**
+ * A Klondike solitaire board packed into a single small byte array.
+ *
+ * <p>A {@link Board} is a graph of dozens of objects.  This holds exactly
+ * the same state in one array of at most about seventy bytes, which makes it
+ * a much better fit for anything that keeps many boards alive at once, such
+ * as a search frontier or a transposition table.  Every card is stored as a
+ * single byte holding its {@link Card#ordinal() ordinal}.  The foundation is
+ * stored as just the number of cards for each suit, since the cards in it are
+ * always the ace up to some value.</p>
+ *
+ * <p>The array holds a header followed by the cards:</p>
+ * <ol>
+ * <li>the number of columns</li>
+ * <li>the stock pile index</li>
+ * <li>the stock pile size</li>
+ * <li>the foundation size for each suit, in {@link Suit} order</li>
+ * <li>the number of face-down and face-up cards for each column</li>
+ * <li>the face-down then face-up cards of each column, bottom card first</li>
+ * <li>the stock pile cards</li>
+ * </ol>
+ *
+ * <p>The query methods match those of {@link Board}.  Methods that return
+ * columns, lists, or maps build them on every call, so code that cares about
+ * speed should prefer the methods that take a column index.  Moves produce
+ * compact boards directly with
+ * {@link org.silnith.game.solitaire.move.SolitaireMove#applyCompact(CompactBoard)},
+ * without building a {@code Board} in between.</p>
+ *
+ * <p>{@link Klondike#getBoardCompactor()} uses these to hold the older boards
+ * of queued game state histories in
+ * {@link org.silnith.game.search.HistoryMode#COMPACT_BOARDS} searches.</p>
+ */
+public final class CompactBoard {
+
+    private static final int NUMBER_OF_COLUMNS = 0;
+
+    private static final int STOCK_PILE_INDEX = 1;
+
+    private static final int STOCK_PILE_SIZE = 2;
+
+    private static final int FOUNDATION = 3;
+
+    private static final int COLUMN_SIZES = FOUNDATION + 4;
+
+    private static final int CARDS_PER_SUIT = Value.values().length;
+
+    /**
+     * Every card, indexed by its ordinal.
+     */
+    private static final Card[] CARDS;
+
+    static {
+        CARDS = new Card[Card.NUMBER_OF_CARDS];
+        for (int i = 0; i < CARDS.length; i++ ) {
+            CARDS[i] = Card.of(i);
+        }
+    }
+
+    private final byte[] bytes;
+
+    /**
+     * The cached hash code, or {@code 0} if it has not been computed.
+     */
+    private int hash;
+
+    private CompactBoard(final byte[] bytes) {
+        super();
+        this.bytes = bytes;
+    }
+
+    private static byte encode(final Card card) {
+        return (byte) card.ordinal();
+    }
+
+    private static Card decode(final byte code) {
+        return CARDS[code];
+    }
+
+    /**
+     * Packs the given board.
+     *
+     * @param board the board to pack
+     * @return a compact board equal to the given board
+     */
+    public static CompactBoard valueOf(final Board board) {
+        final List<Column> columns = board.getColumns();
+        final int numberOfColumns = columns.size();
+        int length = COLUMN_SIZES + 2 * numberOfColumns + board.getStockPile().size();
+        for (final Column column : columns) {
+            length += column.getNumberOfFaceDownCards() + column.getNumberOfFaceUpCards();
+        }
+        final byte[] bytes = new byte[length];
+        bytes[NUMBER_OF_COLUMNS] = (byte) numberOfColumns;
+        bytes[STOCK_PILE_INDEX] = (byte) board.getStockPileIndex();
+        bytes[STOCK_PILE_SIZE] = (byte) board.getStockPile().size();
+        for (final Suit suit : Suit.values()) {
+            bytes[FOUNDATION + suit.ordinal()] = (byte) board.getFoundationSize(suit);
+        }
+        int offset = COLUMN_SIZES + 2 * numberOfColumns;
+        for (int i = 0; i < numberOfColumns; i++ ) {
+            final Column column = columns.get(i);
+            bytes[COLUMN_SIZES + 2 * i] = (byte) column.getNumberOfFaceDownCards();
+            bytes[COLUMN_SIZES + 2 * i + 1] = (byte) column.getNumberOfFaceUpCards();
+            for (final Card card : column.getFaceDownCards()) {
+                bytes[offset++ ] = encode(card);
+            }
+            for (final Card card : column.getFaceUpCards()) {
+                bytes[offset++ ] = encode(card);
+            }
+        }
+        for (final Card card : board.getStockPile()) {
+            bytes[offset++ ] = encode(card);
+        }
+        return new CompactBoard(bytes);
+    }
+
+    /**
+     * Deals the given deck of cards into a new board, the same way a
+     * {@link org.silnith.game.solitaire.move.DealMove} does.
+     *
+     * @param cards the deck of cards to deal
+     * @param numberOfColumns the number of columns to deal
+     * @return the newly dealt board
+     * @throws IllegalArgumentException if there are not enough cards to deal
+     */
+    public static CompactBoard deal(final List<Card> cards, final int numberOfColumns) {
+        final int dealt = numberOfColumns * (numberOfColumns + 1) / 2;
+        if (cards.size() < dealt) {
+            throw new IllegalArgumentException("Not enough cards to deal.");
+        }
+        final byte[] bytes = new byte[COLUMN_SIZES + 2 * numberOfColumns + cards.size()];
+        bytes[NUMBER_OF_COLUMNS] = (byte) numberOfColumns;
+        bytes[STOCK_PILE_INDEX] = 0;
+        bytes[STOCK_PILE_SIZE] = (byte) (cards.size() - dealt);
+        /*
+         * Cards are dealt across the columns one row at a time, so card j of
+         * column i is card number j * n - j * (j - 1) / 2 + (i - j) in the deck.
+         */
+        int offset = COLUMN_SIZES + 2 * numberOfColumns;
+        for (int i = 0; i < numberOfColumns; i++ ) {
+            bytes[COLUMN_SIZES + 2 * i] = (byte) i;
+            bytes[COLUMN_SIZES + 2 * i + 1] = 1;
+            for (int j = 0; j <= i; j++ ) {
+                final int deckIndex = j * numberOfColumns - j * (j - 1) / 2 + (i - j);
+                bytes[offset++ ] = encode(cards.get(deckIndex));
+            }
+        }
+        for (int k = dealt; k < cards.size(); k++ ) {
+            bytes[offset++ ] = encode(cards.get(k));
+        }
+        return new CompactBoard(bytes);
+    }
+
+    /**
+     * Unpacks this into a regular board.
+     *
+     * @return a board equal to this one
+     */
+    public Board toBoard() {
+        return new Board(getColumns(), getStockPile(), getStockPileIndex(), getFoundation());
+    }
+
+    /**
+     * Returns the number of bytes this board is packed into.
+     *
+     * @return the length of the packed board
+     */
+    public int getPackedLength() {
+        return bytes.length;
+    }
+
+    /**
+     * Returns the number of columns on the board.
+     *
+     * @return the number of columns
+     */
+    public int getNumberOfColumns() {
+        return bytes[NUMBER_OF_COLUMNS];
+    }
+
+    /**
+     * Returns the number of face-down cards in the given column.
+     *
+     * @param index the index of the column
+     * @return the number of face-down cards
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public int getNumberOfFaceDownCards(final int index) {
+        checkColumnIndex(index);
+        return bytes[COLUMN_SIZES + 2 * index];
+    }
+
+    /**
+     * Returns the number of face-up cards in the given column.
+     *
+     * @param index the index of the column
+     * @return the number of face-up cards
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public int getNumberOfFaceUpCards(final int index) {
+        checkColumnIndex(index);
+        return bytes[COLUMN_SIZES + 2 * index + 1];
+    }
+
+    /**
+     * Returns {@code true} if the given column has any face-down cards.
+     *
+     * @param index the index of the column
+     * @return {@code true} if the column has any face-down cards
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public boolean hasFaceDownCards(final int index) {
+        return getNumberOfFaceDownCards(index) > 0;
+    }
+
+    /**
+     * Returns {@code true} if the given column has any face-up cards.
+     *
+     * @param index the index of the column
+     * @return {@code true} if the column has any face-up cards
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public boolean hasFaceUpCards(final int index) {
+        return getNumberOfFaceUpCards(index) > 0;
+    }
+
+    /**
+     * Returns the top face-up card of the given column.
+     *
+     * @param index the index of the column
+     * @return the top card of the column
+     * @throws IndexOutOfBoundsException if the index is out of bounds, or
+     *         the column is empty
+     */
+    public Card getTopCard(final int index) {
+        if (!hasFaceUpCards(index)) {
+            throw new IndexOutOfBoundsException("Column " + index + " is empty.");
+        }
+        return decode(bytes[columnEnd(index) - 1]);
+    }
+
+    /**
+     * Returns the face-up cards of the given column, bottom card first.
+     *
+     * @param index the index of the column
+     * @return the face-up cards
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public List<Card> getFaceUpCards(final int index) {
+        final int end = columnEnd(index);
+        return decode(end - getNumberOfFaceUpCards(index), end);
+    }
+
+    /**
+     * Returns the given column.
+     *
+     * @param index the index of the column
+     * @return the column
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public Column getColumn(final int index) {
+        final int start = columnStart(index);
+        final int faceDownEnd = start + getNumberOfFaceDownCards(index);
+        return new Column(decode(start, faceDownEnd), decode(faceDownEnd, faceDownEnd + getNumberOfFaceUpCards(index)));
+    }
+
+    /**
+     * Returns the columns.
+     *
+     * @return the columns
+     */
+    public List<Column> getColumns() {
+        final int numberOfColumns = getNumberOfColumns();
+        final List<Column> columns = new ArrayList<>(numberOfColumns);
+        for (int i = 0; i < numberOfColumns; i++ ) {
+            columns.add(getColumn(i));
+        }
+        return columns;
+    }
+
+    /**
+     * Returns the stock pile.
+     *
+     * @return the stock pile
+     */
+    public List<Card> getStockPile() {
+        final int start = stockPileStart();
+        return decode(start, start + getStockPileSize());
+    }
+
+    /**
+     * Returns the number of cards in the stock pile.
+     *
+     * @return the size of the stock pile
+     */
+    public int getStockPileSize() {
+        return bytes[STOCK_PILE_SIZE];
+    }
+
+    /**
+     * Returns the current index into the stock pile.
+     *
+     * @return the number of cards that have been advanced
+     * @see Board#getStockPileIndex()
+     */
+    public int getStockPileIndex() {
+        return bytes[STOCK_PILE_INDEX];
+    }
+
+    /**
+     * Returns the foundation.
+     *
+     * @return the foundation
+     */
+    public Map<Suit, List<Card>> getFoundation() {
+        final Map<Suit, List<Card>> foundation = new EnumMap<>(Suit.class);
+        for (final Suit suit : Suit.values()) {
+            final int size = getFoundationSize(suit);
+            if (size == 0) {
+                foundation.put(suit, Collections.<Card>emptyList());
+            } else {
+                final int first = Card.of(Value.ACE, suit).ordinal();
+                foundation.put(suit, Collections.unmodifiableList(Arrays.asList(CARDS).subList(first, first + size)));
+            }
+        }
+        return foundation;
+    }
+
+    /**
+     * Returns the number of cards on the foundation for the given suit.
+     *
+     * @param suit the suit
+     * @return the number of cards of the suit on the foundation
+     */
+    public int getFoundationSize(final Suit suit) {
+        return bytes[FOUNDATION + suit.ordinal()];
+    }
+
+    /**
+     * Returns {@code true} if every card is on the foundation.
+     *
+     * @return {@code true} if the board is won
+     */
+    public boolean isFoundationComplete() {
+        for (final Suit suit : Suit.values()) {
+            if (getFoundationSize(suit) < CARDS_PER_SUIT) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if the stock pile can be advanced.
+     *
+     * @return {@code true} if the stock pile can be advanced
+     * @see Board#canAdvanceStockPile()
+     */
+    public boolean canAdvanceStockPile() {
+        return getStockPileIndex() < getStockPileSize();
+    }
+
+    /**
+     * Returns {@code true} if the stock pile can be recycled.
+     *
+     * @return {@code true} if the stock pile can be recycled
+     * @see Board#canRecycleStockPile()
+     */
+    public boolean canRecycleStockPile() {
+        return getStockPileSize() > 0 && getStockPileIndex() >= getStockPileSize();
+    }
+
+    /**
+     * Returns the current card that can be drawn from the stock pile.
+     *
+     * @return the current card available from the stock pile
+     * @throws IndexOutOfBoundsException if no card is available
+     *         to be drawn from the stock pile
+     */
+    public Card getStockPileCard() {
+        return decode(bytes[stockPileCardPosition()]);
+    }
+
+    /**
+     * Returns the top card on the foundation for the given suit.
+     *
+     * @param suit the suit
+     * @return the current top card for the suit in the foundation
+     * @throws IndexOutOfBoundsException if the foundation has no cards for the given suit
+     */
+    public Card getTopOfFoundation(final Suit suit) {
+        final int size = getFoundationSize(suit);
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("No cards on the foundation for " + suit + ".");
+        }
+        return CARDS[Card.of(Value.ACE, suit).ordinal() + size - 1];
+    }
+
+    /**
+     * Returns whether it would be legal to add the given card to the foundation.
+     *
+     * @param card the card to check
+     * @return {@code true} if it is legal to add the card to the foundation
+     */
+    public boolean canAddToFoundation(final Card card) {
+        return card.getValue().getValue() == 1 + getFoundationSize(card.getSuit());
+    }
+
+    /**
+     * Returns a copy of this board with the stock pile index changed.
+     *
+     * @param stockPileIndex the new stock pile index
+     * @return the new board
+     * @throws IllegalArgumentException if the index is outside of the stock pile
+     */
+    public CompactBoard withStockPileIndex(final int stockPileIndex) {
+        if (stockPileIndex < 0 || stockPileIndex > getStockPileSize()) {
+            throw new IllegalArgumentException("Stock pile index outside of stock pile.");
+        }
+        final byte[] newBytes = bytes.clone();
+        newBytes[STOCK_PILE_INDEX] = (byte) stockPileIndex;
+        return new CompactBoard(newBytes);
+    }
+
+    /**
+     * Returns a copy of this board with the current stock pile card moved to
+     * the top of the given column.  This does no validation that the move is
+     * legal.
+     *
+     * @param index the index of the destination column
+     * @return the new board
+     * @throws IndexOutOfBoundsException if no card is available to be drawn
+     *         from the stock pile, or the column index is out of bounds
+     */
+    public CompactBoard withStockPileCardToColumn(final int index) {
+        final int from = stockPileCardPosition();
+        final byte[] newBytes = moveCards(from, 1, columnEnd(index));
+        newBytes[STOCK_PILE_INDEX]-- ;
+        newBytes[STOCK_PILE_SIZE]-- ;
+        newBytes[COLUMN_SIZES + 2 * index + 1]++ ;
+        return new CompactBoard(newBytes);
+    }
+
+    /**
+     * Returns a copy of this board with the current stock pile card moved to
+     * the foundation.  This does no validation that the move is legal.
+     *
+     * @return the new board
+     * @throws IndexOutOfBoundsException if no card is available to be drawn
+     *         from the stock pile
+     */
+    public CompactBoard withStockPileCardToFoundation() {
+        final int from = stockPileCardPosition();
+        final Suit suit = decode(bytes[from]).getSuit();
+        final byte[] newBytes = remove(from);
+        newBytes[STOCK_PILE_INDEX]-- ;
+        newBytes[STOCK_PILE_SIZE]-- ;
+        newBytes[FOUNDATION + suit.ordinal()]++ ;
+        return new CompactBoard(newBytes);
+    }
+
+    /**
+     * Returns a copy of this board with the top card of the given column
+     * moved to the foundation.  If that leaves the column with only
+     * face-down cards, the top one is turned face up.  This does no
+     * validation that the move is legal.
+     *
+     * @param index the index of the source column
+     * @return the new board
+     * @throws IndexOutOfBoundsException if the column index is out of
+     *         bounds, or the column is empty
+     */
+    public CompactBoard withColumnCardToFoundation(final int index) {
+        final Suit suit = getTopCard(index).getSuit();
+        final byte[] newBytes = remove(columnEnd(index) - 1);
+        newBytes[COLUMN_SIZES + 2 * index + 1]-- ;
+        flip(newBytes, index);
+        newBytes[FOUNDATION + suit.ordinal()]++ ;
+        return new CompactBoard(newBytes);
+    }
+
+    /**
+     * Returns a copy of this board with the top card of the foundation for
+     * the given suit moved to the top of the given column.  This does no
+     * validation that the move is legal.
+     *
+     * @param suit the suit of the foundation to take the card from
+     * @param index the index of the destination column
+     * @return the new board
+     * @throws IndexOutOfBoundsException if the foundation has no cards for
+     *         the given suit, or the column index is out of bounds
+     */
+    public CompactBoard withFoundationCardToColumn(final Suit suit, final int index) {
+        final Card card = getTopOfFoundation(suit);
+        final byte[] newBytes = insert(columnEnd(index), encode(card));
+        newBytes[FOUNDATION + suit.ordinal()]-- ;
+        newBytes[COLUMN_SIZES + 2 * index + 1]++ ;
+        return new CompactBoard(newBytes);
+    }
+
+    /**
+     * Returns a copy of this board with the given number of cards moved from
+     * the top of one column to the top of another.  If that leaves the
+     * source column with only face-down cards, the top one is turned face
+     * up.  This does no validation that the move is legal.
+     *
+     * @param sourceIndex the index of the source column
+     * @param destinationIndex the index of the destination column
+     * @param numberOfCards the number of cards to move
+     * @return the new board
+     * @throws IllegalArgumentException if the number of cards is not
+     *         positive, or exceeds the face-up cards of the source column
+     * @throws IndexOutOfBoundsException if either column index is out of bounds
+     */
+    public CompactBoard withRunMoved(final int sourceIndex, final int destinationIndex, final int numberOfCards) {
+        if (numberOfCards < 1 || numberOfCards > getNumberOfFaceUpCards(sourceIndex)) {
+            throw new IllegalArgumentException("Cannot move " + numberOfCards + " cards from column " + sourceIndex + ".");
+        }
+        if (sourceIndex == destinationIndex) {
+            throw new IllegalArgumentException("Source and destination column are the same.");
+        }
+        final byte[] newBytes = moveCards(columnEnd(sourceIndex) - numberOfCards, numberOfCards, columnEnd(destinationIndex));
+        newBytes[COLUMN_SIZES + 2 * sourceIndex + 1] -= numberOfCards;
+        flip(newBytes, sourceIndex);
+        newBytes[COLUMN_SIZES + 2 * destinationIndex + 1] += numberOfCards;
+        return new CompactBoard(newBytes);
+    }
+
+    /**
+     * Turns the top face-down card of a column face up, if the column has
+     * no face-up cards.  The cards themselves do not move.
+     */
+    private static void flip(final byte[] bytes, final int index) {
+        final int faceDown = COLUMN_SIZES + 2 * index;
+        if (bytes[faceDown + 1] == 0 && bytes[faceDown] > 0) {
+            bytes[faceDown]-- ;
+            bytes[faceDown + 1] = 1;
+        }
+    }
+
+    private void checkColumnIndex(final int index) {
+        if (index < 0 || index >= getNumberOfColumns()) {
+            throw new IndexOutOfBoundsException("Column index: " + index);
+        }
+    }
+
+    private int cardsStart() {
+        return COLUMN_SIZES + 2 * getNumberOfColumns();
+    }
+
+    private int columnStart(final int index) {
+        checkColumnIndex(index);
+        int position = cardsStart();
+        for (int i = 0; i < index; i++ ) {
+            position += bytes[COLUMN_SIZES + 2 * i] + bytes[COLUMN_SIZES + 2 * i + 1];
+        }
+        return position;
+    }
+
+    private int columnEnd(final int index) {
+        return columnStart(index) + bytes[COLUMN_SIZES + 2 * index] + bytes[COLUMN_SIZES + 2 * index + 1];
+    }
+
+    private int stockPileStart() {
+        return bytes.length - getStockPileSize();
+    }
+
+    private int stockPileCardPosition() {
+        final int stockPileIndex = getStockPileIndex();
+        if (stockPileIndex == 0) {
+            throw new IndexOutOfBoundsException("No stock pile card is available.");
+        }
+        return stockPileStart() + stockPileIndex - 1;
+    }
+
+    private List<Card> decode(final int start, final int end) {
+        final List<Card> cards = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++ ) {
+            cards.add(decode(bytes[i]));
+        }
+        return cards;
+    }
+
+    /**
+     * Returns a copy of the bytes with the cards starting at one position
+     * moved to just before another position.  Both positions are in terms
+     * of the original bytes.
+     */
+    private byte[] moveCards(final int from, final int count, final int to) {
+        final byte[] newBytes = new byte[bytes.length];
+        if (to <= from) {
+            System.arraycopy(bytes, 0, newBytes, 0, to);
+            System.arraycopy(bytes, from, newBytes, to, count);
+            System.arraycopy(bytes, to, newBytes, to + count, from - to);
+            System.arraycopy(bytes, from + count, newBytes, from + count, bytes.length - from - count);
+        } else {
+            System.arraycopy(bytes, 0, newBytes, 0, from);
+            System.arraycopy(bytes, from + count, newBytes, from, to - from - count);
+            System.arraycopy(bytes, from, newBytes, to - count, count);
+            System.arraycopy(bytes, to, newBytes, to, bytes.length - to);
+        }
+        return newBytes;
+    }
+
+    private byte[] remove(final int position) {
+        final byte[] newBytes = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 0, newBytes, 0, position);
+        System.arraycopy(bytes, position + 1, newBytes, position, bytes.length - position - 1);
+        return newBytes;
+    }
+
+    private byte[] insert(final int position, final byte code) {
+        final byte[] newBytes = new byte[bytes.length + 1];
+        System.arraycopy(bytes, 0, newBytes, 0, position);
+        newBytes[position] = code;
+        System.arraycopy(bytes, position, newBytes, position + 1, bytes.length - position);
+        return newBytes;
+    }
+
+    /**
+     * Prints an ASCII art representation of the board to the given output stream.
+     *
+     * @param out the output stream
+     * @see Board#printTo(PrintStream)
+     */
+    public void printTo(final PrintStream out) {
+        toBoard().printTo(out);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = Arrays.hashCode(bytes);
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj instanceof CompactBoard) {
+            final CompactBoard board = (CompactBoard) obj;
+            return Arrays.equals(bytes, board.bytes);
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CompactBoard {columns: " + getColumns() + ", stockPile: " + getStockPile() + ", stockPileIndex: "
+                + getStockPileIndex() + ", foundation: " + getFoundation() + "}";
+    }
+
+}
@@ -1,5 +1,11 @@
 package org.silnith.game.solitaire;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -14,21 +20,38 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import org.silnith.deck.Card;
 import org.silnith.deck.Suit;
 import org.silnith.deck.Value;
+import org.silnith.game.BoardCompactor;
 import org.silnith.game.Game;
 import org.silnith.game.GameState;
 import org.silnith.game.move.MoveFilter;
+import org.silnith.game.move.MoveSink;
+import org.silnith.game.search.BestFirstSearch;
+import org.silnith.game.search.ForkJoinDepthFirstSearch;
 import org.silnith.game.search.GameTreeSearcher;
+import org.silnith.game.search.HistoryMode;
+import org.silnith.game.search.IterativeDeepeningSearch;
+import org.silnith.game.search.MakeUnmakeDepthFirstSearch;
+import org.silnith.game.search.SearchCheckpoint;
+import org.silnith.game.search.SearchMode;
+import org.silnith.game.search.SearchStatistics;
 import org.silnith.game.search.SequentialDepthFirstSearch;
+import org.silnith.game.search.SpillingFrontier;
+import org.silnith.game.search.StackFrontier;
+import org.silnith.game.search.TranspositionTable;
 import org.silnith.game.search.WorkerThreadDepthFirstSearch;
 import org.silnith.game.solitaire.move.ColumnToColumnMove;
 import org.silnith.game.solitaire.move.ColumnToFoundationMove;
 import org.silnith.game.solitaire.move.DealMove;
 import org.silnith.game.solitaire.move.FoundationToColumnMove;
 import org.silnith.game.solitaire.move.SolitaireMove;
+import org.silnith.game.solitaire.move.SolitaireMoveCodec;
 import org.silnith.game.solitaire.move.StockPileAdvanceMove;
 import org.silnith.game.solitaire.move.StockPileRecycleMove;
 import org.silnith.game.solitaire.move.StockPileToColumnMove;
@@ -49,9 +72,14 @@ import org.silnith.game.util.LinkedNode;
  */
 public class Klondike implements Game<SolitaireMove, Board> {
 
+    /**
+     * The maximum number of moves in any game searched.
+     */
+    private static final int MOVE_CAP = 150;
+
     // RunMove cannot follow stock pile advance or recycle.
     private static final Collection<SolitaireMoveFilter> filters = Arrays.asList(
-            new MoveCapFilter(150),
+            new MoveCapFilter(MOVE_CAP),
             new KingMoveMustExposeFaceDownCardFilter(),
             new StockPileRecycleMustBeFollowedByAdvanceFilter(),
             new StockPileAdvanceMustBeFollowedBySomethingUsefulFilter(),
@@ -60,6 +88,47 @@ public class Klondike implements Game<SolitaireMove, Board> {
             new RunMoveMustBeFollowedBySomethingUsefulFilter(),
             new BoardCycleFilter());
 
+    /**
+     * Packs boards into {@link CompactBoard}s, which take a small fraction of
+     * the memory of a {@link Board}.
+     */
+    private static final BoardCompactor<Board, CompactBoard> BOARD_COMPACTOR =
+            new BoardCompactor<Board, CompactBoard>() {
+
+                @Override
+                public CompactBoard compact(final Board board) {
+                    return CompactBoard.valueOf(board);
+                }
+
+                @Override
+                public Board expand(final CompactBoard compactBoard) {
+                    return compactBoard.toBoard();
+                }
+
+            };
+
+    /**
+     * The number of boards to remember when detecting transpositions.
+     */
+    private static final int TRANSPOSITION_TABLE_CAPACITY = 1 << 22;
+
+    /**
+     * Whether the searches run by {@link #main(String[])} detect
+     * transpositions.
+     * 
+     * <p>This is off, because the filters of this game depend on the path to
+     * a board and not just the board.  For instance, a draw from the stock
+     * pile is only allowed if the stock pile was advanced since the last move
+     * that did not draw, so the same board reached by an advance followed by
+     * a column move, and by the column move followed by the advance, allows
+     * different moves.  A transposition table would prune whichever of them
+     * is reached second, and can lose wins or report a winnable deal as
+     * unwinnable.  Turn it on only to trade completeness for speed.</p>
+     * 
+     * @see TranspositionTable
+     */
+    private static final boolean DETECT_TRANSPOSITIONS = false;
+
 	/**
 	 * The number of columns on the board.
 	 * 
@@ -116,12 +185,7 @@ public class Klondike implements Game<SolitaireMove, Board> {
      * @return {@code true} if the board represents a win
      */
 	public boolean isWin(final Board board) {
-		for (final Suit suit : Suit.values()) {
-			if (board.getFoundation().get(suit).size() < Value.values().length) {
-				return false;
-			}
-		}
-		return true;
+		return board.isFoundationComplete();
 	}
 
 	/**
@@ -147,26 +211,181 @@ public class Klondike implements Game<SolitaireMove, Board> {
 	 */
 	public Collection<SolitaireMove> findAllMoves(final Board board) {
 		final Collection<SolitaireMove> moves = new ArrayList<>();
-		moves.addAll(StockPileRecycleMove.findMoves(board));
-		moves.addAll(StockPileAdvanceMove.findMoves(drawAdvance, board));
-		moves.addAll(FoundationToColumnMove.findMoves(board));
-		moves.addAll(ColumnToColumnMove.findMoves(board));
-		moves.addAll(StockPileToColumnMove.findMoves(board));
-		moves.addAll(ColumnToFoundationMove.findMoves(board));
-		moves.addAll(StockPileToFoundationMove.findMoves(board));
+		findAllMoves(board, moves);
 		return moves;
 	}
 
+	/**
+	 * Adds all the legal moves for the given board to the given collection,
+	 * in the same order as {@link #findAllMoves(Board, MoveSink)}.
+	 * 
+	 * @param board the board to examine for legal moves
+	 * @param moves the collection to add the legal moves to
+	 */
+	public void findAllMoves(final Board board, final Collection<? super SolitaireMove> moves) {
+		findAllMoves(board, move -> {
+			moves.add(move);
+			return true;
+		});
+	}
+
+	/**
+	 * Passes all the legal moves for the given board to the given sink, and
+	 * stops as soon as the sink returns {@code false}.
+	 * 
+	 * <p>The moves are the same, and in the same order, as if the
+	 * {@code findMoves} methods of the move classes were called one after
+	 * another: stock pile recycles, stock pile advances, foundation to column,
+	 * column to column, stock pile to column, column to foundation, and stock
+	 * pile to foundation.  But each column, the foundation, and the stock
+	 * pile card are only read from the board once, and the moves go straight
+	 * to the sink, so no collections are created.</p>
+	 * 
+	 * @param board the board to examine for legal moves
+	 * @param sink the sink to pass the legal moves to
+	 * @return {@code true} if every move was passed to the sink, {@code false}
+	 *         if the sink stopped generation early
+	 */
+	public boolean findAllMoves(final Board board, final MoveSink<? super SolitaireMove> sink) {
+		final List<Column> columns = board.getColumns();
+		final int numberOfColumns = columns.size();
+		/*
+		 * The face-up cards of each column, or null if it has none.
+		 */
+		final Card[] topCards = new Card[numberOfColumns];
+		final Card[] bottomCards = new Card[numberOfColumns];
+		final int[] runLengths = new int[numberOfColumns];
+		for (int i = 0; i < numberOfColumns; i++ ) {
+			final Column column = columns.get(i);
+			if (column.hasFaceUpCards()) {
+				final List<Card> run = column.getFaceUpCards();
+				runLengths[i] = run.size();
+				bottomCards[i] = run.get(0);
+				topCards[i] = run.get(runLengths[i] - 1);
+			}
+		}
+		final int foundation = board.getPackedFoundation();
+		final int stockPileSize = board.getStockPile().size();
+		final int stockPileIndex = board.getStockPileIndex();
+		final Card stockPileCard;
+		if (stockPileIndex > 0) {
+			stockPileCard = board.getStockPileCard();
+		} else {
+			stockPileCard = null;
+		}
+
+		if (stockPileSize > 0 && stockPileIndex >= stockPileSize) {
+			if ( !sink.accept(new StockPileRecycleMove(stockPileIndex))) {
+				return false;
+			}
+		}
+		if (stockPileIndex < stockPileSize) {
+			if ( !sink.accept(new StockPileAdvanceMove(stockPileIndex, drawAdvance))) {
+				return false;
+			}
+		}
+		for (final Suit suit : Suit.values()) {
+			if (PackedFoundation.size(foundation, suit) > 0) {
+				final Card card = PackedFoundation.getTop(foundation, suit);
+				for (int i = 0; i < numberOfColumns; i++ ) {
+					if (canPlay(topCards[i], card)) {
+						if ( !sink.accept(new FoundationToColumnMove(i, card))) {
+							return false;
+						}
+					}
+				}
+			}
+		}
+		for (int source = 0; source < numberOfColumns; source++ ) {
+			if (runLengths[source] == 0) {
+				continue;
+			}
+			final int minimumValue = topCards[source].getValue().getValue();
+			final int maximumValue = bottomCards[source].getValue().getValue();
+			for (int destination = 0; destination < numberOfColumns; destination++ ) {
+				if (source == destination) {
+					continue;
+				}
+				final Card destinationTopCard = topCards[destination];
+				if (destinationTopCard != null) {
+					final int startValue = destinationTopCard.getValue().getValue() - 1;
+					if (minimumValue <= startValue && maximumValue >= startValue) {
+						final List<Card> run = columns.get(source).getTopCards(startValue - minimumValue + 1);
+						if (destinationTopCard.getColor() != run.get(0).getColor()) {
+							if ( !sink.accept(new ColumnToColumnMove(source, destination, run))) {
+								return false;
+							}
+						}
+					}
+				} else if (bottomCards[source].getValue() == Value.KING) {
+					if ( !sink.accept(new ColumnToColumnMove(source, destination, columns.get(source).getFaceUpCards()))) {
+						return false;
+					}
+				}
+			}
+		}
+		if (stockPileCard != null) {
+			for (int i = 0; i < numberOfColumns; i++ ) {
+				if (canPlay(topCards[i], stockPileCard)) {
+					if ( !sink.accept(new StockPileToColumnMove(stockPileIndex, i, stockPileCard))) {
+						return false;
+					}
+				}
+			}
+		}
+		for (int i = 0; i < numberOfColumns; i++ ) {
+			if (topCards[i] != null && PackedFoundation.canAdd(foundation, topCards[i])) {
+				if ( !sink.accept(new ColumnToFoundationMove(i, topCards[i]))) {
+					return false;
+				}
+			}
+		}
+		if (stockPileCard != null && PackedFoundation.canAdd(foundation, stockPileCard)) {
+			if ( !sink.accept(new StockPileToFoundationMove(stockPileIndex, stockPileCard))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns whether a card may be played on a column with the given top
+	 * card.  This is the same test as {@link Column#canAddRun(List)}.
+	 * 
+	 * @param topCard the top face-up card of the column, or {@code null} if
+	 *         the column has no face-up cards
+	 * @param card the card to play
+	 * @return {@code true} if the card may be played on the column
+	 */
+	private static boolean canPlay(final Card topCard, final Card card) {
+		if (topCard == null) {
+			return card.getValue() == Value.KING;
+		}
+		return topCard.getValue().getValue() == 1 + card.getValue().getValue()
+				&& topCard.getColor() != card.getColor();
+	}
+
 	@Override
 	public Collection<SolitaireMove> findAllMoves(final List<GameState<SolitaireMove, Board>> state) {
 		return findAllMoves(state.get(0).getBoard());
 	}
 
+	@Override
+	public boolean findAllMoves(final List<GameState<SolitaireMove, Board>> state,
+			final MoveSink<? super SolitaireMove> sink) {
+		return findAllMoves(state.get(0).getBoard(), sink);
+	}
+
 	@Override
 	public Collection<? extends MoveFilter<SolitaireMove, Board>> getFilters() {
 		return filters;
 	}
 
+    @Override
+    public BoardCompactor<Board, CompactBoard> getBoardCompactor() {
+        return BOARD_COMPACTOR;
+    }
+
 	/**
 	 * A main program entry point that generates a random deck of cards,
 	 * then deals a game of Klondike solitaire from it and runs the search
@@ -179,7 +398,7 @@ public class Klondike implements Game<SolitaireMove, Board> {
 		final List<Card> deck = new ArrayList<>(52);
 		for (final Suit suit : Suit.values()) {
 			for (final Value value : Value.values()) {
-				deck.add(new Card(value, suit));
+				deck.add(Card.of(value, suit));
 			}
 		}
 		Collections.shuffle(deck);
@@ -201,6 +420,15 @@ public class Klondike implements Game<SolitaireMove, Board> {
 		sequentialDFS(klondike, initialState);
 		//parallelDFS(klondike, initialState, Math.max(availableProcessors - 2, 1));
 		//parallelDFS(klondike, initialState, 1);
+		//forkJoinDFS(klondike, initialState, availableProcessors);
+		//forkJoinDFS(klondike, initialState, availableProcessors, SearchMode.FIRST_WIN);
+		//parallelDFS(klondike, initialState, availableProcessors, SearchMode.SHORTEST_WIN);
+		//bestFirst(klondike, initialState, 2.0);
+		//iterativeDeepeningDFS(klondike, initialState, 10);
+		//resumableDFS(klondike, initialState, availableProcessors, Paths.get("klondike.checkpoint"), 60);
+		//spillingDFS(klondike, initialState, availableProcessors, Paths.get(System.getProperty("java.io.tmpdir")), 1_000_000);
+		//makeUnmakeDFS(klondike, initialState, MOVE_CAP);
+		//recentBoardsDFS(klondike, initialState);
 		
 		System.out.println("Finished.");
 	}
@@ -293,72 +521,257 @@ public class Klondike implements Game<SolitaireMove, Board> {
     @SuppressWarnings("unused")
 	private static void sequentialDFS(final Game<SolitaireMove, Board> game,
 			final GameState<SolitaireMove, Board> initialState) throws Exception {
-        final ExecutorService executor = Executors.newSingleThreadExecutor();
-		try (final GameTreeSearcher<SolitaireMove, Board> searcher = new SequentialDepthFirstSearch<>(game, initialState)) {
-		    final Future<Collection<List<GameState<SolitaireMove, Board>>>> future = executor.submit(searcher);
-		    
-            long statesExamined = 0;
-            long boardsGenerated = 0;
-            while (!future.isDone()) {
-            	searcher.printStatistics(System.out);
-            	final long nextStatesExamined = searcher.getNumberOfGameStatesExamined();
-            	final long nextBoardsGenerated = searcher.getBoardsGenerated();
-            	final long nodesPerSecond = nextStatesExamined - statesExamined;
-            	final long boardsPerSecond = nextBoardsGenerated - boardsGenerated;
-            	System.out.format(Locale.US, "Nodes per second: %,d\n", nodesPerSecond);
-            	System.out.format(Locale.US, "Boards per second: %,d\n", boardsPerSecond);
-            	System.out.println();
-            	statesExamined = nextStatesExamined;
-            	boardsGenerated = nextBoardsGenerated;
-            	Thread.sleep(TimeUnit.SECONDS.toMillis(1));
-            }
-            
-            final Collection<List<GameState<SolitaireMove, Board>>> wins = future.get();
-            
-            for (final List<GameState<SolitaireMove, Board>> gameState : wins) {
-                System.out.println(gameState);
-                gameState.get(0).getBoard().printTo(System.out);
-            }
-            
-            searcher.printStatistics(System.out);
-        }
-		executor.shutdown();
+        final TranspositionTable<Board> transpositionTable = newTranspositionTable();
+		try (final GameTreeSearcher<SolitaireMove, Board> searcher = new SequentialDepthFirstSearch<>(game, initialState, transpositionTable)) {
+		    runSearch(searcher);
+		}
 	}
 
+    /**
+     * Runs a sequential depth-first search whose queued histories keep boards
+     * for only the most recent moves.  The cycle filter only keeps the keys of
+     * older boards, and rebuilds them by replaying moves when a key
+     * repeats.
+     * 
+     * @param game the game
+     * @param initialState the initial game state
+     * @throws Exception for any reason
+     */
+    @SuppressWarnings("unused")
+    private static void recentBoardsDFS(final Game<SolitaireMove, Board> game,
+            final GameState<SolitaireMove, Board> initialState) throws Exception {
+        try (final GameTreeSearcher<SolitaireMove, Board> searcher = new SequentialDepthFirstSearch<>(game,
+                initialState, null, SearchMode.ALL_WINS, new StackFrontier<LinkedNode<GameState<SolitaireMove, Board>>>(),
+                HistoryMode.RECENT_BOARDS)) {
+            runSearch(searcher);
+        }
+    }
+
+    /**
+     * Runs a sequential depth-first search whose queued histories keep boards
+     * for only the most recent moves, and keep older boards as
+     * {@link CompactBoard}s.  When a board key repeats, the cycle filter
+     * unpacks the older boards to confirm it, which is much cheaper than
+     * replaying moves.
+     * 
+     * @param game the game
+     * @param initialState the initial game state
+     * @throws Exception for any reason
+     */
+    @SuppressWarnings("unused")
+    private static void compactBoardsDFS(final Game<SolitaireMove, Board> game,
+            final GameState<SolitaireMove, Board> initialState) throws Exception {
+        try (final GameTreeSearcher<SolitaireMove, Board> searcher = new SequentialDepthFirstSearch<>(game,
+                initialState, null, SearchMode.ALL_WINS, new StackFrontier<LinkedNode<GameState<SolitaireMove, Board>>>(),
+                HistoryMode.COMPACT_BOARDS)) {
+            runSearch(searcher);
+        }
+    }
+
 	@SuppressWarnings("unused")
     private static void parallelDFS(final Game<SolitaireMove, Board> game,
 			final GameState<SolitaireMove, Board> initialState,
 			final int numThreads) throws Exception {
-	    final ExecutorService executor = Executors.newSingleThreadExecutor();
-		try (final GameTreeSearcher<SolitaireMove, Board> searcher = new WorkerThreadDepthFirstSearch<>(game, initialState, numThreads);) {
-    		final Future<Collection<List<GameState<SolitaireMove, Board>>>> future = executor.submit(searcher);
-
-            long statesExamined = 0;
-            long boardsGenerated = 0;
-    		while (!future.isDone()) {
-                searcher.printStatistics(System.out);
-                final long nextStatesExamined = searcher.getNumberOfGameStatesExamined();
-                final long nextBoardsGenerated = searcher.getBoardsGenerated();
-                final long nodesPerSecond = nextStatesExamined - statesExamined;
-                final long boardsPerSecond = nextBoardsGenerated - boardsGenerated;
-                System.out.format(Locale.US, "Nodes per second: %,d\n", nodesPerSecond);
-                System.out.format(Locale.US, "Boards per second: %,d\n", boardsPerSecond);
-                System.out.println();
-                statesExamined = nextStatesExamined;
-                boardsGenerated = nextBoardsGenerated;
-                Thread.sleep(TimeUnit.SECONDS.toMillis(1));
-    		}
-    		
-    		final Collection<List<GameState<SolitaireMove, Board>>> wins = future.get();
-            
-            for (final List<GameState<SolitaireMove, Board>> gameState : wins) {
-                System.out.println(gameState);
-                gameState.get(0).getBoard().printTo(System.out);
-            }
-            
-            searcher.printStatistics(System.out);
+		parallelDFS(game, initialState, numThreads, SearchMode.ALL_WINS);
+	}
+
+	private static void parallelDFS(final Game<SolitaireMove, Board> game,
+			final GameState<SolitaireMove, Board> initialState,
+			final int numThreads, final SearchMode searchMode) throws Exception {
+        final TranspositionTable<Board> transpositionTable = newTranspositionTable();
+		try (final GameTreeSearcher<SolitaireMove, Board> searcher = new WorkerThreadDepthFirstSearch<>(game, initialState, numThreads, transpositionTable, searchMode);) {
+		    runSearch(searcher);
 		}
-        executor.shutdown();
+	}
+
+	@SuppressWarnings("unused")
+    private static void forkJoinDFS(final Game<SolitaireMove, Board> game,
+            final GameState<SolitaireMove, Board> initialState,
+            final int parallelism) throws Exception {
+        forkJoinDFS(game, initialState, parallelism, SearchMode.ALL_WINS);
+    }
+
+    private static void forkJoinDFS(final Game<SolitaireMove, Board> game,
+            final GameState<SolitaireMove, Board> initialState,
+            final int parallelism, final SearchMode searchMode) throws Exception {
+        final TranspositionTable<Board> transpositionTable = newTranspositionTable();
+        try (final GameTreeSearcher<SolitaireMove, Board> searcher = new ForkJoinDepthFirstSearch<>(game, initialState, parallelism, transpositionTable, searchMode);) {
+            runSearch(searcher);
+        }
+    }
+
+	@SuppressWarnings("unused")
+    private static void bestFirst(final Klondike game,
+            final GameState<SolitaireMove, Board> initialState,
+            final double weight) throws Exception {
+        final TranspositionTable<Board> transpositionTable = newTranspositionTable();
+        final KlondikeHeuristic heuristic = new KlondikeHeuristic(game.getDrawAdvance(), 1);
+        try (final GameTreeSearcher<SolitaireMove, Board> searcher = new BestFirstSearch<>(game, initialState, heuristic, weight, transpositionTable);) {
+            runSearch(searcher);
+        }
+    }
+
+	@SuppressWarnings("unused")
+    private static void iterativeDeepeningDFS(final Game<SolitaireMove, Board> game,
+            final GameState<SolitaireMove, Board> initialState,
+            final int depthStep) throws Exception {
+        final TranspositionTable<Board> transpositionTable = newTranspositionTable();
+        try (final GameTreeSearcher<SolitaireMove, Board> searcher = new IterativeDeepeningSearch<>(game, initialState, depthStep, depthStep, MOVE_CAP, transpositionTable);) {
+            runSearch(searcher);
+        }
+    }
+
+	/**
+	 * Runs a depth-limited depth-first search that makes and unmakes moves on
+	 * a single mutable board instead of building a board for every move.
+	 * 
+	 * @param game the game
+	 * @param initialState the initial game state
+	 * @param maximumDepth the largest number of moves to make
+	 */
+	@SuppressWarnings("unused")
+	private static void makeUnmakeDFS(final Klondike game,
+	        final GameState<SolitaireMove, Board> initialState,
+	        final int maximumDepth) {
+	    final MutableKlondikeBoard board = new MutableKlondikeBoard(initialState.getBoard(), game.getDrawAdvance());
+	    try (final MakeUnmakeDepthFirstSearch<SolitaireMove, Board> searcher = new MakeUnmakeDepthFirstSearch<>(game, initialState, board, maximumDepth)) {
+	        final Collection<List<GameState<SolitaireMove, Board>>> wins = searcher.call();
+	        for (final List<GameState<SolitaireMove, Board>> gameState : wins) {
+	            System.out.println(gameState);
+	            gameState.get(0).getBoard().printTo(System.out);
+	        }
+	        searcher.printStatistics(System.out);
+	    }
+	}
+
+	/**
+	 * Runs a parallel search for a limited time, then writes a checkpoint so
+	 * that the search can be resumed later.  If the checkpoint file already
+	 * exists, the search resumes from it instead of starting from the given
+	 * initial state.  The deal is written at the start of the checkpoint file,
+	 * followed by the checkpoint itself.
+	 * 
+	 * @param game the game
+	 * @param initialState the initial state, if there is no checkpoint to resume
+	 * @param numThreads the number of threads to search with
+	 * @param checkpointFile the file to resume from and to write the checkpoint to
+	 * @param minutes the number of minutes to search before writing a checkpoint
+	 * @throws Exception for any reason
+	 */
+	@SuppressWarnings("unused")
+	private static void resumableDFS(final Game<SolitaireMove, Board> game,
+	        final GameState<SolitaireMove, Board> initialState,
+	        final int numThreads, final Path checkpointFile, final long minutes) throws Exception {
+	    final SolitaireMoveCodec codec = new SolitaireMoveCodec();
+	    final GameTreeSearcher<SolitaireMove, Board> searcher;
+	    final GameState<SolitaireMove, Board> searchedState;
+	    if (Files.exists(checkpointFile)) {
+	        try (final DataInputStream in = new DataInputStream(new GZIPInputStream(Files.newInputStream(checkpointFile)))) {
+	            final SolitaireMove deal = codec.readMove(in, null);
+	            searchedState = new GameState<>(deal, deal.apply(null));
+	            final SearchCheckpoint<SolitaireMove, Board> checkpoint = SearchCheckpoint.read(in, codec, searchedState);
+	            searcher = new WorkerThreadDepthFirstSearch<>(game, checkpoint, numThreads, null, SearchMode.ALL_WINS);
+	        }
+	        System.out.println("Resuming from " + checkpointFile);
+	        searchedState.getBoard().printTo(System.out);
+	    } else {
+	        searchedState = initialState;
+	        searcher = new WorkerThreadDepthFirstSearch<>(game, initialState, numThreads);
+	    }
+
+	    final ExecutorService executor = Executors.newSingleThreadExecutor();
+	    try {
+	        final Future<Collection<List<GameState<SolitaireMove, Board>>>> future = executor.submit(searcher);
+	        try {
+	            future.get(minutes, TimeUnit.MINUTES);
+	            searcher.printStatistics(System.out);
+	            Files.deleteIfExists(checkpointFile);
+	        } catch (final TimeoutException e) {
+	            searcher.close();
+	            future.get();
+	            final Path temporaryFile = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+	            try (final DataOutputStream out = new DataOutputStream(new GZIPOutputStream(Files.newOutputStream(temporaryFile)))) {
+	                codec.writeMove(searchedState.getMove(), out);
+	                searcher.checkpoint().write(out, codec);
+	            }
+	            Files.move(temporaryFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	            searcher.printStatistics(System.out);
+	            System.out.println("Checkpoint written to " + checkpointFile);
+	        }
+	    } finally {
+	        executor.shutdown();
+	    }
+	}
+
+	/**
+	 * Runs a parallel search that keeps at most the given number of waiting
+	 * game tree nodes in memory, spilling the rest to segment files in the
+	 * given directory.
+	 * 
+	 * @param game the game
+	 * @param initialState the initial game state
+	 * @param numThreads the number of threads to search with
+	 * @param directory the directory for the segment files
+	 * @param maximumInMemory the largest number of waiting nodes to hold in memory
+	 * @throws Exception for any reason
+	 */
+	@SuppressWarnings("unused")
+	private static void spillingDFS(final Game<SolitaireMove, Board> game,
+	        final GameState<SolitaireMove, Board> initialState,
+	        final int numThreads, final Path directory, final int maximumInMemory) throws Exception {
+	    final TranspositionTable<Board> transpositionTable = newTranspositionTable();
+	    try (final SpillingFrontier<SolitaireMove, Board> frontier = new SpillingFrontier<>(new SolitaireMoveCodec(), directory, maximumInMemory);
+	            final GameTreeSearcher<SolitaireMove, Board> searcher = new WorkerThreadDepthFirstSearch<>(game, initialState, numThreads, transpositionTable, SearchMode.ALL_WINS, frontier)) {
+	        runSearch(searcher);
+	        System.out.println("Frontier segments written: " + frontier.getSegmentsWritten());
+	    }
+	}
+
+	/**
+	 * Returns a new transposition table for a search, if transpositions are
+	 * detected at all.
+	 * 
+	 * @return a new, empty transposition table, or {@code null} if
+	 *         {@link #DETECT_TRANSPOSITIONS} is off
+	 */
+	private static TranspositionTable<Board> newTranspositionTable() {
+	    if ( !DETECT_TRANSPOSITIONS) {
+	        return null;
+	    }
+	    return new TranspositionTable<>(TRANSPOSITION_TABLE_CAPACITY, TranspositionTable.EvictionPolicy.REPLACE_DEEPEST);
+	}
+
+	/**
+	 * Runs the searcher on a separate thread, printing statistics once a
+	 * second until it finishes, then prints every win found.
+	 * 
+	 * @param searcher the searcher to run
+	 * @throws Exception for any reason
+	 */
+	private static void runSearch(final GameTreeSearcher<SolitaireMove, Board> searcher) throws Exception {
+	    final ExecutorService executor = Executors.newSingleThreadExecutor();
+	    final Future<Collection<List<GameState<SolitaireMove, Board>>>> future = executor.submit(searcher);
+
+	    SearchStatistics previous = searcher.getStatistics();
+	    while (!future.isDone()) {
+	        searcher.printStatistics(System.out);
+	        final SearchStatistics statistics = searcher.getStatistics();
+	        System.out.format(Locale.US, "Nodes per second: %,.0f\n", statistics.getGameStatesPerSecond(previous));
+	        System.out.format(Locale.US, "Boards per second: %,.0f\n", statistics.getBoardsPerSecond(previous));
+	        System.out.println();
+	        previous = statistics;
+	        Thread.sleep(TimeUnit.SECONDS.toMillis(1));
+	    }
+
+	    final Collection<List<GameState<SolitaireMove, Board>>> wins = future.get();
+
+	    for (final List<GameState<SolitaireMove, Board>> gameState : wins) {
+	        System.out.println(gameState);
+	        gameState.get(0).getBoard().printTo(System.out);
+	    }
+
+	    searcher.printStatistics(System.out);
+	    executor.shutdown();
 	}
 
     /**
@@ -378,6 +791,21 @@ public class Klondike implements Game<SolitaireMove, Board> {
             return this.board;
         }
 
+        @Override
+        public CompactBoard applyCompact(final CompactBoard board) {
+            return CompactBoard.valueOf(this.board);
+        }
+
+        @Override
+        public void make(final MutableKlondikeBoard board) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void unmake(final MutableKlondikeBoard board) {
+            throw new UnsupportedOperationException();
+        }
+
         @Override
         public boolean hasCards() {
             return false;
@@ -0,0 +1,101 @@
+package org.silnith.game.solitaire;
+
+import java.util.List;
+
+import org.silnith.game.GameState;
+import org.silnith.game.search.Heuristic;
+import org.silnith.game.solitaire.move.SolitaireMove;
+
+
+/**
+ * A heuristic for Klondike solitaire that estimates the number of moves
+ * remaining from the face-down cards, the cards that are not yet in the
+ * foundation, and the depth of the stock pile.
+ *
+ * <p>The estimate is the sum of three parts:</p>
+ * <ul>
+ * <li>Every card not yet in the foundation needs at least one move to put
+ * it there.  This counts the face-down cards once, as cards still to be
+ * moved to the foundation.</li>
+ * <li>The cards in the stock pile beyond the current index need to be
+ * advanced before they can be drawn, at {@code drawAdvance} cards per move.</li>
+ * <li>Every face-down card adds {@code faceDownWeight} more.</li>
+ * </ul>
+ *
+ * <p>The first two parts are moves that cannot be avoided.  A column turns
+ * its top face-down card over by itself when the last face-up card leaves
+ * it, so a face-down card needs no move of its own beyond the one that puts
+ * it in the foundation.  With a face-down weight of {@code 0} the estimate
+ * therefore never exceeds the moves actually remaining, and the heuristic is
+ * admissible.  A positive face-down weight gives up that guarantee to rank
+ * boards with more cards turned over ahead of boards with fewer, which
+ * suits a weighted {@link org.silnith.game.search.BestFirstSearch} that is
+ * looking for any win rather than the shortest.</p>
+ */
+public class KlondikeHeuristic implements Heuristic<SolitaireMove, Board> {
+
+    private final int drawAdvance;
+
+    private final int faceDownWeight;
+
+    /**
+     * Creates a new admissible heuristic for games that advance the stock
+     * pile by the given number of cards.
+     *
+     * @param drawAdvance the number of cards to advance the stock pile
+     * @throws IllegalArgumentException if the draw advance is not positive
+     * @see Klondike#getDrawAdvance()
+     */
+    public KlondikeHeuristic(final int drawAdvance) {
+        this(drawAdvance, 0);
+    }
+
+    /**
+     * Creates a new heuristic for games that advance the stock pile by the
+     * given number of cards, adding the given weight for every face-down
+     * card.  The heuristic is admissible only if the weight is {@code 0}.
+     *
+     * @param drawAdvance the number of cards to advance the stock pile
+     * @param faceDownWeight the amount added to the estimate for every
+     *         face-down card
+     * @throws IllegalArgumentException if the draw advance is not positive
+     *         or the face-down weight is negative
+     * @see Klondike#getDrawAdvance()
+     */
+    public KlondikeHeuristic(final int drawAdvance, final int faceDownWeight) {
+        super();
+        if (drawAdvance < 1) {
+            throw new IllegalArgumentException("Draw advance must be positive.");
+        }
+        if (faceDownWeight < 0) {
+            throw new IllegalArgumentException("Face-down weight cannot be negative.");
+        }
+        this.drawAdvance = drawAdvance;
+        this.faceDownWeight = faceDownWeight;
+    }
+
+    /**
+     * Returns the estimated number of moves needed to win from the given board.
+     *
+     * @param board the board to estimate
+     * @return the estimated number of moves remaining
+     */
+    public int estimate(final Board board) {
+        int faceDownCards = 0;
+        int cardsInColumns = 0;
+        for (final Column column : board.getColumns()) {
+            faceDownCards += column.getNumberOfFaceDownCards();
+            cardsInColumns += column.getNumberOfFaceDownCards() + column.getNumberOfFaceUpCards();
+        }
+        final int stockPileSize = board.getStockPile().size();
+        final int stockPileDepth = stockPileSize - board.getStockPileIndex();
+        final int advancesNeeded = (stockPileDepth + drawAdvance - 1) / drawAdvance;
+        return cardsInColumns + stockPileSize + advancesNeeded + faceDownWeight * faceDownCards;
+    }
+
+    @Override
+    public int estimate(final List<GameState<SolitaireMove, Board>> gameStateHistory) {
+        return estimate(gameStateHistory.get(0).getBoard());
+    }
+
+}
@@ -0,0 +1,97 @@
+package org.silnith.game.solitaire;
+
+import org.silnith.game.move.MoveScorer;
+import org.silnith.game.solitaire.move.SolitaireMove;
+
+
+/**
+ * Orderings for the moves of Klondike solitaire, for use with an
+ * {@link org.silnith.game.OrderedGame}.
+ *
+ * <p>Each ordering sorts moves into a few broad kinds.  Moves of the same
+ * kind keep the order {@link Klondike#findAllMoves(Board)} generates them
+ * in.</p>
+ *
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public enum KlondikeMoveOrdering implements MoveScorer<SolitaireMove, Board> {
+    /**
+     * Gives every move the same score, so moves are searched in the order
+     * they are generated.
+     */
+    GENERATED {
+        @Override
+        public int score(final SolitaireMove move, final Board board) {
+            return 0;
+        }
+    },
+    /**
+     * Tries moves to the foundation first, then moves that expose a
+     * face-down card, then other moves between columns, then draws from the
+     * stock pile, then moves from the foundation, and stock pile advances
+     * and recycles last.
+     */
+    FOUNDATION_FIRST {
+        @Override
+        public int score(final SolitaireMove move, final Board board) {
+            if (move.isToFoundation()) {
+                return 5;
+            } else if (exposesFaceDownCard(move, board)) {
+                return 4;
+            } else {
+                return scoreOther(move);
+            }
+        }
+    },
+    /**
+     * Tries moves that expose a face-down card first, then moves to the
+     * foundation, and everything else in the same order as
+     * {@link #FOUNDATION_FIRST}.
+     */
+    EXPOSE_FIRST {
+        @Override
+        public int score(final SolitaireMove move, final Board board) {
+            if (exposesFaceDownCard(move, board)) {
+                return 5;
+            } else if (move.isToFoundation()) {
+                return 4;
+            } else {
+                return scoreOther(move);
+            }
+        }
+    };
+
+    /**
+     * Returns whether a move takes every face-up card from a column that
+     * still has face-down cards, so that the next face-down card is turned
+     * over.
+     *
+     * @param move the move
+     * @param board the board the move is made from
+     * @return {@code true} if the move exposes a face-down card
+     */
+    static boolean exposesFaceDownCard(final SolitaireMove move, final Board board) {
+        if (move.isFromColumn()) {
+            final Column column = board.getColumn(move.getSourceColumnIndex());
+            return column.hasFaceDownCards() && move.getCards().size() == column.getNumberOfFaceUpCards();
+        }
+        return false;
+    }
+
+    /**
+     * Scores the moves that neither go to the foundation nor expose a
+     * face-down card.
+     */
+    private static int scoreOther(final SolitaireMove move) {
+        if (move.isFromColumn()) {
+            return 3;
+        } else if (move.isFromStockPile()) {
+            return 2;
+        } else if (move.isFromFoundation()) {
+            return 1;
+        } else {
+            return 0;
+        }
+    }
+
+}
@@ -0,0 +1,591 @@
+package org.silnith.game.solitaire;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+import org.silnith.deck.Card;
+import org.silnith.deck.Suit;
+import org.silnith.deck.Value;
+import org.silnith.game.MutableBoard;
+import org.silnith.game.move.MoveList;
+import org.silnith.game.solitaire.move.PackedMove;
+import org.silnith.game.solitaire.move.SolitaireMove;
+
+
+/**
+ * A Klondike solitaire board that moves are made on in place.
+ *
+ * <p>Each column is one array holding its face-down cards followed by its
+ * face-up cards, with counts of each.  The stock pile is an array and a
+ * size, the foundation is packed by {@link PackedFoundation}, and the
+ * Zobrist key is kept up to date by every change, so it always equals the
+ * key of the equivalent {@link Board}.  Moves change the board with
+ * {@link SolitaireMove#make(MutableKlondikeBoard)} and change it back with
+ * {@link SolitaireMove#unmake(MutableKlondikeBoard)}, which call the
+ * methods here that move cards.  None of those allocate.  Moves packed by
+ * {@link PackedMove} are made and unmade directly, and
+ * {@link #findAllMoves(MoveList)} finds moves in that form, so a search
+ * can run without creating move objects at all.</p>
+ *
+ * <p>The only thing a move does not say about itself is whether taking cards
+ * off a column turned over a face-down card.  The board remembers that on a
+ * stack, pushed when cards are taken from a column and popped when they are
+ * put back, so moves must be unmade in the reverse order they were made.</p>
+ *
+ * @see org.silnith.game.search.MakeUnmakeDepthFirstSearch
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public final class MutableKlondikeBoard implements MutableBoard<SolitaireMove, Board> {
+
+    /**
+     * The most face-up cards a column can hold, a run from king to ace.
+     */
+    private static final int MAXIMUM_RUN = Value.values().length;
+
+    private final int drawAdvance;
+
+    /**
+     * The cards of each column, face-down cards first, bottom card first.
+     */
+    private final Card[][] columns;
+
+    /**
+     * The number of face-down cards in each column.
+     */
+    private final int[] faceDownCounts;
+
+    /**
+     * The total number of cards in each column.
+     */
+    private final int[] columnSizes;
+
+    private final Card[] stockPile;
+
+    private int stockPileSize;
+
+    private int stockPileIndex;
+
+    private int foundation;
+
+    private long zobristKey;
+
+    /**
+     * Whether taking cards off a column turned over a face-down card, for
+     * each time cards were taken off a column that has not been undone.
+     */
+    private final BitSet flips;
+
+    private int numberOfFlips;
+
+    /**
+     * Creates a mutable board equal to the given board.
+     *
+     * @param board the board to copy
+     * @param drawAdvance the number of cards to advance the stock pile
+     * @throws IllegalArgumentException if the draw advance is not positive
+     */
+    public MutableKlondikeBoard(final Board board, final int drawAdvance) {
+        super();
+        if (drawAdvance < 1) {
+            throw new IllegalArgumentException("Draw advance must be positive.");
+        }
+        this.drawAdvance = drawAdvance;
+        final List<Column> boardColumns = board.getColumns();
+        final int numberOfColumns = boardColumns.size();
+        this.columns = new Card[numberOfColumns][];
+        this.faceDownCounts = new int[numberOfColumns];
+        this.columnSizes = new int[numberOfColumns];
+        for (int i = 0; i < numberOfColumns; i++ ) {
+            final Column column = boardColumns.get(i);
+            final int down = column.getNumberOfFaceDownCards();
+            final int size = down + column.getNumberOfFaceUpCards();
+            final Card[] cards = new Card[Math.max(size, down + MAXIMUM_RUN)];
+            int j = 0;
+            for (final Card card : column.getFaceDownCards()) {
+                cards[j++ ] = card;
+            }
+            for (final Card card : column.getFaceUpCards()) {
+                cards[j++ ] = card;
+            }
+            this.columns[i] = cards;
+            this.faceDownCounts[i] = down;
+            this.columnSizes[i] = size;
+        }
+        final List<Card> boardStockPile = board.getStockPile();
+        this.stockPile = boardStockPile.toArray(new Card[boardStockPile.size()]);
+        this.stockPileSize = stockPile.length;
+        this.stockPileIndex = board.getStockPileIndex();
+        this.foundation = board.getPackedFoundation();
+        this.zobristKey = board.getZobristKey();
+        this.flips = new BitSet();
+        this.numberOfFlips = 0;
+    }
+
+    /**
+     * Returns the number of columns on the board.
+     *
+     * @return the number of columns
+     */
+    public int getNumberOfColumns() {
+        return columns.length;
+    }
+
+    /**
+     * Returns the current index into the stock pile.
+     *
+     * @return the stock pile index
+     * @see Board#getStockPileIndex()
+     */
+    public int getStockPileIndex() {
+        return stockPileIndex;
+    }
+
+    /**
+     * Returns the number of cards in the stock pile.
+     *
+     * @return the stock pile size
+     */
+    public int getStockPileSize() {
+        return stockPileSize;
+    }
+
+    /**
+     * Returns the foundation packed into an {@code int}.
+     *
+     * @return the packed foundation
+     * @see PackedFoundation
+     */
+    public int getPackedFoundation() {
+        return foundation;
+    }
+
+    /**
+     * Returns the Zobrist key of the board.  This is always the key the
+     * equivalent {@link Board} has.
+     *
+     * @return the Zobrist key
+     * @see Board#getZobristKey()
+     */
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    @Override
+    public void make(final SolitaireMove move) {
+        move.make(this);
+    }
+
+    @Override
+    public void unmake(final SolitaireMove move) {
+        move.unmake(this);
+    }
+
+    @Override
+    public boolean isWin() {
+        return foundation == PackedFoundation.COMPLETE;
+    }
+
+    @Override
+    public Board toBoard() {
+        final List<Column> boardColumns = new ArrayList<>(columns.length);
+        for (int i = 0; i < columns.length; i++ ) {
+            final Card[] cards = columns[i];
+            boardColumns.add(new Column(Arrays.asList(Arrays.copyOfRange(cards, 0, faceDownCounts[i])),
+                    Arrays.asList(Arrays.copyOfRange(cards, faceDownCounts[i], columnSizes[i]))));
+        }
+        return new Board(boardColumns, Arrays.asList(Arrays.copyOf(stockPile, stockPileSize)), stockPileIndex,
+                foundation, zobristKey);
+    }
+
+    /**
+     * Finds every legal move, in the same order as
+     * {@link Klondike#findAllMoves(Board)} finds them for the equivalent
+     * board.  This unpacks the moves found by
+     * {@link #findAllMoves(MoveList)}, so prefer that where the moves do not
+     * need to be kept.
+     *
+     * @param moves the collection to add the moves to
+     */
+    public void findAllMoves(final Collection<? super SolitaireMove> moves) {
+        final MoveList packed = new MoveList();
+        findAllMoves(packed);
+        for (int i = 0; i < packed.size(); i++ ) {
+            moves.add(toMove(packed.get(i)));
+        }
+    }
+
+    /**
+     * Finds every legal move, packed by {@link PackedMove}, in the same order
+     * as {@link Klondike#findAllMoves(Board)} finds them for the equivalent
+     * board.
+     */
+    @Override
+    public void findAllMoves(final MoveList moves) {
+        if (stockPileSize > 0 && stockPileIndex >= stockPileSize) {
+            moves.add(PackedMove.stockPileRecycle(stockPileIndex));
+        }
+        if (stockPileIndex < stockPileSize) {
+            moves.add(PackedMove.stockPileAdvance(stockPileIndex, drawAdvance));
+        }
+        for (final Suit suit : Suit.values()) {
+            if (PackedFoundation.size(foundation, suit) > 0) {
+                final Card card = PackedFoundation.getTop(foundation, suit);
+                for (int i = 0; i < columns.length; i++ ) {
+                    if (canAdd(i, card)) {
+                        moves.add(PackedMove.foundationToColumn(i, card));
+                    }
+                }
+            }
+        }
+        for (int source = 0; source < columns.length; source++ ) {
+            final int runLength = columnSizes[source] - faceDownCounts[source];
+            if (runLength == 0) {
+                continue;
+            }
+            final Card[] sourceCards = columns[source];
+            final Card bottomCard = sourceCards[faceDownCounts[source]];
+            final int minimumValue = sourceCards[columnSizes[source] - 1].getValue().getValue();
+            final int maximumValue = bottomCard.getValue().getValue();
+            for (int destination = 0; destination < columns.length; destination++ ) {
+                if (source == destination) {
+                    continue;
+                }
+                if (columnSizes[destination] > faceDownCounts[destination]) {
+                    final Card destinationTopCard = columns[destination][columnSizes[destination] - 1];
+                    final int startValue = destinationTopCard.getValue().getValue() - 1;
+                    if (minimumValue <= startValue && maximumValue >= startValue) {
+                        final int numberOfCards = startValue - minimumValue + 1;
+                        final Card firstCard = sourceCards[columnSizes[source] - numberOfCards];
+                        if (destinationTopCard.getColor() != firstCard.getColor()) {
+                            moves.add(PackedMove.columnToColumn(source, destination, numberOfCards, firstCard));
+                        }
+                    }
+                } else if (bottomCard.getValue() == Value.KING) {
+                    moves.add(PackedMove.columnToColumn(source, destination, runLength, bottomCard));
+                }
+            }
+        }
+        if (stockPileIndex > 0) {
+            final Card card = stockPile[stockPileIndex - 1];
+            for (int i = 0; i < columns.length; i++ ) {
+                if (canAdd(i, card)) {
+                    moves.add(PackedMove.stockPileToColumn(stockPileIndex, i, card));
+                }
+            }
+        }
+        for (int i = 0; i < columns.length; i++ ) {
+            if (columnSizes[i] > faceDownCounts[i]) {
+                final Card card = columns[i][columnSizes[i] - 1];
+                if (PackedFoundation.canAdd(foundation, card)) {
+                    moves.add(PackedMove.columnToFoundation(i, card));
+                }
+            }
+        }
+        if (stockPileIndex > 0) {
+            final Card card = stockPile[stockPileIndex - 1];
+            if (PackedFoundation.canAdd(foundation, card)) {
+                moves.add(PackedMove.stockPileToFoundation(stockPileIndex, card));
+            }
+        }
+    }
+
+    @Override
+    public SolitaireMove toMove(final int move) {
+        if (PackedMove.getKind(move) == PackedMove.COLUMN_TO_COLUMN) {
+            final int source = PackedMove.getSource(move);
+            final int end = columnSizes[source];
+            return PackedMove.toMove(move,
+                    Arrays.asList(Arrays.copyOfRange(columns[source], end - PackedMove.getCount(move), end)));
+        }
+        return PackedMove.toMove(move, (List<Card>) null);
+    }
+
+    @Override
+    public void make(final int move) {
+        switch (PackedMove.getKind(move)) {
+        case PackedMove.STOCK_PILE_RECYCLE:
+            setStockPileIndex(0);
+            break;
+        case PackedMove.STOCK_PILE_ADVANCE:
+            setStockPileIndex(Math.min(stockPileIndex + PackedMove.getCount(move), stockPileSize));
+            break;
+        case PackedMove.FOUNDATION_TO_COLUMN:
+            moveFoundationCardToColumn(PackedMove.getCard(move).getSuit(), PackedMove.getDestination(move));
+            break;
+        case PackedMove.COLUMN_TO_COLUMN:
+            moveRun(PackedMove.getSource(move), PackedMove.getDestination(move), PackedMove.getCount(move));
+            break;
+        case PackedMove.STOCK_PILE_TO_COLUMN:
+            moveStockPileCardToColumn(PackedMove.getDestination(move));
+            break;
+        case PackedMove.COLUMN_TO_FOUNDATION:
+            moveColumnCardToFoundation(PackedMove.getSource(move));
+            break;
+        case PackedMove.STOCK_PILE_TO_FOUNDATION:
+            moveStockPileCardToFoundation();
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown kind of move: " + PackedMove.getKind(move));
+        }
+    }
+
+    @Override
+    public void unmake(final int move) {
+        switch (PackedMove.getKind(move)) {
+        case PackedMove.STOCK_PILE_RECYCLE:
+        case PackedMove.STOCK_PILE_ADVANCE:
+            setStockPileIndex(PackedMove.getSource(move));
+            break;
+        case PackedMove.FOUNDATION_TO_COLUMN:
+            unmoveFoundationCardToColumn(PackedMove.getDestination(move));
+            break;
+        case PackedMove.COLUMN_TO_COLUMN:
+            unmoveRun(PackedMove.getSource(move), PackedMove.getDestination(move), PackedMove.getCount(move));
+            break;
+        case PackedMove.STOCK_PILE_TO_COLUMN:
+            unmoveStockPileCardToColumn(PackedMove.getDestination(move));
+            break;
+        case PackedMove.COLUMN_TO_FOUNDATION:
+            unmoveColumnCardToFoundation(PackedMove.getSource(move), PackedMove.getCard(move).getSuit());
+            break;
+        case PackedMove.STOCK_PILE_TO_FOUNDATION:
+            unmoveStockPileCardToFoundation(PackedMove.getCard(move).getSuit());
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown kind of move: " + PackedMove.getKind(move));
+        }
+    }
+
+    /**
+     * Returns whether the card may be put on top of the given column.
+     */
+    private boolean canAdd(final int index, final Card card) {
+        if (columnSizes[index] > faceDownCounts[index]) {
+            final Card top = columns[index][columnSizes[index] - 1];
+            return top.getValue().getValue() == 1 + card.getValue().getValue() && top.getColor() != card.getColor();
+        } else {
+            return card.getValue() == Value.KING;
+        }
+    }
+
+    /**
+     * Puts a card on top of a column, face up.
+     */
+    private void push(final int index, final Card card) {
+        columns[index][columnSizes[index]++ ] = card;
+        zobristKey ^= ZobristKeys.faceUp(index, card);
+    }
+
+    /**
+     * Takes the top face-up card off a column.  This does not turn over a
+     * face-down card.
+     */
+    private Card pop(final int index) {
+        final Card card = columns[index][--columnSizes[index]];
+        zobristKey ^= ZobristKeys.faceUp(index, card);
+        return card;
+    }
+
+    /**
+     * Turns over the top face-down card of a column if the column has no
+     * face-up cards left, and remembers whether it did.
+     */
+    private void flip(final int index) {
+        final boolean flip = faceDownCounts[index] > 0 && faceDownCounts[index] == columnSizes[index];
+        if (flip) {
+            final Card card = columns[index][--faceDownCounts[index]];
+            zobristKey ^= ZobristKeys.faceDown(index, card) ^ ZobristKeys.faceUp(index, card);
+        }
+        flips.set(numberOfFlips++, flip);
+    }
+
+    /**
+     * Turns the top face-up card of a column back over if the matching call
+     * to {@link #flip(int)} turned it over.
+     */
+    private void unflip(final int index) {
+        if (flips.get(--numberOfFlips)) {
+            final Card card = columns[index][faceDownCounts[index]++];
+            zobristKey ^= ZobristKeys.faceDown(index, card) ^ ZobristKeys.faceUp(index, card);
+        }
+    }
+
+    private void setStockPileIndexKey(final int newIndex) {
+        zobristKey ^= ZobristKeys.stockPileIndex(stockPileIndex) ^ ZobristKeys.stockPileIndex(newIndex);
+        stockPileIndex = newIndex;
+    }
+
+    /**
+     * Takes the current stock pile card out of the stock pile.
+     */
+    private Card drawStockPileCard() {
+        final Card card = stockPile[stockPileIndex - 1];
+        System.arraycopy(stockPile, stockPileIndex, stockPile, stockPileIndex - 1, stockPileSize - stockPileIndex);
+        stockPileSize-- ;
+        setStockPileIndexKey(stockPileIndex - 1);
+        zobristKey ^= ZobristKeys.stockPile(card);
+        return card;
+    }
+
+    /**
+     * Puts a card back into the stock pile as the current card, undoing
+     * {@link #drawStockPileCard()}.
+     */
+    private void undrawStockPileCard(final Card card) {
+        System.arraycopy(stockPile, stockPileIndex, stockPile, stockPileIndex + 1, stockPileSize - stockPileIndex);
+        stockPile[stockPileIndex] = card;
+        stockPileSize++ ;
+        setStockPileIndexKey(stockPileIndex + 1);
+        zobristKey ^= ZobristKeys.stockPile(card);
+    }
+
+    private void addToFoundation(final Card card) {
+        foundation = PackedFoundation.plus(foundation, card);
+        zobristKey ^= ZobristKeys.foundation(card);
+    }
+
+    private Card removeFromFoundation(final Suit suit) {
+        final Card card = PackedFoundation.getTop(foundation, suit);
+        foundation = PackedFoundation.minus(foundation, suit);
+        zobristKey ^= ZobristKeys.foundation(card);
+        return card;
+    }
+
+    /**
+     * Sets the stock pile index.  This does no validation that the move is
+     * legal.
+     *
+     * @param newIndex the new stock pile index
+     */
+    public void setStockPileIndex(final int newIndex) {
+        assert newIndex >= 0 && newIndex <= stockPileSize;
+        setStockPileIndexKey(newIndex);
+    }
+
+    /**
+     * Moves a run of cards from the top of one column to another, turning
+     * over a face-down card if the source column has no face-up cards left.
+     * This does no validation that the move is legal.
+     *
+     * @param sourceIndex the index of the source column
+     * @param destinationIndex the index of the destination column
+     * @param numberOfCards the number of cards to move
+     */
+    public void moveRun(final int sourceIndex, final int destinationIndex, final int numberOfCards) {
+        assert numberOfCards <= columnSizes[sourceIndex] - faceDownCounts[sourceIndex];
+        final int start = columnSizes[sourceIndex] - numberOfCards;
+        final Card[] source = columns[sourceIndex];
+        for (int i = start; i < start + numberOfCards; i++ ) {
+            push(destinationIndex, source[i]);
+            zobristKey ^= ZobristKeys.faceUp(sourceIndex, source[i]);
+        }
+        columnSizes[sourceIndex] = start;
+        flip(sourceIndex);
+    }
+
+    /**
+     * Undoes {@link #moveRun(int, int, int)}.
+     *
+     * @param sourceIndex the index of the column the run was moved from
+     * @param destinationIndex the index of the column the run was moved to
+     * @param numberOfCards the number of cards that were moved
+     */
+    public void unmoveRun(final int sourceIndex, final int destinationIndex, final int numberOfCards) {
+        unflip(sourceIndex);
+        final int start = columnSizes[destinationIndex] - numberOfCards;
+        final Card[] destination = columns[destinationIndex];
+        for (int i = start; i < start + numberOfCards; i++ ) {
+            push(sourceIndex, destination[i]);
+            zobristKey ^= ZobristKeys.faceUp(destinationIndex, destination[i]);
+        }
+        columnSizes[destinationIndex] = start;
+    }
+
+    /**
+     * Moves the top card of a column to the foundation, turning over a
+     * face-down card if the column has no face-up cards left.  This does no
+     * validation that the move is legal.
+     *
+     * @param index the index of the column
+     */
+    public void moveColumnCardToFoundation(final int index) {
+        addToFoundation(pop(index));
+        flip(index);
+    }
+
+    /**
+     * Undoes {@link #moveColumnCardToFoundation(int)}.
+     *
+     * @param index the index of the column
+     * @param suit the suit of the card that was moved
+     */
+    public void unmoveColumnCardToFoundation(final int index, final Suit suit) {
+        unflip(index);
+        push(index, removeFromFoundation(suit));
+    }
+
+    /**
+     * Moves the top card of the foundation for a suit to a column.  This
+     * does no validation that the move is legal.
+     *
+     * @param suit the suit
+     * @param index the index of the column
+     */
+    public void moveFoundationCardToColumn(final Suit suit, final int index) {
+        push(index, removeFromFoundation(suit));
+    }
+
+    /**
+     * Undoes {@link #moveFoundationCardToColumn(Suit, int)}.
+     *
+     * @param index the index of the column
+     */
+    public void unmoveFoundationCardToColumn(final int index) {
+        addToFoundation(pop(index));
+    }
+
+    /**
+     * Moves the current stock pile card to a column.  This does no
+     * validation that the move is legal.
+     *
+     * @param index the index of the column
+     */
+    public void moveStockPileCardToColumn(final int index) {
+        push(index, drawStockPileCard());
+    }
+
+    /**
+     * Undoes {@link #moveStockPileCardToColumn(int)}.
+     *
+     * @param index the index of the column
+     */
+    public void unmoveStockPileCardToColumn(final int index) {
+        undrawStockPileCard(pop(index));
+    }
+
+    /**
+     * Moves the current stock pile card to the foundation.  This does no
+     * validation that the move is legal.
+     */
+    public void moveStockPileCardToFoundation() {
+        addToFoundation(drawStockPileCard());
+    }
+
+    /**
+     * Undoes {@link #moveStockPileCardToFoundation()}.
+     *
+     * @param suit the suit of the card that was moved
+     */
+    public void unmoveStockPileCardToFoundation(final Suit suit) {
+        undrawStockPileCard(removeFromFoundation(suit));
+    }
+
+    @Override
+    public String toString() {
+        return "MutableKlondikeBoard " + toBoard();
+    }
+
+}
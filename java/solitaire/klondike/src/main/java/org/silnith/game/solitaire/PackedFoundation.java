@@ -0,0 +1,207 @@
+package org.silnith.game.solitaire;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.silnith.deck.Card;
+import org.silnith.deck.Suit;
+import org.silnith.deck.Value;
+
+
+/**
+ * Operations on a foundation packed into a single {@code int}.
+ *
+ * <p>A foundation pile always holds the {@link Value#ACE ace} up to some value
+ * of its suit, so the whole pile is described by how many cards are in it.
+ * Each suit gets four bits of the {@code int}, in {@link Suit} order starting
+ * from the lowest bits, holding a count from {@code 0} to {@code 13}.  Adding
+ * a card to the foundation or taking one off is a single addition, and
+ * checking for a win is a single comparison.</p>
+ *
+ * @see Board#getPackedFoundation()
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public final class PackedFoundation {
+
+    /**
+     * The empty foundation.
+     */
+    public static final int EMPTY = 0;
+
+    private static final int BITS_PER_SUIT = 4;
+
+    private static final int MASK = (1 << BITS_PER_SUIT) - 1;
+
+    private static final int CARDS_PER_SUIT = Value.values().length;
+
+    /**
+     * The foundation holding every card.
+     */
+    public static final int COMPLETE;
+
+    /**
+     * The cards of each suit in order, which every foundation pile is a
+     * prefix of.
+     */
+    private static final List<List<Card>> PILES;
+
+    static {
+        int complete = EMPTY;
+        final List<List<Card>> piles = new ArrayList<>(Suit.values().length);
+        for (final Suit suit : Suit.values()) {
+            complete |= CARDS_PER_SUIT << shift(suit);
+            final Card[] pile = new Card[CARDS_PER_SUIT];
+            for (final Value value : Value.values()) {
+                pile[value.ordinal()] = Card.of(value, suit);
+            }
+            piles.add(Collections.unmodifiableList(Arrays.asList(pile)));
+        }
+        COMPLETE = complete;
+        PILES = piles;
+    }
+
+    private PackedFoundation() {
+        super();
+    }
+
+    private static int shift(final Suit suit) {
+        return suit.ordinal() * BITS_PER_SUIT;
+    }
+
+    /**
+     * Packs a foundation.  Suits missing from the map are taken to be empty.
+     *
+     * @param foundation the foundation to pack
+     * @return the packed foundation
+     * @throws IllegalArgumentException if a foundation pile does not hold
+     *         the ace up to some value of its suit
+     */
+    public static int pack(final Map<Suit, List<Card>> foundation) {
+        int packed = EMPTY;
+        for (final Suit suit : Suit.values()) {
+            final List<Card> pile = foundation.get(suit);
+            if (pile == null) {
+                continue;
+            }
+            for (int i = 0; i < pile.size(); i++ ) {
+                final Card card = pile.get(i);
+                if (card.getSuit() != suit || card.getValue().ordinal() != i) {
+                    throw new IllegalArgumentException("Cannot have " + card + " at position " + i
+                            + " in foundation for suit " + suit + ".");
+                }
+            }
+            packed |= pile.size() << shift(suit);
+        }
+        return packed;
+    }
+
+    /**
+     * Unpacks a foundation into an unmodifiable map of piles.
+     *
+     * @param packed the packed foundation
+     * @return the foundation pile for every suit
+     */
+    public static Map<Suit, List<Card>> unpack(final int packed) {
+        final Map<Suit, List<Card>> foundation = new EnumMap<>(Suit.class);
+        for (final Suit suit : Suit.values()) {
+            foundation.put(suit, getPile(packed, suit));
+        }
+        return Collections.unmodifiableMap(foundation);
+    }
+
+    /**
+     * Returns the pile for one suit of a packed foundation.
+     *
+     * @param packed the packed foundation
+     * @param suit the suit
+     * @return an unmodifiable list of the cards on the foundation for the suit
+     */
+    public static List<Card> getPile(final int packed, final Suit suit) {
+        return PILES.get(suit.ordinal()).subList(0, size(packed, suit));
+    }
+
+    /**
+     * Returns the number of cards on the foundation for a suit.
+     *
+     * @param packed the packed foundation
+     * @param suit the suit
+     * @return the number of cards of the suit on the foundation
+     */
+    public static int size(final int packed, final Suit suit) {
+        return (packed >>> shift(suit)) & MASK;
+    }
+
+    /**
+     * Returns whether a card is the next one for its suit on a foundation.
+     *
+     * @param packed the packed foundation
+     * @param card the card to check
+     * @return {@code true} if it is legal to add the card to the foundation
+     */
+    public static boolean canAdd(final int packed, final Card card) {
+        return card.getValue().ordinal() == size(packed, card.getSuit());
+    }
+
+    /**
+     * Returns the top card on the foundation for a suit.
+     *
+     * @param packed the packed foundation
+     * @param suit the suit
+     * @return the top card of the suit on the foundation
+     * @throws IndexOutOfBoundsException if the foundation has no cards for the suit
+     */
+    public static Card getTop(final int packed, final Suit suit) {
+        final int size = size(packed, suit);
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("No cards on the foundation for suit " + suit + ".");
+        }
+        return PILES.get(suit.ordinal()).get(size - 1);
+    }
+
+    /**
+     * Returns a foundation with one more card of the card's suit.
+     *
+     * <p>This does no validation that the move is legal.</p>
+     *
+     * @param packed the packed foundation
+     * @param card the card to add
+     * @return the packed foundation with the card added
+     */
+    public static int plus(final int packed, final Card card) {
+        assert canAdd(packed, card);
+        return packed + (1 << shift(card.getSuit()));
+    }
+
+    /**
+     * Returns a foundation with the top card of a suit removed.
+     *
+     * <p>This does no validation that the suit has a card to remove.</p>
+     *
+     * @param packed the packed foundation
+     * @param suit the suit to remove a card of
+     * @return the packed foundation with the card removed
+     */
+    public static int minus(final int packed, final Suit suit) {
+        assert size(packed, suit) > 0;
+        return packed - (1 << shift(suit));
+    }
+
+    /**
+     * Returns the total number of cards on a foundation.
+     *
+     * @param packed the packed foundation
+     * @return the number of cards on the foundation
+     */
+    public static int count(final int packed) {
+        int count = 0;
+        for (int bits = packed; bits != 0; bits >>>= BITS_PER_SUIT) {
+            count += bits & MASK;
+        }
+        return count;
+    }
+
+}
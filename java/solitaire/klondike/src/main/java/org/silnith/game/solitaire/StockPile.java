@@ -0,0 +1,164 @@
+package org.silnith.game.solitaire;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+import org.silnith.deck.Card;
+
+
+/**
+ * An immutable stock pile that shares the array of cards it was dealt with.
+ *
+ * <p>Cards are only ever drawn out of a stock pile, never added, and the
+ * cards that remain keep their order.  So every stock pile in a game is the
+ * dealt cards with some of them missing.  This keeps the dealt cards in one
+ * array shared by every stock pile of the game, and a bitmask of the
+ * positions that have been drawn.  Drawing a card sets one bit in a copy of
+ * the mask instead of copying the remaining cards.  Two stock piles from the
+ * same deal are equal exactly when their masks are.</p>
+ *
+ * <p>The mask is a single {@code long}, so this can only hold up to
+ * {@value #MAXIMUM_SIZE} cards.  That is more than a deck of cards.</p>
+ */
+final class StockPile extends AbstractList<Card> implements RandomAccess {
+
+    /**
+     * The most cards a stock pile can be dealt.
+     */
+    static final int MAXIMUM_SIZE = Long.SIZE;
+
+    private final Card[] dealt;
+
+    /**
+     * The positions in {@link #dealt} that have been drawn.
+     */
+    private final long removed;
+
+    private final int size;
+
+    private StockPile(final Card[] dealt, final long removed, final int size) {
+        super();
+        this.dealt = dealt;
+        this.removed = removed;
+        this.size = size;
+    }
+
+    /**
+     * Returns a stock pile holding the given cards, or {@code null} if there
+     * are too many.  A stock pile is returned as-is, anything else is copied.
+     *
+     * @param cards the cards
+     * @return a stock pile of the cards, or {@code null} if there are more
+     *         than {@link #MAXIMUM_SIZE}
+     */
+    static StockPile copyOf(final List<Card> cards) {
+        if (cards instanceof StockPile) {
+            return (StockPile) cards;
+        }
+        if (cards.size() > MAXIMUM_SIZE) {
+            return null;
+        }
+        return new StockPile(cards.toArray(new Card[cards.size()]), 0, cards.size());
+    }
+
+    /**
+     * Returns the bits of the positions that have not been drawn.
+     */
+    private long remaining() {
+        final long all;
+        if (dealt.length == MAXIMUM_SIZE) {
+            all = -1L;
+        } else {
+            all = (1L << dealt.length) - 1;
+        }
+        return all & ~removed;
+    }
+
+    /**
+     * Returns the position in {@link #dealt} of the card at the given index.
+     */
+    private int position(final int index) {
+        long bits = remaining();
+        for (int i = 0; i < index; i++ ) {
+            bits &= bits - 1;
+        }
+        return Long.numberOfTrailingZeros(bits);
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    @Override
+    public Card get(final int index) {
+        checkIndex(index);
+        return dealt[position(index)];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns this stock pile without the card at the given index.
+     *
+     * @param index the index of the card to draw
+     * @return the remaining stock pile
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    StockPile without(final int index) {
+        checkIndex(index);
+        return new StockPile(dealt, removed | 1L << position(index), size - 1);
+    }
+
+    @Override
+    public Iterator<Card> iterator() {
+        return new Iterator<Card>() {
+
+            private long bits = remaining();
+
+            @Override
+            public boolean hasNext() {
+                return bits != 0;
+            }
+
+            @Override
+            public Card next() {
+                if (bits == 0) {
+                    throw new NoSuchElementException();
+                }
+                final Card card = dealt[Long.numberOfTrailingZeros(bits)];
+                bits &= bits - 1;
+                return card;
+            }
+
+        };
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        for (long bits = remaining(); bits != 0; bits &= bits - 1) {
+            hashCode = 31 * hashCode + dealt[Long.numberOfTrailingZeros(bits)].hashCode();
+        }
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj instanceof StockPile) {
+            final StockPile stockPile = (StockPile) obj;
+            if (dealt == stockPile.dealt) {
+                return removed == stockPile.removed;
+            }
+        }
+        return super.equals(obj);
+    }
+
+}
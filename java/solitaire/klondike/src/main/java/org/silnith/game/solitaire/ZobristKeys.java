@@ -0,0 +1,189 @@
+package org.silnith.game.solitaire;
+
+import java.util.List;
+import java.util.Map;
+
+import org.silnith.deck.Card;
+import org.silnith.deck.Suit;
+
+
+/**
+ * The random keys that make up the Zobrist key of a {@link Board}.
+ *
+ * <p>Every card on the board is in one place: face down in a column, face up
+ * in a column, in the stock pile, or on the foundation.  Each combination of
+ * card and place has its own random 64-bit key, and so does each stock pile
+ * index.  The key of a board is all of those that apply to it combined with
+ * exclusive-or.  A move only has to remove the keys for the cards it takes
+ * away and add the keys for where they end up, so the key of the new board
+ * costs time proportional to the number of cards moved, not the size of the
+ * board.</p>
+ *
+ * <p>The position of a card within its column or stock pile is not part of
+ * its key.  Within one deal the cards of a column are always in the same
+ * order, and the stock pile only ever loses cards, so this loses nothing in
+ * practice while keeping the stock pile update independent of how many cards
+ * are behind the one drawn.  Equal boards always have equal keys.</p>
+ *
+ * <p>The keys are generated by a fixed mixing function rather than stored in
+ * a table, so they are the same in every run and there is no limit on the
+ * number of columns.</p>
+ *
+ * @see Board#getZobristKey()
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public final class ZobristKeys {
+
+    private static final int STOCK_PILE = 0;
+
+    private static final int FOUNDATION = 1;
+
+    private static final int STOCK_PILE_INDEX = 2;
+
+    private static final int COLUMNS = 3;
+
+    private ZobristKeys() {
+        super();
+    }
+
+    /**
+     * Returns the key for a card in a place.  The place is shifted well clear
+     * of the card number, then the SplitMix64 finalizer scrambles it into a
+     * well-distributed random value.
+     */
+    private static long key(final int place, final int number) {
+        long z = ((long) place << 8 | number) * 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns the key for a card lying face down in a column.
+     *
+     * @param columnIndex the index of the column
+     * @param card the card
+     * @return the key for the card in that place
+     */
+    public static long faceDown(final int columnIndex, final Card card) {
+        return key(COLUMNS + 2 * columnIndex, card.ordinal());
+    }
+
+    /**
+     * Returns the key for a card lying face up in a column.
+     *
+     * @param columnIndex the index of the column
+     * @param card the card
+     * @return the key for the card in that place
+     */
+    public static long faceUp(final int columnIndex, final Card card) {
+        return key(COLUMNS + 2 * columnIndex + 1, card.ordinal());
+    }
+
+    /**
+     * Returns the key for a card in the stock pile.
+     *
+     * @param card the card
+     * @return the key for the card in the stock pile
+     */
+    public static long stockPile(final Card card) {
+        return key(STOCK_PILE, card.ordinal());
+    }
+
+    /**
+     * Returns the key for a card on the foundation.
+     *
+     * @param card the card
+     * @return the key for the card on the foundation
+     */
+    public static long foundation(final Card card) {
+        return key(FOUNDATION, card.ordinal());
+    }
+
+    /**
+     * Returns the key for a stock pile index.
+     *
+     * @param stockPileIndex the stock pile index
+     * @return the key for the stock pile index
+     */
+    public static long stockPileIndex(final int stockPileIndex) {
+        return key(STOCK_PILE_INDEX, stockPileIndex);
+    }
+
+    /**
+     * Returns the change in key caused by a column turning its top face-down
+     * card face up after cards were taken from it.  If no card was turned
+     * over, this is {@code 0}.
+     *
+     * @param columnIndex the index of the column
+     * @param before the column before cards were taken from it
+     * @param after the column after cards were taken from it
+     * @return the change in key for the card that was turned over, if any
+     */
+    public static long flipped(final int columnIndex, final Column before, final Column after) {
+        if (after.getNumberOfFaceDownCards() < before.getNumberOfFaceDownCards()) {
+            final Card card = after.getTopCard();
+            return faceDown(columnIndex, card) ^ faceUp(columnIndex, card);
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the combined key for every card in a column.
+     *
+     * @param columnIndex the index of the column
+     * @param column the column
+     * @return the key for the column
+     */
+    public static long column(final int columnIndex, final Column column) {
+        long key = 0;
+        for (final Card card : column.getFaceDownCards()) {
+            key ^= faceDown(columnIndex, card);
+        }
+        for (final Card card : column.getFaceUpCards()) {
+            key ^= faceUp(columnIndex, card);
+        }
+        return key;
+    }
+
+    /**
+     * Computes the key for a whole board from scratch.
+     *
+     * @param columns the columns
+     * @param stockPile the stock pile
+     * @param stockPileIndex the stock pile index
+     * @param foundation the foundation
+     * @return the Zobrist key for the board
+     */
+    public static long board(final List<Column> columns, final List<Card> stockPile, final int stockPileIndex,
+            final Map<Suit, List<Card>> foundation) {
+        return board(columns, stockPile, stockPileIndex, PackedFoundation.pack(foundation));
+    }
+
+    /**
+     * Computes the key for a whole board with a packed foundation from scratch.
+     *
+     * @param columns the columns
+     * @param stockPile the stock pile
+     * @param stockPileIndex the stock pile index
+     * @param foundation the foundation, packed by {@link PackedFoundation}
+     * @return the Zobrist key for the board
+     */
+    public static long board(final List<Column> columns, final List<Card> stockPile, final int stockPileIndex,
+            final int foundation) {
+        long key = stockPileIndex(stockPileIndex);
+        for (int i = 0; i < columns.size(); i++ ) {
+            key ^= column(i, columns.get(i));
+        }
+        for (final Card card : stockPile) {
+            key ^= stockPile(card);
+        }
+        for (final Suit suit : Suit.values()) {
+            for (final Card card : PackedFoundation.getPile(foundation, suit)) {
+                key ^= foundation(card);
+            }
+        }
+        return key;
+    }
+
+}
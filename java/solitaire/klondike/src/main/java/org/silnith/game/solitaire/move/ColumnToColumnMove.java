@@ -4,12 +4,13 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.ListIterator;
-import java.util.Map;
 
 import org.silnith.deck.Card;
-import org.silnith.deck.Suit;
 import org.silnith.deck.Value;
 import org.silnith.game.solitaire.Board;
+import org.silnith.game.solitaire.CompactBoard;
+import org.silnith.game.solitaire.MutableKlondikeBoard;
+import org.silnith.game.solitaire.ZobristKeys;
 import org.silnith.game.solitaire.Column;
 import org.silnith.game.util.Pair;
 
@@ -205,7 +206,7 @@ public class ColumnToColumnMove implements SolitaireMove {
 		final List<Column> columns = board.getColumns();
 		final List<Card> stockPile = board.getStockPile();
 		final int stockPileIndex = board.getStockPileIndex();
-		final Map<Suit, List<Card>> foundation = board.getFoundation();
+		final int foundation = board.getPackedFoundation();
 		
 		final Column fromColumn = columns.get(sourceColumnIndex);
 		final Column toColumn = columns.get(destinationColumnIndex);
@@ -217,7 +218,27 @@ public class ColumnToColumnMove implements SolitaireMove {
 		final List<Column> newColumns = new ArrayList<>(columns);
 		newColumns.set(sourceColumnIndex, newFromColumn);
 		newColumns.set(destinationColumnIndex, newToColumn);
-		return new Board(newColumns, stockPile, stockPileIndex, foundation);
+		
+		long zobristKey = board.getZobristKey() ^ ZobristKeys.flipped(sourceColumnIndex, fromColumn, newFromColumn);
+		for (final Card card : run) {
+			zobristKey ^= ZobristKeys.faceUp(sourceColumnIndex, card) ^ ZobristKeys.faceUp(destinationColumnIndex, card);
+		}
+		return new Board(newColumns, stockPile, stockPileIndex, foundation, zobristKey);
+    }
+    
+    @Override
+    public CompactBoard applyCompact(final CompactBoard board) {
+        return board.withRunMoved(sourceColumnIndex, destinationColumnIndex, cards.size());
+    }
+    
+    @Override
+    public void make(final MutableKlondikeBoard board) {
+        board.moveRun(sourceColumnIndex, destinationColumnIndex, cards.size());
+    }
+    
+    @Override
+    public void unmake(final MutableKlondikeBoard board) {
+        board.unmoveRun(sourceColumnIndex, destinationColumnIndex, cards.size());
     }
     
     @Override
@@ -4,11 +4,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 import org.silnith.deck.Card;
 import org.silnith.deck.Suit;
 import org.silnith.game.solitaire.Board;
+import org.silnith.game.solitaire.CompactBoard;
+import org.silnith.game.solitaire.MutableKlondikeBoard;
+import org.silnith.game.solitaire.PackedFoundation;
+import org.silnith.game.solitaire.ZobristKeys;
 import org.silnith.game.solitaire.Column;
 import org.silnith.game.util.Pair;
 
@@ -173,9 +176,27 @@ public class ColumnToFoundationMove implements SolitaireMove {
 		
 		final List<Card> stockPile = board.getStockPile();
 		final int stockPileIndex = board.getStockPileIndex();
-		final Map<Suit, List<Card>> newFoundation = board.getFoundationPlusCard(card);
+		final int newFoundation = PackedFoundation.plus(board.getPackedFoundation(), card);
 		
-		return new Board(newColumns, stockPile, stockPileIndex, newFoundation);
+		final long zobristKey = board.getZobristKey() ^ ZobristKeys.faceUp(sourceColumnIndex, card)
+				^ ZobristKeys.foundation(card) ^ ZobristKeys.flipped(sourceColumnIndex, column, newColumn);
+		
+		return new Board(newColumns, stockPile, stockPileIndex, newFoundation, zobristKey);
+    }
+    
+    @Override
+    public CompactBoard applyCompact(final CompactBoard board) {
+        return board.withColumnCardToFoundation(sourceColumnIndex);
+    }
+    
+    @Override
+    public void make(final MutableKlondikeBoard board) {
+        board.moveColumnCardToFoundation(sourceColumnIndex);
+    }
+    
+    @Override
+    public void unmake(final MutableKlondikeBoard board) {
+        board.unmoveColumnCardToFoundation(sourceColumnIndex, card.getSuit());
     }
     
     @Override
@@ -1,15 +1,14 @@
 package org.silnith.game.solitaire.move;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.EnumMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 
 import org.silnith.deck.Card;
-import org.silnith.deck.Suit;
 import org.silnith.game.solitaire.Board;
+import org.silnith.game.solitaire.CompactBoard;
+import org.silnith.game.solitaire.MutableKlondikeBoard;
+import org.silnith.game.solitaire.PackedFoundation;
 import org.silnith.game.solitaire.Column;
 
 
@@ -157,13 +156,33 @@ public class DealMove implements SolitaireMove {
             stockPile.add(card);
         }
         
-        final Map<Suit, List<Card>> foundation = new EnumMap<>(Suit.class);
-        for (final Suit suit : Suit.values()) {
-            final List<Card> cards = Collections.emptyList();
-            foundation.put(suit, cards);
-        }
-        
-        return new Board(columns, stockPile, 0, foundation);
+        return new Board(columns, stockPile, 0, PackedFoundation.EMPTY);
+    }
+    
+    @Override
+    public CompactBoard applyCompact(final CompactBoard board) {
+        // The parameter is completely ignored.
+        return CompactBoard.deal(cards, numberOfColumns);
+    }
+    
+    /**
+     * A deal replaces the whole board, so it cannot be made in place.
+     * 
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void make(final MutableKlondikeBoard board) {
+        throw new UnsupportedOperationException("A deal cannot be made on a mutable board.");
+    }
+    
+    /**
+     * A deal replaces the whole board, so it cannot be taken back in place.
+     * 
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void unmake(final MutableKlondikeBoard board) {
+        throw new UnsupportedOperationException("A deal cannot be unmade on a mutable board.");
     }
     
     @Override
@@ -5,13 +5,15 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.ListIterator;
-import java.util.Map;
 
 import org.silnith.deck.Card;
 import org.silnith.deck.Suit;
 import org.silnith.game.solitaire.Board;
+import org.silnith.game.solitaire.CompactBoard;
+import org.silnith.game.solitaire.MutableKlondikeBoard;
+import org.silnith.game.solitaire.PackedFoundation;
+import org.silnith.game.solitaire.ZobristKeys;
 import org.silnith.game.solitaire.Column;
-import org.silnith.game.util.Pair;
 
 
 /**
@@ -31,12 +33,10 @@ public class FoundationToColumnMove implements SolitaireMove {
 	 */
 	public static Collection<FoundationToColumnMove> findMoves(final Board board) {
 		final Collection<FoundationToColumnMove> moves = new ArrayList<>();
-		final Map<Suit, List<Card>> foundation = board.getFoundation();
 		final List<Column> columns = board.getColumns();
 		for (final Suit suit : Suit.values()) {
-			final List<Card> foundationForSuit = foundation.get(suit);
-			if (!foundationForSuit.isEmpty()) {
-				final Card topOfFoundation = foundationForSuit.get(foundationForSuit.size() - 1);
+			if (board.getFoundationSize(suit) > 0) {
+				final Card topOfFoundation = board.getTopOfFoundation(suit);
 				final List<Card> run = Collections.singletonList(topOfFoundation);
 				final ListIterator<Column> iter = columns.listIterator();
 				while (iter.hasNext()) {
@@ -169,9 +169,8 @@ public class FoundationToColumnMove implements SolitaireMove {
 
 	@Override
     public Board apply(final Board board) {
-        final Pair<Card, Map<Suit, List<Card>>> pair = board.extractCardFromFoundation(card.getSuit());
-		final Card card = pair.getFirst();
-		final Map<Suit, List<Card>> newFoundation = pair.getSecond();
+        final Card card = board.getTopOfFoundation(this.card.getSuit());
+		final int newFoundation = PackedFoundation.minus(board.getPackedFoundation(), card.getSuit());
 		
 		final List<Column> columns = board.getColumns();
 		final Column column = columns.get(destinationColumnIndex);
@@ -180,7 +179,25 @@ public class FoundationToColumnMove implements SolitaireMove {
 		final List<Column> newColumns = new ArrayList<>(columns);
 		newColumns.set(destinationColumnIndex, newColumn);
 		
-		return new Board(newColumns, board.getStockPile(), board.getStockPileIndex(), newFoundation);
+		final long zobristKey = board.getZobristKey() ^ ZobristKeys.foundation(card)
+				^ ZobristKeys.faceUp(destinationColumnIndex, card);
+		
+		return new Board(newColumns, board.getStockPile(), board.getStockPileIndex(), newFoundation, zobristKey);
+    }
+    
+    @Override
+    public CompactBoard applyCompact(final CompactBoard board) {
+        return board.withFoundationCardToColumn(card.getSuit(), destinationColumnIndex);
+    }
+    
+    @Override
+    public void make(final MutableKlondikeBoard board) {
+        board.moveFoundationCardToColumn(card.getSuit(), destinationColumnIndex);
+    }
+    
+    @Override
+    public void unmake(final MutableKlondikeBoard board) {
+        board.unmoveFoundationCardToColumn(destinationColumnIndex);
     }
     
     @Override
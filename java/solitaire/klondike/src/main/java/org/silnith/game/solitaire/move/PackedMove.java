@@ -0,0 +1,357 @@
+package org.silnith.game.solitaire.move;
+
+import java.util.List;
+
+import org.silnith.deck.Card;
+import org.silnith.deck.Suit;
+import org.silnith.game.solitaire.Board;
+
+
+/**
+ * Operations on a Klondike move packed into a single {@code int}.
+ *
+ * <p>Every move except a deal is described by what kind of move it is, where
+ * the cards come from, where they go, how many there are, and the first
+ * card moved.  Each gets a field of the {@code int}, starting from the
+ * lowest bits:</p>
+ * <ol>
+ * <li>four bits for the kind, one of the constants of this class</li>
+ * <li>eight bits for the source, a column index, a stock pile index, or a
+ *     {@link Suit} ordinal</li>
+ * <li>eight bits for the destination column index</li>
+ * <li>six bits for the count of cards, or the stock pile advance</li>
+ * <li>six bits for the {@link Card#ordinal() ordinal} of the first card</li>
+ * </ol>
+ *
+ * <p>Fields a kind of move does not use are zero.  A packed move holds
+ * exactly what the equivalent {@link SolitaireMove} object holds, except that
+ * a run of cards moved between columns is only its first card and its
+ * length.  The rest of the run is on the board the move is made from, which
+ * is why {@link #toMove(int, Board)} needs the board.</p>
+ *
+ * @see org.silnith.game.move.MoveList
+ * @see org.silnith.game.solitaire.MutableKlondikeBoard#findAllMoves(org.silnith.game.move.MoveList)
+ * @author <a href="mailto:silnith@gmail.com">Kent Rosenkoetter</a>
+ */
+public final class PackedMove {
+
+    /**
+     * The kind of a {@link StockPileRecycleMove}.  The source is the stock
+     * pile index before the recycle.
+     */
+    public static final int STOCK_PILE_RECYCLE = 1;
+
+    /**
+     * The kind of a {@link StockPileAdvanceMove}.  The source is the stock
+     * pile index before the advance, and the count is the increment.
+     */
+    public static final int STOCK_PILE_ADVANCE = 2;
+
+    /**
+     * The kind of a {@link FoundationToColumnMove}.  The source is the suit
+     * ordinal.
+     */
+    public static final int FOUNDATION_TO_COLUMN = 3;
+
+    /**
+     * The kind of a {@link ColumnToColumnMove}.  The card is the bottom card
+     * of the run.
+     */
+    public static final int COLUMN_TO_COLUMN = 4;
+
+    /**
+     * The kind of a {@link StockPileToColumnMove}.  The source is the stock
+     * pile index of the card.
+     */
+    public static final int STOCK_PILE_TO_COLUMN = 5;
+
+    /**
+     * The kind of a {@link ColumnToFoundationMove}.
+     */
+    public static final int COLUMN_TO_FOUNDATION = 6;
+
+    /**
+     * The kind of a {@link StockPileToFoundationMove}.  The source is the
+     * stock pile index of the card.
+     */
+    public static final int STOCK_PILE_TO_FOUNDATION = 7;
+
+    private static final int KIND_BITS = 4;
+
+    private static final int INDEX_BITS = 8;
+
+    private static final int COUNT_BITS = 6;
+
+    private static final int SOURCE_SHIFT = KIND_BITS;
+
+    private static final int DESTINATION_SHIFT = SOURCE_SHIFT + INDEX_BITS;
+
+    private static final int COUNT_SHIFT = DESTINATION_SHIFT + INDEX_BITS;
+
+    private static final int CARD_SHIFT = COUNT_SHIFT + COUNT_BITS;
+
+    private static final int KIND_MASK = (1 << KIND_BITS) - 1;
+
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+
+    private static final int COUNT_MASK = (1 << COUNT_BITS) - 1;
+
+    private PackedMove() {
+        super();
+    }
+
+    private static int pack(final int kind, final int source, final int destination, final int count,
+            final Card card) {
+        if (source < 0 || source > INDEX_MASK) {
+            throw new IllegalArgumentException("Source out of range: " + source);
+        }
+        if (destination < 0 || destination > INDEX_MASK) {
+            throw new IllegalArgumentException("Destination out of range: " + destination);
+        }
+        if (count < 0 || count > COUNT_MASK) {
+            throw new IllegalArgumentException("Count out of range: " + count);
+        }
+        final int ordinal;
+        if (card == null) {
+            ordinal = 0;
+        } else {
+            ordinal = card.ordinal();
+        }
+        return kind | source << SOURCE_SHIFT | destination << DESTINATION_SHIFT | count << COUNT_SHIFT
+                | ordinal << CARD_SHIFT;
+    }
+
+    /**
+     * Packs a stock pile recycle.
+     *
+     * @param sourceIndex the stock pile index before the recycle
+     * @return the packed move
+     * @see StockPileRecycleMove
+     */
+    public static int stockPileRecycle(final int sourceIndex) {
+        return pack(STOCK_PILE_RECYCLE, sourceIndex, 0, 0, null);
+    }
+
+    /**
+     * Packs a stock pile advance.
+     *
+     * @param beginningIndex the stock pile index before the advance
+     * @param increment the number of cards the stock pile index advances
+     * @return the packed move
+     * @see StockPileAdvanceMove
+     */
+    public static int stockPileAdvance(final int beginningIndex, final int increment) {
+        return pack(STOCK_PILE_ADVANCE, beginningIndex, 0, increment, null);
+    }
+
+    /**
+     * Packs a move of the top card of the foundation to a column.
+     *
+     * @param destinationColumnIndex the index of the destination column
+     * @param card the card being moved
+     * @return the packed move
+     * @see FoundationToColumnMove
+     */
+    public static int foundationToColumn(final int destinationColumnIndex, final Card card) {
+        return pack(FOUNDATION_TO_COLUMN, card.getSuit().ordinal(), destinationColumnIndex, 1, card);
+    }
+
+    /**
+     * Packs a move of a run of cards from one column to another.
+     *
+     * @param sourceColumnIndex the index of the source column
+     * @param destinationColumnIndex the index of the destination column
+     * @param numberOfCards the number of cards in the run
+     * @param firstCard the bottom card of the run
+     * @return the packed move
+     * @see ColumnToColumnMove
+     */
+    public static int columnToColumn(final int sourceColumnIndex, final int destinationColumnIndex,
+            final int numberOfCards, final Card firstCard) {
+        return pack(COLUMN_TO_COLUMN, sourceColumnIndex, destinationColumnIndex, numberOfCards, firstCard);
+    }
+
+    /**
+     * Packs a move of the current stock pile card to a column.
+     *
+     * @param sourceIndex the stock pile index of the card
+     * @param destinationColumnIndex the index of the destination column
+     * @param card the card being moved
+     * @return the packed move
+     * @see StockPileToColumnMove
+     */
+    public static int stockPileToColumn(final int sourceIndex, final int destinationColumnIndex, final Card card) {
+        return pack(STOCK_PILE_TO_COLUMN, sourceIndex, destinationColumnIndex, 1, card);
+    }
+
+    /**
+     * Packs a move of the top card of a column to the foundation.
+     *
+     * @param sourceColumnIndex the index of the source column
+     * @param card the card being moved
+     * @return the packed move
+     * @see ColumnToFoundationMove
+     */
+    public static int columnToFoundation(final int sourceColumnIndex, final Card card) {
+        return pack(COLUMN_TO_FOUNDATION, sourceColumnIndex, 0, 1, card);
+    }
+
+    /**
+     * Packs a move of the current stock pile card to the foundation.
+     *
+     * @param sourceIndex the stock pile index of the card
+     * @param card the card being moved
+     * @return the packed move
+     * @see StockPileToFoundationMove
+     */
+    public static int stockPileToFoundation(final int sourceIndex, final Card card) {
+        return pack(STOCK_PILE_TO_FOUNDATION, sourceIndex, 0, 1, card);
+    }
+
+    /**
+     * Returns the kind of a packed move.
+     *
+     * @param move the packed move
+     * @return one of the kind constants of this class
+     */
+    public static int getKind(final int move) {
+        return move & KIND_MASK;
+    }
+
+    /**
+     * Returns the source of a packed move.
+     *
+     * @param move the packed move
+     * @return the column index, stock pile index, or suit ordinal the cards
+     *         come from
+     */
+    public static int getSource(final int move) {
+        return (move >>> SOURCE_SHIFT) & INDEX_MASK;
+    }
+
+    /**
+     * Returns the destination column index of a packed move.
+     *
+     * @param move the packed move
+     * @return the destination column index
+     */
+    public static int getDestination(final int move) {
+        return (move >>> DESTINATION_SHIFT) & INDEX_MASK;
+    }
+
+    /**
+     * Returns the number of cards a packed move moves, or for a stock pile
+     * advance, the increment.
+     *
+     * @param move the packed move
+     * @return the count
+     */
+    public static int getCount(final int move) {
+        return (move >>> COUNT_SHIFT) & COUNT_MASK;
+    }
+
+    /**
+     * Returns the first card a packed move moves.  This is meaningless for
+     * moves that do not move cards.
+     *
+     * @param move the packed move
+     * @return the card
+     */
+    public static Card getCard(final int move) {
+        return Card.of(move >>> CARD_SHIFT);
+    }
+
+    /**
+     * Packs a move object.
+     *
+     * @param move the move
+     * @return the packed move
+     * @throws IllegalArgumentException if the move cannot be packed, such as
+     *         a deal
+     */
+    public static int valueOf(final SolitaireMove move) {
+        if (move instanceof StockPileRecycleMove) {
+            return stockPileRecycle(((StockPileRecycleMove) move).getSourceIndex());
+        } else if (move instanceof StockPileAdvanceMove) {
+            final StockPileAdvanceMove advance = (StockPileAdvanceMove) move;
+            return stockPileAdvance(advance.getBeginningIndex(), advance.getIncrement());
+        } else if (move instanceof FoundationToColumnMove) {
+            final FoundationToColumnMove foundationToColumn = (FoundationToColumnMove) move;
+            return foundationToColumn(foundationToColumn.getDestinationColumnIndex(), foundationToColumn.getCard());
+        } else if (move instanceof ColumnToColumnMove) {
+            return columnToColumn(move.getSourceColumnIndex(), move.getDestinationColumnIndex(),
+                    move.getCards().size(), move.getCards().get(0));
+        } else if (move instanceof StockPileToColumnMove) {
+            final StockPileToColumnMove stockPileToColumn = (StockPileToColumnMove) move;
+            return stockPileToColumn(stockPileToColumn.getSourceIndex(),
+                    stockPileToColumn.getDestinationColumnIndex(), stockPileToColumn.getCard());
+        } else if (move instanceof ColumnToFoundationMove) {
+            final ColumnToFoundationMove columnToFoundation = (ColumnToFoundationMove) move;
+            return columnToFoundation(columnToFoundation.getSourceColumnIndex(), columnToFoundation.getCard());
+        } else if (move instanceof StockPileToFoundationMove) {
+            final StockPileToFoundationMove stockPileToFoundation = (StockPileToFoundationMove) move;
+            return stockPileToFoundation(stockPileToFoundation.getSourceIndex(), stockPileToFoundation.getCard());
+        } else {
+            throw new IllegalArgumentException("Cannot pack move: " + move);
+        }
+    }
+
+    /**
+     * Unpacks a move into the equivalent move object.
+     *
+     * @param move the packed move
+     * @param board the board the move is made from, which holds the cards
+     *         of a run moved between columns
+     * @return the move object
+     * @throws IllegalArgumentException if the kind of move is unknown
+     */
+    public static SolitaireMove toMove(final int move, final Board board) {
+        if (getKind(move) == COLUMN_TO_COLUMN) {
+            return new ColumnToColumnMove(getSource(move), getDestination(move), getCount(move), board);
+        }
+        return toMove(move, (List<Card>) null);
+    }
+
+    /**
+     * Unpacks a move into the equivalent move object, given the cards of a
+     * run moved between columns.
+     *
+     * @param move the packed move
+     * @param run the cards moved, if the move is between columns.  Ignored
+     *         for every other kind of move.
+     * @return the move object
+     * @throws IllegalArgumentException if the kind of move is unknown
+     */
+    public static SolitaireMove toMove(final int move, final List<Card> run) {
+        switch (getKind(move)) {
+        case STOCK_PILE_RECYCLE:
+            return new StockPileRecycleMove(getSource(move));
+        case STOCK_PILE_ADVANCE:
+            return new StockPileAdvanceMove(getSource(move), getCount(move));
+        case FOUNDATION_TO_COLUMN:
+            return new FoundationToColumnMove(getDestination(move), getCard(move));
+        case COLUMN_TO_COLUMN:
+            return new ColumnToColumnMove(getSource(move), getDestination(move), run);
+        case STOCK_PILE_TO_COLUMN:
+            return new StockPileToColumnMove(getSource(move), getDestination(move), getCard(move));
+        case COLUMN_TO_FOUNDATION:
+            return new ColumnToFoundationMove(getSource(move), getCard(move));
+        case STOCK_PILE_TO_FOUNDATION:
+            return new StockPileToFoundationMove(getSource(move), getCard(move));
+        default:
+            throw new IllegalArgumentException("Unknown kind of move: " + getKind(move));
+        }
+    }
+
+    /**
+     * Returns a readable description of a packed move.
+     *
+     * @param move the packed move
+     * @return a description of the move
+     */
+    public static String toString(final int move) {
+        return "PackedMove(kind=" + getKind(move) + ", source=" + getSource(move) + ", destination="
+                + getDestination(move) + ", count=" + getCount(move) + ", card=" + getCard(move) + ")";
+    }
+
+}
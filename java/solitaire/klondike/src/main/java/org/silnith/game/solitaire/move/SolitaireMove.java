@@ -5,6 +5,8 @@ import java.util.List;
 import org.silnith.deck.Card;
 import org.silnith.game.move.Move;
 import org.silnith.game.solitaire.Board;
+import org.silnith.game.solitaire.CompactBoard;
+import org.silnith.game.solitaire.MutableKlondikeBoard;
 
 
 /**
@@ -14,6 +16,36 @@ import org.silnith.game.solitaire.Board;
  */
 public interface SolitaireMove extends Move<Board> {
     
+    /**
+     * Applies this move to a compact board, producing the compact form of
+     * the board that {@code apply(Board)} would produce for the unpacked
+     * board.  No {@link Board} is built along the way.
+     * 
+     * @param board the compact board to apply the move to
+     * @return the compact board after the move is applied
+     */
+    CompactBoard applyCompact(CompactBoard board);
+
+    /**
+     * Makes this move on a mutable board in place.  The board is left equal
+     * to what {@code apply(Board)} would produce for the equivalent board.
+     *
+     * @param board the mutable board to make the move on
+     * @throws UnsupportedOperationException if the move cannot be made in place
+     * @see #unmake(MutableKlondikeBoard)
+     */
+    void make(MutableKlondikeBoard board);
+
+    /**
+     * Takes this move back on a mutable board, restoring the board to what it
+     * was before {@link #make(MutableKlondikeBoard)}.  This must be the last
+     * move made on the board that has not already been taken back.
+     *
+     * @param board the mutable board to take the move back on
+     * @throws UnsupportedOperationException if the move cannot be made in place
+     */
+    void unmake(MutableKlondikeBoard board);
+
     /**
      * Returns whether the move involves one or more cards.
      * 
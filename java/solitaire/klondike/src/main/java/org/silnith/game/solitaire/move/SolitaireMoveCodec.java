@@ -0,0 +1,127 @@
+package org.silnith.game.solitaire.move;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.silnith.deck.Card;
+import org.silnith.deck.Suit;
+import org.silnith.deck.Value;
+import org.silnith.game.move.MoveCodec;
+import org.silnith.game.solitaire.Board;
+
+
+/**
+ * Writes solitaire moves as a one-byte type tag followed by the few indices
+ * that cannot be recovered from the board the move applies to.  Most moves
+ * take between one and four bytes.
+ */
+public class SolitaireMoveCodec implements MoveCodec<SolitaireMove, Board> {
+
+    private static final int DEAL = 0;
+
+    private static final int COLUMN_TO_COLUMN = 1;
+
+    private static final int COLUMN_TO_FOUNDATION = 2;
+
+    private static final int FOUNDATION_TO_COLUMN = 3;
+
+    private static final int STOCK_PILE_ADVANCE = 4;
+
+    private static final int STOCK_PILE_RECYCLE = 5;
+
+    private static final int STOCK_PILE_TO_COLUMN = 6;
+
+    private static final int STOCK_PILE_TO_FOUNDATION = 7;
+
+    @Override
+    public void writeMove(final SolitaireMove move, final DataOutput out) throws IOException {
+        if (move instanceof ColumnToColumnMove) {
+            out.writeByte(COLUMN_TO_COLUMN);
+            out.writeByte(move.getSourceColumnIndex());
+            out.writeByte(move.getDestinationColumnIndex());
+            out.writeByte(move.getCards().size());
+        } else if (move instanceof ColumnToFoundationMove) {
+            out.writeByte(COLUMN_TO_FOUNDATION);
+            out.writeByte(move.getSourceColumnIndex());
+        } else if (move instanceof FoundationToColumnMove) {
+            out.writeByte(FOUNDATION_TO_COLUMN);
+            out.writeByte(move.getDestinationColumnIndex());
+            out.writeByte(((FoundationToColumnMove) move).getCard().getSuit().ordinal());
+        } else if (move instanceof StockPileAdvanceMove) {
+            out.writeByte(STOCK_PILE_ADVANCE);
+            out.writeByte(((StockPileAdvanceMove) move).getIncrement());
+        } else if (move instanceof StockPileRecycleMove) {
+            out.writeByte(STOCK_PILE_RECYCLE);
+            out.writeByte(((StockPileRecycleMove) move).getSourceIndex());
+        } else if (move instanceof StockPileToColumnMove) {
+            out.writeByte(STOCK_PILE_TO_COLUMN);
+            out.writeByte(move.getDestinationColumnIndex());
+        } else if (move instanceof StockPileToFoundationMove) {
+            out.writeByte(STOCK_PILE_TO_FOUNDATION);
+        } else if (move instanceof DealMove) {
+            final DealMove dealMove = (DealMove) move;
+            out.writeByte(DEAL);
+            out.writeByte(dealMove.getNumberOfColumns());
+            out.writeByte(dealMove.getCards().size());
+            for (final Card card : dealMove.getCards()) {
+                out.writeByte(card.getValue().ordinal());
+                out.writeByte(card.getSuit().ordinal());
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported move: " + move);
+        }
+    }
+
+    @Override
+    public SolitaireMove readMove(final DataInput in, final Board board) throws IOException {
+        final int type = in.readUnsignedByte();
+        switch (type) {
+        case COLUMN_TO_COLUMN: {
+            final int sourceColumnIndex = in.readUnsignedByte();
+            final int destinationColumnIndex = in.readUnsignedByte();
+            final int numberOfCards = in.readUnsignedByte();
+            return new ColumnToColumnMove(sourceColumnIndex, destinationColumnIndex, numberOfCards, board);
+        }
+        case COLUMN_TO_FOUNDATION:
+            return new ColumnToFoundationMove(in.readUnsignedByte(), board);
+        case FOUNDATION_TO_COLUMN: {
+            final int destinationColumnIndex = in.readUnsignedByte();
+            final Suit suit = readEnum(Suit.values(), in);
+            return new FoundationToColumnMove(destinationColumnIndex, suit, board);
+        }
+        case STOCK_PILE_ADVANCE:
+            return new StockPileAdvanceMove(in.readUnsignedByte(), board);
+        case STOCK_PILE_RECYCLE:
+            return new StockPileRecycleMove(in.readUnsignedByte());
+        case STOCK_PILE_TO_COLUMN:
+            return new StockPileToColumnMove(in.readUnsignedByte(), board);
+        case STOCK_PILE_TO_FOUNDATION:
+            return new StockPileToFoundationMove(board);
+        case DEAL: {
+            final int numberOfColumns = in.readUnsignedByte();
+            final int numberOfCards = in.readUnsignedByte();
+            final List<Card> cards = new ArrayList<>(numberOfCards);
+            for (int i = 0; i < numberOfCards; i++ ) {
+                final Value value = readEnum(Value.values(), in);
+                final Suit suit = readEnum(Suit.values(), in);
+                cards.add(Card.of(value, suit));
+            }
+            return new DealMove(cards, numberOfColumns);
+        }
+        default:
+            throw new IOException("Unknown move type: " + type);
+        }
+    }
+
+    private static <E extends Enum<E>> E readEnum(final E[] values, final DataInput in) throws IOException {
+        final int ordinal = in.readUnsignedByte();
+        if (ordinal >= values.length) {
+            throw new IOException("Invalid ordinal: " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+}
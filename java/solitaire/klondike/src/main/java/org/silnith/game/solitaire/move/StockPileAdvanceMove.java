@@ -5,6 +5,9 @@ import java.util.Collections;
 import java.util.List;
 import org.silnith.deck.Card;
 import org.silnith.game.solitaire.Board;
+import org.silnith.game.solitaire.CompactBoard;
+import org.silnith.game.solitaire.MutableKlondikeBoard;
+import org.silnith.game.solitaire.ZobristKeys;
 
 
 /**
@@ -179,7 +182,24 @@ public class StockPileAdvanceMove implements SolitaireMove {
 		
 		final List<Card> stockPile = board.getStockPile();
 		final int newIndex = Math.min(board.getStockPileIndex() + increment, stockPile.size());
-		return new Board(board.getColumns(), stockPile, newIndex, board.getFoundation());
+		final long zobristKey = board.getZobristKey() ^ ZobristKeys.stockPileIndex(board.getStockPileIndex())
+				^ ZobristKeys.stockPileIndex(newIndex);
+		return new Board(board.getColumns(), stockPile, newIndex, board.getPackedFoundation(), zobristKey);
+    }
+    
+    @Override
+    public CompactBoard applyCompact(final CompactBoard board) {
+        return board.withStockPileIndex(Math.min(board.getStockPileIndex() + increment, board.getStockPileSize()));
+    }
+    
+    @Override
+    public void make(final MutableKlondikeBoard board) {
+        board.setStockPileIndex(Math.min(board.getStockPileIndex() + increment, board.getStockPileSize()));
+    }
+    
+    @Override
+    public void unmake(final MutableKlondikeBoard board) {
+        board.setStockPileIndex(beginningIndex);
     }
     
     @Override
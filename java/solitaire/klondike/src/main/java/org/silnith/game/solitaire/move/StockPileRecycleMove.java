@@ -6,6 +6,9 @@ import java.util.List;
 
 import org.silnith.deck.Card;
 import org.silnith.game.solitaire.Board;
+import org.silnith.game.solitaire.CompactBoard;
+import org.silnith.game.solitaire.MutableKlondikeBoard;
+import org.silnith.game.solitaire.ZobristKeys;
 
 
 /**
@@ -128,7 +131,24 @@ public class StockPileRecycleMove implements SolitaireMove {
 
 	@Override
     public Board apply(final Board board) {
-        return new Board(board.getColumns(), board.getStockPile(), 0, board.getFoundation());
+        final long zobristKey = board.getZobristKey() ^ ZobristKeys.stockPileIndex(board.getStockPileIndex())
+                ^ ZobristKeys.stockPileIndex(0);
+        return new Board(board.getColumns(), board.getStockPile(), 0, board.getPackedFoundation(), zobristKey);
+    }
+    
+    @Override
+    public CompactBoard applyCompact(final CompactBoard board) {
+        return board.withStockPileIndex(0);
+    }
+    
+    @Override
+    public void make(final MutableKlondikeBoard board) {
+        board.setStockPileIndex(0);
+    }
+    
+    @Override
+    public void unmake(final MutableKlondikeBoard board) {
+        board.setStockPileIndex(sourceIndex);
     }
     
     @Override
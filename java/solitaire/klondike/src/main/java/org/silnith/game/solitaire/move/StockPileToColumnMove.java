@@ -5,11 +5,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.ListIterator;
-import java.util.Map;
 
 import org.silnith.deck.Card;
-import org.silnith.deck.Suit;
 import org.silnith.game.solitaire.Board;
+import org.silnith.game.solitaire.CompactBoard;
+import org.silnith.game.solitaire.MutableKlondikeBoard;
+import org.silnith.game.solitaire.ZobristKeys;
 import org.silnith.game.solitaire.Column;
 import org.silnith.game.util.Pair;
 
@@ -193,8 +194,26 @@ public class StockPileToColumnMove implements SolitaireMove {
 		final List<Column> newColumns = new ArrayList<>(columns);
 		newColumns.set(destinationColumnIndex, newColumn);
 		
-		final Map<Suit, List<Card>> foundation = board.getFoundation();
-		return new Board(newColumns, newStockPile, newStockPileIndex, foundation);
+		final int foundation = board.getPackedFoundation();
+		final long zobristKey = board.getZobristKey() ^ ZobristKeys.stockPile(card)
+				^ ZobristKeys.faceUp(destinationColumnIndex, card) ^ ZobristKeys.stockPileIndex(stockPileIndex)
+				^ ZobristKeys.stockPileIndex(newStockPileIndex);
+		return new Board(newColumns, newStockPile, newStockPileIndex, foundation, zobristKey);
+    }
+    
+    @Override
+    public CompactBoard applyCompact(final CompactBoard board) {
+        return board.withStockPileCardToColumn(destinationColumnIndex);
+    }
+    
+    @Override
+    public void make(final MutableKlondikeBoard board) {
+        board.moveStockPileCardToColumn(destinationColumnIndex);
+    }
+    
+    @Override
+    public void unmake(final MutableKlondikeBoard board) {
+        board.unmoveStockPileCardToColumn(destinationColumnIndex);
     }
     
     @Override
@@ -3,11 +3,13 @@ package org.silnith.game.solitaire.move;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 import org.silnith.deck.Card;
-import org.silnith.deck.Suit;
 import org.silnith.game.solitaire.Board;
+import org.silnith.game.solitaire.CompactBoard;
+import org.silnith.game.solitaire.MutableKlondikeBoard;
+import org.silnith.game.solitaire.PackedFoundation;
+import org.silnith.game.solitaire.ZobristKeys;
 import org.silnith.game.util.Pair;
 
 
@@ -168,9 +170,27 @@ public class StockPileToFoundationMove implements SolitaireMove {
 		
 		final int newStockPileIndex = board.getStockPileIndex() - 1;
 		
-		final Map<Suit, List<Card>> newFoundation = board.getFoundationPlusCard(card);
+		final int newFoundation = PackedFoundation.plus(board.getPackedFoundation(), card);
 		
-		return new Board(board.getColumns(), newStockPile, newStockPileIndex, newFoundation);
+		final long zobristKey = board.getZobristKey() ^ ZobristKeys.stockPile(card) ^ ZobristKeys.foundation(card)
+				^ ZobristKeys.stockPileIndex(board.getStockPileIndex()) ^ ZobristKeys.stockPileIndex(newStockPileIndex);
+		
+		return new Board(board.getColumns(), newStockPile, newStockPileIndex, newFoundation, zobristKey);
+    }
+    
+    @Override
+    public CompactBoard applyCompact(final CompactBoard board) {
+        return board.withStockPileCardToFoundation();
+    }
+    
+    @Override
+    public void make(final MutableKlondikeBoard board) {
+        board.moveStockPileCardToFoundation();
+    }
+    
+    @Override
+    public void unmake(final MutableKlondikeBoard board) {
+        board.unmoveStockPileCardToFoundation(card.getSuit());
     }
     
     @Override
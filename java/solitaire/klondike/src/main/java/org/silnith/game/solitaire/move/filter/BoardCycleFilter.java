@@ -4,13 +4,26 @@ import java.util.Iterator;
 import java.util.List;
 
 import org.silnith.game.GameState;
+import org.silnith.game.move.IncrementalBoardFilter;
 import org.silnith.game.solitaire.Board;
 import org.silnith.game.solitaire.move.SolitaireMove;
+import org.silnith.game.util.PersistentLongSet;
 
 /**
  * Filters moves that introduce a cycle into the board history.
+ * 
+ * <p>The summary kept for each game state is the set of the
+ * {@link Board#getZobristKey() Zobrist keys} of every board in its history,
+ * so a search finds a repeated board with a lookup instead of comparing it
+ * to every board before it.  The sets of a node and its children share
+ * almost all of their structure.  The summary holds no boards, so it does
+ * not keep alive boards that a search has chosen not to keep.  Two different
+ * boards can have the same key, so a key already in the set is confirmed by
+ * walking the history for an equal board.  Checking a whole history at once
+ * also walks it, which is cheaper than building its set.</p>
  */
-public class BoardCycleFilter implements SolitaireMoveFilter {
+public class BoardCycleFilter
+        implements SolitaireMoveFilter, IncrementalBoardFilter<SolitaireMove, Board, PersistentLongSet> {
 
     @Override
     public Object getStatisticsKey() {
@@ -24,15 +37,46 @@ public class BoardCycleFilter implements SolitaireMoveFilter {
         final Iterator<GameState<SolitaireMove, Board>> iterator = gameStateHistory.iterator();
         assert iterator.hasNext();
         final GameState<SolitaireMove, Board> currentGameState = iterator.next();
-        final Board currentBoard = currentGameState.getBoard();
+        return isRepeated(currentGameState.getBoard(), iterator);
+    }
 
+    /**
+     * Returns whether any of the remaining game states has a board equal to
+     * the given board.
+     */
+    private static boolean isRepeated(final Board board, final Iterator<GameState<SolitaireMove, Board>> iterator) {
         while (iterator.hasNext()) {
             final GameState<SolitaireMove, Board> gameState = iterator.next();
-            if (currentBoard.equals(gameState.getBoard())) {
+            if (board.equals(gameState.getBoard())) {
                 return true;
             }
         }
         return false;
     }
 
+    @Override
+    public PersistentLongSet getSummary(final List<GameState<SolitaireMove, Board>> gameStateHistory) {
+        PersistentLongSet keys = PersistentLongSet.empty();
+        for (final GameState<SolitaireMove, Board> gameState : gameStateHistory) {
+            keys = keys.with(gameState.getBoard().getZobristKey());
+        }
+        return keys;
+    }
+
+    @Override
+    public PersistentLongSet getSummary(final PersistentLongSet parentSummary,
+            final GameState<SolitaireMove, Board> parentState, final GameState<SolitaireMove, Board> gameState) {
+        return parentSummary.with(gameState.getBoard().getZobristKey());
+    }
+
+    @Override
+    public boolean shouldFilter(final GameState<SolitaireMove, Board> gameState,
+            final PersistentLongSet parentSummary, final List<GameState<SolitaireMove, Board>> parentHistory) {
+        final Board board = gameState.getBoard();
+        if ( !parentSummary.contains(board.getZobristKey())) {
+            return false;
+        }
+        return isRepeated(board, parentHistory.iterator());
+    }
+
 }
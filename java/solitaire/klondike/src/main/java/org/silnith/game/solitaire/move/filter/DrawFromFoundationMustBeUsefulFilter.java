@@ -1,6 +1,5 @@
 package org.silnith.game.solitaire.move.filter;
 
-import java.util.Iterator;
 import java.util.List;
 
 import org.silnith.game.GameState;
@@ -11,30 +10,22 @@ import org.silnith.game.solitaire.move.SolitaireMove;
  * If a card is drawn from the foundation, the following move must make use
  * of the card drawn.  Specifically, something must be put on top of it.
  */
-public class DrawFromFoundationMustBeUsefulFilter implements SolitaireMoveFilter {
+public class DrawFromFoundationMustBeUsefulFilter implements SolitaireCandidateMoveFilter {
 
     @Override
     public Object getStatisticsKey() {
         return "Draw From Foundation Must Be Used";
     }
 
+    @Override
+    public int getLookback() {
+        return 0;
+    }
+
 	@Override
-	public boolean shouldFilter(final List<GameState<SolitaireMove, Board>> gameStateHistory) {
-	    final Iterator<GameState<SolitaireMove, Board>> iterator = gameStateHistory.iterator();
-	    assert iterator.hasNext();
-	    final GameState<SolitaireMove, Board> currentGameState = iterator.next();
-		final SolitaireMove currentMove = currentGameState.getMove();
-		
-		if (!iterator.hasNext()) {
-            /*
-             * This can only happen at the very beginning of the game.
-             * In that case, this filter is not helpful, so just let everything pass.
-             */
-		    return false;
-		}
-		
-		final GameState<SolitaireMove, Board> previousGameState = iterator.next();
-		final SolitaireMove previousMove = previousGameState.getMove();
+	public boolean shouldFilter(final SolitaireMove currentMove,
+			final List<GameState<SolitaireMove, Board>> parentHistory) {
+		final SolitaireMove previousMove = parentHistory.get(0).getMove();
 		
 		if (previousMove.isFromFoundation() && previousMove.isToColumn()) {
 		    assert previousMove.hasCards();
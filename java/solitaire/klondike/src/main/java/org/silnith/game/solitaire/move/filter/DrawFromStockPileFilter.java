@@ -1,17 +1,22 @@
 package org.silnith.game.solitaire.move.filter;
 
-import java.util.Iterator;
 import java.util.List;
 
 import org.silnith.game.GameState;
+import org.silnith.game.move.IncrementalMoveFilter;
 import org.silnith.game.solitaire.Board;
 import org.silnith.game.solitaire.move.SolitaireMove;
 
 /**
  * Filters draw from stock pile moves if they do not follow a stock pile advance
  * or recycle.
+ * 
+ * <p>The summary kept for each game state is whether the stock pile may be
+ * drawn from, so a search does not walk back over a run of draws for every
+ * move.</p>
  */
-public class DrawFromStockPileFilter implements SolitaireMoveFilter {
+public class DrawFromStockPileFilter
+        implements SolitaireCandidateMoveFilter, IncrementalMoveFilter<SolitaireMove, Board, Boolean> {
 
     @Override
     public Object getStatisticsKey() {
@@ -19,58 +24,85 @@ public class DrawFromStockPileFilter implements SolitaireMoveFilter {
     }
 
     @Override
-    public boolean shouldFilter(final List<GameState<SolitaireMove, Board>> state) {
-        assert state != null;
-        final Iterator<GameState<SolitaireMove, Board>> iterator = state.iterator();
-        final GameState<SolitaireMove, Board> currentGameState = iterator.next();
-        final SolitaireMove currentMove = currentGameState.getMove();
+    public int getLookback() {
+        return 0;
+    }
 
-        if (currentMove.isFromStockPile()) {
-            // continue
+    /**
+     * Returns whether the most recent move, skipping draws from the stock
+     * pile and the foundation, modified the stock pile.
+     * 
+     * @param gameStateHistory {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws IllegalArgumentException if every move in the history is a
+     *         draw
+     */
+    @Override
+    public Boolean getSummary(final List<GameState<SolitaireMove, Board>> gameStateHistory) {
+        for (final GameState<SolitaireMove, Board> gameState : gameStateHistory) {
+            final SolitaireMove move = gameState.getMove();
+            // There may be a sequence of draws from the stock pile.
+            if (move.isFromStockPile() || move.isFromFoundation()) {
+                /*
+                 * Walk backwards.
+                 * Ignoring moves from the foundation is a special-case.
+                 * In general moves from the foundation are filtered, but
+                 * they are allowed to provide a destination for column-to-column
+                 * moves or stock pile draws in the event that no other destination
+                 * is available.
+                 */
+                continue;
+            }
+            // Theoretically, it should only be possible for this move to be a stock
+            // pile advance.
+            // The recycle should make it impossible to draw from the stock pile.
+            return move.isStockPileModification();
+        }
+        throw new IllegalArgumentException("There must always be a stock pile advance before it is possible to draw from the stock pile.  (Or foundation.)");
+    }
+
+    @Override
+    public Boolean getSummary(final Boolean parentSummary, final GameState<SolitaireMove, Board> parentState,
+            final GameState<SolitaireMove, Board> gameState) {
+        final SolitaireMove move = gameState.getMove();
+        if (move.isFromStockPile() || move.isFromFoundation()) {
+            return parentSummary;
+        }
+        return move.isStockPileModification();
+    }
+
+    /**
+     * Returns {@code true} if the candidate move draws from the stock pile
+     * and the stock pile has not been advanced since the last move that did
+     * not draw a card.  The history is only summarized for draws from the
+     * stock pile, since no other move is ever filtered.
+     * 
+     * @param candidateMove {@inheritDoc}
+     * @param parentHistory {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean shouldFilter(final SolitaireMove candidateMove,
+            final List<GameState<SolitaireMove, Board>> parentHistory) {
+        if (candidateMove.isFromStockPile()) {
+            return shouldFilter(candidateMove, getSummary(parentHistory));
         } else {
             // This filter does not apply.
             return false;
         }
-        
-        if (!iterator.hasNext()) {
-            /*
-             * This can only happen at the very beginning of the game.
-             * In that case, this filter is not helpful, so just let everything pass.
-             */
-            return false;
-        }
-        
-        GameState<SolitaireMove, Board> previousGameState = iterator.next();
-        SolitaireMove previousMove = previousGameState.getMove();
-        // There may be a sequence of draws from the stock pile.
-        while (previousMove.isFromStockPile()
-                || previousMove.isFromFoundation()) {
-            /*
-             * Walk backwards.
-             * Ignoring moves from the foundation is a special-case.
-             * In general moves from the foundation are filtered, but
-             * they are allowed to provide a destination for column-to-column
-             * moves or stock pile draws in the event that no other destination
-             * is available.
-             */
-            assert iterator.hasNext() : "There must always be a stock pile advance before it is possible to draw from the stock pile.  (Or foundation.)";
-            previousGameState = iterator.next();
-            previousMove = previousGameState.getMove();
-        }
-        // Theoretically, it should only be possible for the previous move to be a stock
-        // pile advance.
-        // The recycle should make it impossible to draw from the stock pile.
-        if (previousMove.isStockPileModification()) {
+    }
+
+    @Override
+    public boolean shouldFilter(final SolitaireMove currentMove, final Boolean parentSummary) {
+        if (currentMove.isFromStockPile()) {
             /*
-             * This is acceptable, no need to filter.
+             * Drawing from the stock pile is only acceptable if the stock pile
+             * was advanced since the last move that did not draw a card.
              */
-            return false;
+            return !parentSummary;
         } else {
-            /*
-             * The previous move did not modify the stock pile,
-             * so drawing from the stock pile is silly.
-             */
-            return true;
+            // This filter does not apply.
+            return false;
         }
     }
 
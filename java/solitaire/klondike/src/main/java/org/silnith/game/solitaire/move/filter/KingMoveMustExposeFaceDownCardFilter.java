@@ -20,6 +20,11 @@ public class KingMoveMustExposeFaceDownCardFilter implements SolitaireMoveFilter
         return "King Move Must Expose Card";
     }
 
+    @Override
+    public int getLookback() {
+        return 1;
+    }
+
 	@Override
 	public boolean shouldFilter(final List<GameState<SolitaireMove, Board>> gameStateHistory) {
 	    final GameState<SolitaireMove, Board> currentGameState = gameStateHistory.get(0);
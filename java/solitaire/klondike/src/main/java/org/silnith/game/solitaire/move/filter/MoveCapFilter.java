@@ -34,6 +34,11 @@ public class MoveCapFilter implements SolitaireMoveFilter {
         return key;
     }
 
+    @Override
+    public int getLookback() {
+        return 0;
+    }
+
     @Override
 	public boolean shouldFilter(final List<GameState<SolitaireMove, Board>> gameStateHistory) {
 		return gameStateHistory.size() > moveCap;
@@ -0,0 +1,12 @@
+package org.silnith.game.solitaire.move.filter;
+
+import org.silnith.game.move.CandidateMoveFilter;
+import org.silnith.game.solitaire.Board;
+import org.silnith.game.solitaire.move.SolitaireMove;
+
+/**
+ * A filter for Klondike solitaire moves that only needs the candidate move
+ * and the history before it, so that it can run before the move is applied.
+ */
+public interface SolitaireCandidateMoveFilter extends SolitaireMoveFilter, CandidateMoveFilter<SolitaireMove, Board> {
+}
@@ -1,6 +1,5 @@
 package org.silnith.game.solitaire.move.filter;
 
-import java.util.Iterator;
 import java.util.List;
 
 import org.silnith.game.GameState;
@@ -12,30 +11,22 @@ import org.silnith.game.solitaire.move.SolitaireMove;
  * Once a game tree advances the stock pile, it must use the stock pile
  * in some way.
  */
-public class StockPileAdvanceMustBeFollowedBySomethingUsefulFilter implements SolitaireMoveFilter {
+public class StockPileAdvanceMustBeFollowedBySomethingUsefulFilter implements SolitaireCandidateMoveFilter {
 
     @Override
     public Object getStatisticsKey() {
         return "Stock Pile Draw Must Follow Advance";
     }
 
+    @Override
+    public int getLookback() {
+        return 0;
+    }
+
 	@Override
-	public boolean shouldFilter(final List<GameState<SolitaireMove, Board>> state) {
-	    final Iterator<GameState<SolitaireMove, Board>> iterator = state.iterator();
-	    assert iterator.hasNext();
-	    final GameState<SolitaireMove, Board> currentGameState = iterator.next();
-		final SolitaireMove currentMove = currentGameState.getMove();
-		
-		if (!iterator.hasNext()) {
-            /*
-             * This can only happen at the very beginning of the game.
-             * In that case, this filter is not helpful, so just let everything pass.
-             */
-		    return false;
-		}
-		
-		final GameState<SolitaireMove, Board> previousGameState = iterator.next();
-		final SolitaireMove previousMove = previousGameState.getMove();
+	public boolean shouldFilter(final SolitaireMove currentMove,
+			final List<GameState<SolitaireMove, Board>> parentHistory) {
+		final SolitaireMove previousMove = parentHistory.get(0).getMove();
 		
 		if (previousMove.isStockPileAdvance()) {
 			if (currentMove.isStockPileModification()
@@ -1,6 +1,5 @@
 package org.silnith.game.solitaire.move.filter;
 
-import java.util.Iterator;
 import java.util.List;
 
 import org.silnith.game.GameState;
@@ -11,30 +10,22 @@ import org.silnith.game.solitaire.move.SolitaireMove;
 /**
  * Once a game tree recycles the stock pile, it must then advance it.
  */
-public class StockPileRecycleMustBeFollowedByAdvanceFilter implements SolitaireMoveFilter {
+public class StockPileRecycleMustBeFollowedByAdvanceFilter implements SolitaireCandidateMoveFilter {
 
     @Override
     public Object getStatisticsKey() {
         return "Stock Pile Recycle Must Be Followed By Advance";
     }
 
+    @Override
+    public int getLookback() {
+        return 0;
+    }
+
 	@Override
-	public boolean shouldFilter(final List<GameState<SolitaireMove, Board>> state) {
-        final Iterator<GameState<SolitaireMove, Board>> iterator = state.iterator();
-        assert iterator.hasNext();
-        final GameState<SolitaireMove, Board> currentGameState = iterator.next();
-        final SolitaireMove currentMove = currentGameState.getMove();
-        
-        if (!iterator.hasNext()) {
-            /*
-             * This can only happen at the very beginning of the game.
-             * In that case, this filter is not helpful, so just let everything pass.
-             */
-            return false;
-        }
-        
-        final GameState<SolitaireMove, Board> previousGameState = iterator.next();
-        final SolitaireMove previousMove = previousGameState.getMove();
+	public boolean shouldFilter(final SolitaireMove currentMove,
+			final List<GameState<SolitaireMove, Board>> parentHistory) {
+		final SolitaireMove previousMove = parentHistory.get(0).getMove();
 		
 		if (previousMove.isStockPileRecycle()) {
 			if (currentMove.isStockPileModification()) { 
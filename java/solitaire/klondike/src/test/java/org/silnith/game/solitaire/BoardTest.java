@@ -2,6 +2,7 @@ package org.silnith.game.solitaire;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.silnith.deck.Suit.CLUB;
 import static org.silnith.deck.Suit.DIAMOND;
@@ -548,4 +549,41 @@ public class BoardTest {
         assertFalse(board1.equals(board2));
     }
     
+    @Test
+    public void testFoundationOutOfOrder() {
+        final Map<Suit, List<Card>> foundation = new EnumMap<>(emptyFoundation);
+        foundation.put(HEART, Arrays.asList(new Card(TWO, HEART)));
+        
+        assertThrows(IllegalArgumentException.class, () -> new Board(emptyColumns, emptyListOfCards, 0, foundation));
+    }
+    
+    @Test
+    public void testFoundationWrongSuit() {
+        final Map<Suit, List<Card>> foundation = new EnumMap<>(emptyFoundation);
+        foundation.put(HEART, Arrays.asList(new Card(ACE, DIAMOND)));
+        
+        assertThrows(IllegalArgumentException.class, () -> new Board(emptyColumns, emptyListOfCards, 0, foundation));
+    }
+    
+    @Test
+    public void testFoundationMissingSuitsAreEmpty() {
+        final Board board = new Board(emptyColumns, emptyListOfCards, 0, Collections.<Suit, List<Card>>emptyMap());
+        
+        assertEquals(new Board(emptyColumns, emptyListOfCards, 0, emptyFoundation), board);
+        assertEquals(emptyFoundation, board.getFoundation());
+    }
+    
+    @Test
+    public void testGetFoundationSize() {
+        final Map<Suit, List<Card>> foundation = new EnumMap<>(emptyFoundation);
+        foundation.put(SPADE, Arrays.asList(new Card(ACE, SPADE), new Card(TWO, SPADE), new Card(THREE, SPADE)));
+        final Board board = new Board(emptyColumns, emptyListOfCards, 0, foundation);
+        
+        assertEquals(3, board.getFoundationSize(SPADE));
+        assertEquals(0, board.getFoundationSize(HEART));
+        assertEquals(new Card(THREE, SPADE), board.getTopOfFoundation(SPADE));
+        assertEquals(foundation, board.getFoundation());
+        assertFalse(board.isFoundationComplete());
+    }
+    
 }
@@ -0,0 +1,140 @@
+package org.silnith.game.solitaire;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.silnith.deck.Suit.CLUB;
+import static org.silnith.deck.Suit.DIAMOND;
+import static org.silnith.deck.Suit.HEART;
+import static org.silnith.deck.Suit.SPADE;
+import static org.silnith.deck.Value.FIVE;
+import static org.silnith.deck.Value.FOUR;
+import static org.silnith.deck.Value.KING;
+import static org.silnith.deck.Value.QUEEN;
+import static org.silnith.deck.Value.SIX;
+import static org.silnith.deck.Value.THREE;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.deck.Card;
+
+
+public class CardStackTest {
+
+    private final Card kingOfSpades = Card.of(KING, SPADE);
+
+    private final Card queenOfHearts = Card.of(QUEEN, HEART);
+
+    private final Card sixOfClubs = Card.of(SIX, CLUB);
+
+    private final Card fiveOfDiamonds = Card.of(FIVE, DIAMOND);
+
+    private final Card fourOfClubs = Card.of(FOUR, CLUB);
+
+    private final Card threeOfHearts = Card.of(THREE, HEART);
+
+    @Test
+    public void testCopyOf() {
+        final CardStack stack = CardStack.copyOf(Arrays.asList(kingOfSpades, queenOfHearts));
+
+        assertEquals(Arrays.asList(kingOfSpades, queenOfHearts), stack);
+        assertSame(stack, CardStack.copyOf(stack));
+        assertSame(CardStack.EMPTY, CardStack.copyOf(null));
+        assertSame(CardStack.EMPTY, CardStack.copyOf(Collections.<Card>emptyList()));
+    }
+
+    @Test
+    public void testPopAndTop() {
+        final CardStack stack = CardStack.copyOf(Arrays.asList(sixOfClubs, fiveOfDiamonds, fourOfClubs));
+
+        assertEquals(Arrays.asList(sixOfClubs), stack.pop(2));
+        assertEquals(Arrays.asList(fiveOfDiamonds, fourOfClubs), stack.top(2));
+        assertSame(CardStack.EMPTY, stack.pop(3));
+        assertSame(CardStack.EMPTY, stack.top(0));
+        assertEquals(Arrays.asList(fiveOfDiamonds), stack.subList(1, 2));
+    }
+
+    @Test
+    public void testPushDoesNotDisturbSiblings() {
+        final CardStack parent = CardStack.copyOf(Arrays.asList(sixOfClubs, fiveOfDiamonds));
+        final CardStack base = parent.pop(1);
+
+        final CardStack first = base.push(Arrays.asList(fiveOfDiamonds, fourOfClubs));
+        final CardStack second = base.push(threeOfHearts);
+        final CardStack third = base.push(fiveOfDiamonds);
+
+        assertEquals(Arrays.asList(sixOfClubs, fiveOfDiamonds), parent);
+        assertEquals(Arrays.asList(sixOfClubs, fiveOfDiamonds, fourOfClubs), first);
+        assertEquals(Arrays.asList(sixOfClubs, threeOfHearts), second);
+        assertEquals(Arrays.asList(sixOfClubs, fiveOfDiamonds), third);
+        assertEquals(parent, third);
+    }
+
+    @Test
+    public void testPushPastCapacity() {
+        CardStack stack = CardStack.EMPTY;
+        final List<Card> expected = new ArrayList<>();
+        for (int i = 0; i < 52; i++ ) {
+            stack = stack.push(Card.of(i));
+            expected.add(Card.of(i));
+        }
+
+        assertEquals(expected, stack);
+    }
+
+    @Test
+    public void testEqualsAndHashCodeMatchList() {
+        final List<Card> list = Arrays.asList(kingOfSpades, queenOfHearts);
+        final CardStack stack = CardStack.EMPTY.push(kingOfSpades).push(queenOfHearts);
+
+        assertEquals(list, stack);
+        assertEquals(stack, list);
+        assertEquals(list.hashCode(), stack.hashCode());
+        assertEquals(CardStack.copyOf(new ArrayList<>(list)), stack);
+    }
+
+    @Test
+    public void testGetOutOfBounds() {
+        final CardStack stack = CardStack.copyOf(Arrays.asList(kingOfSpades, queenOfHearts)).pop(1);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> stack.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> stack.get(-1));
+    }
+
+    @Test
+    public void testUnmodifiable() {
+        final CardStack stack = CardStack.copyOf(Arrays.asList(kingOfSpades));
+
+        assertThrows(UnsupportedOperationException.class, () -> stack.add(queenOfHearts));
+        assertThrows(UnsupportedOperationException.class, () -> stack.set(0, queenOfHearts));
+    }
+
+    @Test
+    public void testConcurrentPushes() throws Exception {
+        final CardStack base = CardStack.copyOf(Arrays.asList(kingOfSpades));
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Callable<CardStack>> tasks = new ArrayList<>();
+            for (int i = 0; i < 52; i++ ) {
+                final Card card = Card.of(i);
+                tasks.add(() -> base.push(card));
+            }
+            final List<Future<CardStack>> results = executor.invokeAll(tasks);
+
+            for (int i = 0; i < 52; i++ ) {
+                assertEquals(Arrays.asList(kingOfSpades, Card.of(i)), results.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+package org.silnith.game.solitaire;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.silnith.game.solitaire.Playouts.playout;
+import static org.silnith.game.solitaire.Playouts.shuffledDeck;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.deck.Card;
+import org.silnith.deck.Suit;
+import org.silnith.deck.Value;
+import org.silnith.game.GameState;
+import org.silnith.game.solitaire.move.DealMove;
+import org.silnith.game.solitaire.move.SolitaireMove;
+
+
+public class CompactBoardTest {
+
+    private final Klondike klondike = new Klondike();
+
+    private void assertSameQueries(final Board expected, final CompactBoard actual) {
+        assertEquals(expected.getColumns().size(), actual.getNumberOfColumns());
+        for (int i = 0; i < actual.getNumberOfColumns(); i++ ) {
+            final Column column = expected.getColumn(i);
+            assertEquals(column, actual.getColumn(i));
+            assertEquals(column.getNumberOfFaceDownCards(), actual.getNumberOfFaceDownCards(i));
+            assertEquals(column.getNumberOfFaceUpCards(), actual.getNumberOfFaceUpCards(i));
+            assertEquals(column.getFaceUpCards(), actual.getFaceUpCards(i));
+            if (column.hasFaceUpCards()) {
+                assertEquals(column.getTopCard(), actual.getTopCard(i));
+            }
+        }
+        assertEquals(expected.getStockPile(), actual.getStockPile());
+        assertEquals(expected.getStockPileIndex(), actual.getStockPileIndex());
+        assertEquals(expected.canAdvanceStockPile(), actual.canAdvanceStockPile());
+        assertEquals(expected.canRecycleStockPile(), actual.canRecycleStockPile());
+        if (expected.getStockPileIndex() > 0) {
+            assertEquals(expected.getStockPileCard(), actual.getStockPileCard());
+        }
+        assertEquals(expected.getFoundation(), actual.getFoundation());
+        for (final Suit suit : Suit.values()) {
+            if (!expected.getFoundation().get(suit).isEmpty()) {
+                assertEquals(expected.getTopOfFoundation(suit), actual.getTopOfFoundation(suit));
+            }
+            for (final Value value : Value.values()) {
+                final Card card = Card.of(value, suit);
+                assertEquals(expected.canAddToFoundation(card), actual.canAddToFoundation(card));
+            }
+        }
+    }
+
+    @Test
+    public void testDeal() {
+        final List<Card> deck = shuffledDeck(1);
+        final Board board = new DealMove(deck, 7).apply(null);
+
+        final CompactBoard compact = CompactBoard.deal(deck, 7);
+
+        assertEquals(CompactBoard.valueOf(board), compact);
+        assertEquals(board, compact.toBoard());
+        assertSameQueries(board, compact);
+    }
+
+    @Test
+    public void testDealTooFewCards() {
+        assertThrows(IllegalArgumentException.class, () -> CompactBoard.deal(shuffledDeck(1).subList(0, 27), 7));
+    }
+
+    @Test
+    public void testRoundTrip() {
+        for (long seed = 0; seed < 10; seed++ ) {
+            for (final GameState<SolitaireMove, Board> gameState : playout(klondike, seed)) {
+                final Board board = gameState.getBoard();
+                final CompactBoard compact = CompactBoard.valueOf(board);
+
+                assertEquals(board, compact.toBoard());
+                assertEquals(compact, CompactBoard.valueOf(compact.toBoard()));
+                assertEquals(compact.hashCode(), CompactBoard.valueOf(board).hashCode());
+                assertSameQueries(board, compact);
+                assertTrue(compact.getPackedLength() <= 4 + 3 + 2 * 7 + 52);
+            }
+        }
+    }
+
+    @Test
+    public void testApplyCompactMatchesApply() {
+        for (long seed = 0; seed < 10; seed++ ) {
+            for (final GameState<SolitaireMove, Board> gameState : playout(klondike, seed)) {
+                final Board board = gameState.getBoard();
+                final CompactBoard compact = CompactBoard.valueOf(board);
+                for (final SolitaireMove move : klondike.findAllMoves(board)) {
+                    final Board expected = move.apply(board);
+
+                    final CompactBoard actual = move.applyCompact(compact);
+
+                    assertEquals(CompactBoard.valueOf(expected), actual, move.toString());
+                    assertEquals(expected, actual.toBoard(), move.toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFoundationComplete() {
+        final List<Column> columns = new ArrayList<>();
+        for (int i = 0; i < 7; i++ ) {
+            columns.add(new Column(Collections.<Card>emptyList(), Collections.<Card>emptyList()));
+        }
+        final Map<Suit, List<Card>> foundation = new EnumMap<>(Suit.class);
+        for (final Suit suit : Suit.values()) {
+            final List<Card> pile = new ArrayList<>();
+            for (final Value value : Value.values()) {
+                pile.add(Card.of(value, suit));
+            }
+            foundation.put(suit, pile);
+        }
+        final CompactBoard won = CompactBoard.valueOf(new Board(columns, Collections.<Card>emptyList(), 0, foundation));
+
+        assertTrue(won.isFoundationComplete());
+        assertFalse(CompactBoard.deal(shuffledDeck(1), 7).isFoundationComplete());
+    }
+
+    @Test
+    public void testStockPileCardUnavailable() {
+        final CompactBoard board = CompactBoard.deal(shuffledDeck(1), 7);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> board.getStockPileCard());
+        assertThrows(IndexOutOfBoundsException.class, () -> board.withStockPileCardToFoundation());
+    }
+
+}
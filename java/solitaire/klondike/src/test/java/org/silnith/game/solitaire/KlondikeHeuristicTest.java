@@ -0,0 +1,183 @@
+package org.silnith.game.solitaire;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.silnith.deck.Suit.CLUB;
+import static org.silnith.deck.Suit.DIAMOND;
+import static org.silnith.deck.Suit.HEART;
+import static org.silnith.deck.Suit.SPADE;
+import static org.silnith.deck.Value.ACE;
+import static org.silnith.deck.Value.FOUR;
+import static org.silnith.deck.Value.THREE;
+import static org.silnith.deck.Value.TWO;
+import static org.silnith.game.solitaire.Playouts.deal;
+import static org.silnith.game.solitaire.Playouts.playout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.deck.Card;
+import org.silnith.deck.Suit;
+import org.silnith.deck.Value;
+import org.silnith.game.GameState;
+import org.silnith.game.search.BestFirstSearch;
+import org.silnith.game.search.SearchMode;
+import org.silnith.game.search.TranspositionTable;
+import org.silnith.game.solitaire.move.DealMove;
+import org.silnith.game.solitaire.move.SolitaireMove;
+
+
+public class KlondikeHeuristicTest {
+
+    private final List<Card> emptyListOfCards = Collections.emptyList();
+
+    private final EnumMap<Suit, List<Card>> emptyFoundation = new EnumMap<>(Suit.class);
+
+    private final List<Column> emptyColumns = new ArrayList<>(7);
+
+    private final KlondikeHeuristic heuristic = new KlondikeHeuristic(3);
+
+    public KlondikeHeuristicTest() {
+        for (int i = 0; i < 7; i++ ) {
+            this.emptyColumns.add(new Column(emptyListOfCards, emptyListOfCards));
+        }
+        for (final Suit suit : Suit.values()) {
+            this.emptyFoundation.put(suit, emptyListOfCards);
+        }
+    }
+
+    @Test
+    public void testConstructorZeroAdvance() {
+        assertThrows(IllegalArgumentException.class, () -> new KlondikeHeuristic(0));
+    }
+
+    @Test
+    public void testConstructorNegativeFaceDownWeight() {
+        assertThrows(IllegalArgumentException.class, () -> new KlondikeHeuristic(3, -1));
+    }
+
+    @Test
+    public void testEstimateEmptyBoard() {
+        final Board board = new Board(emptyColumns, emptyListOfCards, 0, emptyFoundation);
+
+        assertEquals(0, heuristic.estimate(board));
+    }
+
+    @Test
+    public void testEstimateFaceDownCards() {
+        final List<Column> columns = new ArrayList<>(emptyColumns);
+        columns.set(2, new Column(Arrays.asList(new Card(ACE, CLUB), new Card(TWO, CLUB)), emptyListOfCards));
+        final Board board = new Board(columns, emptyListOfCards, 0, emptyFoundation);
+
+        /*
+         * Two cards to put in the foundation.  The face-down card turns over
+         * by itself once the other card leaves.
+         */
+        assertEquals(2, heuristic.estimate(board));
+    }
+
+    @Test
+    public void testEstimateStockPile() {
+        final List<Card> stockPile = Arrays.asList(new Card(ACE, CLUB), new Card(TWO, CLUB),
+                new Card(THREE, CLUB), new Card(FOUR, CLUB));
+        final Board board = new Board(emptyColumns, stockPile, 0, emptyFoundation);
+
+        /*
+         * Four cards to put in the foundation, and two advances to reach them all.
+         */
+        assertEquals(6, heuristic.estimate(board));
+    }
+
+    @Test
+    public void testEstimateStockPileAdvanced() {
+        final List<Card> stockPile = Arrays.asList(new Card(ACE, CLUB), new Card(TWO, CLUB),
+                new Card(THREE, CLUB), new Card(FOUR, CLUB));
+        final Board board = new Board(emptyColumns, stockPile, 3, emptyFoundation);
+
+        assertEquals(5, heuristic.estimate(board));
+    }
+
+    @Test
+    public void testEstimateIgnoresFoundation() {
+        final Map<Suit, List<Card>> foundation = new EnumMap<>(emptyFoundation);
+        foundation.put(CLUB, Arrays.asList(new Card(ACE, CLUB), new Card(TWO, CLUB)));
+        final Board board = new Board(emptyColumns, emptyListOfCards, 0, foundation);
+
+        assertEquals(0, heuristic.estimate(board));
+    }
+
+    @Test
+    public void testEstimateFreshDeal() {
+        final List<Card> deck = new ArrayList<>(52);
+        for (final Suit suit : Arrays.asList(CLUB, DIAMOND, HEART, SPADE)) {
+            for (final Value value : Value.values()) {
+                deck.add(new Card(value, suit));
+            }
+        }
+        final Board board = new DealMove(deck, 7).apply(null);
+
+        /*
+         * 28 cards in columns, and 24 cards in the stock pile needing 8 advances.
+         */
+        assertEquals(28 + 24 + 8, heuristic.estimate(board));
+    }
+
+    @Test
+    public void testEstimateFaceDownWeight() {
+        final Board board = deal(0);
+
+        /*
+         * The seven columns of a fresh deal hold 21 face-down cards.
+         */
+        assertEquals(heuristic.estimate(board) + 2 * 21, new KlondikeHeuristic(3, 2).estimate(board));
+    }
+
+    @Test
+    public void testEstimateConsistent() {
+        final Klondike klondike = new Klondike();
+        final KlondikeHeuristic admissible = new KlondikeHeuristic(klondike.getDrawAdvance());
+        for (long seed = 0; seed < 20; seed++ ) {
+            final List<GameState<SolitaireMove, Board>> gameStates = playout(klondike, seed);
+            for (int i = 1; i < gameStates.size(); i++ ) {
+                final int before = admissible.estimate(gameStates.get(i - 1).getBoard());
+                final int after = admissible.estimate(gameStates.get(i).getBoard());
+
+                /*
+                 * No single move gets more than one move closer to a win.
+                 */
+                assertTrue(after >= before - 1, gameStates.get(i).getMove().toString());
+            }
+        }
+    }
+
+    @Test
+    public void testBestFirstSearchRealDeal() {
+        final Klondike klondike = new Klondike();
+        final GameState<SolitaireMove, Board> initialState = playout(klondike, 8, 0).get(0);
+        /*
+         * The deal with seed 8 runs out of moves after about ten thousand game
+         * states, so both searches cover the whole tree.
+         */
+        for (final KlondikeHeuristic klondikeHeuristic : Arrays.asList(
+                new KlondikeHeuristic(klondike.getDrawAdvance()),
+                new KlondikeHeuristic(klondike.getDrawAdvance(), 1))) {
+            try (final BestFirstSearch<SolitaireMove, Board> searcher = new BestFirstSearch<>(klondike,
+                    initialState, klondikeHeuristic, 2.0,
+                    new TranspositionTable<>(1 << 16, TranspositionTable.EvictionPolicy.REPLACE_DEEPEST),
+                    SearchMode.FIRST_WIN)) {
+                final Collection<List<GameState<SolitaireMove, Board>>> wins = searcher.call();
+
+                assertTrue(wins.isEmpty());
+                assertTrue(searcher.getNumberOfGameStatesExamined() > 1000);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,163 @@
+package org.silnith.game.solitaire;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.silnith.deck.Suit.CLUB;
+import static org.silnith.deck.Suit.DIAMOND;
+import static org.silnith.deck.Suit.HEART;
+import static org.silnith.deck.Suit.SPADE;
+import static org.silnith.deck.Value.ACE;
+import static org.silnith.deck.Value.FIVE;
+import static org.silnith.deck.Value.FOUR;
+import static org.silnith.deck.Value.KING;
+import static org.silnith.deck.Value.QUEEN;
+import static org.silnith.deck.Value.SIX;
+import static org.silnith.deck.Value.THREE;
+import static org.silnith.game.solitaire.Playouts.playout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.deck.Card;
+import org.silnith.deck.Suit;
+import org.silnith.game.GameState;
+import org.silnith.game.OrderedGame;
+import org.silnith.game.solitaire.move.ColumnToColumnMove;
+import org.silnith.game.solitaire.move.ColumnToFoundationMove;
+import org.silnith.game.solitaire.move.FoundationToColumnMove;
+import org.silnith.game.solitaire.move.SolitaireMove;
+import org.silnith.game.solitaire.move.StockPileAdvanceMove;
+import org.silnith.game.solitaire.move.StockPileRecycleMove;
+import org.silnith.game.solitaire.move.StockPileToColumnMove;
+
+
+public class KlondikeMoveOrderingTest {
+
+    private final List<Card> emptyListOfCards = Collections.emptyList();
+
+    private final EnumMap<Suit, List<Card>> emptyFoundation = new EnumMap<>(Suit.class);
+
+    private final Board board;
+
+    private final SolitaireMove toFoundationExposing = new ColumnToFoundationMove(2, Card.of(ACE, SPADE));
+
+    private final SolitaireMove wholeRun = new ColumnToColumnMove(0, 1,
+            Arrays.asList(Card.of(FIVE, HEART), Card.of(FOUR, SPADE)));
+
+    private final SolitaireMove partialRun = new ColumnToColumnMove(0, 3,
+            Collections.singletonList(Card.of(FOUR, SPADE)));
+
+    private final SolitaireMove lastCard = new ColumnToColumnMove(1, 4,
+            Collections.singletonList(Card.of(SIX, CLUB)));
+
+    private final SolitaireMove fromStockPile = new StockPileToColumnMove(1, 0, Card.of(THREE, DIAMOND));
+
+    private final SolitaireMove fromFoundation = new FoundationToColumnMove(4, Card.of(QUEEN, HEART));
+
+    private final SolitaireMove advance = new StockPileAdvanceMove(0, 1);
+
+    private final SolitaireMove recycle = new StockPileRecycleMove(1);
+
+    public KlondikeMoveOrderingTest() {
+        for (final Suit suit : Suit.values()) {
+            this.emptyFoundation.put(suit, emptyListOfCards);
+        }
+        final List<Column> columns = new ArrayList<>(7);
+        columns.add(new Column(Collections.singletonList(Card.of(KING, CLUB)),
+                Arrays.asList(Card.of(FIVE, HEART), Card.of(FOUR, SPADE))));
+        columns.add(new Column(emptyListOfCards, Collections.singletonList(Card.of(SIX, CLUB))));
+        columns.add(new Column(Collections.singletonList(Card.of(KING, HEART)),
+                Collections.singletonList(Card.of(ACE, SPADE))));
+        columns.add(new Column(emptyListOfCards, Collections.singletonList(Card.of(FIVE, DIAMOND))));
+        for (int i = 4; i < 7; i++ ) {
+            columns.add(new Column(emptyListOfCards, emptyListOfCards));
+        }
+        this.board = new Board(columns, Collections.singletonList(Card.of(THREE, DIAMOND)), 1, emptyFoundation);
+    }
+
+    @Test
+    public void testExposesFaceDownCard() {
+        assertTrue(KlondikeMoveOrdering.exposesFaceDownCard(toFoundationExposing, board));
+        assertTrue(KlondikeMoveOrdering.exposesFaceDownCard(wholeRun, board));
+    }
+
+    @Test
+    public void testExposesFaceDownCardPartialRun() {
+        assertFalse(KlondikeMoveOrdering.exposesFaceDownCard(partialRun, board));
+    }
+
+    @Test
+    public void testExposesFaceDownCardEmptiesColumn() {
+        assertFalse(KlondikeMoveOrdering.exposesFaceDownCard(lastCard, board));
+    }
+
+    @Test
+    public void testExposesFaceDownCardNotFromColumn() {
+        assertFalse(KlondikeMoveOrdering.exposesFaceDownCard(fromStockPile, board));
+        assertFalse(KlondikeMoveOrdering.exposesFaceDownCard(fromFoundation, board));
+        assertFalse(KlondikeMoveOrdering.exposesFaceDownCard(advance, board));
+    }
+
+    @Test
+    public void testGenerated() {
+        for (final SolitaireMove move : Arrays.asList(toFoundationExposing, wholeRun, partialRun, lastCard,
+                fromStockPile, fromFoundation, advance, recycle)) {
+            assertEquals(0, KlondikeMoveOrdering.GENERATED.score(move, board));
+        }
+    }
+
+    @Test
+    public void testFoundationFirst() {
+        final KlondikeMoveOrdering ordering = KlondikeMoveOrdering.FOUNDATION_FIRST;
+
+        assertEquals(5, ordering.score(toFoundationExposing, board));
+        assertEquals(4, ordering.score(wholeRun, board));
+        assertEquals(3, ordering.score(partialRun, board));
+        assertEquals(3, ordering.score(lastCard, board));
+        assertEquals(2, ordering.score(fromStockPile, board));
+        assertEquals(1, ordering.score(fromFoundation, board));
+        assertEquals(0, ordering.score(advance, board));
+        assertEquals(0, ordering.score(recycle, board));
+    }
+
+    @Test
+    public void testExposeFirst() {
+        final KlondikeMoveOrdering ordering = KlondikeMoveOrdering.EXPOSE_FIRST;
+
+        assertEquals(5, ordering.score(toFoundationExposing, board));
+        assertEquals(5, ordering.score(wholeRun, board));
+        assertEquals(3, ordering.score(partialRun, board));
+        assertEquals(2, ordering.score(fromStockPile, board));
+        assertEquals(1, ordering.score(fromFoundation, board));
+        assertEquals(0, ordering.score(advance, board));
+    }
+
+    @Test
+    public void testOrderedGameKeepsEveryMove() {
+        final Klondike klondike = new Klondike();
+        for (final KlondikeMoveOrdering ordering : KlondikeMoveOrdering.values()) {
+            final OrderedGame<SolitaireMove, Board> game = new OrderedGame<>(klondike, ordering);
+            for (long seed = 0; seed < 10; seed++ ) {
+                for (final GameState<SolitaireMove, Board> state : playout(klondike, seed, 100)) {
+                    final List<GameState<SolitaireMove, Board>> history = Collections.singletonList(state);
+                    final Collection<SolitaireMove> generated = klondike.findAllMoves(history);
+                    final List<SolitaireMove> ordered = new ArrayList<>(game.findAllMoves(history));
+
+                    assertEquals(generated.size(), ordered.size());
+                    assertTrue(ordered.containsAll(generated));
+                    for (int j = 1; j < ordered.size(); j++ ) {
+                        assertTrue(ordering.score(ordered.get(j - 1), state.getBoard())
+                                <= ordering.score(ordered.get(j), state.getBoard()));
+                    }
+                }
+            }
+        }
+    }
+
+}
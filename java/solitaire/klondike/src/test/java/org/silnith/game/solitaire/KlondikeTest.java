@@ -0,0 +1,112 @@
+package org.silnith.game.solitaire;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.silnith.game.solitaire.Playouts.deal;
+import static org.silnith.game.solitaire.Playouts.playout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.game.BoardCompactor;
+import org.silnith.game.GameState;
+import org.silnith.game.solitaire.move.ColumnToColumnMove;
+import org.silnith.game.solitaire.move.ColumnToFoundationMove;
+import org.silnith.game.solitaire.move.FoundationToColumnMove;
+import org.silnith.game.solitaire.move.SolitaireMove;
+import org.silnith.game.solitaire.move.StockPileAdvanceMove;
+import org.silnith.game.solitaire.move.StockPileRecycleMove;
+import org.silnith.game.solitaire.move.StockPileToColumnMove;
+import org.silnith.game.solitaire.move.StockPileToFoundationMove;
+
+
+public class KlondikeTest {
+
+    private final Klondike klondike = new Klondike();
+
+    /**
+     * Finds moves the way the game used to, one kind of move at a time.
+     */
+    private List<SolitaireMove> findMovesSeparately(final Board board) {
+        final List<SolitaireMove> moves = new ArrayList<>();
+        moves.addAll(StockPileRecycleMove.findMoves(board));
+        moves.addAll(StockPileAdvanceMove.findMoves(klondike.getDrawAdvance(), board));
+        moves.addAll(FoundationToColumnMove.findMoves(board));
+        moves.addAll(ColumnToColumnMove.findMoves(board));
+        moves.addAll(StockPileToColumnMove.findMoves(board));
+        moves.addAll(ColumnToFoundationMove.findMoves(board));
+        moves.addAll(StockPileToFoundationMove.findMoves(board));
+        return moves;
+    }
+
+    @Test
+    public void testFindAllMovesMatchesSeparateGenerators() {
+        for (long seed = 0; seed < 20; seed++ ) {
+            for (final GameState<SolitaireMove, Board> gameState : playout(klondike, seed)) {
+                final Board board = gameState.getBoard();
+
+                assertEquals(findMovesSeparately(board), new ArrayList<>(klondike.findAllMoves(board)));
+            }
+        }
+    }
+
+    @Test
+    public void testFindAllMovesAppends() {
+        final Board board = deal(4);
+        final List<SolitaireMove> moves = new ArrayList<>();
+        final SolitaireMove existing = new StockPileRecycleMove(0);
+        moves.add(existing);
+
+        klondike.findAllMoves(board, moves);
+
+        final List<SolitaireMove> expected = new ArrayList<>();
+        expected.add(existing);
+        expected.addAll(findMovesSeparately(board));
+        assertEquals(expected, moves);
+    }
+
+    @Test
+    public void testFindAllMovesSink() {
+        for (long seed = 0; seed < 20; seed++ ) {
+            for (final GameState<SolitaireMove, Board> gameState : playout(klondike, seed)) {
+                final Board board = gameState.getBoard();
+                final List<SolitaireMove> expected = new ArrayList<>(klondike.findAllMoves(board));
+                final List<SolitaireMove> moves = new ArrayList<>();
+
+                assertTrue(klondike.findAllMoves(board, (SolitaireMove move) -> moves.add(move)));
+
+                assertEquals(expected, moves);
+            }
+        }
+    }
+
+    @Test
+    public void testFindAllMovesSinkStops() {
+        for (long seed = 0; seed < 20; seed++ ) {
+            final Board board = deal(seed);
+            final List<SolitaireMove> expected = new ArrayList<>(klondike.findAllMoves(board));
+            final int stop = expected.size() / 2;
+            final List<SolitaireMove> moves = new ArrayList<>();
+
+            assertFalse(klondike.findAllMoves(board, (SolitaireMove move) -> {
+                moves.add(move);
+                return moves.size() <= stop;
+            }));
+
+            assertEquals(expected.subList(0, stop + 1), moves);
+        }
+    }
+
+    @Test
+    public void testBoardCompactor() {
+        final BoardCompactor<Board, CompactBoard> compactor = klondike.getBoardCompactor();
+        for (long seed = 0; seed < 20; seed++ ) {
+            final Board board = deal(seed);
+
+            assertEquals(board, compactor.expand(compactor.compact(board)));
+        }
+    }
+
+}
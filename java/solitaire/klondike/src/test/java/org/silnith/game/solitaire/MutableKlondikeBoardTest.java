@@ -0,0 +1,189 @@
+package org.silnith.game.solitaire;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.silnith.game.solitaire.Playouts.deal;
+import static org.silnith.game.solitaire.Playouts.playout;
+import static org.silnith.game.solitaire.Playouts.shuffledDeck;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.deck.Card;
+import org.silnith.deck.Suit;
+import org.silnith.deck.Value;
+import org.silnith.game.GameState;
+import org.silnith.game.move.MoveList;
+import org.silnith.game.search.IterativeDeepeningSearch;
+import org.silnith.game.search.MakeUnmakeDepthFirstSearch;
+import org.silnith.game.solitaire.move.DealMove;
+import org.silnith.game.solitaire.move.PackedMove;
+import org.silnith.game.solitaire.move.SolitaireMove;
+
+
+public class MutableKlondikeBoardTest {
+
+    private final Klondike klondike = new Klondike();
+
+    private List<SolitaireMove> findAllMoves(final MutableKlondikeBoard board) {
+        final List<SolitaireMove> moves = new ArrayList<>();
+        board.findAllMoves(moves);
+        return moves;
+    }
+
+    @Test
+    public void testCopy() {
+        final Board board = deal(1);
+
+        final MutableKlondikeBoard mutable = new MutableKlondikeBoard(board, 3);
+
+        assertEquals(board, mutable.toBoard());
+        assertEquals(board.getZobristKey(), mutable.getZobristKey());
+        assertEquals(7, mutable.getNumberOfColumns());
+        assertEquals(24, mutable.getStockPileSize());
+        assertFalse(mutable.isWin());
+    }
+
+    @Test
+    public void testDrawAdvanceNotPositive() {
+        assertThrows(IllegalArgumentException.class, () -> new MutableKlondikeBoard(deal(1), 0));
+    }
+
+    @Test
+    public void testPlayoutMakeThenUnmake() {
+        for (long seed = 0; seed < 10; seed++ ) {
+            final List<GameState<SolitaireMove, Board>> playout = playout(klondike, seed);
+            final MutableKlondikeBoard mutable =
+                    new MutableKlondikeBoard(playout.get(0).getBoard(), klondike.getDrawAdvance());
+            for (int i = 1; i < playout.size(); i++ ) {
+                final Board board = playout.get(i).getBoard();
+                assertEquals(new ArrayList<>(klondike.findAllMoves(playout.get(i - 1).getBoard())),
+                        findAllMoves(mutable));
+                mutable.make(playout.get(i).getMove());
+                assertEquals(board, mutable.toBoard());
+                assertEquals(board.getZobristKey(), mutable.getZobristKey());
+            }
+            for (int i = playout.size() - 1; i > 0; i-- ) {
+                mutable.unmake(playout.get(i).getMove());
+                final Board board = playout.get(i - 1).getBoard();
+                assertEquals(board, mutable.toBoard());
+                assertEquals(board.getZobristKey(), mutable.getZobristKey());
+            }
+        }
+    }
+
+    @Test
+    public void testEveryMoveUnmakes() {
+        final List<GameState<SolitaireMove, Board>> playout = playout(klondike, 7, 100);
+        final MutableKlondikeBoard mutable =
+                new MutableKlondikeBoard(playout.get(0).getBoard(), klondike.getDrawAdvance());
+        for (int i = 0; i < playout.size(); i++ ) {
+            final Board board = playout.get(i).getBoard();
+            if (i > 0) {
+                mutable.make(playout.get(i).getMove());
+            }
+            for (final SolitaireMove move : klondike.findAllMoves(board)) {
+                mutable.make(move);
+                assertEquals(move.apply(board), mutable.toBoard());
+                mutable.unmake(move);
+                assertEquals(board, mutable.toBoard());
+            }
+        }
+    }
+
+    @Test
+    public void testEveryPackedMoveUnmakes() {
+        final List<GameState<SolitaireMove, Board>> playout = playout(klondike, 11, 100);
+        final MutableKlondikeBoard mutable =
+                new MutableKlondikeBoard(playout.get(0).getBoard(), klondike.getDrawAdvance());
+        final MoveList moves = new MoveList();
+        for (int i = 0; i < playout.size(); i++ ) {
+            final Board board = playout.get(i).getBoard();
+            if (i > 0) {
+                mutable.make(PackedMove.valueOf(playout.get(i).getMove()));
+            }
+            final List<SolitaireMove> expected = new ArrayList<>(klondike.findAllMoves(board));
+            moves.clear();
+            mutable.findAllMoves(moves);
+            assertEquals(expected.size(), moves.size());
+            for (int j = 0; j < moves.size(); j++ ) {
+                final int move = moves.get(j);
+                assertEquals(expected.get(j), mutable.toMove(move));
+                assertEquals(PackedMove.valueOf(expected.get(j)), move);
+                mutable.make(move);
+                assertEquals(expected.get(j).apply(board), mutable.toBoard());
+                assertEquals(expected.get(j).apply(board).getZobristKey(), mutable.getZobristKey());
+                mutable.unmake(move);
+                assertEquals(board, mutable.toBoard());
+                assertEquals(board.getZobristKey(), mutable.getZobristKey());
+            }
+        }
+    }
+
+    @Test
+    public void testDealCannotBeMade() {
+        final MutableKlondikeBoard mutable = new MutableKlondikeBoard(deal(1), 3);
+
+        assertThrows(UnsupportedOperationException.class, () -> mutable.make(new DealMove(shuffledDeck(2), 7)));
+    }
+
+    @Test
+    public void testSearchMatchesIterativeDeepening() {
+        final Board board = deal(3);
+        final GameState<SolitaireMove, Board> initialState = new GameState<>(new DealMove(shuffledDeck(3), 7), board);
+        final MutableKlondikeBoard mutable = new MutableKlondikeBoard(board, klondike.getDrawAdvance());
+
+        final MakeUnmakeDepthFirstSearch<SolitaireMove, Board> search =
+                new MakeUnmakeDepthFirstSearch<>(klondike, initialState, mutable, 6);
+        final Collection<List<GameState<SolitaireMove, Board>>> wins = search.call();
+
+        final IterativeDeepeningSearch<SolitaireMove, Board> expected =
+                new IterativeDeepeningSearch<>(klondike, initialState, 6, 1, 6, null);
+        assertEquals(new HashSet<>(expected.call()), new HashSet<>(wins));
+        assertEquals(expected.getNumberOfGameStatesExamined(), search.getNumberOfGameStatesExamined());
+        assertEquals(expected.getBoardsGenerated(), search.getBoardsGenerated());
+        assertEquals(expected.getStatistics().getMovesPrunedByFilter(), search.getStatistics().getMovesPrunedByFilter());
+        assertEquals(board, mutable.toBoard());
+    }
+
+    @Test
+    public void testSearchFindsWins() {
+        final Map<Suit, List<Card>> foundation = new EnumMap<>(Suit.class);
+        final List<Column> columns = new ArrayList<>();
+        for (final Suit suit : Suit.values()) {
+            final List<Card> pile = new ArrayList<>();
+            for (final Value value : Value.values()) {
+                if (value != Value.KING) {
+                    pile.add(Card.of(value, suit));
+                }
+            }
+            foundation.put(suit, pile);
+            columns.add(new Column(Collections.<Card>emptyList(), Arrays.asList(Card.of(Value.KING, suit))));
+        }
+        final Board board = new Board(columns, Collections.<Card>emptyList(), 0, foundation);
+        final GameState<SolitaireMove, Board> initialState = new GameState<>(new DealMove(shuffledDeck(0), 7), board);
+
+        final MakeUnmakeDepthFirstSearch<SolitaireMove, Board> search =
+                new MakeUnmakeDepthFirstSearch<>(klondike, initialState,
+                        new MutableKlondikeBoard(board, klondike.getDrawAdvance()), 10);
+        final Collection<List<GameState<SolitaireMove, Board>>> wins = search.call();
+
+        final IterativeDeepeningSearch<SolitaireMove, Board> expected =
+                new IterativeDeepeningSearch<>(klondike, initialState, 10, 1, 10, null);
+        assertEquals(new HashSet<>(expected.call()), new HashSet<>(wins));
+        assertTrue(search.isWinFound());
+        for (final List<GameState<SolitaireMove, Board>> win : wins) {
+            assertTrue(win.get(0).getBoard().isFoundationComplete());
+        }
+    }
+
+}
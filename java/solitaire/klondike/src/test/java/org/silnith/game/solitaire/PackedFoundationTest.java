@@ -0,0 +1,88 @@
+package org.silnith.game.solitaire;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.deck.Card;
+import org.silnith.deck.Suit;
+import org.silnith.deck.Value;
+
+
+public class PackedFoundationTest {
+
+    @Test
+    public void testEmpty() {
+        for (final Suit suit : Suit.values()) {
+            assertEquals(0, PackedFoundation.size(PackedFoundation.EMPTY, suit));
+            assertTrue(PackedFoundation.getPile(PackedFoundation.EMPTY, suit).isEmpty());
+            assertTrue(PackedFoundation.canAdd(PackedFoundation.EMPTY, Card.of(Value.ACE, suit)));
+            assertFalse(PackedFoundation.canAdd(PackedFoundation.EMPTY, Card.of(Value.TWO, suit)));
+            assertThrows(IndexOutOfBoundsException.class, () -> PackedFoundation.getTop(PackedFoundation.EMPTY, suit));
+        }
+        assertEquals(0, PackedFoundation.count(PackedFoundation.EMPTY));
+    }
+
+    @Test
+    public void testPlusAndMinus() {
+        int packed = PackedFoundation.EMPTY;
+        for (final Value value : Value.values()) {
+            packed = PackedFoundation.plus(packed, Card.of(value, Suit.HEART));
+
+            assertEquals(value.ordinal() + 1, PackedFoundation.size(packed, Suit.HEART));
+            assertEquals(Card.of(value, Suit.HEART), PackedFoundation.getTop(packed, Suit.HEART));
+            assertEquals(0, PackedFoundation.size(packed, Suit.DIAMOND));
+            assertEquals(0, PackedFoundation.size(packed, Suit.SPADE));
+        }
+        packed = PackedFoundation.minus(packed, Suit.HEART);
+
+        assertEquals(Card.of(Value.QUEEN, Suit.HEART), PackedFoundation.getTop(packed, Suit.HEART));
+        assertEquals(12, PackedFoundation.count(packed));
+    }
+
+    @Test
+    public void testComplete() {
+        int packed = PackedFoundation.EMPTY;
+        for (final Suit suit : Suit.values()) {
+            for (final Value value : Value.values()) {
+                assertFalse(packed == PackedFoundation.COMPLETE);
+                packed = PackedFoundation.plus(packed, Card.of(value, suit));
+            }
+        }
+
+        assertEquals(PackedFoundation.COMPLETE, packed);
+        assertEquals(52, PackedFoundation.count(packed));
+    }
+
+    @Test
+    public void testPackAndUnpack() {
+        final Map<Suit, List<Card>> foundation = new EnumMap<>(Suit.class);
+        foundation.put(Suit.CLUB, Collections.<Card>emptyList());
+        foundation.put(Suit.DIAMOND, Arrays.asList(Card.of(Value.ACE, Suit.DIAMOND)));
+        foundation.put(Suit.HEART, Collections.<Card>emptyList());
+        foundation.put(Suit.SPADE, Arrays.asList(new Card(Value.ACE, Suit.SPADE), new Card(Value.TWO, Suit.SPADE)));
+
+        final int packed = PackedFoundation.pack(foundation);
+
+        assertEquals(1, PackedFoundation.size(packed, Suit.DIAMOND));
+        assertEquals(2, PackedFoundation.size(packed, Suit.SPADE));
+        assertEquals(foundation, PackedFoundation.unpack(packed));
+    }
+
+    @Test
+    public void testPackOutOfOrder() {
+        final Map<Suit, List<Card>> foundation = new EnumMap<>(Suit.class);
+        foundation.put(Suit.CLUB, Arrays.asList(Card.of(Value.ACE, Suit.CLUB), Card.of(Value.THREE, Suit.CLUB)));
+
+        assertThrows(IllegalArgumentException.class, () -> PackedFoundation.pack(foundation));
+    }
+
+}
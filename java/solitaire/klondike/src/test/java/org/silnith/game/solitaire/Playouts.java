@@ -0,0 +1,98 @@
+package org.silnith.game.solitaire;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.silnith.deck.Card;
+import org.silnith.game.GameState;
+import org.silnith.game.solitaire.move.DealMove;
+import org.silnith.game.solitaire.move.SolitaireMove;
+
+
+/**
+ * Seeded deals and random games for tests that need realistic boards.
+ */
+public final class Playouts {
+
+    /**
+     * The most moves made in a playout unless a test asks for a different
+     * number.
+     */
+    public static final int MAXIMUM_MOVES = 200;
+
+    private Playouts() {
+        super();
+    }
+
+    /**
+     * Returns a full deck shuffled by a random number generator with the
+     * given seed.
+     *
+     * @param seed the seed
+     * @return the shuffled deck
+     */
+    public static List<Card> shuffledDeck(final long seed) {
+        final List<Card> deck = new ArrayList<>(Card.NUMBER_OF_CARDS);
+        for (int i = 0; i < Card.NUMBER_OF_CARDS; i++ ) {
+            deck.add(Card.of(i));
+        }
+        Collections.shuffle(deck, new Random(seed));
+        return deck;
+    }
+
+    /**
+     * Returns the seven-column board dealt from {@link #shuffledDeck(long)}.
+     *
+     * @param seed the seed
+     * @return the dealt board
+     */
+    public static Board deal(final long seed) {
+        return new DealMove(shuffledDeck(seed), 7).apply(null);
+    }
+
+    /**
+     * Plays up to {@link #MAXIMUM_MOVES} random moves from the deal with the
+     * given seed.
+     *
+     * @param klondike the game that finds the moves
+     * @param seed the seed for the deal and the moves
+     * @return every game state reached, starting with the deal
+     * @see #playout(Klondike, long, int)
+     */
+    public static List<GameState<SolitaireMove, Board>> playout(final Klondike klondike, final long seed) {
+        return playout(klondike, seed, MAXIMUM_MOVES);
+    }
+
+    /**
+     * Plays random moves from the deal with the given seed until there are no
+     * moves left or the given number of moves have been made.  Each move is
+     * picked from {@link Klondike#findAllMoves(Board)} by a random number
+     * generator with the same seed as the deal.
+     *
+     * @param klondike the game that finds the moves
+     * @param seed the seed for the deal and the moves
+     * @param maximumMoves the most moves to make
+     * @return every game state reached, starting with the deal
+     */
+    public static List<GameState<SolitaireMove, Board>> playout(final Klondike klondike, final long seed,
+            final int maximumMoves) {
+        final Random random = new Random(seed);
+        final List<GameState<SolitaireMove, Board>> gameStates = new ArrayList<>();
+        final DealMove deal = new DealMove(shuffledDeck(seed), 7);
+        Board board = deal.apply(null);
+        gameStates.add(new GameState<SolitaireMove, Board>(deal, board));
+        for (int i = 0; i < maximumMoves; i++ ) {
+            final List<SolitaireMove> moves = new ArrayList<>(klondike.findAllMoves(board));
+            if (moves.isEmpty()) {
+                break;
+            }
+            final SolitaireMove move = moves.get(random.nextInt(moves.size()));
+            board = move.apply(board);
+            gameStates.add(new GameState<>(move, board));
+        }
+        return gameStates;
+    }
+
+}
@@ -0,0 +1,87 @@
+package org.silnith.game.solitaire;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.deck.Card;
+
+
+public class StockPileTest {
+
+    private static List<Card> cards(final int count) {
+        final List<Card> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++ ) {
+            cards.add(Card.of(i % Card.NUMBER_OF_CARDS));
+        }
+        return cards;
+    }
+
+    @Test
+    public void testCopyOf() {
+        final List<Card> cards = cards(24);
+        final StockPile stockPile = StockPile.copyOf(cards);
+
+        assertEquals(cards, stockPile);
+        assertEquals(stockPile, cards);
+        assertEquals(cards.hashCode(), stockPile.hashCode());
+        assertSame(stockPile, StockPile.copyOf(stockPile));
+    }
+
+    @Test
+    public void testCopyOfTooLarge() {
+        assertEquals(64, StockPile.copyOf(cards(64)).size());
+        assertNull(StockPile.copyOf(cards(65)));
+    }
+
+    @Test
+    public void testWithoutMatchesList() {
+        final Random random = new Random(1);
+        final List<Card> expected = cards(64);
+        StockPile stockPile = StockPile.copyOf(expected);
+        while (!expected.isEmpty()) {
+            final int index = random.nextInt(expected.size());
+            expected.remove(index);
+            stockPile = stockPile.without(index);
+
+            assertEquals(expected, stockPile);
+            assertEquals(expected.hashCode(), stockPile.hashCode());
+            assertEquals(new ArrayList<>(expected), new ArrayList<>(stockPile));
+        }
+    }
+
+    @Test
+    public void testEqualsSharedDeal() {
+        final StockPile stockPile = StockPile.copyOf(cards(24));
+
+        assertEquals(stockPile.without(3).without(5), stockPile.without(6).without(3));
+        assertNotEquals(stockPile.without(3), stockPile.without(4));
+        assertEquals(StockPile.copyOf(cards(24)).without(3), stockPile.without(3));
+    }
+
+    @Test
+    public void testOutOfBounds() {
+        final StockPile stockPile = StockPile.copyOf(cards(3));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> stockPile.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> stockPile.without(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> stockPile.without(0).without(1).without(0).get(0));
+    }
+
+    @Test
+    public void testEmpty() {
+        final StockPile stockPile = StockPile.copyOf(Collections.<Card>emptyList());
+
+        assertEquals(Collections.emptyList(), stockPile);
+        assertEquals(1, stockPile.hashCode());
+    }
+
+}
@@ -0,0 +1,87 @@
+package org.silnith.game.solitaire;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.silnith.game.solitaire.Playouts.deal;
+import static org.silnith.game.solitaire.Playouts.playout;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.deck.Card;
+import org.silnith.deck.Suit;
+import org.silnith.deck.Value;
+import org.silnith.game.GameState;
+import org.silnith.game.solitaire.move.SolitaireMove;
+
+
+public class ZobristKeysTest {
+
+    private final Klondike klondike = new Klondike();
+
+    private static long fromScratch(final Board board) {
+        return ZobristKeys.board(board.getColumns(), board.getStockPile(), board.getStockPileIndex(),
+                board.getFoundation());
+    }
+
+    @Test
+    public void testEveryMoveUpdatesKey() {
+        for (long seed = 0; seed < 10; seed++ ) {
+            for (final GameState<SolitaireMove, Board> gameState : playout(klondike, seed)) {
+                final Board board = gameState.getBoard();
+                for (final SolitaireMove move : klondike.findAllMoves(board)) {
+                    final Board next = move.apply(board);
+
+                    assertEquals(fromScratch(next), next.getZobristKey(), move.toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testEqualBoardsHaveEqualKeys() {
+        final Board board = deal(3);
+        final Board copy = new Board(new ArrayList<>(board.getColumns()), new ArrayList<>(board.getStockPile()),
+                board.getStockPileIndex(), board.getFoundation());
+
+        assertEquals(board, copy);
+        assertEquals(board.getZobristKey(), copy.getZobristKey());
+        assertEquals(board.hashCode(), copy.hashCode());
+    }
+
+    @Test
+    public void testStockPileIndexChangesKey() {
+        final Board board = deal(3);
+        final Board advanced = new Board(board.getColumns(), board.getStockPile(), 1, board.getFoundation());
+
+        assertNotEquals(board.getZobristKey(), advanced.getZobristKey());
+    }
+
+    @Test
+    public void testPlacesHaveDistinctKeys() {
+        final Set<Long> keys = new HashSet<>();
+        int count = 0;
+        for (final Suit suit : Suit.values()) {
+            for (final Value value : Value.values()) {
+                final Card card = new Card(value, suit);
+                keys.add(ZobristKeys.stockPile(card));
+                keys.add(ZobristKeys.foundation(card));
+                count += 2;
+                for (int column = 0; column < 7; column++ ) {
+                    keys.add(ZobristKeys.faceDown(column, card));
+                    keys.add(ZobristKeys.faceUp(column, card));
+                    count += 2;
+                }
+            }
+        }
+        for (int index = 0; index <= 52; index++ ) {
+            keys.add(ZobristKeys.stockPileIndex(index));
+            count++ ;
+        }
+
+        assertEquals(count, keys.size());
+    }
+
+}
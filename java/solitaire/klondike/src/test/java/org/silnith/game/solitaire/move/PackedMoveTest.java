@@ -0,0 +1,96 @@
+package org.silnith.game.solitaire.move;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.silnith.game.solitaire.Playouts.playout;
+import static org.silnith.game.solitaire.Playouts.shuffledDeck;
+
+
+import org.junit.jupiter.api.Test;
+import org.silnith.deck.Card;
+import org.silnith.deck.Suit;
+import org.silnith.deck.Value;
+import org.silnith.game.GameState;
+import org.silnith.game.solitaire.Board;
+import org.silnith.game.solitaire.Klondike;
+
+
+public class PackedMoveTest {
+
+    @Test
+    public void testColumnToColumn() {
+        final Card card = Card.of(Value.QUEEN, Suit.HEART);
+
+        final int move = PackedMove.columnToColumn(6, 2, 13, card);
+
+        assertEquals(PackedMove.COLUMN_TO_COLUMN, PackedMove.getKind(move));
+        assertEquals(6, PackedMove.getSource(move));
+        assertEquals(2, PackedMove.getDestination(move));
+        assertEquals(13, PackedMove.getCount(move));
+        assertEquals(card, PackedMove.getCard(move));
+    }
+
+    @Test
+    public void testFoundationToColumn() {
+        final Card card = Card.of(Value.KING, Suit.SPADE);
+
+        final int move = PackedMove.foundationToColumn(4, card);
+
+        assertEquals(PackedMove.FOUNDATION_TO_COLUMN, PackedMove.getKind(move));
+        assertEquals(Suit.SPADE.ordinal(), PackedMove.getSource(move));
+        assertEquals(4, PackedMove.getDestination(move));
+        assertEquals(card, PackedMove.getCard(move));
+        assertEquals(new FoundationToColumnMove(4, card), PackedMove.toMove(move, (Board) null));
+    }
+
+    @Test
+    public void testStockPileAdvance() {
+        final int move = PackedMove.stockPileAdvance(23, 3);
+
+        assertEquals(PackedMove.STOCK_PILE_ADVANCE, PackedMove.getKind(move));
+        assertEquals(23, PackedMove.getSource(move));
+        assertEquals(3, PackedMove.getCount(move));
+        assertEquals(new StockPileAdvanceMove(23, 3), PackedMove.toMove(move, (Board) null));
+    }
+
+    @Test
+    public void testIndexOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> PackedMove.stockPileRecycle(256));
+    }
+
+    @Test
+    public void testNegativeIndex() {
+        assertThrows(IllegalArgumentException.class, () -> PackedMove.stockPileRecycle(-1));
+    }
+
+    @Test
+    public void testCountOutOfRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PackedMove.columnToColumn(0, 1, 64, Card.of(Value.KING, Suit.CLUB)));
+    }
+
+    @Test
+    public void testDealCannotBePacked() {
+        assertThrows(IllegalArgumentException.class, () -> PackedMove.valueOf(new DealMove(shuffledDeck(0), 7)));
+    }
+
+    @Test
+    public void testUnknownKind() {
+        assertThrows(IllegalArgumentException.class, () -> PackedMove.toMove(0, (Board) null));
+    }
+
+    @Test
+    public void testRoundTripPlayouts() {
+        final Klondike klondike = new Klondike();
+        for (long seed = 0; seed < 10; seed++ ) {
+            for (final GameState<SolitaireMove, Board> gameState : playout(klondike, seed)) {
+                final Board board = gameState.getBoard();
+                for (final SolitaireMove move : klondike.findAllMoves(board)) {
+                    assertEquals(move, PackedMove.toMove(PackedMove.valueOf(move), board));
+                    assertEquals(move, PackedMove.toMove(PackedMove.valueOf(move), move.getCards()));
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,124 @@
+package org.silnith.game.solitaire.move;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.silnith.deck.Suit.CLUB;
+import static org.silnith.deck.Suit.DIAMOND;
+import static org.silnith.deck.Suit.HEART;
+import static org.silnith.deck.Suit.SPADE;
+import static org.silnith.deck.Value.ACE;
+import static org.silnith.deck.Value.TWO;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.deck.Card;
+import org.silnith.deck.Suit;
+import org.silnith.deck.Value;
+import org.silnith.game.solitaire.Board;
+
+
+public class SolitaireMoveCodecTest {
+
+    private final SolitaireMoveCodec codec = new SolitaireMoveCodec();
+
+    private final List<Card> deck = new ArrayList<>(52);
+
+    private final Board board;
+
+    public SolitaireMoveCodecTest() {
+        for (final Suit suit : Arrays.asList(CLUB, DIAMOND, HEART, SPADE)) {
+            for (final Value value : Value.values()) {
+                deck.add(new Card(value, suit));
+            }
+        }
+        final Board dealt = new DealMove(deck, 7).apply(null);
+        final Map<Suit, List<Card>> foundation = new EnumMap<>(dealt.getFoundation());
+        foundation.put(HEART, Arrays.asList(new Card(ACE, HEART), new Card(TWO, HEART)));
+        this.board = new Board(dealt.getColumns(), dealt.getStockPile(), 4, foundation);
+    }
+
+    private SolitaireMove roundTrip(final SolitaireMove move, final int expectedLength) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        codec.writeMove(move, new DataOutputStream(bytes));
+        assertEquals(expectedLength, bytes.size());
+        return codec.readMove(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), board);
+    }
+
+    @Test
+    public void testColumnToColumn() throws IOException {
+        final SolitaireMove move = new ColumnToColumnMove(3, 5, 1, board);
+
+        assertEquals(move, roundTrip(move, 4));
+    }
+
+    @Test
+    public void testColumnToFoundation() throws IOException {
+        final SolitaireMove move = new ColumnToFoundationMove(6, board);
+
+        assertEquals(move, roundTrip(move, 2));
+    }
+
+    @Test
+    public void testFoundationToColumn() throws IOException {
+        final SolitaireMove move = new FoundationToColumnMove(2, HEART, board);
+
+        assertEquals(move, roundTrip(move, 3));
+    }
+
+    @Test
+    public void testStockPileAdvance() throws IOException {
+        final SolitaireMove move = new StockPileAdvanceMove(3, board);
+
+        assertEquals(move, roundTrip(move, 2));
+    }
+
+    @Test
+    public void testStockPileRecycle() throws IOException {
+        final SolitaireMove move = new StockPileRecycleMove(4);
+
+        assertEquals(move, roundTrip(move, 2));
+    }
+
+    @Test
+    public void testStockPileToColumn() throws IOException {
+        final SolitaireMove move = new StockPileToColumnMove(1, board);
+
+        assertEquals(move, roundTrip(move, 2));
+    }
+
+    @Test
+    public void testStockPileToFoundation() throws IOException {
+        final SolitaireMove move = new StockPileToFoundationMove(board);
+
+        assertEquals(move, roundTrip(move, 1));
+    }
+
+    @Test
+    public void testDeal() throws IOException {
+        final SolitaireMove move = new DealMove(deck, 7);
+
+        final SolitaireMove copy = roundTrip(move, 3 + 2 * 52);
+
+        assertEquals(deck, copy.getCards());
+        assertEquals(7, ((DealMove) copy).getNumberOfColumns());
+    }
+
+    @Test
+    public void testUnknownType() {
+        final byte[] bytes = new byte[] { 99 };
+
+        assertThrows(IOException.class,
+                () -> codec.readMove(new DataInputStream(new ByteArrayInputStream(bytes)), board));
+    }
+
+}
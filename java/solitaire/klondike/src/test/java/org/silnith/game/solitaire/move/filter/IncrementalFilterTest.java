@@ -0,0 +1,130 @@
+package org.silnith.game.solitaire.move.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.silnith.game.solitaire.Playouts.shuffledDeck;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.silnith.game.GameState;
+import org.silnith.game.move.IncrementalBoardFilter;
+import org.silnith.game.move.IncrementalMoveFilter;
+import org.silnith.game.move.MoveFilter;
+import org.silnith.game.move.SummarizingMoveFilter;
+import org.silnith.game.solitaire.Board;
+import org.silnith.game.solitaire.Klondike;
+import org.silnith.game.solitaire.move.DealMove;
+import org.silnith.game.solitaire.move.SolitaireMove;
+import org.silnith.game.util.LinkedNode;
+import org.silnith.game.util.PersistentLongSet;
+
+
+public class IncrementalFilterTest {
+
+    private final Klondike klondike = new Klondike();
+
+    /**
+     * Plays random moves that pass every filter, and checks at each step
+     * that the summary derived from the parent's summary is the same as
+     * the summary worked out from the whole history.
+     */
+    private <S> void assertSummariesMatch(final SummarizingMoveFilter<SolitaireMove, Board, S> filter) {
+        for (long seed = 0; seed < 20; seed++ ) {
+            final Random random = new Random(seed);
+            final DealMove deal = new DealMove(shuffledDeck(seed), 7);
+            LinkedNode<GameState<SolitaireMove, Board>> history =
+                    new LinkedNode<>(new GameState<SolitaireMove, Board>(deal, deal.apply(null)));
+            S summary = filter.getSummary(history);
+            for (int i = 0; i < 150; i++ ) {
+                final List<LinkedNode<GameState<SolitaireMove, Board>>> children = new ArrayList<>();
+                for (final SolitaireMove move : klondike.findAllMoves(history)) {
+                    final LinkedNode<GameState<SolitaireMove, Board>> child =
+                            new LinkedNode<>(new GameState<>(move, move.apply(history.getValue().getBoard())), history);
+                    boolean filtered = false;
+                    for (final MoveFilter<SolitaireMove, Board> other : klondike.getFilters()) {
+                        filtered |= other.shouldFilter(child);
+                    }
+                    assertEquals(filter.shouldFilter(child), shouldFilter(filter, child, summary));
+                    if ( !filtered) {
+                        children.add(child);
+                    }
+                }
+                if (children.isEmpty()) {
+                    break;
+                }
+                final LinkedNode<GameState<SolitaireMove, Board>> child = children.get(random.nextInt(children.size()));
+                summary = filter.getSummary(summary, history.getValue(), child.getValue());
+                history = child;
+                assertEquals(filter.getSummary(history), summary);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S> boolean shouldFilter(final SummarizingMoveFilter<SolitaireMove, Board, S> filter,
+            final LinkedNode<GameState<SolitaireMove, Board>> child, final S parentSummary) {
+        if (filter instanceof IncrementalMoveFilter) {
+            return ((IncrementalMoveFilter<SolitaireMove, Board, S>) filter).shouldFilter(child.getValue().getMove(),
+                    parentSummary);
+        } else {
+            return ((IncrementalBoardFilter<SolitaireMove, Board, S>) filter).shouldFilter(child.getValue(),
+                    parentSummary, child.getNext());
+        }
+    }
+
+    @Test
+    public void testDrawFromStockPileSummary() {
+        assertSummariesMatch(new DrawFromStockPileFilter());
+    }
+
+    /**
+     * Moves that do not draw from the stock pile are never filtered, so the
+     * history is not summarized for them.  An empty history has no summary.
+     */
+    @Test
+    public void testDrawFromStockPileSkipsOtherMoves() {
+        final DrawFromStockPileFilter filter = new DrawFromStockPileFilter();
+        final Board board = new DealMove(shuffledDeck(0), 7).apply(null);
+        final List<GameState<SolitaireMove, Board>> emptyHistory = Collections.emptyList();
+        for (final SolitaireMove move : klondike.findAllMoves(board)) {
+            if ( !move.isFromStockPile()) {
+                assertFalse(filter.shouldFilter(move, emptyHistory));
+            }
+        }
+    }
+
+    @Test
+    public void testRunMoveSummary() {
+        assertSummariesMatch(new RunMoveMustBeFollowedBySomethingUsefulFilter());
+    }
+
+    @Test
+    public void testBoardCycleSummary() {
+        assertSummariesMatch(new BoardCycleFilter());
+    }
+
+    /**
+     * A key in the summary whose board is not in the history stands in for
+     * two different boards with the same Zobrist key.
+     */
+    @Test
+    public void testBoardCycleKeyCollision() {
+        final BoardCycleFilter filter = new BoardCycleFilter();
+        final DealMove deal = new DealMove(shuffledDeck(0), 7);
+        final GameState<SolitaireMove, Board> initialState = new GameState<>(deal, deal.apply(null));
+        final SolitaireMove move = klondike.findAllMoves(initialState.getBoard()).iterator().next();
+        final GameState<SolitaireMove, Board> gameState = new GameState<>(move, move.apply(initialState.getBoard()));
+        final PersistentLongSet summary = filter.getSummary(Collections.singletonList(initialState))
+                .with(gameState.getBoard().getZobristKey());
+
+        assertFalse(filter.shouldFilter(gameState, summary, Collections.singletonList(initialState)));
+        assertTrue(filter.shouldFilter(gameState, summary, Arrays.asList(initialState, gameState)));
+    }
+
+}
@@ -9,6 +9,7 @@ import java.util.Locale;
 import org.silnith.game.Game;
 import org.silnith.game.GameState;
 import org.silnith.game.move.MoveFilter;
+import org.silnith.game.search.ForkJoinDepthFirstSearch;
 import org.silnith.game.search.GameTreeSearcher;
 import org.silnith.game.search.SequentialDepthFirstSearch;
 import org.silnith.game.search.WorkerThreadDepthFirstSearch;
@@ -115,6 +116,7 @@ public class TicTacToe implements Game<Move, Board> {
         initialBoard.printTo(System.out);
         final GameTreeSearcher<Move, Board> searcher = new SequentialDepthFirstSearch<>(game, initialGameState);
         //final GameTreeSearcher<Move, Board> searcher = new WorkerThreadDepthFirstSearch<>(game, initialGameState, Math.max(availableProcessors - 2, 1));
+        //final GameTreeSearcher<Move, Board> searcher = new ForkJoinDepthFirstSearch<>(game, initialGameState, availableProcessors);
         final Collection<List<GameState<Move, Board>>> results = searcher.call();
         System.out.println(results.size());
         searcher.printStatistics(System.out);